@@ -25,7 +25,6 @@ export default function EditStudentPage() {
         address: '',
         major: '',
         academicYear: new Date().getFullYear(),
-        gpa: undefined,
         status: StudentStatus.ACTIVE,
     });
 
@@ -50,7 +49,6 @@ export default function EditStudentPage() {
                 address: student.person.address || '',
                 major: student.major || '',
                 academicYear: student.academicYear,
-                gpa: student.gpa,
                 status: student.status,
             });
         } catch (err: any) {
@@ -234,28 +232,6 @@ export default function EditStudentPage() {
                                 />
                             </div>
 
-                            <div>
-                                <label className="block text-sm font-medium text-gray-700 mb-2">
-                                    GPA
-                                </label>
-                                <input
-                                    type="number"
-                                    step="0.01"
-                                    min="0"
-                                    max="4"
-                                    value={formData.gpa || ''}
-                                    onChange={(e) =>
-                                        setFormData({
-                                            ...formData,
-                                            gpa: e.target.value
-                                                ? parseFloat(e.target.value)
-                                                : undefined,
-                                        })
-                                    }
-                                    className="w-full px-3 py-2 border border-gray-300 rounded-lg focus:outline-none focus:ring-2 focus:ring-blue-500"
-                                />
-                            </div>
-
                             <div>
                                 <label className="block text-sm font-medium text-gray-700 mb-2">
                                     Status *
@@ -47,7 +47,9 @@ export function AuthProvider({ children }: { children: React.ReactNode }) {
 
         if (userData && userData.token) {
             apiClient.setToken(userData.token);
-            localStorage.setItem('token', userData.token);
+            if (userData.refreshToken) {
+                apiClient.setRefreshToken(userData.refreshToken);
+            }
             localStorage.setItem('user', JSON.stringify(userData));
             setUser(userData);
         } else {
@@ -73,7 +75,9 @@ export function AuthProvider({ children }: { children: React.ReactNode }) {
 
         if (userData && userData.token) {
             apiClient.setToken(userData.token);
-            localStorage.setItem('token', userData.token);
+            if (userData.refreshToken) {
+                apiClient.setRefreshToken(userData.refreshToken);
+            }
             localStorage.setItem('user', JSON.stringify(userData));
             setUser(userData);
         } else {
@@ -81,10 +85,16 @@ export function AuthProvider({ children }: { children: React.ReactNode }) {
         }
     };
 
-    const logout = () => {
-        localStorage.removeItem('token');
-        localStorage.removeItem('user');
-        setUser(null);
+    const logout = async () => {
+        try {
+            // Revokes the access and refresh tokens server-side
+            await authApi.logout(apiClient.getRefreshToken());
+        } catch (error) {
+            console.error('Failed to log out on the server:', error);
+        } finally {
+            apiClient.removeToken();
+            setUser(null);
+        }
     };
 
     const refreshUser = async () => {
@@ -1,11 +1,22 @@
-import axios, { AxiosInstance, AxiosError } from 'axios';
-import { ApiResponse } from './types';
+import axios, {
+    AxiosInstance,
+    AxiosError,
+    InternalAxiosRequestConfig,
+} from 'axios';
+import { ApiResponse, AuthResponse } from './types';
 
 const API_BASE_URL =
     process.env.NEXT_PUBLIC_API_BASE_URL || 'http://localhost:8080/api/v1';
 
+// Requests that must not trigger a token refresh when they answer 401
+const AUTH_PATHS = ['/auth/login', '/auth/register', '/auth/refresh'];
+
+type RetriableRequest = InternalAxiosRequestConfig & { _retried?: boolean };
+
 class ApiClient {
     private client: AxiosInstance;
+    // Shared by concurrent 401s, so a rotated refresh token is used only once
+    private refreshing: Promise<string | null> | null = null;
 
     constructor() {
         this.client = axios.create({
@@ -33,8 +44,23 @@ class ApiClient {
         this.client.interceptors.response.use(
             (response) => response,
             async (error: AxiosError<ApiResponse<null>>) => {
+                const request = error.config as RetriableRequest | undefined;
                 if (error.response?.status === 401) {
-                    // Token expired or invalid
+                    // Access token expired: renew it once with the refresh token and replay the request
+                    if (
+                        request &&
+                        !request._retried &&
+                        !AUTH_PATHS.some((path) => request.url?.startsWith(path))
+                    ) {
+                        request._retried = true;
+                        const token = await this.refreshAccessToken();
+                        if (token) {
+                            request.headers.Authorization = `Bearer ${token}`;
+                            return this.client(request);
+                        }
+                    }
+
+                    // Token invalid and not renewable
                     this.removeToken();
                     if (typeof window !== 'undefined') {
                         window.location.href = '/login';
@@ -45,6 +71,40 @@ class ApiClient {
         );
     }
 
+    private refreshAccessToken(): Promise<string | null> {
+        if (!this.refreshing) {
+            this.refreshing = this.requestNewTokens().finally(() => {
+                this.refreshing = null;
+            });
+        }
+        return this.refreshing;
+    }
+
+    private async requestNewTokens(): Promise<string | null> {
+        const refreshToken = this.getRefreshToken();
+        if (!refreshToken) {
+            return null;
+        }
+        try {
+            // Plain axios, so a failed refresh does not go through the interceptors again
+            const response = await axios.post<ApiResponse<AuthResponse>>(
+                `${API_BASE_URL}/auth/refresh`,
+                { refreshToken }
+            );
+            const userData =
+                (response.data.data as any)?.User ||
+                (response.data.data as any)?.user;
+            if (!userData?.token || !userData?.refreshToken) {
+                return null;
+            }
+            this.setToken(userData.token);
+            this.setRefreshToken(userData.refreshToken);
+            return userData.token;
+        } catch {
+            return null;
+        }
+    }
+
     private getToken(): string | null {
         if (typeof window !== 'undefined') {
             return localStorage.getItem('token');
@@ -52,9 +112,17 @@ class ApiClient {
         return null;
     }
 
-    private removeToken(): void {
+    public getRefreshToken(): string | null {
+        if (typeof window !== 'undefined') {
+            return localStorage.getItem('refreshToken');
+        }
+        return null;
+    }
+
+    public removeToken(): void {
         if (typeof window !== 'undefined') {
             localStorage.removeItem('token');
+            localStorage.removeItem('refreshToken');
             localStorage.removeItem('user');
         }
     }
@@ -65,6 +133,12 @@ class ApiClient {
         }
     }
 
+    public setRefreshToken(refreshToken: string): void {
+        if (typeof window !== 'undefined') {
+            localStorage.setItem('refreshToken', refreshToken);
+        }
+    }
+
     public async get<T>(url: string, params?: any): Promise<ApiResponse<T>> {
         const response = await this.client.get<ApiResponse<T>>(url, { params });
         return response.data;
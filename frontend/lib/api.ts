@@ -3,7 +3,6 @@ import {
     LoginRequest,
     RegisterRequest,
     AuthResponse,
-    TokenResponse,
     ProfileResponse,
     UpdateProfileRequest,
     Student,
@@ -27,7 +26,11 @@ export const authApi = {
     register: (data: RegisterRequest) =>
         apiClient.post<AuthResponse>('/auth/register', data),
 
-    refreshToken: () => apiClient.post<TokenResponse>('/auth/refresh'),
+    refreshToken: (refreshToken: string) =>
+        apiClient.post<AuthResponse>('/auth/refresh', { refreshToken }),
+
+    logout: (refreshToken: string | null) =>
+        apiClient.post('/auth/logout', refreshToken ? { refreshToken } : undefined),
 
     getCurrentUser: () => apiClient.get<ProfileResponse>('/auth/me'),
 
@@ -26,6 +26,7 @@ export interface User {
     email: string;
     roles: Role[];
     token?: string;
+    refreshToken?: string;
 }
 
 export interface Person {
@@ -79,7 +80,6 @@ export interface StudentFormData {
     address?: string;
     major?: string;
     academicYear?: number;
-    gpa?: number;
     status: StudentStatus;
 }
 
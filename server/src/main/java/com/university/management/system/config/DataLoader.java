@@ -170,7 +170,6 @@ public class DataLoader implements CommandLineRunner {
                     .studentNumber("STU" + String.format("%03d", i))
                     .major("Computer Science")
                     .academicYear(1)
-                    .gpa(BigDecimal.valueOf(3.5))
                     .status(StudentStatus.ACTIVE)
                     .build();
             students.add(studentRepository.save(student));
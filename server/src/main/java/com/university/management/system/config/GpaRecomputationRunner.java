@@ -0,0 +1,37 @@
+package com.university.management.system.config;
+
+import com.university.management.system.services.users.GpaRecomputationJob;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the full GPA recomputation from the command line and exits with its outcome:
+ * {@code java -jar server.jar --recompute-gpa --spring.main.web-application-type=none}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GpaRecomputationRunner implements ApplicationRunner {
+
+    public static final String OPTION = "recompute-gpa";
+
+    private final GpaRecomputationJob gpaRecomputationJob;
+    private final ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+
+        GpaRecomputationJob.Run run = gpaRecomputationJob.runAndWait("cli");
+        log.info("GPA recomputation finished: {}", run.toView());
+
+        System.exit(SpringApplication.exit(context, () -> run.isFailed() ? 1 : 0));
+    }
+}
@@ -1,13 +1,16 @@
 package com.university.management.system.config;
 
+import com.university.management.system.models.users.AuthPrincipal;
 import com.university.management.system.services.auth.JwtService;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.MalformedJwtException;
+import com.university.management.system.services.auth.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -24,10 +27,14 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 @Component
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${security.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -43,15 +50,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String id = jwtService.extractUsername(jwt);
 
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
 
-            if (id != null && authentication == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(id);
+            if (authentication == null) {
+                UserDetails userDetails = resolvePrincipal(jwt);
 
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails != null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -64,8 +70,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             }
 
             filterChain.doFilter(request, response);
-        } catch (UsernameNotFoundException | ExpiredJwtException | MalformedJwtException exception) {
+        } catch (UsernameNotFoundException | JwtException exception) {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED, exception.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private UserDetails resolvePrincipal(String jwt) {
+        // Verified once here; every later lookup works on the same claims
+        final Claims claims = jwtService.verify(jwt);
+        if (tokenRevocationService.isRevoked(claims)) {
+            throw new JwtException("Token has been revoked");
+        }
+
+        if (statelessPrincipal) {
+            UserDetails principal = jwtService.extractPrincipal(claims);
+            if (principal != null) {
+                return principal;
+            }
+        }
+
+        final String id = claims.getSubject();
+        if (id == null) {
+            return null;
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(id);
+        // Tokens without the person id claim are revoked per person, known only once the principal is loaded
+        if (jwtService.extractPersonId(claims) == null && userDetails instanceof AuthPrincipal principal
+                && tokenRevocationService.isRevoked(claims, principal.getId())) {
+            throw new JwtException("Token has been revoked");
+        }
+        return jwtService.isTokenValid(claims, userDetails) ? userDetails : null;
+    }
+}
@@ -0,0 +1,80 @@
+package com.university.management.system.config;
+
+import com.university.management.system.models.users.AuthPrincipal;
+import com.university.management.system.services.auth.RateLimitGroup;
+import com.university.management.system.services.auth.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Applies the {@link RateLimiter} to API requests. Runs after the JWT filter, so authenticated requests are
+ * counted per person wherever they come from, and anonymous ones per client address, which Tomcat takes from
+ * {@code X-Forwarded-For} only when the request came through one of {@code server.tomcat.remoteip.internal-proxies}.
+ * Every response carries the {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset}
+ * headers; a request over the limit gets 429 with {@code Retry-After}.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        // Also registered as a servlet filter for every path; only the API is limited
+        return !rateLimiter.isEnabled()
+                || !request.getRequestURI().startsWith("/api/", request.getContextPath().length());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimitGroup group = RateLimitGroup.of(request.getMethod(), path);
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(group, clientOf(request));
+
+        response.setHeader(LIMIT_HEADER, Integer.toString(decision.limit()));
+        response.setHeader(REMAINING_HEADER, Long.toString(decision.remaining()));
+        response.setHeader(RESET_HEADER, Long.toString(decision.resetSeconds()));
+
+        if (!decision.allowed()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"timestamp\":\"" + Instant.now() +
+                    "\",\"status\":429,\"error\":\"Too Many Requests\"," +
+                    "\"message\":\"Rate limit exceeded, please retry later\",\"path\":\"" + path + "\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthPrincipal principal) {
+            return principal.getId();
+        }
+        // Already the forwarded client address when a trusted proxy sent the request (see server.tomcat.remoteip)
+        return request.getRemoteAddr();
+    }
+}
@@ -31,6 +31,7 @@ import java.time.Instant;
 @EnableMethodSecurity(securedEnabled = true, jsr250Enabled = true)
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AuthenticationEntryPoint authenticationEntryPoint;
 
     @Bean
@@ -59,7 +60,8 @@ public class SecurityConfig {
                 .exceptionHandling(e -> e
                         .authenticationEntryPoint(authenticationEntryPoint)
                         .accessDeniedHandler(accessDeniedHandler()))
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 
@@ -79,6 +81,11 @@ public class SecurityConfig {
         configuration.setAllowCredentials(true);
 
         configuration.addExposedHeader("Authorization");
+        configuration.addExposedHeader("ETag");
+        configuration.addExposedHeader(RateLimitFilter.LIMIT_HEADER);
+        configuration.addExposedHeader(RateLimitFilter.REMAINING_HEADER);
+        configuration.addExposedHeader(RateLimitFilter.RESET_HEADER);
+        configuration.addExposedHeader("Retry-After");
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,420 @@
+package com.university.management.system.config;
+
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.PersonRole;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Role;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.users.StudentGpaService;
+import com.university.management.system.utils.GradesUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Populates the database with a configurable, reproducible university for load testing: lecturers, courses,
+ * classes per term and students with their enrollments and grades ({@code data-generator.*}).
+ * <p>
+ * The enrollment plan is drawn up front from a seeded {@link Random}, so class seat counts and student grade
+ * totals are written with their rows and never fixed up afterwards. Students are then inserted in chunks of
+ * {@code chunk-size} on {@code parallelism} threads, each chunk in its own transaction with Hibernate's JDBC
+ * batching. One BCrypt hash is computed and shared by every generated account unless
+ * {@code unique-password-hashes} is set, in which case each chunk hashes its own passwords.
+ * <p>
+ * Runs once and exits with {@code --generate-data} (for Postgres), or at startup with
+ * {@code data-generator.on-startup=true} (for the in-memory H2 profile). Generated rows use their own email,
+ * number and code prefixes, and a database that already has them is left alone.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    public static final String OPTION = "generate-data";
+
+    private static final String[] SEMESTERS = { "Fall", "Spring" };
+    private static final String[] FIRST_NAMES = { "Ada", "Alan", "Grace", "Edsger", "Barbara", "Donald", "Frances",
+            "John", "Margaret", "Niklaus", "Radia", "Tony", "Shafi", "Leslie", "Sophie", "Ken" };
+    private static final String[] LAST_NAMES = { "Lovelace", "Turing", "Hopper", "Dijkstra", "Liskov", "Knuth",
+            "Allen", "Backus", "Hamilton", "Wirth", "Perlman", "Hoare", "Goldwasser", "Lamport", "Wilson", "Thompson" };
+    private static final String[] MAJORS = { "Computer Science", "Mathematics", "Physics", "Economics", "Biology" };
+    private static final String UNGRADED = "none";
+
+    private final PersonRepository personRepository;
+    private final EmployeeRepository employeeRepository;
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final CourseClassRepository courseClassRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${data-generator.on-startup:false}")
+    private boolean onStartup;
+
+    @Value("${data-generator.students:10000}")
+    private int students;
+
+    @Value("${data-generator.employees:200}")
+    private int employees;
+
+    @Value("${data-generator.courses:100}")
+    private int courses;
+
+    @Value("${data-generator.terms:2}")
+    private int terms;
+
+    @Value("${data-generator.classes-per-term:200}")
+    private int classesPerTerm;
+
+    @Value("${data-generator.enrollments-per-student:10}")
+    private int enrollmentsPerStudent;
+
+    @Value("${data-generator.grade-distribution:A+:5,A:12,B+:15,B:18,C+:15,C:12,D+:7,D:5,F:6,none:5}")
+    private String gradeDistribution;
+
+    @Value("${data-generator.first-academic-year:2024}")
+    private int firstAcademicYear;
+
+    @Value("${data-generator.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${data-generator.parallelism:4}")
+    private int parallelism;
+
+    @Value("${data-generator.password:password}")
+    private String password;
+
+    @Value("${data-generator.unique-password-hashes:false}")
+    private boolean uniquePasswordHashes;
+
+    @Value("${data-generator.seed:42}")
+    private long seed;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            generate();
+            System.exit(SpringApplication.exit(context, () -> 0));
+        } else if (onStartup) {
+            generate();
+        }
+    }
+
+    /**
+     * @return row counts and timing, or {@code null} if the database already holds generated data
+     */
+    public Map<String, Object> generate() {
+        if (personRepository.existsByEmail(studentEmail(0)) || personRepository.existsByEmail(employeeEmail(0))) {
+            log.warn("Generated data is already present, nothing to do");
+            return null;
+        }
+
+        long started = System.nanoTime();
+        Random random = new Random(seed);
+        String sharedHash = uniquePasswordHashes ? null : passwordEncoder.encode(password);
+
+        List<String> lecturerIds = insertEmployees(sharedHash);
+        int[] credits = new int[courses];
+        List<String> courseIds = insertCourses(random, credits);
+
+        // Every class gets the same headroom over the average load, so the plan below always finds a seat
+        int classes = terms * classesPerTerm;
+        int maxCapacity = Math.max(10, (int) Math.ceil(1.25 * students * enrollmentsPerStudent / classes));
+        int[] classCourse = new int[classes];
+        for (int i = 0; i < classes; i++) {
+            classCourse[i] = random.nextInt(courses);
+        }
+
+        Plan plan = plan(random, classes, maxCapacity);
+        List<String> classIds = insertClasses(random, classCourse, courseIds, lecturerIds, plan.seats(), maxCapacity);
+        long enrollments = insertStudents(plan, classIds, classCourse, credits, sharedHash);
+
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("employees", lecturerIds.size());
+        summary.put("courses", courseIds.size());
+        summary.put("classes", classIds.size());
+        summary.put("students", students);
+        summary.put("enrollments", enrollments);
+        summary.put("durationMillis", millis);
+        log.info("Synthetic data generated: {} ({} enrollments/s)", summary,
+                millis > 0 ? enrollments * 1000 / millis : enrollments);
+        return summary;
+    }
+
+    private List<String> insertEmployees(String sharedHash) {
+        List<String> ids = new ArrayList<>(employees);
+        for (int from = 0; from < employees; from += chunkSize) {
+            int to = Math.min(from + chunkSize, employees);
+            int first = from;
+            ids.addAll(transactionTemplate.execute(status -> {
+                List<Person> persons = new ArrayList<>(to - first);
+                List<Employee> lecturers = new ArrayList<>(to - first);
+                for (int i = first; i < to; i++) {
+                    Person person = person(i, employeeEmail(i), Role.EMPLOYEE, sharedHash);
+                    persons.add(person);
+                    lecturers.add(Employee.builder()
+                            .person(person)
+                            .employeeNumber(String.format("GE%07d", i))
+                            .hireDate(LocalDate.of(firstAcademicYear - 1 - i % 20, 1 + i % 12, 1))
+                            .salary(BigDecimal.valueOf(4000 + (i % 40) * 100))
+                            .position(Position.LECTURER)
+                            .status(EmployeeStatus.ACTIVE)
+                            .build());
+                }
+                personRepository.saveAll(persons);
+                return employeeRepository.saveAll(lecturers).stream().map(Employee::getId).toList();
+            }));
+        }
+        log.info("Generated {} lecturers", ids.size());
+        return ids;
+    }
+
+    private List<String> insertCourses(Random random, int[] credits) {
+        List<Course> rows = new ArrayList<>(courses);
+        for (int i = 0; i < courses; i++) {
+            credits[i] = 1 + random.nextInt(4);
+            rows.add(Course.builder()
+                    .courseCode(String.format("GC%05d", i))
+                    .title("Generated Course " + i)
+                    .description("Synthetic course " + i + " for load testing")
+                    .credits(credits[i])
+                    .build());
+        }
+        return transactionTemplate.execute(status ->
+                courseRepository.saveAll(rows).stream().map(Course::getId).toList());
+    }
+
+    private List<String> insertClasses(Random random, int[] classCourse, List<String> courseIds,
+                                       List<String> lecturerIds, int[] seats, int maxCapacity) {
+        List<String> ids = new ArrayList<>(classCourse.length);
+        for (int from = 0; from < classCourse.length; from += chunkSize) {
+            int to = Math.min(from + chunkSize, classCourse.length);
+            List<Integer> lecturers = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                lecturers.add(random.nextInt(lecturerIds.size()));
+            }
+            int first = from;
+            ids.addAll(transactionTemplate.execute(status -> {
+                List<CourseClass> rows = new ArrayList<>(to - first);
+                for (int i = first; i < to; i++) {
+                    int term = i / classesPerTerm;
+                    rows.add(CourseClass.builder()
+                            .course(courseRepository.getReferenceById(courseIds.get(classCourse[i])))
+                            .lecturer(employeeRepository.getReferenceById(lecturerIds.get(lecturers.get(i - first))))
+                            .semester(SEMESTERS[term % SEMESTERS.length])
+                            .academicYear(firstAcademicYear + term / SEMESTERS.length)
+                            .status(CourseClassStatus.ACTIVE)
+                            .maxCapacity(maxCapacity)
+                            .currentCapacity(seats[i])
+                            .build());
+                }
+                return courseClassRepository.saveAll(rows).stream().map(CourseClass::getId).toList();
+            }));
+        }
+        log.info("Generated {} classes over {} terms", ids.size(), terms);
+        return ids;
+    }
+
+    private long insertStudents(Plan plan, List<String> classIds, int[] classCourse, int[] credits,
+                                String sharedHash) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (int from = 0; from < students; from += chunkSize) {
+                int first = from;
+                int to = Math.min(from + chunkSize, students);
+                chunks.add(executor.submit(() -> transactionTemplate.execute(status ->
+                        insertStudentChunk(first, to, plan, classIds, classCourse, credits, sharedHash))));
+            }
+
+            long enrollments = 0;
+            for (int i = 0; i < chunks.size(); i++) {
+                enrollments += chunks.get(i).get();
+                if ((i + 1) % 100 == 0) {
+                    log.info("Generated {} of {} students", Math.min((long) (i + 1) * chunkSize, students), students);
+                }
+            }
+            return enrollments;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating students", exception);
+        } catch (ExecutionException exception) {
+            throw new IllegalStateException("Generating students failed", exception.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int insertStudentChunk(int from, int to, Plan plan, List<String> classIds, int[] classCourse,
+                                   int[] credits, String sharedHash) {
+        List<Person> persons = new ArrayList<>(to - from);
+        List<Student> rows = new ArrayList<>(to - from);
+        List<Enrollment> enrollments = new ArrayList<>((to - from) * enrollmentsPerStudent);
+        for (int i = from; i < to; i++) {
+            Person person = person(i, studentEmail(i), Role.STUDENT, sharedHash);
+            persons.add(person);
+
+            int attemptedCredits = 0;
+            BigDecimal qualityPoints = BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+            Student student = Student.builder()
+                    .person(person)
+                    .studentNumber(String.format("GS%08d", i))
+                    .major(MAJORS[i % MAJORS.length])
+                    .academicYear(1 + i % 4)
+                    .status(StudentStatus.ACTIVE)
+                    .build();
+
+            for (int k = i * enrollmentsPerStudent; k < (i + 1) * enrollmentsPerStudent; k++) {
+                int courseClass = plan.classes()[k];
+                if (courseClass < 0) {
+                    continue;
+                }
+                String grade = plan.grades()[k];
+                enrollments.add(Enrollment.builder()
+                        .student(student)
+                        .courseClass(courseClassRepository.getReferenceById(classIds.get(courseClass)))
+                        .grade(grade)
+                        .status(grade == null ? EnrollmentStatus.ENROLLED : EnrollmentStatus.COMPLETED)
+                        .build());
+
+                int courseCredits = credits[classCourse[courseClass]];
+                if (grade != null) {
+                    attemptedCredits += courseCredits;
+                    qualityPoints = qualityPoints.add(StudentGpaService.qualityPoints(grade, courseCredits));
+                }
+            }
+
+            student.setAttemptedCredits(attemptedCredits);
+            student.setQualityPoints(qualityPoints);
+            student.setGpa(attemptedCredits > 0
+                    ? qualityPoints.divide(BigDecimal.valueOf(attemptedCredits), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP));
+            rows.add(student);
+        }
+
+        personRepository.saveAll(persons);
+        studentRepository.saveAll(rows);
+        enrollmentRepository.saveAll(enrollments);
+        return enrollments.size();
+    }
+
+    /**
+     * Picks {@code enrollments-per-student} distinct classes for every student and draws a grade for each
+     * enrollment. A slot stays empty ({@code -1}) only if no free class was found in a bounded number of tries.
+     */
+    private Plan plan(Random random, int classes, int maxCapacity) {
+        String[] gradeTable = gradeTable();
+        int[] seats = new int[classes];
+        int[] planned = new int[students * enrollmentsPerStudent];
+        String[] grades = new String[planned.length];
+        Arrays.fill(planned, -1);
+
+        Set<Integer> chosen = new HashSet<>();
+        for (int student = 0; student < students; student++) {
+            chosen.clear();
+            for (int k = 0; k < enrollmentsPerStudent && k < classes; k++) {
+                for (int attempt = 0; attempt < 32; attempt++) {
+                    int courseClass = random.nextInt(classes);
+                    if (seats[courseClass] < maxCapacity && chosen.add(courseClass)) {
+                        seats[courseClass]++;
+                        planned[student * enrollmentsPerStudent + k] = courseClass;
+                        grades[student * enrollmentsPerStudent + k] = gradeTable[random.nextInt(gradeTable.length)];
+                        break;
+                    }
+                }
+            }
+        }
+        return new Plan(planned, grades, seats);
+    }
+
+    /**
+     * Expands {@code grade-distribution} (grade:weight pairs, {@code none} for ungraded) into a table to draw
+     * from uniformly.
+     */
+    private String[] gradeTable() {
+        List<String> table = new ArrayList<>();
+        for (String entry : gradeDistribution.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid grade distribution entry: " + entry);
+            }
+            String grade = entry.substring(0, separator).trim();
+            int weight = Integer.parseInt(entry.substring(separator + 1).trim());
+            if (!UNGRADED.equals(grade) && !GradesUtils.isValidGrade(grade)) {
+                throw new IllegalArgumentException("Invalid grade in distribution: " + grade);
+            }
+            for (int i = 0; i < weight; i++) {
+                table.add(UNGRADED.equals(grade) ? null : grade);
+            }
+        }
+        if (table.isEmpty()) {
+            throw new IllegalArgumentException("The grade distribution must have a positive weight");
+        }
+        return table.toArray(String[]::new);
+    }
+
+    private Person person(int index, String email, Role role, String sharedHash) {
+        Person person = Person.builder()
+                .firstName(FIRST_NAMES[index % FIRST_NAMES.length])
+                .lastName(LAST_NAMES[(index / FIRST_NAMES.length) % LAST_NAMES.length])
+                .email(email)
+                .password(sharedHash != null ? sharedHash : passwordEncoder.encode(password))
+                .build();
+        person.setPersonRoles(new HashSet<>(Set.of(PersonRole.builder()
+                .person(person)
+                .role(role)
+                .build())));
+        return person;
+    }
+
+    private static String studentEmail(int index) {
+        return "gen.student" + index + "@university.com";
+    }
+
+    private static String employeeEmail(int index) {
+        return "gen.lecturer" + index + "@university.com";
+    }
+
+    private record Plan(int[] classes, String[] grades, int[] seats) {
+    }
+}
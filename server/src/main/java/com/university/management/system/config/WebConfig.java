@@ -1,6 +1,8 @@
 package com.university.management.system.config;
 
+import com.university.management.system.models.users.AuthCredentials;
 import com.university.management.system.repositories.users.PersonRepository;
+import com.university.management.system.services.auth.PrincipalCache;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -17,12 +19,14 @@ import java.time.Instant;
 @RequiredArgsConstructor
 public class WebConfig {
     private final PersonRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return email -> userRepository
-                .findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        return email -> principalCache.get(email, key -> userRepository
+                .findCredentialsByEmail(key)
+                .map(AuthCredentials::toPrincipal)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
     }
 
     @Bean
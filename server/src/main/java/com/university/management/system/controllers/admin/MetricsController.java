@@ -0,0 +1,118 @@
+package com.university.management.system.controllers.admin;
+
+import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.services.auth.JwtService;
+import com.university.management.system.services.auth.LoginThrottle;
+import com.university.management.system.services.auth.PasswordVerifier;
+import com.university.management.system.services.auth.RefreshTokenService;
+import com.university.management.system.services.auth.PrincipalCache;
+import com.university.management.system.services.auth.RateLimiter;
+import com.university.management.system.services.auth.TokenRevocationService;
+import com.university.management.system.services.courses.CourseCatalogCache;
+import com.university.management.system.services.courses.EnrollmentAdmissionQueue;
+import com.university.management.system.services.users.StudentGpaService;
+import com.university.management.system.utils.CacheStatisticsUtils;
+import com.university.management.system.utils.ResponseEntityBuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.university.management.system.utils.Constants.API_VERSION;
+
+@RestController
+@RequestMapping(API_VERSION + "/metrics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class MetricsController {
+
+    private final EnrollmentAdmissionQueue enrollmentAdmissionQueue;
+    private final PrincipalCache principalCache;
+    private final JwtService jwtService;
+    private final StudentGpaService studentGpaService;
+    private final CourseCatalogCache courseCatalogCache;
+    private final CacheStatisticsUtils cacheStatisticsUtils;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RateLimiter rateLimiter;
+
+    @GetMapping("/enrollment-queue")
+    public ResponseEntity<ApiResponse> getEnrollmentQueueStats() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("EnrollmentQueue", enrollmentAdmissionQueue.getStats())
+                .withMessage("Enrollment queue metrics retrieved successfully")
+                .build();
+    }
+
+    @GetMapping("/principal-cache")
+    public ResponseEntity<ApiResponse> getPrincipalCacheStats() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("PrincipalCache", principalCache.getStats())
+                .withMessage("Principal cache metrics retrieved successfully")
+                .build();
+    }
+
+    @GetMapping("/jwt-verification")
+    public ResponseEntity<ApiResponse> getJwtVerificationStats() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("JwtVerification", jwtService.getVerificationCacheStats())
+                .withMessage("JWT verification metrics retrieved successfully")
+                .build();
+    }
+
+    @GetMapping("/gpa-reconciliation")
+    public ResponseEntity<ApiResponse> getGpaReconciliationStats() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("GpaReconciliation", studentGpaService.getStats())
+                .withMessage("GPA reconciliation metrics retrieved successfully")
+                .build();
+    }
+
+    @GetMapping("/catalog-cache")
+    public ResponseEntity<ApiResponse> getCatalogCacheStats() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("CatalogCache", courseCatalogCache.getStats())
+                .withMessage("Catalog cache metrics retrieved successfully")
+                .build();
+    }
+
+    @GetMapping("/second-level-cache")
+    public ResponseEntity<ApiResponse> getSecondLevelCacheStats() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("SecondLevelCache", cacheStatisticsUtils.getSecondLevelCacheStats())
+                .withMessage("Second-level cache metrics retrieved successfully")
+                .build();
+    }
+
+    @GetMapping("/login")
+    public ResponseEntity<ApiResponse> getLoginStats() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("PasswordVerification", passwordVerifier.getStats())
+                .withData("LoginThrottle", loginThrottle.getStats())
+                .withData("RefreshTokens", refreshTokenService.getStats())
+                .withData("TokenRevocation", tokenRevocationService.getStats())
+                .withMessage("Login metrics retrieved successfully")
+                .build();
+    }
+
+    @GetMapping("/rate-limit")
+    public ResponseEntity<ApiResponse> getRateLimitStats() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("RateLimit", rateLimiter.getStats())
+                .withMessage("Rate limit metrics retrieved successfully")
+                .build();
+    }
+}
@@ -1,15 +1,21 @@
 package com.university.management.system.controllers.auth;
 
 import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.dtos.auth.ChangePasswordRequest;
 import com.university.management.system.dtos.auth.LoginRequest;
+import com.university.management.system.dtos.auth.RefreshTokenRequest;
 import com.university.management.system.dtos.auth.RegisterRequest;
 import com.university.management.system.dtos.auth.UpdateProfileRequest;
 import com.university.management.system.services.auth.IAuthenticationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 import static com.university.management.system.utils.Constants.API_VERSION;
 
 @RestController
@@ -20,27 +26,45 @@ public class AuthenticationController {
     private final IAuthenticationService authenticationService;
 
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
+    public CompletableFuture<ResponseEntity<ApiResponse>> register(
+            @Valid @RequestBody RegisterRequest registerRequest) {
         return authenticationService.register(registerRequest);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        return authenticationService.login(loginRequest);
+    public CompletableFuture<ResponseEntity<ApiResponse>> login(@Valid @RequestBody LoginRequest loginRequest,
+            HttpServletRequest request) {
+        return authenticationService.login(loginRequest, request.getRemoteAddr());
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<ApiResponse> refreshToken(@RequestHeader("Authorization") String token) {
-        return authenticationService.refreshToken(token);
+    public ResponseEntity<ApiResponse> refreshToken(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        return authenticationService.refreshToken(refreshTokenRequest.getRefreshToken());
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest refreshTokenRequest) {
+        return authenticationService.logout(authorization,
+                refreshTokenRequest != null ? refreshTokenRequest.getRefreshToken() : null);
     }
 
     @GetMapping("/me")
-    public ResponseEntity<ApiResponse> me() {
-        return authenticationService.me();
+    public ResponseEntity<ApiResponse> me(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return authenticationService.me(ifNoneMatch);
     }
 
     @PutMapping("/me")
-    public ResponseEntity<ApiResponse> updateProfile(@Valid @RequestBody UpdateProfileRequest updateProfileRequest){
-        return authenticationService.updateProfile(updateProfileRequest);
+    public ResponseEntity<ApiResponse> updateProfile(@Valid @RequestBody UpdateProfileRequest updateProfileRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return authenticationService.updateProfile(updateProfileRequest, ifMatch);
+    }
+
+    @PutMapping("/me/password")
+    public CompletableFuture<ResponseEntity<ApiResponse>> changePassword(
+            @Valid @RequestBody ChangePasswordRequest changePasswordRequest, HttpServletRequest request) {
+        return authenticationService.changePassword(changePasswordRequest, request.getRemoteAddr());
     }
 }
@@ -2,9 +2,13 @@ package com.university.management.system.controllers.courses;
 
 import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.courses.CourseClassRequestDto;
+import com.university.management.system.models.sync.SyncResource;
 import com.university.management.system.services.courses.ICourseClassService;
+import com.university.management.system.services.sync.IChangeFeedService;
+import com.university.management.system.utils.RepositoryUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -17,17 +21,33 @@ import static com.university.management.system.utils.Constants.API_VERSION;
 public class CourseClassController {
 
     private final ICourseClassService courseClassService;
+    private final IChangeFeedService changeFeedService;
 
     @GetMapping
     public ResponseEntity<ApiResponse> getAllCourseClasses(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return courseClassService.getAllCourseClasses(page, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (cursor != null || RepositoryUtils.CURSOR_PAGINATION.equals(pagination)) {
+            return courseClassService.getAllCourseClassesByCursor(cursor, size);
+        }
+        return courseClassService.getAllCourseClasses(page, size, ifNoneMatch);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse> getCourseClassChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") Integer size) {
+        return changeFeedService.getChanges(SyncResource.COURSE_CLASS, since, cursor, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse> getCourseClassById(@PathVariable String id) {
-        return courseClassService.getCourseClassById(id);
+    public ResponseEntity<ApiResponse> getCourseClassById(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return courseClassService.getCourseClassById(id, ifNoneMatch);
     }
 
     @PostMapping
@@ -39,8 +59,9 @@ public class CourseClassController {
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse> updateCourseClass(@PathVariable String id,
-            @Valid @RequestBody CourseClassRequestDto requestDto) {
-        return courseClassService.updateCourseClass(id, requestDto);
+            @Valid @RequestBody CourseClassRequestDto requestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return courseClassService.updateCourseClass(id, requestDto, ifMatch);
     }
 
     @DeleteMapping("/{id}")
@@ -2,9 +2,13 @@ package com.university.management.system.controllers.courses;
 
 import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.courses.CourseRequestDto;
+import com.university.management.system.models.sync.SyncResource;
 import com.university.management.system.services.courses.ICourseService;
+import com.university.management.system.services.sync.IChangeFeedService;
+import com.university.management.system.utils.RepositoryUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -17,17 +21,33 @@ import static com.university.management.system.utils.Constants.API_VERSION;
 public class CourseController {
 
     private final ICourseService courseService;
+    private final IChangeFeedService changeFeedService;
 
     @GetMapping
     public ResponseEntity<ApiResponse> getAllCourses(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return courseService.getAllCourses(page, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (cursor != null || RepositoryUtils.CURSOR_PAGINATION.equals(pagination)) {
+            return courseService.getAllCoursesByCursor(cursor, size);
+        }
+        return courseService.getAllCourses(page, size, ifNoneMatch);
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ApiResponse> getCourseChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") Integer size) {
+        return changeFeedService.getChanges(SyncResource.COURSE, since, cursor, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse> getCourseById(@PathVariable String id) {
-        return courseService.getCourseById(id);
+    public ResponseEntity<ApiResponse> getCourseById(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return courseService.getCourseById(id, ifNoneMatch);
     }
 
     @PostMapping
@@ -39,8 +59,9 @@ public class CourseController {
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse> updateCourse(@PathVariable String id,
-            @Valid @RequestBody CourseRequestDto courseRequestDto) {
-        return courseService.updateCourse(id, courseRequestDto);
+            @Valid @RequestBody CourseRequestDto courseRequestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return courseService.updateCourse(id, courseRequestDto, ifMatch);
     }
 
     @DeleteMapping("/{id}")
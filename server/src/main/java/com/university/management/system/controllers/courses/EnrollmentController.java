@@ -1,13 +1,21 @@
 package com.university.management.system.controllers.courses;
 
 import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.dtos.courses.BulkEnrollmentRequestDto;
 import com.university.management.system.dtos.courses.EnrollmentRequestDto;
+import com.university.management.system.models.sync.SyncResource;
 import com.university.management.system.services.courses.IEnrollmentService;
+import com.university.management.system.services.sync.IChangeFeedService;
+import com.university.management.system.utils.RepositoryUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 import static com.university.management.system.utils.Constants.API_VERSION;
 
@@ -17,18 +25,45 @@ import static com.university.management.system.utils.Constants.API_VERSION;
 public class EnrollmentController {
 
     private final IEnrollmentService enrollmentService;
+    private final IChangeFeedService changeFeedService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
     public ResponseEntity<ApiResponse> getAllEnrollments(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "10") Integer size) {
-        return enrollmentService.getAllEnrollments(page, size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (cursor != null || RepositoryUtils.CURSOR_PAGINATION.equals(pagination)) {
+            return enrollmentService.getAllEnrollmentsByCursor(cursor, size);
+        }
+        return enrollmentService.getAllEnrollments(page, size, ifNoneMatch);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<StreamingResponseBody> exportEnrollments(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) Integer academicYear,
+            @RequestParam(required = false) String classId) {
+        return enrollmentService.exportEnrollments(format, semester, academicYear, classId);
+    }
+
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<ApiResponse> getEnrollmentChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") Integer size) {
+        return changeFeedService.getChanges(SyncResource.ENROLLMENT, since, cursor, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse> getEnrollmentById(@PathVariable String id) {
-        return enrollmentService.getEnrollmentById(id);
+    public ResponseEntity<ApiResponse> getEnrollmentById(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return enrollmentService.getEnrollmentById(id, ifNoneMatch);
     }
 
     @PostMapping
@@ -37,11 +72,26 @@ public class EnrollmentController {
         return enrollmentService.createEnrollment(requestDto);
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> createEnrollments(@Valid @RequestBody BulkEnrollmentRequestDto requestDto) {
+        return enrollmentService.createEnrollments(requestDto);
+    }
+
+    @PostMapping("/classes/{classId}/grades")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<ApiResponse> uploadGrades(@PathVariable String classId,
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body) {
+        return enrollmentService.uploadGrades(classId, format, body);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
     public ResponseEntity<ApiResponse> updateEnrollment(@PathVariable String id,
-            @Valid @RequestBody EnrollmentRequestDto requestDto) {
-        return enrollmentService.updateEnrollment(id, requestDto);
+            @Valid @RequestBody EnrollmentRequestDto requestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return enrollmentService.updateEnrollment(id, requestDto, ifMatch);
     }
 
     @DeleteMapping("/{id}")
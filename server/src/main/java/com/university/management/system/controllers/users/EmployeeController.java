@@ -4,8 +4,10 @@ import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.users.EmployeeRequestDto;
 import com.university.management.system.dtos.users.EmployeeUpdateDto;
 import com.university.management.system.services.users.IEmployeeService;
+import com.university.management.system.utils.RepositoryUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -23,14 +25,21 @@ public class EmployeeController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse> getAllEmployees(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "20") Integer size) {
-        return employeeService.getAllEmployees(page, size);
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (cursor != null || RepositoryUtils.CURSOR_PAGINATION.equals(pagination)) {
+            return employeeService.getAllEmployeesByCursor(cursor, size);
+        }
+        return employeeService.getAllEmployees(page, size, ifNoneMatch);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
-    public ResponseEntity<ApiResponse> getEmployeeById(@PathVariable String id) {
-        return employeeService.getEmployeeById(id);
+    public ResponseEntity<ApiResponse> getEmployeeById(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return employeeService.getEmployeeById(id, ifNoneMatch);
     }
 
     @PostMapping
@@ -43,8 +52,9 @@ public class EmployeeController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse> updateEmployee(
             @PathVariable String id,
-            @Valid @RequestBody EmployeeUpdateDto employeeUpdateDto) {
-        return employeeService.updateEmployee(id, employeeUpdateDto);
+            @Valid @RequestBody EmployeeUpdateDto employeeUpdateDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return employeeService.updateEmployee(id, employeeUpdateDto, ifMatch);
     }
 
     @DeleteMapping("/{id}")
@@ -55,7 +65,8 @@ public class EmployeeController {
 
     @GetMapping("/me")
     @PreAuthorize("hasRole('EMPLOYEE')")
-    public ResponseEntity<ApiResponse> getProfile() {
-        return employeeService.getProfile();
+    public ResponseEntity<ApiResponse> getProfile(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return employeeService.getProfile(ifNoneMatch);
     }
 }
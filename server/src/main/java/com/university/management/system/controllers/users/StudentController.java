@@ -3,13 +3,20 @@ package com.university.management.system.controllers.users;
 import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.users.StudentRequestDto;
 import com.university.management.system.dtos.users.StudentUpdateDto;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.sync.SyncResource;
+import com.university.management.system.services.sync.IChangeFeedService;
 import com.university.management.system.services.users.IStudentService;
+import com.university.management.system.utils.RepositoryUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+
 import static com.university.management.system.utils.Constants.API_VERSION;
 
 @RestController
@@ -18,18 +25,35 @@ import static com.university.management.system.utils.Constants.API_VERSION;
 public class StudentController {
 
     private final IStudentService studentService;
+    private final IChangeFeedService changeFeedService;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
     public ResponseEntity<ApiResponse> getAllStudents(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "20") Integer size) {
-        return studentService.getAllStudents(page, size);
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(defaultValue = "offset") String pagination,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (cursor != null || RepositoryUtils.CURSOR_PAGINATION.equals(pagination)) {
+            return studentService.getAllStudentsByCursor(cursor, size);
+        }
+        return studentService.getAllStudents(page, size, ifNoneMatch);
+    }
+
+    @GetMapping("/changes")
+    @PreAuthorize("hasAnyRole('ADMIN', 'EMPLOYEE')")
+    public ResponseEntity<ApiResponse> getStudentChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") Integer size) {
+        return changeFeedService.getChanges(SyncResource.STUDENT, since, cursor, size);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse> getStudentById(@PathVariable String id) {
-        return studentService.getStudentById(id);
+    public ResponseEntity<ApiResponse> getStudentById(@PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return studentService.getStudentById(id, ifNoneMatch);
     }
 
     @PostMapping
@@ -38,12 +62,25 @@ public class StudentController {
         return studentService.createStudent(studentRequestDto);
     }
 
+    @PostMapping("/import")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> importStudents(InputStream body) {
+        return studentService.importStudents(body);
+    }
+
+    @GetMapping("/import/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> getStudentImport(@PathVariable String id) {
+        return studentService.getStudentImport(id);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse> updateStudent(
             @PathVariable String id,
-            @Valid @RequestBody StudentUpdateDto studentUpdateDto) {
-        return studentService.updateStudent(id, studentUpdateDto);
+            @Valid @RequestBody StudentUpdateDto studentUpdateDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return studentService.updateStudent(id, studentUpdateDto, ifMatch);
     }
 
     @DeleteMapping("/{id}")
@@ -64,6 +101,11 @@ public class StudentController {
         return studentService.enrollStudent(classId);
     }
 
+    @GetMapping("/enroll/tickets/{ticketId}")
+    public ResponseEntity<ApiResponse> getEnrollmentTicket(@PathVariable String ticketId) {
+        return studentService.getEnrollmentTicket(ticketId);
+    }
+
     @PostMapping("/drop/{enrollmentId}")
     public ResponseEntity<ApiResponse> dropStudent(@PathVariable String enrollmentId) {
         return studentService.dropStudent(enrollmentId);
@@ -72,8 +114,12 @@ public class StudentController {
     @GetMapping("/classes")
     public ResponseEntity<ApiResponse> getStudentClasses(
             @RequestParam(defaultValue = "1") Integer page,
-            @RequestParam(defaultValue = "20") Integer size) {
-        return studentService.getStudentClasses(page, size);
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestParam(required = false) String semester,
+            @RequestParam(required = false) Integer academicYear,
+            @RequestParam(required = false) CourseClassStatus status,
+            @RequestParam(defaultValue = "false") boolean hasFreeSeats) {
+        return studentService.getStudentClasses(page, size, semester, academicYear, status, hasFreeSeats);
     }
 
     @PutMapping("/{id}/gpa")
@@ -82,9 +128,22 @@ public class StudentController {
         return studentService.updateGPA(id);
     }
 
+    @PostMapping("/gpa/recompute")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> recomputeAllGPAs() {
+        return studentService.recomputeAllGPAs();
+    }
+
+    @GetMapping("/gpa/recompute")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse> getGPARecomputation() {
+        return studentService.getGPARecomputation();
+    }
+
     @GetMapping("/me")
     @PreAuthorize("hasRole('STUDENT')")
-    public ResponseEntity<ApiResponse> getProfile() {
-        return studentService.getProfile();
+    public ResponseEntity<ApiResponse> getProfile(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return studentService.getProfile(ifNoneMatch);
     }
 }
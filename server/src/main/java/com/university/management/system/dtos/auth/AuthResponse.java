@@ -19,4 +19,5 @@ public class AuthResponse {
     private String email;
     private List<Role> roles;
     private String token;
+    private String refreshToken;
 }
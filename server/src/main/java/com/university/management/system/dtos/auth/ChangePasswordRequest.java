@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.validator.constraints.Length;
 
 @Data
 @Builder
@@ -18,5 +19,6 @@ public class ChangePasswordRequest {
 
     @NotNull
     @NotBlank
+    @Length(min = 8, max = 255)
     private String newPassword;
 }
@@ -0,0 +1,33 @@
+package com.university.management.system.dtos.courses;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentRequestDto {
+    @NotEmpty
+    @Size(max = 10000)
+    private List<@Valid Item> enrollments;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        @NotBlank
+        private String studentId;
+        @NotBlank
+        private String classId;
+    }
+}
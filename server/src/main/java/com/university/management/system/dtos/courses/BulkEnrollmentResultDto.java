@@ -0,0 +1,28 @@
+package com.university.management.system.dtos.courses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEnrollmentResultDto {
+    private int index;
+    private String studentId;
+    private String classId;
+    private Outcome outcome;
+    private String enrollmentId;
+
+    public enum Outcome {
+        CREATED,
+        STUDENT_NOT_FOUND,
+        CLASS_NOT_FOUND,
+        DUPLICATE_IN_REQUEST,
+        ALREADY_ENROLLED,
+        CLASS_FULL,
+        FAILED
+    }
+}
@@ -0,0 +1,25 @@
+package com.university.management.system.dtos.courses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GradeUploadRejectionDto {
+    private long row;
+    private String studentId;
+    private String studentNumber;
+    private String grade;
+    private Reason reason;
+
+    public enum Reason {
+        MALFORMED,
+        INVALID_GRADE,
+        NOT_ENROLLED,
+        FAILED
+    }
+}
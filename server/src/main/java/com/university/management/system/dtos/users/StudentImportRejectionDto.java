@@ -0,0 +1,24 @@
+package com.university.management.system.dtos.users;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StudentImportRejectionDto {
+    private long row;
+    private String email;
+    private Reason reason;
+    private String message;
+
+    public enum Reason {
+        INVALID,
+        DUPLICATE_IN_FILE,
+        EMAIL_EXISTS,
+        FAILED
+    }
+}
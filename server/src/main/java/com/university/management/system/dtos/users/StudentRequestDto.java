@@ -8,7 +8,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.validator.constraints.Length;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
@@ -44,10 +43,6 @@ public class StudentRequestDto {
 
     private Integer academicYear;
 
-    @DecimalMin("0.0")
-    @DecimalMax("4.0")
-    private BigDecimal gpa;
-
     @NotNull
     private StudentStatus status;
 }
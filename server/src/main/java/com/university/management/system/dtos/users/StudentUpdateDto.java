@@ -7,7 +7,6 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Data
@@ -38,10 +37,6 @@ public class StudentUpdateDto {
 
     private Integer academicYear;
 
-    @DecimalMin("0.0")
-    @DecimalMax("4.0")
-    private BigDecimal gpa;
-
     @NotNull
     private StudentStatus status;
 }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.authorization.AuthorizationDeniedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -157,7 +158,21 @@ public class GlobalExceptionHandler {
                 ex.getReason(),
                 ex.getReason(),
                 request.getDescription(false));
-        return new ResponseEntity<>(error, ex.getStatusCode());
+        return new ResponseEntity<>(error, ex.getHeaders(), ex.getStatusCode());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        log.info("Concurrent Modification: {}", ex.getMessage());
+        log.debug("[GlobalExceptionHandler] Stack trace: ", ex);
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Concurrent Modification",
+                "The resource was modified by another request, reload it and try again",
+                request.getDescription(false));
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
     public static class ResourceNotFoundException extends RuntimeException {
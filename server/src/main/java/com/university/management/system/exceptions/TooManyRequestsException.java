@@ -0,0 +1,30 @@
+package com.university.management.system.exceptions;
+
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+
+/**
+ * {@code 429 Too Many Requests} with a {@code Retry-After} header of whole seconds (at least one).
+ */
+@Getter
+public class TooManyRequestsException extends ResponseStatusException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String reason, Duration retryAfter) {
+        super(HttpStatus.TOO_MANY_REQUESTS, reason);
+        long millis = Math.max(retryAfter.toMillis(), 0);
+        this.retryAfterSeconds = Math.max(1, (millis + 999) / 1000);
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return headers;
+    }
+}
@@ -0,0 +1,25 @@
+package com.university.management.system.models;
+
+/**
+ * Hibernate second-level cache regions. Each one is sized and expired in {@code hibernate-cache.conf}; a
+ * region named here must have an entry there.
+ * <p>
+ * Course classes and the collections of them are not cached: their seat counts change with every enrollment
+ * through bulk updates, and Hibernate clears the whole entity region and every collection region over the
+ * {@code course_class} table on each of them. Class views are served by the catalog cache instead.
+ */
+public final class CacheRegions {
+
+    public static final String COURSE = "course";
+    public static final String EMPLOYEE = "employee";
+    public static final String PERSON_ROLE = "person-role";
+
+    public static final String ROLES_OF_PERSON = "roles-of-person";
+
+    public static final String[] ALL = {
+            COURSE, EMPLOYEE, PERSON_ROLE, ROLES_OF_PERSON
+    };
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,42 @@
+package com.university.management.system.models.auth;
+
+import com.university.management.system.models.AbstractEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+
+/**
+ * One opaque refresh token, stored only as its digest. Tokens issued by rotating another share its
+ * {@code familyId}; {@code usedAt} marks a token that has been rotated and may not be used again.
+ * <p>
+ * The person is referenced by id only, so reading a token never loads the person.
+ */
+@Entity
+@Table(name = "refresh_tokens", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash")
+})
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class RefreshToken extends AbstractEntity {
+
+    @Column(nullable = false, length = 64)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String personId;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private Instant usedAt;
+
+    private Instant revokedAt;
+}
@@ -0,0 +1,35 @@
+package com.university.management.system.models.auth;
+
+import com.university.management.system.models.AbstractEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+
+/**
+ * A revoked access token ({@code jti} set) or every access token of a person issued before {@code issuedBefore}.
+ * {@code expiresAt} is when the last token the row covers expires, after which the row is no longer needed.
+ * <p>
+ * There is no foreign key to the person: revocations must outlive a deleted account.
+ */
+@Entity
+@Table(name = "token_revocations")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class TokenRevocation extends AbstractEntity {
+
+    @Column(length = 36)
+    private String jti;
+
+    @Column(length = 36)
+    private String personId;
+
+    private Instant issuedBefore;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -1,15 +1,20 @@
 package com.university.management.system.models.courses;
 
 import com.university.management.system.models.AbstractEntity;
+import com.university.management.system.models.CacheRegions;
+import com.university.management.system.services.sync.TombstoneListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.Set;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "courses", uniqueConstraints = {
         @UniqueConstraint(name = "uk_course_code", columnNames = "course_code")
 })
@@ -18,6 +23,7 @@ import java.util.Set;
 @Getter
 @Setter
 @SuperBuilder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COURSE)
 public class Course extends AbstractEntity {
 
     @NotBlank
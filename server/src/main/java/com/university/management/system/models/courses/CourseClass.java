@@ -2,6 +2,7 @@ package com.university.management.system.models.courses;
 
 import com.university.management.system.models.AbstractEntity;
 import com.university.management.system.models.users.Employee;
+import com.university.management.system.services.sync.TombstoneListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -12,14 +13,26 @@ import lombok.experimental.SuperBuilder;
 import java.util.Set;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "course_class")
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 @SuperBuilder
+@NamedEntityGraph(name = CourseClass.LISTING_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("course"),
+                @NamedAttributeNode(value = "lecturer", subgraph = "lecturer")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "lecturer", attributeNodes = @NamedAttributeNode(value = "person", subgraph = "lecturerPerson")),
+                @NamedSubgraph(name = "lecturerPerson", attributeNodes = @NamedAttributeNode("student"))
+        })
 public class CourseClass extends AbstractEntity {
 
+    public static final String LISTING_GRAPH = "CourseClass.listing";
+
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "course_id", nullable = false, foreignKey = @ForeignKey(name = "fk_course_class_course"))
@@ -2,20 +2,44 @@ package com.university.management.system.models.courses;
 
 import com.university.management.system.models.AbstractEntity;
 import com.university.management.system.models.users.Student;
+import com.university.management.system.services.sync.TombstoneListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "enrollments")
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 @SuperBuilder
+@NamedEntityGraph(name = Enrollment.LISTING_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "student", subgraph = "student"),
+                @NamedAttributeNode(value = "courseClass", subgraph = "courseClass")
+        },
+        subgraphs = {
+                @NamedSubgraph(name = "student", attributeNodes = @NamedAttributeNode(value = "person", subgraph = "studentPerson")),
+                @NamedSubgraph(name = "studentPerson", attributeNodes = @NamedAttributeNode("employee")),
+                @NamedSubgraph(name = "courseClass", attributeNodes = {
+                        @NamedAttributeNode("course"),
+                        @NamedAttributeNode(value = "lecturer", subgraph = "lecturer")
+                }),
+                @NamedSubgraph(name = "lecturer", attributeNodes = @NamedAttributeNode(value = "person", subgraph = "lecturerPerson")),
+                @NamedSubgraph(name = "lecturerPerson", attributeNodes = @NamedAttributeNode("student"))
+        })
 public class Enrollment extends AbstractEntity {
 
+    /**
+     * Everything {@code CourseMapper.toEnrollmentDto} renders, so list pages load in a constant number of
+     * queries. The person's one-to-one back references are included because they are eager and cannot be
+     * proxied; roles are a collection and are batch-fetched instead.
+     */
+    public static final String LISTING_GRAPH = "Enrollment.listing";
+
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false, foreignKey = @ForeignKey(name = "fk_enrollment_student"))
@@ -0,0 +1,36 @@
+package com.university.management.system.models.sync;
+
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.users.Student;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Resources with a change feed. {@code dataKey} is the key the changed rows are returned under, the same as
+ * in the resource's listing.
+ */
+@Getter
+public enum SyncResource {
+    COURSE(Course.class, "Courses"),
+    COURSE_CLASS(CourseClass.class, "Classes"),
+    ENROLLMENT(Enrollment.class, "Enrollments"),
+    STUDENT(Student.class, "Students");
+
+    private final Class<?> entityType;
+    private final String dataKey;
+
+    SyncResource(Class<?> entityType, String dataKey) {
+        this.entityType = entityType;
+        this.dataKey = dataKey;
+    }
+
+    public static Optional<SyncResource> of(Object entity) {
+        return Arrays.stream(values())
+                .filter(resource -> resource.entityType.isInstance(entity))
+                .findFirst();
+    }
+}
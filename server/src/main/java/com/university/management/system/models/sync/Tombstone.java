@@ -0,0 +1,26 @@
+package com.university.management.system.models.sync;
+
+import com.university.management.system.models.AbstractEntity;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Marker left behind by a deleted row of a synced resource; {@code createdAt} is the time of the deletion.
+ */
+@Entity
+@Table(name = "tombstones")
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@SuperBuilder
+public class Tombstone extends AbstractEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private SyncResource resourceType;
+
+    @Column(nullable = false, length = 36)
+    private String resourceId;
+}
@@ -0,0 +1,59 @@
+package com.university.management.system.models.users;
+
+import jakarta.persistence.Tuple;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * What login, token refresh and the {@code UserDetailsService} need to know about a person, read by
+ * {@code PersonRepository#findCredentialsByEmail} (or {@code ById}) in one narrow query instead of loading the
+ * {@link Person} entity with its roles, student and employee.
+ */
+public record AuthCredentials(
+        String id,
+        String email,
+        String passwordHash,
+        String firstName,
+        String lastName,
+        String studentId,
+        String employeeId,
+        int roleMask) {
+
+    /**
+     * Folds the rows of the credentials query, one per role of the same person, into one value.
+     */
+    public static Optional<AuthCredentials> fromRows(List<Tuple> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int roleMask = 0;
+        for (Tuple row : rows) {
+            Role role = row.get("role", Role.class);
+            if (role != null) {
+                roleMask |= role.bit();
+            }
+        }
+
+        Tuple row = rows.get(0);
+        return Optional.of(new AuthCredentials(
+                row.get("id", String.class),
+                row.get("email", String.class),
+                row.get("password", String.class),
+                row.get("firstName", String.class),
+                row.get("lastName", String.class),
+                row.get("studentId", String.class),
+                row.get("employeeId", String.class),
+                roleMask));
+    }
+
+    public Set<Role> roles() {
+        return Role.fromMask(roleMask);
+    }
+
+    public AuthPrincipal toPrincipal() {
+        return new AuthPrincipal(id, email, roleMask, studentId, employeeId);
+    }
+}
@@ -0,0 +1,88 @@
+package com.university.management.system.models.users;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable, detached view of an authenticated person. Unlike {@link Person} it carries no entity state,
+ * so it can be rebuilt from verified JWT claims without touching the database.
+ * <p>
+ * Roles are kept as a {@link Role#mask role mask}; the authorities of every mask are built once and shared,
+ * so creating a principal or asking for its authorities allocates nothing per role.
+ */
+@Getter
+public final class AuthPrincipal implements UserDetails {
+
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_MASK = authoritiesByMask();
+
+    private final String id;
+    private final String email;
+    private final int roleMask;
+    private final String studentId;
+    private final String employeeId;
+
+    public AuthPrincipal(String id, String email, Set<Role> roles, String studentId, String employeeId) {
+        this(id, email, Role.mask(roles), studentId, employeeId);
+    }
+
+    public AuthPrincipal(String id, String email, int roleMask, String studentId, String employeeId) {
+        this.id = id;
+        this.email = email;
+        this.roleMask = roleMask;
+        this.studentId = studentId;
+        this.employeeId = employeeId;
+    }
+
+    public static AuthPrincipal from(Person person) {
+        return new AuthPrincipal(
+                person.getId(),
+                person.getEmail(),
+                person.getRoleMask(),
+                person.getStudent() != null ? person.getStudent().getId() : null,
+                person.getEmployee() != null ? person.getEmployee().getId() : null);
+    }
+
+    /**
+     * The shared, unmodifiable {@code ROLE_*} authorities of the given role mask.
+     */
+    public static List<GrantedAuthority> authoritiesOf(int roleMask) {
+        return AUTHORITIES_BY_MASK.get(roleMask);
+    }
+
+    public Set<Role> getRoles() {
+        return Collections.unmodifiableSet(Role.fromMask(roleMask));
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authoritiesOf(roleMask);
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    private static List<List<GrantedAuthority>> authoritiesByMask() {
+        List<List<GrantedAuthority>> authorities = new ArrayList<>(Role.maskCount());
+        for (int mask = 0; mask < Role.maskCount(); mask++) {
+            authorities.add(Role.fromMask(mask).stream()
+                    .map(role -> (GrantedAuthority) new SimpleGrantedAuthority("ROLE_" + role.name()))
+                    .toList());
+        }
+        return List.copyOf(authorities);
+    }
+}
@@ -1,6 +1,7 @@
 package com.university.management.system.models.users;
 
 import com.university.management.system.models.AbstractEntity;
+import com.university.management.system.models.CacheRegions;
 import com.university.management.system.models.courses.CourseClass;
 import com.university.management.system.models.courses.CourseTeachingAssistant;
 import jakarta.persistence.*;
@@ -9,6 +10,8 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -24,6 +27,7 @@ import java.util.Set;
 @Getter
 @Setter
 @SuperBuilder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.EMPLOYEE)
 public class Employee extends AbstractEntity {
 
     @NotNull
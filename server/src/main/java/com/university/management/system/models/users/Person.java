@@ -1,21 +1,22 @@
 package com.university.management.system.models.users;
 
 import com.university.management.system.models.AbstractEntity;
+import com.university.management.system.models.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Past;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "persons", uniqueConstraints = {
@@ -58,14 +59,23 @@ public class Person extends AbstractEntity implements UserDetails {
     @OneToOne(mappedBy = "person", cascade = CascadeType.ALL, orphanRemoval = true)
     private Employee employee;
 
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLES_OF_PERSON)
     @OneToMany(mappedBy = "person", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     private Set<PersonRole> personRoles;
 
+    public int getRoleMask() {
+        int mask = 0;
+        if (personRoles != null) {
+            for (PersonRole personRole : personRoles) {
+                mask |= personRole.getRole().bit();
+            }
+        }
+        return mask;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return personRoles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getRole().name()))
-                .collect(Collectors.toList());
+        return AuthPrincipal.authoritiesOf(getRoleMask());
     }
 
     @Override
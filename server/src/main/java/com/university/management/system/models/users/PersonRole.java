@@ -1,6 +1,7 @@
 package com.university.management.system.models.users;
 
 import com.university.management.system.models.AbstractEntity;
+import com.university.management.system.models.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -8,6 +9,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "person_roles")
@@ -16,6 +19,7 @@ import lombok.experimental.SuperBuilder;
 @Getter
 @Setter
 @SuperBuilder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERSON_ROLE)
 public class PersonRole extends AbstractEntity {
 
     @NotNull
@@ -1,7 +1,45 @@
 package com.university.management.system.models.users;
 
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Role {
     ADMIN,
     EMPLOYEE,
-    STUDENT
+    STUDENT;
+
+    private static final Role[] VALUES = values();
+
+    /**
+     * Bit of this role in a role mask. Derived from the declaration order, so new roles must be appended.
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int mask(Collection<Role> roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.bit();
+        }
+        return mask;
+    }
+
+    public static Set<Role> fromMask(int mask) {
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        for (Role role : VALUES) {
+            if ((mask & role.bit()) != 0) {
+                roles.add(role);
+            }
+        }
+        return roles;
+    }
+
+    /**
+     * Number of distinct role masks, i.e. one past the largest valid mask.
+     */
+    public static int maskCount() {
+        return 1 << VALUES.length;
+    }
 }
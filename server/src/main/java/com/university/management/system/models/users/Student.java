@@ -2,12 +2,14 @@ package com.university.management.system.models.users;
 
 import com.university.management.system.models.AbstractEntity;
 import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.services.sync.TombstoneListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,6 +19,7 @@ import java.math.BigDecimal;
 import java.util.Set;
 
 @Entity
+@EntityListeners(TombstoneListener.class)
 @Table(name = "students", uniqueConstraints = {
         @UniqueConstraint(name = "uk_student_person", columnNames = "person_id"),
         @UniqueConstraint(name = "uk_student_number", columnNames = "student_number")
@@ -26,8 +29,13 @@ import java.util.Set;
 @Getter
 @Setter
 @SuperBuilder
+@NamedEntityGraph(name = Student.LISTING_GRAPH,
+        attributeNodes = @NamedAttributeNode(value = "person", subgraph = "person"),
+        subgraphs = @NamedSubgraph(name = "person", attributeNodes = @NamedAttributeNode("employee")))
 public class Student extends AbstractEntity {
 
+    public static final String LISTING_GRAPH = "Student.listing";
+
     @NotNull
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id", nullable = false, unique = true, foreignKey = @ForeignKey(name = "fk_student_person"))
@@ -41,10 +49,23 @@ public class Student extends AbstractEntity {
 
     private Integer academicYear;
 
+    /**
+     * Quotient of {@link #qualityPoints} and {@link #attemptedCredits}, the credits of every graded enrollment.
+     * All three are kept current by {@code StudentGpaService} and only written through its update queries.
+     */
+    @Builder.Default
     @DecimalMin("0.0")
     @DecimalMax("4.0")
     @Column(precision = 3, scale = 2)
-    private BigDecimal gpa;
+    private BigDecimal gpa = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attemptedCredits = 0;
+
+    @Builder.Default
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal qualityPoints = BigDecimal.ZERO;
 
     @NotNull
     @Enumerated(EnumType.STRING)
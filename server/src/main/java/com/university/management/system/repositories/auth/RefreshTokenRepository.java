@@ -0,0 +1,40 @@
+package com.university.management.system.repositories.auth;
+
+import com.university.management.system.models.auth.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marks the token used if it is still live. Returns 0 if it is unknown, expired, revoked or was already
+     * used, so of two concurrent uses of the same token only one succeeds.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.tokenHash = :tokenHash AND t.usedAt IS NULL AND t.revokedAt IS NULL AND t.expiresAt > :now")
+    int markUsed(@Param("tokenHash") String tokenHash, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now, t.version = t.version + 1, t.updatedAt = :now " +
+            "WHERE t.personId = :personId AND t.revokedAt IS NULL")
+    int revokeAllByPersonId(@Param("personId") String personId, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :before")
+    int deleteAllExpiredBefore(@Param("before") Instant before);
+}
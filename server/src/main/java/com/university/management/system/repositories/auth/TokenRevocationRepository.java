@@ -0,0 +1,22 @@
+package com.university.management.system.repositories.auth;
+
+import com.university.management.system.models.auth.TokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, String> {
+
+    @Query("SELECT r FROM TokenRevocation r WHERE r.createdAt >= :since AND r.expiresAt > :now")
+    List<TokenRevocation> findLiveCreatedSince(@Param("since") Instant since, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevocation r WHERE r.expiresAt < :before")
+    int deleteAllExpiredBefore(@Param("before") Instant before);
+}
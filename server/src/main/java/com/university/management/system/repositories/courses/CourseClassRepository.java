@@ -3,22 +3,141 @@ package com.university.management.system.repositories.courses;
 import com.university.management.system.models.courses.Course;
 import com.university.management.system.models.courses.CourseClass;
 import com.university.management.system.models.courses.CourseClassStatus;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseClassRepository extends JpaRepository<CourseClass, String> {
 
+    /**
+     * Flat row for read-only class listings, mapped by {@code ProjectionMapper}; no entities are loaded.
+     */
+    String ROW_QUERY = "SELECT cc.id AS id, cc.semester AS semester, cc.academicYear AS academicYear, " +
+            "cc.currentCapacity AS currentCapacity, cc.maxCapacity AS maxCapacity, cc.status AS status, " +
+            "c.id AS course_id, c.courseCode AS course_courseCode, c.title AS course_title, " +
+            "c.description AS course_description, c.credits AS course_credits, " +
+            "l.id AS lecturer_id, l.employeeNumber AS lecturer_employeeNumber, l.hireDate AS lecturer_hireDate, " +
+            "l.salary AS lecturer_salary, l.position AS lecturer_position, l.status AS lecturer_status, " +
+            "lp.id AS lecturer_person_id, lp.firstName AS lecturer_person_firstName, lp.lastName AS lecturer_person_lastName, " +
+            "lp.email AS lecturer_person_email, lp.phone AS lecturer_person_phone, " +
+            "lp.dateOfBirth AS lecturer_person_dateOfBirth, lp.address AS lecturer_person_address, " +
+            "(SELECT MIN(CAST(r.role AS String)) FROM PersonRole r WHERE r.person = lp) AS lecturer_person_role " +
+            "FROM CourseClass cc JOIN cc.course c JOIN cc.lecturer l JOIN l.person lp";
+
+    String AVAILABLE_FOR_STUDENT = "NOT EXISTS (SELECT 1 FROM Enrollment e " +
+            "WHERE e.courseClass = cc AND e.student.id = :studentId) " +
+            "AND (:semester IS NULL OR cc.semester = :semester) " +
+            "AND (:academicYear IS NULL OR cc.academicYear = :academicYear) " +
+            "AND (:status IS NULL OR cc.status = :status) " +
+            "AND (:freeSeatsOnly = false OR cc.currentCapacity < cc.maxCapacity)";
+
+    @Query(value = ROW_QUERY, countQuery = "SELECT COUNT(cc) FROM CourseClass cc")
+    Page<Tuple> findAllRows(Pageable pageable);
+
+    @Override
+    @EntityGraph(CourseClass.LISTING_GRAPH)
+    Page<CourseClass> findAll(Pageable pageable);
+
+    @EntityGraph(CourseClass.LISTING_GRAPH)
     Page<CourseClass> findByCourse(Course course, Pageable pageable);
 
+    @EntityGraph(CourseClass.LISTING_GRAPH)
     Page<CourseClass> findByStatus(CourseClassStatus status, Pageable pageable);
 
     Optional<CourseClass> findByCourseAndSemesterAndAcademicYear(Course course, String semester, Integer academicYear);
 
-    Page<CourseClass> findAllByIdNotIn(List<String> list, Pageable pageable);
+    /**
+     * Classes the student is not enrolled in, as a NOT EXISTS anti-join on enrollments(student_id, class_id) so
+     * the cost does not grow with the student's history. Filters left {@code null} are not applied.
+     */
+    @EntityGraph(CourseClass.LISTING_GRAPH)
+    @Query(value = "SELECT cc FROM CourseClass cc WHERE " + AVAILABLE_FOR_STUDENT,
+            countQuery = "SELECT COUNT(cc) FROM CourseClass cc WHERE " + AVAILABLE_FOR_STUDENT)
+    Page<CourseClass> findAvailableForStudent(@Param("studentId") String studentId,
+                                              @Param("semester") String semester,
+                                              @Param("academicYear") Integer academicYear,
+                                              @Param("status") CourseClassStatus status,
+                                              @Param("freeSeatsOnly") boolean freeSeatsOnly,
+                                              Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CourseClass c SET c.currentCapacity = c.currentCapacity + 1, c.version = c.version + 1, " +
+            "c.updatedAt = :now WHERE c.id = :id AND c.currentCapacity < c.maxCapacity")
+    int claimSeat(@Param("id") String id, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CourseClass c SET c.currentCapacity = c.currentCapacity + :count, c.version = c.version + 1, " +
+            "c.updatedAt = :now WHERE c.id = :id AND c.currentCapacity + :count <= c.maxCapacity")
+    int claimSeats(@Param("id") String id, @Param("count") int count, @Param("now") Instant now);
+
+    @Query("SELECT c.maxCapacity - c.currentCapacity FROM CourseClass c WHERE c.id = :id")
+    Optional<Integer> findFreeSeatsById(@Param("id") String id);
+
+    /**
+     * Current seat counts only, used to refresh cached class views; a primary-key lookup per id.
+     */
+    @Query("SELECT c.id AS id, c.currentCapacity AS currentCapacity FROM CourseClass c WHERE c.id IN :ids")
+    List<Tuple> findCurrentCapacitiesByIdIn(@Param("ids") Collection<String> ids);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CourseClass c SET c.currentCapacity = c.currentCapacity - 1, c.version = c.version + 1, " +
+            "c.updatedAt = :now WHERE c.id = :id AND c.currentCapacity > 0")
+    int releaseSeat(@Param("id") String id, @Param("now") Instant now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE CourseClass c SET c.currentCapacity = c.currentCapacity - :count, c.version = c.version + 1, " +
+            "c.updatedAt = :now WHERE c.id = :id AND c.currentCapacity >= :count")
+    int releaseSeats(@Param("id") String id, @Param("count") int count, @Param("now") Instant now);
+
+    @Query("SELECT c.id FROM CourseClass c WHERE c.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    @EntityGraph(CourseClass.LISTING_GRAPH)
+    Window<CourseClass> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Versions of the class and of the course, lecturer and lecturer person embedded in its view, for its ETag.
+     */
+    @Query("SELECT cc.id AS id, cc.version AS version, c.version AS courseVersion, l.version AS lecturerVersion, " +
+            "lp.version AS lecturerPersonVersion, " +
+            "(SELECT COUNT(r) FROM PersonRole r WHERE r.person = lp) AS lecturerRoles " +
+            "FROM CourseClass cc JOIN cc.course c JOIN cc.lecturer l JOIN l.person lp WHERE cc.id = :id")
+    Optional<Tuple> findVersionsById(@Param("id") String id);
+
+    /**
+     * Count, latest update and version sum of all classes, plus the latest update of the tables embedded in
+     * their views, for the ETag of a listing page.
+     */
+    @Query("SELECT COUNT(cc) AS count, MAX(cc.updatedAt) AS updatedAt, SUM(cc.version) AS versions, " +
+            "(SELECT MAX(c.updatedAt) FROM Course c) AS coursesUpdatedAt, " +
+            "(SELECT MAX(e.updatedAt) FROM Employee e) AS employeesUpdatedAt, " +
+            "(SELECT MAX(p.updatedAt) FROM Person p) AS personsUpdatedAt " +
+            "FROM CourseClass cc")
+    Tuple findListingVersions();
+
+    /**
+     * Classes changed after the keyset position {@code (after, afterId)} and no later than {@code until},
+     * oldest first, for the change feed.
+     */
+    @EntityGraph(CourseClass.LISTING_GRAPH)
+    @Query("SELECT cc FROM CourseClass cc WHERE cc.updatedAt <= :until AND " +
+            "(cc.updatedAt > :after OR (cc.updatedAt = :after AND cc.id > :afterId)) ORDER BY cc.updatedAt, cc.id")
+    List<CourseClass> findChangedAfter(@Param("after") Instant after, @Param("afterId") String afterId,
+            @Param("until") Instant until, Limit limit);
 }
@@ -1,15 +1,55 @@
 package com.university.management.system.repositories.courses;
 
+import com.university.management.system.dtos.courses.CourseDto;
 import com.university.management.system.models.courses.Course;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, String> {
 
+    @Query(value = "SELECT new com.university.management.system.dtos.courses.CourseDto(" +
+            "c.id, c.courseCode, c.title, c.description, c.credits) FROM Course c",
+            countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<CourseDto> findAllRows(Pageable pageable);
+
     Optional<Course> findByCourseCode(String courseCode);
 
     boolean existsByCourseCode(String courseCode);
+
+    Window<Course> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Id and version of a course, for its ETag.
+     */
+    @Query("SELECT c.id AS id, c.version AS version FROM Course c WHERE c.id = :id")
+    Optional<Tuple> findVersionsById(@Param("id") String id);
+
+    /**
+     * Count, latest update and version sum of all courses, for the ETag of a listing page.
+     */
+    @Query("SELECT COUNT(c) AS count, MAX(c.updatedAt) AS updatedAt, SUM(c.version) AS versions FROM Course c")
+    Tuple findListingVersions();
+
+    /**
+     * Courses changed after the keyset position {@code (after, afterId)} and no later than {@code until},
+     * oldest first, for the change feed.
+     */
+    @Query("SELECT c FROM Course c WHERE c.updatedAt <= :until AND " +
+            "(c.updatedAt > :after OR (c.updatedAt = :after AND c.id > :afterId)) ORDER BY c.updatedAt, c.id")
+    List<Course> findChangedAfter(@Param("after") Instant after, @Param("afterId") String afterId,
+            @Param("until") Instant until, Limit limit);
 }
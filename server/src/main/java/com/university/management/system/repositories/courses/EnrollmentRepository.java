@@ -1,19 +1,162 @@
 package com.university.management.system.repositories.courses;
 
 import com.university.management.system.models.courses.Enrollment;
+import jakarta.persistence.QueryHint;
+import jakarta.persistence.Tuple;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, String> {
 
+    /**
+     * Flat row for read-only enrollment listings, mapped by {@code ProjectionMapper}; no entities are loaded.
+     */
+    String ROW_QUERY = "SELECT e.id AS id, e.grade AS grade, e.status AS status, " +
+            "s.id AS student_id, s.studentNumber AS student_studentNumber, s.major AS student_major, " +
+            "s.academicYear AS student_academicYear, s.gpa AS student_gpa, s.status AS student_status, " +
+            "sp.id AS student_person_id, sp.firstName AS student_person_firstName, sp.lastName AS student_person_lastName, " +
+            "sp.email AS student_person_email, sp.phone AS student_person_phone, " +
+            "sp.dateOfBirth AS student_person_dateOfBirth, sp.address AS student_person_address, " +
+            "(SELECT MIN(CAST(sr.role AS String)) FROM PersonRole sr WHERE sr.person = sp) AS student_person_role, " +
+            "cc.id AS class_id, cc.semester AS class_semester, cc.academicYear AS class_academicYear, " +
+            "cc.currentCapacity AS class_currentCapacity, cc.maxCapacity AS class_maxCapacity, cc.status AS class_status, " +
+            "c.id AS class_course_id, c.courseCode AS class_course_courseCode, c.title AS class_course_title, " +
+            "c.description AS class_course_description, c.credits AS class_course_credits, " +
+            "l.id AS class_lecturer_id, l.employeeNumber AS class_lecturer_employeeNumber, " +
+            "l.hireDate AS class_lecturer_hireDate, l.salary AS class_lecturer_salary, " +
+            "l.position AS class_lecturer_position, l.status AS class_lecturer_status, " +
+            "lp.id AS class_lecturer_person_id, lp.firstName AS class_lecturer_person_firstName, " +
+            "lp.lastName AS class_lecturer_person_lastName, lp.email AS class_lecturer_person_email, " +
+            "lp.phone AS class_lecturer_person_phone, lp.dateOfBirth AS class_lecturer_person_dateOfBirth, " +
+            "lp.address AS class_lecturer_person_address, " +
+            "(SELECT MIN(CAST(lr.role AS String)) FROM PersonRole lr WHERE lr.person = lp) AS class_lecturer_person_role " +
+            "FROM Enrollment e JOIN e.student s JOIN s.person sp " +
+            "JOIN e.courseClass cc JOIN cc.course c JOIN cc.lecturer l JOIN l.person lp";
+
+    /**
+     * Flat export row, one per enrollment; aliases are the export column names used by {@code EnrollmentExporter}.
+     */
+    String EXPORT_QUERY = "SELECT e.id AS id, e.grade AS grade, e.status AS status, e.createdAt AS createdAt, " +
+            "s.id AS studentId, s.studentNumber AS studentNumber, sp.firstName AS studentFirstName, " +
+            "sp.lastName AS studentLastName, sp.email AS studentEmail, " +
+            "cc.id AS classId, cc.semester AS semester, cc.academicYear AS academicYear, " +
+            "c.id AS courseId, c.courseCode AS courseCode, c.title AS courseTitle, c.credits AS credits " +
+            "FROM Enrollment e JOIN e.student s JOIN s.person sp JOIN e.courseClass cc JOIN cc.course c " +
+            "WHERE (:semester IS NULL OR cc.semester = :semester) " +
+            "AND (:academicYear IS NULL OR cc.academicYear = :academicYear) " +
+            "AND (:classId IS NULL OR cc.id = :classId)";
+
+    @Query(value = ROW_QUERY, countQuery = "SELECT COUNT(e) FROM Enrollment e")
+    Page<Tuple> findAllRows(Pageable pageable);
+
+    @Query(value = ROW_QUERY + " WHERE s.id = :studentId",
+            countQuery = "SELECT COUNT(e) FROM Enrollment e WHERE e.student.id = :studentId")
+    Page<Tuple> findAllRowsByStudentId(@Param("studentId") String studentId, Pageable pageable);
+
+    @Override
+    @EntityGraph(Enrollment.LISTING_GRAPH)
+    Page<Enrollment> findAll(Pageable pageable);
+
+    @EntityGraph(Enrollment.LISTING_GRAPH)
     Page<Enrollment> findAllByStudentId(String studentId, Pageable pageable);
 
+    @EntityGraph(attributePaths = { "courseClass", "courseClass.course" })
     List<Enrollment> findAllByStudentId(String studentId);
 
     boolean existsByStudentIdAndCourseClassId(String id, String classId);
+
+    /**
+     * Streams the export rows through a server-side cursor; must be consumed inside a transaction and closed.
+     */
+    @Query(EXPORT_QUERY)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Tuple> streamForExport(@Param("semester") String semester,
+                                  @Param("academicYear") Integer academicYear,
+                                  @Param("classId") String classId);
+
+    @Query("SELECT e.student.id FROM Enrollment e WHERE e.courseClass.id = :classId AND e.student.id IN :studentIds")
+    List<String> findEnrolledStudentIds(@Param("classId") String classId,
+            @Param("studentIds") Collection<String> studentIds);
+
+    /**
+     * Enrollments of the given students in one class, for a chunk of a grade upload. They are not locked:
+     * the chunk's updates carry the enrollment version, so a concurrent edit fails the chunk instead.
+     */
+    @Query("SELECT e FROM Enrollment e WHERE e.courseClass.id = :classId AND e.student.id IN :studentIds")
+    List<Enrollment> findAllByClassIdAndStudentIds(@Param("classId") String classId,
+            @Param("studentIds") Collection<String> studentIds);
+
+    @EntityGraph(Enrollment.LISTING_GRAPH)
+    Window<Enrollment> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Credits per student and grade over every graded enrollment; the from-scratch input for GPA totals.
+     */
+    @Query("SELECT e.student.id AS studentId, e.grade AS grade, SUM(c.credits) AS credits " +
+            "FROM Enrollment e JOIN e.courseClass cc JOIN cc.course c " +
+            "WHERE e.student.id IN :studentIds AND e.grade IS NOT NULL AND c.credits > 0 " +
+            "GROUP BY e.student.id, e.grade")
+    List<Tuple> sumGradedCreditsByStudentIds(@Param("studentIds") Collection<String> studentIds);
+
+    @Query("SELECT DISTINCT e.student.id FROM Enrollment e WHERE e.courseClass.course.id = :courseId AND e.grade IS NOT NULL")
+    List<String> findGradedStudentIdsByCourseId(@Param("courseId") String courseId);
+
+    @Query("SELECT DISTINCT e.student.id FROM Enrollment e WHERE e.courseClass.id = :classId AND e.grade IS NOT NULL")
+    List<String> findGradedStudentIdsByCourseClassId(@Param("classId") String classId);
+
+    /**
+     * Versions of the enrollment and of every row embedded in its view, for its ETag.
+     */
+    @Query("SELECT e.id AS id, e.version AS version, s.version AS studentVersion, sp.version AS studentPersonVersion, " +
+            "(SELECT COUNT(sr) FROM PersonRole sr WHERE sr.person = sp) AS studentRoles, " +
+            "cc.version AS classVersion, c.version AS courseVersion, l.version AS lecturerVersion, " +
+            "lp.version AS lecturerPersonVersion, " +
+            "(SELECT COUNT(lr) FROM PersonRole lr WHERE lr.person = lp) AS lecturerRoles " +
+            "FROM Enrollment e JOIN e.student s JOIN s.person sp JOIN e.courseClass cc JOIN cc.course c " +
+            "JOIN cc.lecturer l JOIN l.person lp WHERE e.id = :id")
+    Optional<Tuple> findVersionsById(@Param("id") String id);
+
+    /**
+     * Count, latest update and version sum of all enrollments, plus the latest update of the tables embedded
+     * in their views, for the ETag of a listing page.
+     */
+    @Query("SELECT COUNT(e) AS count, MAX(e.updatedAt) AS updatedAt, SUM(e.version) AS versions, " +
+            "(SELECT MAX(s.updatedAt) FROM Student s) AS studentsUpdatedAt, " +
+            "(SELECT MAX(cc.updatedAt) FROM CourseClass cc) AS classesUpdatedAt, " +
+            "(SELECT MAX(c.updatedAt) FROM Course c) AS coursesUpdatedAt, " +
+            "(SELECT MAX(em.updatedAt) FROM Employee em) AS employeesUpdatedAt, " +
+            "(SELECT MAX(p.updatedAt) FROM Person p) AS personsUpdatedAt " +
+            "FROM Enrollment e")
+    Tuple findListingVersions();
+
+    /**
+     * Enrollments changed after the keyset position {@code (after, afterId)} and no later than {@code until},
+     * oldest first, for the change feed.
+     */
+    @EntityGraph(Enrollment.LISTING_GRAPH)
+    @Query("SELECT e FROM Enrollment e WHERE e.updatedAt <= :until AND " +
+            "(e.updatedAt > :after OR (e.updatedAt = :after AND e.id > :afterId)) ORDER BY e.updatedAt, e.id")
+    List<Enrollment> findChangedAfter(@Param("after") Instant after, @Param("afterId") String afterId,
+            @Param("until") Instant until, Limit limit);
 }
@@ -0,0 +1,30 @@
+package com.university.management.system.repositories.sync;
+
+import com.university.management.system.models.sync.SyncResource;
+import com.university.management.system.models.sync.Tombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, String> {
+
+    /**
+     * Deletions of a resource after the keyset position {@code (after, afterId)} and no later than
+     * {@code until}, oldest first.
+     */
+    @Query("SELECT t FROM Tombstone t WHERE t.resourceType = :resource AND t.createdAt <= :until AND " +
+            "(t.createdAt > :after OR (t.createdAt = :after AND t.id > :afterId)) ORDER BY t.createdAt, t.id")
+    List<Tombstone> findDeletedAfter(@Param("resource") SyncResource resource, @Param("after") Instant after,
+                                     @Param("afterId") String afterId, @Param("until") Instant until, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.createdAt < :before")
+    int deleteAllCreatedBefore(@Param("before") Instant before);
+}
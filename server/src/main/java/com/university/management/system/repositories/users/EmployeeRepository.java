@@ -3,9 +3,16 @@ package com.university.management.system.repositories.users;
 import com.university.management.system.models.users.Employee;
 import com.university.management.system.models.users.Position;
 import com.university.management.system.models.users.EmployeeStatus;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -26,4 +33,27 @@ public interface EmployeeRepository extends JpaRepository<Employee, String> {
     Optional<Employee> findByPersonId(String personId);
 
     boolean existsByPersonId(String personId);
+
+    Window<Employee> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    String VERSIONS_QUERY = "SELECT e.id AS id, e.version AS version, p.version AS personVersion, " +
+            "(SELECT COUNT(r) FROM PersonRole r WHERE r.person = p) AS roles " +
+            "FROM Employee e JOIN e.person p";
+
+    /**
+     * Versions of the employee and its person, for its ETag.
+     */
+    @Query(VERSIONS_QUERY + " WHERE e.id = :id")
+    Optional<Tuple> findVersionsById(@Param("id") String id);
+
+    @Query(VERSIONS_QUERY + " WHERE p.id = :personId")
+    Optional<Tuple> findVersionsByPersonId(@Param("personId") String personId);
+
+    /**
+     * Count, latest update and version sum of all employees, plus the latest person update, for the ETag of a
+     * listing page.
+     */
+    @Query("SELECT COUNT(e) AS count, MAX(e.updatedAt) AS updatedAt, SUM(e.version) AS versions, " +
+            "(SELECT MAX(p.updatedAt) FROM Person p) AS personsUpdatedAt FROM Employee e")
+    Tuple findListingVersions();
 }
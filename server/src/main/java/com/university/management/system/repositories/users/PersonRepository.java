@@ -1,9 +1,19 @@
 package com.university.management.system.repositories.users;
 
+import com.university.management.system.models.users.AuthCredentials;
 import com.university.management.system.models.users.Person;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,5 +21,44 @@ public interface PersonRepository extends JpaRepository<Person, String> {
 
     Optional<Person> findByEmail(String email);
 
+    /**
+     * One row per role of the person with the given email (a single row without a role if it has none), with
+     * the ids of its student and employee. Read through {@link #findCredentialsByEmail}.
+     */
+    @Query("SELECT p.id AS id, p.email AS email, p.password AS password, p.firstName AS firstName, " +
+            "p.lastName AS lastName, s.id AS studentId, e.id AS employeeId, r.role AS role " +
+            "FROM Person p LEFT JOIN p.student s LEFT JOIN p.employee e LEFT JOIN p.personRoles r " +
+            "WHERE p.email = :email")
+    List<Tuple> findCredentialRowsByEmail(@Param("email") String email);
+
+    default Optional<AuthCredentials> findCredentialsByEmail(String email) {
+        return AuthCredentials.fromRows(findCredentialRowsByEmail(email));
+    }
+
+    /**
+     * {@link #findCredentialRowsByEmail} by person id.
+     */
+    @Query("SELECT p.id AS id, p.email AS email, p.password AS password, p.firstName AS firstName, " +
+            "p.lastName AS lastName, s.id AS studentId, e.id AS employeeId, r.role AS role " +
+            "FROM Person p LEFT JOIN p.student s LEFT JOIN p.employee e LEFT JOIN p.personRoles r " +
+            "WHERE p.id = :id")
+    List<Tuple> findCredentialRowsById(@Param("id") String id);
+
+    default Optional<AuthCredentials> findCredentialsById(String id) {
+        return AuthCredentials.fromRows(findCredentialRowsById(id));
+    }
+
     boolean existsByEmail(String email);
+
+    @Query("SELECT p.email FROM Person p WHERE p.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    Window<Person> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Version and role count of a person, for the ETag of its profile.
+     */
+    @Query("SELECT p.id AS id, p.version AS version, " +
+            "(SELECT COUNT(r) FROM PersonRole r WHERE r.person = p) AS roles FROM Person p WHERE p.id = :id")
+    Optional<Tuple> findVersionsById(@Param("id") String id);
 }
@@ -20,4 +20,6 @@ public interface PersonRoleRepository extends JpaRepository<PersonRole, String>
     List<PersonRole> findByPersonAndRole(Person person, Role role);
 
     long countPersonRoleByPersonId(String personId);
+
+    boolean existsByPersonIdAndRole(String personId, Role role);
 }
@@ -2,27 +2,143 @@ package com.university.management.system.repositories.users;
 
 import com.university.management.system.models.users.Student;
 import com.university.management.system.models.users.StudentStatus;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, String> {
 
+    /**
+     * Flat row for the read-only student listing, mapped by {@code ProjectionMapper}; no entities are loaded.
+     */
+    String ROW_QUERY = "SELECT s.id AS id, s.studentNumber AS studentNumber, s.major AS major, " +
+            "s.academicYear AS academicYear, s.gpa AS gpa, s.status AS status, " +
+            "p.id AS person_id, p.firstName AS person_firstName, p.lastName AS person_lastName, " +
+            "p.email AS person_email, p.phone AS person_phone, " +
+            "p.dateOfBirth AS person_dateOfBirth, p.address AS person_address, " +
+            "(SELECT MIN(CAST(r.role AS String)) FROM PersonRole r WHERE r.person = p) AS person_role " +
+            "FROM Student s JOIN s.person p";
+
+    // Change time of a student in the change feed: names and contact details are stored on the person
+    String CHANGED_AT = "greatest(s.updatedAt, p.updatedAt)";
+
+    @Query(value = ROW_QUERY, countQuery = "SELECT COUNT(s) FROM Student s")
+    Page<Tuple> findAllRows(Pageable pageable);
+
+    @Override
+    @EntityGraph(Student.LISTING_GRAPH)
+    Page<Student> findAll(Pageable pageable);
+
     Optional<Student> findByStudentNumber(String studentNumber);
 
     boolean existsByStudentNumber(String studentNumber);
 
+    @EntityGraph(Student.LISTING_GRAPH)
     Page<Student> findByStatus(StudentStatus status, Pageable pageable);
 
+    @EntityGraph(Student.LISTING_GRAPH)
     Page<Student> findByMajor(String major, Pageable pageable);
 
+    @EntityGraph(Student.LISTING_GRAPH)
     Page<Student> findByAcademicYear(Integer academicYear, Pageable pageable);
 
     boolean existsByPersonId(String personId);
 
+    @Query("SELECT s.id FROM Student s WHERE s.id IN :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
     Optional<Student> findByPersonId(String personId);
+
+    @EntityGraph(Student.LISTING_GRAPH)
+    Window<Student> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Adds a (possibly negative) change to the running grade totals and recomputes the GPA from them in the
+     * same statement, so concurrent grade changes for one student serialise on the row instead of racing.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Student s SET s.attemptedCredits = s.attemptedCredits + :credits, " +
+            "s.qualityPoints = s.qualityPoints + :qualityPoints, " +
+            "s.gpa = CASE WHEN s.attemptedCredits + :credits > 0 " +
+            "THEN ROUND((s.qualityPoints + :qualityPoints) / (s.attemptedCredits + :credits), 2) ELSE 0 END, " +
+            "s.version = s.version + 1, s.updatedAt = :now WHERE s.id = :id")
+    int addGradeTotals(@Param("id") String id, @Param("credits") int credits,
+                       @Param("qualityPoints") BigDecimal qualityPoints, @Param("now") Instant now);
+
+    /**
+     * {@link #addGradeTotals} for every student whose totals change by the same amount.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Student s SET s.attemptedCredits = s.attemptedCredits + :credits, " +
+            "s.qualityPoints = s.qualityPoints + :qualityPoints, " +
+            "s.gpa = CASE WHEN s.attemptedCredits + :credits > 0 " +
+            "THEN ROUND((s.qualityPoints + :qualityPoints) / (s.attemptedCredits + :credits), 2) ELSE 0 END, " +
+            "s.version = s.version + 1, s.updatedAt = :now WHERE s.id IN :ids")
+    int addGradeTotalsByIds(@Param("ids") Collection<String> ids, @Param("credits") int credits,
+                            @Param("qualityPoints") BigDecimal qualityPoints, @Param("now") Instant now);
+
+    @Query("SELECT s.studentNumber AS studentNumber, s.id AS id FROM Student s " +
+            "WHERE s.studentNumber IN :studentNumbers")
+    List<Tuple> findIdsByStudentNumbers(@Param("studentNumbers") Collection<String> studentNumbers);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Student s SET s.attemptedCredits = :credits, s.qualityPoints = :qualityPoints, s.gpa = :gpa, " +
+            "s.version = s.version + 1, s.updatedAt = :now WHERE s.id = :id")
+    int setGradeTotals(@Param("id") String id, @Param("credits") int credits,
+                       @Param("qualityPoints") BigDecimal qualityPoints, @Param("gpa") BigDecimal gpa,
+                       @Param("now") Instant now);
+
+    @Query("SELECT s.id AS id, s.attemptedCredits AS attemptedCredits, s.qualityPoints AS qualityPoints, " +
+            "s.gpa AS gpa FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Tuple> findGradeTotalsAfter(@Param("afterId") String afterId, Pageable pageable);
+
+    String VERSIONS_QUERY = "SELECT s.id AS id, s.version AS version, p.version AS personVersion, " +
+            "(SELECT COUNT(r) FROM PersonRole r WHERE r.person = p) AS roles " +
+            "FROM Student s JOIN s.person p";
+
+    /**
+     * Versions of the student and its person, for its ETag.
+     */
+    @Query(VERSIONS_QUERY + " WHERE s.id = :id")
+    Optional<Tuple> findVersionsById(@Param("id") String id);
+
+    @Query(VERSIONS_QUERY + " WHERE p.id = :personId")
+    Optional<Tuple> findVersionsByPersonId(@Param("personId") String personId);
+
+    /**
+     * Count, latest update and version sum of all students, plus the latest person update, for the ETag of a
+     * listing page.
+     */
+    @Query("SELECT COUNT(s) AS count, MAX(s.updatedAt) AS updatedAt, SUM(s.version) AS versions, " +
+            "(SELECT MAX(p.updatedAt) FROM Person p) AS personsUpdatedAt FROM Student s")
+    Tuple findListingVersions();
+
+    /**
+     * Students whose own row or person changed after the keyset position {@code (after, afterId)} and no later
+     * than {@code until}, ordered by the later of the two updates. The first condition only narrows the rows
+     * to the ones the two updated_at indexes can find.
+     */
+    @EntityGraph(Student.LISTING_GRAPH)
+    @Query("SELECT s FROM Student s JOIN s.person p WHERE (s.updatedAt >= :after OR p.updatedAt >= :after) AND " +
+            CHANGED_AT + " <= :until AND (" + CHANGED_AT + " > :after OR (" + CHANGED_AT + " = :after AND " +
+            "s.id > :afterId)) ORDER BY " + CHANGED_AT + ", s.id")
+    List<Student> findChangedAfter(@Param("after") Instant after, @Param("afterId") String afterId,
+            @Param("until") Instant until, Limit limit);
 }
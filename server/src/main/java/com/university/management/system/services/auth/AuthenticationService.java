@@ -2,6 +2,8 @@ package com.university.management.system.services.auth;
 
 import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.auth.*;
+import com.university.management.system.models.users.AuthCredentials;
+import com.university.management.system.models.users.AuthPrincipal;
 import com.university.management.system.models.users.Person;
 import com.university.management.system.models.users.PersonRole;
 import com.university.management.system.models.users.Role;
@@ -10,42 +12,69 @@ import com.university.management.system.models.users.StudentStatus;
 import com.university.management.system.repositories.users.PersonRepository;
 import com.university.management.system.repositories.users.PersonRoleRepository;
 import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.courses.CourseCatalogCache;
 import com.university.management.system.utils.AuthUtils;
+import com.university.management.system.utils.ETagUtils;
 import com.university.management.system.utils.ResponseEntityBuilder;
 import com.university.management.system.utils.mappers.users.PersonResponseMapper;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Collections;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService implements IAuthenticationService {
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final PersonRepository personRepository;
     private final PersonResponseMapper personResponseMapper;
-    private final PasswordEncoder passwordEncoder;
     private final AuthUtils authUtils;
     private final JwtService jwtService;
     private final StudentRepository studentRepository;
     private final PersonRoleRepository personRoleRepository;
-
+    private final PrincipalCache principalCache;
+    private final CourseCatalogCache courseCatalogCache;
+    private final PasswordVerifier passwordVerifier;
+    private final LoginThrottle loginThrottle;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
+    private final TransactionTemplate transactionTemplate;
+
+    // Whatever follows a password check or hash (signing, database writes), kept off the BCrypt pool
+    private final ExecutorService completions = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("login-completion-", 0).factory());
+
+    /**
+     * The password is hashed on the {@link PasswordVerifier} pool; the person, its student record and the tokens
+     * are then created in one transaction on a virtual thread.
+     */
     @Override
-    @Transactional
-    public ResponseEntity<ApiResponse> register(RegisterRequest registerRequest) {
+    public CompletableFuture<ResponseEntity<ApiResponse>> register(RegisterRequest registerRequest) {
         if (personRepository.existsByEmail(registerRequest.getEmail())) {
             throw new RuntimeException("Email already exists: " + registerRequest.getEmail());
         }
 
+        return passwordVerifier.encode(registerRequest.getPassword())
+                .thenApplyAsync(passwordHash -> transactionTemplate.execute(
+                        status -> registerStudent(registerRequest, passwordHash)), completions);
+    }
+
+    private ResponseEntity<ApiResponse> registerStudent(RegisterRequest registerRequest, String passwordHash) {
         Person person = Person.builder()
                 .firstName(registerRequest.getFirstName())
                 .lastName(registerRequest.getLastName())
                 .email(registerRequest.getEmail())
-                .password(passwordEncoder.encode(registerRequest.getPassword()))
+                .password(passwordHash)
                 .build();
 
         Person savedPerson = personRepository.save(person);
@@ -64,10 +93,11 @@ public class AuthenticationService implements IAuthenticationService {
                 .studentNumber(UUID.randomUUID().toString())
                 .build();
 
-        studentRepository.save(student);
+        savedPerson.setStudent(studentRepository.save(student));
 
         String token = jwtService.generateToken(savedPerson);
         AuthResponse authResponse = personResponseMapper.toAuthResponse(savedPerson, token);
+        authResponse.setRefreshToken(refreshTokenService.issue(savedPerson.getId()));
 
         return ResponseEntityBuilder.create()
                 .withStatus(HttpStatus.CREATED)
@@ -76,77 +106,159 @@ public class AuthenticationService implements IAuthenticationService {
                 .build();
     }
 
+    /**
+     * Throttled accounts and addresses are refused before anything is read, and the password is checked on the
+     * {@link PasswordVerifier} pool. The rest of the login (signing, storing the refresh token) runs on a virtual
+     * thread, so the pool only ever spends its threads on BCrypt and the request thread is not held either.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<ApiResponse>> login(LoginRequest loginRequest, String clientAddress) {
+        loginThrottle.checkAllowed(loginRequest.getEmail(), clientAddress);
+
+        AuthCredentials credentials = personRepository.findCredentialsByEmail(loginRequest.getEmail()).orElse(null);
+        if (credentials == null) {
+            loginThrottle.recordFailure(loginRequest.getEmail(), clientAddress);
+            return CompletableFuture.completedFuture(invalidCredentials());
+        }
+
+        return passwordVerifier.matches(loginRequest.getPassword(), credentials.passwordHash())
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        loginThrottle.recordFailure(loginRequest.getEmail(), clientAddress);
+                        return invalidCredentials();
+                    }
+                    loginThrottle.recordSuccess(loginRequest.getEmail());
+
+                    String token = jwtService.generateToken(credentials.toPrincipal());
+                    String refreshToken = refreshTokenService.issue(credentials.id());
+                    AuthResponse authResponse = personResponseMapper.toAuthResponse(credentials, token, refreshToken);
+
+                    return ResponseEntityBuilder.create()
+                            .withStatus(HttpStatus.OK)
+                            .withData("User", authResponse)
+                            .withMessage("User logged in successfully!")
+                            .build();
+                }, completions);
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the refresh token that replaces it; the presented one
+     * cannot be used again.
+     */
     @Override
-    public ResponseEntity<ApiResponse> login(LoginRequest loginRequest) {
-        Person person = personRepository.findByEmail(loginRequest.getEmail()).orElse(null);
-        if (person == null || !passwordEncoder.matches(loginRequest.getPassword(), person.getPassword())) {
+    public ResponseEntity<ApiResponse> refreshToken(String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken).orElse(null);
+        if (rotation == null) {
+            return ResponseEntityBuilder.create()
+                    .withStatus(HttpStatus.UNAUTHORIZED)
+                    .withMessage("Invalid or expired refresh token")
+                    .build();
+        }
+
+        AuthCredentials credentials = personRepository.findCredentialsById(rotation.personId()).orElse(null);
+        if (credentials == null) {
             return ResponseEntityBuilder.create()
-                    .withStatus(HttpStatus.BAD_REQUEST)
-                    .withMessage("Invalid email or password!")
+                    .withStatus(HttpStatus.NOT_FOUND)
+                    .withMessage("User not found")
                     .build();
         }
 
-        String token = jwtService.generateToken(person);
-        AuthResponse authResponse = personResponseMapper.toAuthResponse(person, token);
+        String token = jwtService.generateToken(credentials.toPrincipal());
+        AuthResponse authResponse = personResponseMapper.toAuthResponse(credentials, token, rotation.token());
 
         return ResponseEntityBuilder.create()
                 .withStatus(HttpStatus.OK)
                 .withData("User", authResponse)
-                .withMessage("User logged in successfully!")
+                .withMessage("Token refreshed successfully!")
                 .build();
     }
 
+    /**
+     * Revokes the access token of the request and, if given, the refresh token family it was issued with. Tokens
+     * issued before they carried the person id name the person by email only, so it is looked up.
+     */
     @Override
-    public ResponseEntity<ApiResponse> refreshToken(String token) {
-        if (token == null || token.isEmpty()) {
-            return ResponseEntityBuilder.create()
-                    .withStatus(HttpStatus.BAD_REQUEST)
-                    .withMessage("Token is required")
-                    .build();
+    public ResponseEntity<ApiResponse> logout(String authorization, String refreshToken) {
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return notAuthenticated();
         }
 
-        try {
-            String jwt = token;
-            if (token.startsWith("Bearer ")) {
-                jwt = token.substring(7);
+        Claims claims = jwtService.verify(authorization.substring(BEARER_PREFIX.length()));
+        String personId = jwtService.extractPersonId(claims);
+        if (personId == null) {
+            personId = personRepository.findCredentialsByEmail(claims.getSubject())
+                    .map(AuthCredentials::id)
+                    .orElse(null);
+            if (personId == null) {
+                return notAuthenticated();
             }
+        }
 
-            String email = jwtService.extractUsername(jwt);
-            Person person = personRepository.findByEmail(email).orElse(null);
+        tokenRevocationService.revoke(claims, personId);
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
 
-            if (person == null) {
-                return ResponseEntityBuilder.create()
-                        .withStatus(HttpStatus.NOT_FOUND)
-                        .withMessage("User not found")
-                        .build();
-            }
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withMessage("User logged out successfully!")
+                .build();
+    }
 
-            if (!jwtService.isTokenValid(jwt, person)) {
-                return ResponseEntityBuilder.create()
-                        .withStatus(HttpStatus.UNAUTHORIZED)
-                        .withMessage("Invalid or expired token")
-                        .build();
-            }
+    /**
+     * Changing the password ends every session of the person, this one included: all access and refresh tokens
+     * issued so far are revoked and the client has to log in again. The current password is checked like a login,
+     * throttled per account and address and verified on the {@link PasswordVerifier} pool, which also hashes the
+     * new one.
+     */
+    @Override
+    public CompletableFuture<ResponseEntity<ApiResponse>> changePassword(ChangePasswordRequest changePasswordRequest,
+            String clientAddress) {
+        AuthPrincipal currentUser = authUtils.getCurrentUser();
+        if (currentUser == null) {
+            return CompletableFuture.completedFuture(notAuthenticated());
+        }
+        String id = currentUser.getId();
+        String email = currentUser.getUsername();
+        loginThrottle.checkAllowed(email, clientAddress);
 
-            String newToken = jwtService.generateToken(person);
-            AuthResponse authResponse = personResponseMapper.toAuthResponse(person, newToken);
+        AuthCredentials credentials = personRepository.findCredentialsById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
 
-            return ResponseEntityBuilder.create()
-                    .withStatus(HttpStatus.OK)
-                    .withData("User", authResponse)
-                    .withMessage("Token refreshed successfully!")
-                    .build();
-        } catch (Exception e) {
-            return ResponseEntityBuilder.create()
-                    .withStatus(HttpStatus.UNAUTHORIZED)
-                    .withMessage("Invalid token")
-                    .build();
-        }
+        return passwordVerifier.matches(changePasswordRequest.getOldPassword(), credentials.passwordHash())
+                .thenComposeAsync(matches -> {
+                    if (!matches) {
+                        loginThrottle.recordFailure(email, clientAddress);
+                        return CompletableFuture.completedFuture(ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.BAD_REQUEST)
+                                .withMessage("Current password is incorrect")
+                                .build());
+                    }
+                    loginThrottle.recordSuccess(email);
+
+                    return passwordVerifier.encode(changePasswordRequest.getNewPassword())
+                            .thenApplyAsync(passwordHash -> {
+                                transactionTemplate.executeWithoutResult(status -> {
+                                    Person person = personRepository.findById(id)
+                                            .orElseThrow(() -> new RuntimeException("User not found"));
+                                    person.setPassword(passwordHash);
+                                    personRepository.save(person);
+                                    tokenRevocationService.revokeAllForPerson(id);
+                                    refreshTokenService.revokeAllForPerson(id);
+                                    principalCache.evictAfterCommit(id);
+                                });
+
+                                return ResponseEntityBuilder.create()
+                                        .withStatus(HttpStatus.OK)
+                                        .withMessage("Password changed successfully, please log in again")
+                                        .build();
+                            }, completions);
+                }, completions);
     }
 
     @Override
-    public ResponseEntity<ApiResponse> me() {
-        Person currentUser = authUtils.getCurrentUser();
+    public ResponseEntity<ApiResponse> me(String ifNoneMatch) {
+        AuthPrincipal currentUser = authUtils.getCurrentUser();
 
         if (currentUser == null) {
             return ResponseEntityBuilder.create()
@@ -155,6 +267,12 @@ public class AuthenticationService implements IAuthenticationService {
                     .build();
         }
 
+        String etag = ETagUtils.strong(personRepository.findVersionsById(currentUser.getId())
+                .orElseThrow(() -> new RuntimeException("User not found")));
+        if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+            return ETagUtils.notModified(etag);
+        }
+
         Person person = personRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -164,15 +282,17 @@ public class AuthenticationService implements IAuthenticationService {
                 .withStatus(HttpStatus.OK)
                 .withData("User", profileResponse)
                 .withMessage("User profile retrieved successfully!")
+                .withETag(etag)
                 .build();
     }
 
     @Override
     @Transactional
-    public ResponseEntity<ApiResponse> updateProfile(UpdateProfileRequest updateProfileRequest) {
+    public ResponseEntity<ApiResponse> updateProfile(UpdateProfileRequest updateProfileRequest, String ifMatch) {
         String id = authUtils.getCurrentUserId();
         Person person = personRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        ETagUtils.checkIfMatch(ifMatch, () -> currentETag(id));
 
         person.setFirstName(updateProfileRequest.getFirstName());
         person.setLastName(updateProfileRequest.getLastName());
@@ -181,6 +301,8 @@ public class AuthenticationService implements IAuthenticationService {
         person.setAddress(updateProfileRequest.getAddress());
 
         person = personRepository.save(person);
+        principalCache.evictAfterCommit(id);
+        courseCatalogCache.evictCourseClassesAfterCommit();
 
         ProfileResponse profileResponse = personResponseMapper.toProfileDto(person);
 
@@ -188,6 +310,26 @@ public class AuthenticationService implements IAuthenticationService {
                 .withStatus(HttpStatus.OK)
                 .withData("User", profileResponse)
                 .withMessage("User profile updated successfully!")
+                .withETag(currentETag(id))
+                .build();
+    }
+
+    private ResponseEntity<ApiResponse> notAuthenticated() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.UNAUTHORIZED)
+                .withMessage("User not authenticated")
                 .build();
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<ApiResponse> invalidCredentials() {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.BAD_REQUEST)
+                .withMessage("Invalid email or password!")
+                .build();
+    }
+
+    // Runs as a query, so pending changes are flushed first and the tag reflects them
+    private String currentETag(String id) {
+        return ETagUtils.strong(personRepository.findVersionsById(id).orElseThrow());
+    }
+}
@@ -1,19 +1,27 @@
 package com.university.management.system.services.auth;
 
 import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.dtos.auth.ChangePasswordRequest;
 import com.university.management.system.dtos.auth.LoginRequest;
 import com.university.management.system.dtos.auth.RegisterRequest;
 import com.university.management.system.dtos.auth.UpdateProfileRequest;
 import org.springframework.http.ResponseEntity;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface IAuthenticationService {
 
-    ResponseEntity<ApiResponse> register(RegisterRequest registerRequest);
-    ResponseEntity<ApiResponse> login(LoginRequest loginRequest);
+    CompletableFuture<ResponseEntity<ApiResponse>> register(RegisterRequest registerRequest);
+    CompletableFuture<ResponseEntity<ApiResponse>> login(LoginRequest loginRequest, String clientAddress);
+
+    ResponseEntity<ApiResponse> refreshToken(String refreshToken);
+
+    ResponseEntity<ApiResponse> logout(String authorization, String refreshToken);
 
-    ResponseEntity<ApiResponse> refreshToken(String token);
+    CompletableFuture<ResponseEntity<ApiResponse>> changePassword(ChangePasswordRequest changePasswordRequest,
+            String clientAddress);
 
-    ResponseEntity<ApiResponse> me();
+    ResponseEntity<ApiResponse> me(String ifNoneMatch);
 
-    ResponseEntity<ApiResponse> updateProfile(UpdateProfileRequest updateProfileRequest);
+    ResponseEntity<ApiResponse> updateProfile(UpdateProfileRequest updateProfileRequest, String ifMatch);
 }
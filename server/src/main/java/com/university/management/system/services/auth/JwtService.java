@@ -1,7 +1,16 @@
 package com.university.management.system.services.auth;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.university.management.system.models.users.AuthPrincipal;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,26 +19,75 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
+    private static final String ROLE_CLAIM = "role";
+    private static final String ID_CLAIM = "id";
+    private static final String STUDENT_ID_CLAIM = "studentId";
+    private static final String EMPLOYEE_ID_CLAIM = "employeeId";
+    private static final String ROLE_PREFIX = "ROLE_";
 
-    @Value("${security.jwt.expiration-time}")
-    private long jwtExpiration;
+    private final long jwtExpiration;
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+
+    // Keyed by a digest of the token so raw bearer tokens are never kept in memory
+    private final Cache<String, Claims> verifiedTokens;
+
+    public JwtService(
+            @Value("${security.jwt.secret-key}") String secretKey,
+            @Value("${security.jwt.expiration-time}") long jwtExpiration,
+            @Value("${security.jwt.verified-cache-size:10000}") long verifiedCacheSize) {
+        this.jwtExpiration = jwtExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Verifies the signature and expiry of a token once and returns its claims. A token that was verified
+     * before is served from the cache until it expires, so repeated requests skip the HMAC check and the
+     * JSON parsing.
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        Claims cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !isExpired(cached)) {
+            return cached;
+        }
+
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token));
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -40,44 +98,135 @@ public class JwtService {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
 
+    public AuthPrincipal extractPrincipal(String token) {
+        return extractPrincipal(verify(token));
+    }
+
+    /**
+     * Rebuilds the principal from already verified claims. Returns {@code null} for tokens issued before the
+     * identity claims were added, so callers can fall back to a database lookup. A role this server does not
+     * know makes the token malformed, so it is rejected like any other invalid token.
+     */
+    public AuthPrincipal extractPrincipal(Claims claims) {
+        String id = extractPersonId(claims);
+        if (id == null) {
+            return null;
+        }
+
+        Set<Role> roles = EnumSet.noneOf(Role.class);
+        List<?> authorities = claims.get(ROLE_CLAIM, List.class);
+        if (authorities != null) {
+            for (Object authority : authorities) {
+                String name = String.valueOf(authority);
+                if (name.startsWith(ROLE_PREFIX)) {
+                    roles.add(roleOf(name.substring(ROLE_PREFIX.length())));
+                }
+            }
+        }
+
+        return new AuthPrincipal(
+                id,
+                claims.getSubject(),
+                roles,
+                claims.get(STUDENT_ID_CLAIM, String.class),
+                claims.get(EMPLOYEE_ID_CLAIM, String.class));
+    }
+
+    private static Role roleOf(String name) {
+        try {
+            return Role.valueOf(name);
+        } catch (IllegalArgumentException exception) {
+            throw new MalformedJwtException("Unknown role in token: " + name, exception);
+        }
+    }
+
+    /**
+     * The id of the person the token was issued to, or {@code null} for tokens issued before the identity claims
+     * were added.
+     */
+    public String extractPersonId(Claims claims) {
+        return claims.get(ID_CLAIM, String.class);
+    }
+
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
+    }
+
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isExpired(claims);
+    }
+
+    public Map<String, Object> getVerificationCacheStats() {
+        CacheStats stats = verifiedTokens.stats();
+
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("size", verifiedTokens.estimatedSize());
+        view.put("hits", stats.hitCount());
+        view.put("misses", stats.missCount());
+        view.put("hitRate", stats.hitRate());
+        view.put("evictions", stats.evictionCount());
+        return view;
     }
 
     private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        AuthPrincipal principal = toPrincipal(userDetails);
         return Jwts.builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
-                .claim("role", userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(ROLE_CLAIM, userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .claim(ID_CLAIM, principal != null ? principal.getId() : null)
+                .claim(STUDENT_ID_CLAIM, principal != null ? principal.getStudentId() : null)
+                .claim(EMPLOYEE_ID_CLAIM, principal != null ? principal.getEmployeeId() : null)
                 .issuedAt(new Date())
                 .expiration(calculateExpirationDate(expiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
+    private AuthPrincipal toPrincipal(UserDetails userDetails) {
+        if (userDetails instanceof AuthPrincipal principal) {
+            return principal;
+        }
+        if (userDetails instanceof Person person) {
+            return AuthPrincipal.from(person);
+        }
+        return null;
+    }
+
     private Date calculateExpirationDate(long expirationTime) {
         return new Date(System.currentTimeMillis() + expirationTime);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
+    private static final class UntilTokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            long remainingMillis = claims.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,178 @@
+package com.university.management.system.services.auth;
+
+import com.university.management.system.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts failed logins per account and per client address in fixed windows of
+ * {@code security.login-throttle.window}, and refuses further attempts of an account or address that reached its
+ * limit until the window ends. Checked before the password is verified, so throttled attempts cost no BCrypt
+ * work.
+ * <p>
+ * Counters live in memory, split over {@code stripes} independently locked stripes of at most
+ * {@code entries-per-stripe} keys each; a full stripe drops its least recently failed key, so a flood of distinct
+ * keys cannot grow the map. Each instance counts on its own.
+ */
+@Component
+public class LoginThrottle {
+
+    private final FailureCounters accounts;
+    private final FailureCounters addresses;
+    private final int maxFailuresPerAccount;
+    private final int maxFailuresPerAddress;
+    private final long windowNanos;
+    private final LongAdder throttled = new LongAdder();
+
+    public LoginThrottle(
+            @Value("${security.login-throttle.max-failures-per-account:5}") int maxFailuresPerAccount,
+            @Value("${security.login-throttle.max-failures-per-ip:50}") int maxFailuresPerAddress,
+            @Value("${security.login-throttle.window:PT15M}") Duration window,
+            @Value("${security.login-throttle.stripes:64}") int stripes,
+            @Value("${security.login-throttle.entries-per-stripe:1024}") int entriesPerStripe) {
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.maxFailuresPerAddress = maxFailuresPerAddress;
+        this.windowNanos = window.toNanos();
+        this.accounts = new FailureCounters(stripes, entriesPerStripe);
+        this.addresses = new FailureCounters(stripes, entriesPerStripe);
+    }
+
+    /**
+     * @throws TooManyRequestsException if the account or the address used up its failures in the current window
+     */
+    public void checkAllowed(String email, String clientAddress) {
+        long now = System.nanoTime();
+        long retryAfterNanos = Math.max(
+                accounts.blockedFor(accountKey(email), maxFailuresPerAccount, windowNanos, now),
+                addresses.blockedFor(clientAddress, maxFailuresPerAddress, windowNanos, now));
+        if (retryAfterNanos > 0) {
+            throttled.increment();
+            throw new TooManyRequestsException("Too many failed login attempts, please retry later",
+                    Duration.ofNanos(retryAfterNanos));
+        }
+    }
+
+    public void recordFailure(String email, String clientAddress) {
+        long now = System.nanoTime();
+        accounts.increment(accountKey(email), windowNanos, now);
+        addresses.increment(clientAddress, windowNanos, now);
+    }
+
+    /**
+     * Clears the account's failures; the address keeps its count, so one valid account does not unlock guessing
+     * on others from the same address.
+     */
+    public void recordSuccess(String email) {
+        accounts.reset(accountKey(email));
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxFailuresPerAccount", maxFailuresPerAccount);
+        stats.put("maxFailuresPerIp", maxFailuresPerAddress);
+        stats.put("windowSeconds", windowNanos / 1_000_000_000L);
+        stats.put("trackedAccounts", accounts.size());
+        stats.put("trackedAddresses", addresses.size());
+        stats.put("throttled", throttled.sum());
+        return stats;
+    }
+
+    private static String accountKey(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class FailureCounters {
+
+        private final Stripe[] stripes;
+
+        private FailureCounters(int stripes, int entriesPerStripe) {
+            this.stripes = new Stripe[stripes];
+            for (int i = 0; i < stripes; i++) {
+                this.stripes[i] = new Stripe(entriesPerStripe);
+            }
+        }
+
+        private long blockedFor(String key, int maxFailures, long windowNanos, long now) {
+            if (key == null) {
+                return 0;
+            }
+            Stripe stripe = stripeOf(key);
+            synchronized (stripe) {
+                Window window = stripe.get(key);
+                if (window == null || now - window.startedAt >= windowNanos || window.failures < maxFailures) {
+                    return 0;
+                }
+                return windowNanos - (now - window.startedAt);
+            }
+        }
+
+        private void increment(String key, long windowNanos, long now) {
+            if (key == null) {
+                return;
+            }
+            Stripe stripe = stripeOf(key);
+            synchronized (stripe) {
+                Window window = stripe.get(key);
+                if (window == null || now - window.startedAt >= windowNanos) {
+                    window = new Window(now);
+                }
+                window.failures++;
+                // Re-inserted so the stripe's access order reflects the latest failure
+                stripe.put(key, window);
+            }
+        }
+
+        private void reset(String key) {
+            Stripe stripe = stripeOf(key);
+            synchronized (stripe) {
+                stripe.remove(key);
+            }
+        }
+
+        private int size() {
+            int size = 0;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    size += stripe.size();
+                }
+            }
+            return size;
+        }
+
+        private Stripe stripeOf(String key) {
+            int hash = key.hashCode();
+            return stripes[Math.floorMod(hash ^ (hash >>> 16), stripes.length)];
+        }
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Window> {
+
+        private final int maxEntries;
+
+        private Stripe(int maxEntries) {
+            super(16, 0.75f, true);
+            this.maxEntries = maxEntries;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+            return size() > maxEntries;
+        }
+    }
+
+    private static final class Window {
+
+        private final long startedAt;
+        private int failures;
+
+        private Window(long startedAt) {
+            this.startedAt = startedAt;
+        }
+    }
+}
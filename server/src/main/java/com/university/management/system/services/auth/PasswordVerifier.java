@@ -0,0 +1,130 @@
+package com.university.management.system.services.auth;
+
+import com.university.management.system.exceptions.TooManyRequestsException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt password checks and hashes on a fixed pool of {@code security.password-verification.threads}
+ * platform threads (half the cores by default) behind a queue of {@code queue-capacity} tasks, so a storm of
+ * logins, registrations or password changes can use at most that share of the CPU and never holds servlet
+ * threads while it waits.
+ * <p>
+ * When the queue is full the task is refused at once with a {@link TooManyRequestsException} whose
+ * {@code Retry-After} is the time the current backlog needs to drain.
+ */
+@Slf4j
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final int queueCapacity;
+
+    private final LongAdder verified = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    public PasswordVerifier(
+            PasswordEncoder passwordEncoder,
+            @Value("${security.password-verification.threads:0}") int threads,
+            @Value("${security.password-verification.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.threads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.queueCapacity = queueCapacity;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-verifier-" + counter.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Checks the raw password against the stored hash on the verification pool.
+     *
+     * @throws TooManyRequestsException if the pool and its queue are full
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String passwordHash) {
+        return submit(() -> passwordEncoder.matches(rawPassword, passwordHash));
+    }
+
+    /**
+     * Hashes a new password on the verification pool, which it shares with the checks.
+     *
+     * @throws TooManyRequestsException if the pool and its queue are full
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public Map<String, Object> getStats() {
+        long count = verified.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", threads);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("active", executor.getActiveCount());
+        stats.put("verified", count);
+        stats.put("rejected", rejected.sum());
+        stats.put("averageVerificationMillis", count == 0 ? 0.0 : verificationNanos.sum() / 1e6 / count);
+        stats.put("averageQueueWaitMillis", count == 0 ? 0.0 : queueWaitNanos.sum() / 1e6 / count);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long started = System.nanoTime();
+                queueWaitNanos.add(started - queuedAt);
+                try {
+                    return task.get();
+                } finally {
+                    verificationNanos.add(System.nanoTime() - started);
+                    verified.increment();
+                }
+            }, executor);
+        } catch (RejectedExecutionException exception) {
+            rejected.increment();
+            log.warn("Password verification queue is full ({} waiting), rejecting request", executor.getQueue().size());
+            throw new TooManyRequestsException("Too many password checks in progress, please retry later",
+                    estimatedDrainTime());
+        }
+    }
+
+    private Duration estimatedDrainTime() {
+        long count = verified.sum();
+        // Before the first check completes, assume the cost of a default-strength BCrypt hash
+        long averageNanos = count == 0 ? TimeUnit.MILLISECONDS.toNanos(100) : verificationNanos.sum() / count;
+        long backlog = executor.getQueue().size() + executor.getActiveCount();
+        return Duration.ofNanos(averageNanos * backlog / threads);
+    }
+}
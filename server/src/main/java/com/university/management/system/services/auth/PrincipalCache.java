@@ -0,0 +1,127 @@
+package com.university.management.system.services.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.university.management.system.models.users.AuthPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of {@link AuthPrincipal}s keyed by email, backing the {@code UserDetailsService} used by the
+ * JWT filter. Services that change a person or its roles must call {@link #evictAfterCommit(String)} so the
+ * next request sees the committed state; the TTL bounds staleness for writes made by other instances.
+ * <p>
+ * Evictions come by person id while entries are keyed by email, which may itself be what changed, so the
+ * emails cached for each person are indexed as they are loaded and dropped from the index as they leave.
+ */
+@Component
+public class PrincipalCache {
+
+    private final boolean enabled;
+    private final Cache<String, AuthPrincipal> principals;
+    // Person id -> the entries cached for that person; each inner map is only touched inside compute
+    private final Map<String, Map<String, AuthPrincipal>> entriesByPersonId = new ConcurrentHashMap<>();
+
+    public PrincipalCache(
+            @Value("${security.principal-cache.enabled:true}") boolean enabled,
+            @Value("${security.principal-cache.maximum-size:10000}") long maximumSize,
+            @Value("${security.principal-cache.ttl:PT2M}") Duration ttl) {
+        this.enabled = enabled;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .executor(Runnable::run)
+                .removalListener(this::unindex)
+                .build();
+    }
+
+    public AuthPrincipal get(String email, Function<String, AuthPrincipal> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        return principals.get(email, key -> {
+            AuthPrincipal principal = loader.apply(key);
+            if (principal != null) {
+                entriesByPersonId.compute(principal.getId(), (id, entries) -> {
+                    Map<String, AuthPrincipal> indexed = entries != null ? entries : new HashMap<>();
+                    indexed.put(key, principal);
+                    return indexed;
+                });
+            }
+            return principal;
+        });
+    }
+
+    /**
+     * Drops every entry of the given person. Inside a transaction the eviction is deferred until commit,
+     * otherwise a concurrent request could re-cache the old state between the eviction and the commit.
+     */
+    public void evictAfterCommit(String personId) {
+        if (personId == null) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(personId);
+                }
+            });
+        } else {
+            evict(personId);
+        }
+    }
+
+    public void evict(String personId) {
+        Map<String, AuthPrincipal> entries = entriesByPersonId.remove(personId);
+        if (entries != null) {
+            principals.invalidateAll(entries.keySet());
+        }
+    }
+
+    public void evictAll() {
+        principals.invalidateAll();
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = principals.stats();
+
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("enabled", enabled);
+        view.put("size", principals.estimatedSize());
+        view.put("indexedPersons", entriesByPersonId.size());
+        view.put("hits", stats.hitCount());
+        view.put("misses", stats.missCount());
+        view.put("hitRate", stats.hitRate());
+        view.put("evictions", stats.evictionCount());
+        view.put("loadFailures", stats.loadFailureCount());
+        view.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+        return view;
+    }
+
+    // Compares by identity: a removal reported late must not unindex the entry that replaced it
+    private void unindex(String email, AuthPrincipal principal, RemovalCause cause) {
+        if (email == null || principal == null) {
+            return;
+        }
+        entriesByPersonId.computeIfPresent(principal.getId(), (id, entries) -> {
+            if (entries.get(email) == principal) {
+                entries.remove(email);
+            }
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+}
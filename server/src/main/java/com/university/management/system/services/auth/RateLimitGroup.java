@@ -0,0 +1,45 @@
+package com.university.management.system.services.auth;
+
+import static com.university.management.system.utils.Constants.API_VERSION;
+
+/**
+ * Routes that share a rate limit. Each client gets its own bucket per group, so scraping the catalog does not use
+ * up the requests a student needs to enroll.
+ */
+public enum RateLimitGroup {
+    AUTH,
+    CATALOG,
+    ENROLLMENT,
+    ADMIN,
+    DEFAULT;
+
+    /**
+     * Classifies a request by method and path, relative to the context path. {@link #AUTH} covers login, register
+     * and refresh, the calls that guess or mint credentials. Catalog and user writes are done by employees and
+     * admins, so they count as {@link #ADMIN}; a student's own enrollment calls count as {@link #ENROLLMENT}.
+     */
+    public static RateLimitGroup of(String method, String path) {
+        String route = path.startsWith(API_VERSION) ? path.substring(API_VERSION.length()) : path;
+        boolean read = "GET".equals(method) || "HEAD".equals(method);
+
+        // Only the anonymous credential exchanges; the signed-in /auth/me, /auth/logout and password calls are
+        // ordinary requests
+        if (route.equals("/auth/login") || route.equals("/auth/register") || route.equals("/auth/refresh")) {
+            return AUTH;
+        }
+        if (route.startsWith("/enrollments") || route.startsWith("/students/enroll")
+                || route.startsWith("/students/drop/")) {
+            return ENROLLMENT;
+        }
+        if (route.startsWith("/metrics/")) {
+            return ADMIN;
+        }
+        if (route.startsWith("/courses") || route.startsWith("/classes") || route.equals("/students/classes")) {
+            return read ? CATALOG : ADMIN;
+        }
+        if (route.startsWith("/students") || route.startsWith("/employees")) {
+            return read ? DEFAULT : ADMIN;
+        }
+        return DEFAULT;
+    }
+}
@@ -0,0 +1,180 @@
+package com.university.management.system.services.auth;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token buckets per client and {@link RateLimitGroup}, where a client is an authenticated person or a client
+ * address. A limit of {@code 300/PT1M} allows bursts of 300 requests, refilled at 300 per minute.
+ * <p>
+ * A bucket is a single {@code AtomicLong} holding the time at which it will be full again (the GCRA form of a token
+ * bucket), updated with one compare-and-set per request; checking a known client takes no lock and allocates
+ * nothing but the returned decision. A bucket that has refilled carries no state, so buckets are dropped lazily
+ * when new clients arrive and {@code sweep-interval} has passed or the group holds {@code max-buckets}. If a group
+ * is still full after that, its new clients share one overflow bucket until older ones refill. Each instance
+ * counts on its own.
+ */
+@Component
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final Map<RateLimitGroup, Buckets> groups = new EnumMap<>(RateLimitGroup.class);
+
+    public RateLimiter(
+            @Value("${security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.groups.auth:20/PT1M}") String auth,
+            @Value("${security.rate-limit.groups.catalog:300/PT1M}") String catalog,
+            @Value("${security.rate-limit.groups.enrollment:60/PT1M}") String enrollment,
+            @Value("${security.rate-limit.groups.admin:600/PT1M}") String admin,
+            @Value("${security.rate-limit.groups.default:300/PT1M}") String fallback,
+            @Value("${security.rate-limit.max-buckets:100000}") int maxBuckets,
+            @Value("${security.rate-limit.sweep-interval:PT1M}") Duration sweepInterval) {
+        this.enabled = enabled;
+        Map<RateLimitGroup, String> limits = Map.of(
+                RateLimitGroup.AUTH, auth,
+                RateLimitGroup.CATALOG, catalog,
+                RateLimitGroup.ENROLLMENT, enrollment,
+                RateLimitGroup.ADMIN, admin,
+                RateLimitGroup.DEFAULT, fallback);
+        for (RateLimitGroup group : RateLimitGroup.values()) {
+            groups.put(group, new Buckets(Limit.parse(limits.get(group)), maxBuckets, sweepInterval.toNanos()));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Decision tryAcquire(RateLimitGroup group, String client) {
+        return tryAcquire(group, client, System.nanoTime());
+    }
+
+    Decision tryAcquire(RateLimitGroup group, String client, long now) {
+        return groups.get(group).tryAcquire(client, now);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        groups.forEach((group, buckets) -> {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("limit", buckets.limit.capacity());
+            view.put("periodSeconds", buckets.limit.periodNanos() / 1_000_000_000L);
+            view.put("buckets", buckets.buckets.size());
+            view.put("allowed", buckets.allowed.sum());
+            view.put("rejected", buckets.rejected.sum());
+            view.put("overflowed", buckets.overflowed.sum());
+            stats.put(group.name().toLowerCase(Locale.ROOT), view);
+        });
+        return stats;
+    }
+
+    /**
+     * Outcome of one request: the group's limit, the requests left in the bucket, the seconds until it is full
+     * again and, for a rejected request, the seconds until the next one is allowed.
+     */
+    public record Decision(boolean allowed, int limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+
+    private record Limit(int capacity, long intervalNanos) {
+
+        private static Limit parse(String value) {
+            String[] parts = value.split("/", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Rate limit must look like 300/PT1M: " + value);
+            }
+            int capacity = Integer.parseInt(parts[0].trim());
+            long periodNanos = Duration.parse(parts[1].trim()).toNanos();
+            if (capacity < 1 || periodNanos < capacity) {
+                throw new IllegalArgumentException("Rate limit must allow at least one request: " + value);
+            }
+            return new Limit(capacity, periodNanos / capacity);
+        }
+
+        private long periodNanos() {
+            return capacity * intervalNanos;
+        }
+    }
+
+    private static final class Buckets {
+
+        private final Limit limit;
+        private final int maxBuckets;
+        private final long sweepIntervalNanos;
+        private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+        private final AtomicLong overflow = new AtomicLong(System.nanoTime());
+        private final AtomicBoolean sweeping = new AtomicBoolean();
+        private final LongAdder allowed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder overflowed = new LongAdder();
+        private volatile long lastSweep = System.nanoTime();
+
+        private Buckets(Limit limit, int maxBuckets, long sweepIntervalNanos) {
+            this.limit = limit;
+            this.maxBuckets = maxBuckets;
+            this.sweepIntervalNanos = sweepIntervalNanos;
+        }
+
+        private Decision tryAcquire(String client, long now) {
+            AtomicLong bucket = buckets.get(client);
+            if (bucket == null) {
+                bucket = newBucket(client, now);
+            }
+
+            long interval = limit.intervalNanos();
+            long burst = limit.periodNanos();
+            while (true) {
+                long fullAt = bucket.get();
+                // A bucket full before now starts from now: unused time does not add tokens beyond the capacity
+                long next = Math.max(fullAt - now, 0) + interval;
+                if (next > burst) {
+                    rejected.increment();
+                    return new Decision(false, limit.capacity(), 0, seconds(next - interval),
+                            seconds(next - burst));
+                }
+                if (bucket.compareAndSet(fullAt, now + next)) {
+                    allowed.increment();
+                    return new Decision(true, limit.capacity(), (burst - next) / interval, seconds(next), 0);
+                }
+            }
+        }
+
+        private AtomicLong newBucket(String client, long now) {
+            if (buckets.size() >= maxBuckets || now - lastSweep >= sweepIntervalNanos) {
+                sweep(now);
+            }
+            if (buckets.size() >= maxBuckets) {
+                overflowed.increment();
+                return overflow;
+            }
+            return buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+        }
+
+        // A full bucket is the same as a new one, so dropping it loses nothing beyond a request racing the sweep
+        private void sweep(long now) {
+            if (!sweeping.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+                lastSweep = now;
+            } finally {
+                sweeping.set(false);
+            }
+        }
+
+        private static long seconds(long nanos) {
+            return (nanos + 999_999_999L) / 1_000_000_000L;
+        }
+    }
+}
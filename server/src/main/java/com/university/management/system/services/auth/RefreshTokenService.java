@@ -0,0 +1,177 @@
+package com.university.management.system.services.auth;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.management.system.models.auth.RefreshToken;
+import com.university.management.system.repositories.auth.RefreshTokenRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opaque refresh tokens: {@code token-bytes} random bytes handed to the client once and stored only as their
+ * SHA-256 digest. Each use marks the token used with one conditional UPDATE on the unique digest and issues its
+ * successor in the same family; presenting a used token again is taken as theft and revokes the whole family.
+ * <p>
+ * Tokens issued by this instance are kept in a small front cache, so rotating them needs no SELECT. The cache
+ * never decides validity on its own: the UPDATE is always executed and is what enforces expiry, reuse and
+ * revocation.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final Base64.Encoder TOKEN_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+    private final int tokenBytes;
+    private final SecureRandom random = new SecureRandom();
+    private final Cache<String, Issued> issued;
+    private final LongAdder rotated = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder reuseDetected = new LongAdder();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${security.refresh-token.ttl:P14D}") Duration ttl,
+            @Value("${security.refresh-token.token-bytes:32}") int tokenBytes,
+            @Value("${security.refresh-token.cache-size:10000}") long cacheSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = ttl;
+        this.tokenBytes = tokenBytes;
+        this.issued = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Starts a new family for the person and returns its first token.
+     */
+    @Transactional
+    public String issue(String personId) {
+        return issue(personId, UUID.randomUUID().toString(), Instant.now());
+    }
+
+    /**
+     * Uses up the token and returns its successor, or empty if the token is unknown, expired, revoked or was
+     * already used. The last case revokes every token of the family, the successor issued for the first use
+     * included. Nothing is thrown, so the revocation commits.
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        String tokenHash = digest(rawToken);
+        Instant now = Instant.now();
+
+        Issued entry = issued.asMap().remove(tokenHash);
+        if (refreshTokenRepository.markUsed(tokenHash, now) == 0) {
+            refreshTokenRepository.findByTokenHash(tokenHash)
+                    .filter(token -> token.getUsedAt() != null && token.getRevokedAt() == null)
+                    .ifPresent(token -> {
+                        reuseDetected.increment();
+                        int revoked = refreshTokenRepository.revokeFamily(token.getFamilyId(), now);
+                        log.warn("Refresh token reuse for person {}, revoked {} tokens of family {}",
+                                token.getPersonId(), revoked, token.getFamilyId());
+                    });
+            return Optional.empty();
+        }
+
+        rotated.increment();
+        if (entry != null) {
+            cacheHits.increment();
+        } else {
+            RefreshToken token = refreshTokenRepository.findByTokenHash(tokenHash).orElseThrow();
+            entry = new Issued(token.getPersonId(), token.getFamilyId());
+        }
+        return Optional.of(new Rotation(entry.personId(), issue(entry.personId(), entry.familyId(), now)));
+    }
+
+    /**
+     * Revokes the family of the token, so neither it nor any token rotated from it can be used again. Unknown
+     * tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        String tokenHash = digest(rawToken);
+        issued.invalidate(tokenHash);
+        refreshTokenRepository.findByTokenHash(tokenHash)
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    /**
+     * Revokes every refresh token of the person. Tokens still in the front cache are left there; the UPDATE of
+     * {@link #rotate(String)} rejects them.
+     */
+    @Transactional
+    public void revokeAllForPerson(String personId) {
+        int revoked = refreshTokenRepository.revokeAllByPersonId(personId, Instant.now());
+        log.info("Revoked {} refresh tokens of person {}", revoked, personId);
+    }
+
+    @Transactional
+    @Scheduled(cron = "${security.refresh-token.purge-cron:0 15 4 * * *}")
+    public void purgeExpired() {
+        int removed = refreshTokenRepository.deleteAllExpiredBefore(Instant.now());
+        log.info("Purged {} expired refresh tokens", removed);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("ttlSeconds", ttl.toSeconds());
+        view.put("cacheSize", issued.estimatedSize());
+        view.put("rotated", rotated.sum());
+        view.put("cacheHits", cacheHits.sum());
+        view.put("reuseDetected", reuseDetected.sum());
+        return view;
+    }
+
+    private String issue(String personId, String familyId, Instant now) {
+        byte[] bytes = new byte[tokenBytes];
+        random.nextBytes(bytes);
+        String rawToken = TOKEN_ENCODER.encodeToString(bytes);
+        String tokenHash = digest(rawToken);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(tokenHash)
+                .personId(personId)
+                .familyId(familyId)
+                .expiresAt(now.plus(ttl))
+                .build());
+        issued.put(tokenHash, new Issued(personId, familyId));
+        return rawToken;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return TOKEN_ENCODER.encodeToString(hash);
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    /**
+     * The person the used token belonged to and the token that replaces it.
+     */
+    public record Rotation(String personId, String token) {
+    }
+
+    private record Issued(String personId, String familyId) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.university.management.system.services.auth;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory view of the revoked access tokens, checked on every authenticated request. Single tokens are kept
+ * by jti in an exact set fronted by a Bloom filter, so a token that was never revoked, by far the usual case, is
+ * answered from a few bit reads. All tokens of a person are revoked with a watermark: every token issued before
+ * it is rejected, however many there are.
+ * <p>
+ * An entry is dropped by {@link #removeExpired(Instant)} once every token it covers has expired, which also
+ * rebuilds the filter. Lookups take no lock; writes are rare and synchronized.
+ */
+public class RevokedTokens {
+
+    private static final int HASHES = 3;
+
+    private final int bloomMask;
+    private final Map<String, Instant> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Watermark> watermarks = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray bloom;
+
+    /**
+     * @param bloomBits size of the filter, rounded down to a power of two of at least 64
+     */
+    public RevokedTokens(int bloomBits) {
+        int bits = Integer.highestOneBit(Math.max(bloomBits, Long.SIZE));
+        this.bloomMask = bits - 1;
+        this.bloom = new AtomicLongArray(bits / Long.SIZE);
+    }
+
+    public boolean isRevoked(String jti, String personId, long issuedAtEpochSecond) {
+        if (jti != null && mightContain(bloom, jti) && tokens.containsKey(jti)) {
+            return true;
+        }
+        if (personId == null) {
+            return false;
+        }
+        Watermark watermark = watermarks.get(personId);
+        return watermark != null && issuedAtEpochSecond < watermark.issuedBeforeEpochSecond();
+    }
+
+    public synchronized void revokeToken(String jti, Instant expiresAt) {
+        // In the set before the filter, so a reader that sees the bit also finds the entry
+        tokens.merge(jti, expiresAt, (current, added) -> current.isAfter(added) ? current : added);
+        add(bloom, jti);
+    }
+
+    public synchronized void revokeIssuedBefore(String personId, long issuedBeforeEpochSecond, Instant expiresAt) {
+        watermarks.merge(personId, new Watermark(issuedBeforeEpochSecond, expiresAt), Watermark::max);
+    }
+
+    /**
+     * Drops the entries whose tokens have all expired and rebuilds the filter from the remaining ones, so bits of
+     * removed tokens stop costing set lookups.
+     */
+    public synchronized void removeExpired(Instant now) {
+        tokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        watermarks.values().removeIf(watermark -> !watermark.expiresAt().isAfter(now));
+
+        AtomicLongArray rebuilt = new AtomicLongArray(bloom.length());
+        tokens.keySet().forEach(jti -> add(rebuilt, jti));
+        bloom = rebuilt;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("revokedTokens", tokens.size());
+        view.put("revokedPersons", watermarks.size());
+        view.put("bloomBits", bloomMask + 1);
+        return view;
+    }
+
+    private boolean mightContain(AtomicLongArray bits, String jti) {
+        int hash = jti.hashCode();
+        int step = step(hash);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (hash + i * step) & bloomMask;
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void add(AtomicLongArray bits, String jti) {
+        int hash = jti.hashCode();
+        int step = step(hash);
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (hash + i * step) & bloomMask;
+            long mask = 1L << bit;
+            bits.getAndUpdate(bit >>> 6, word -> word | mask);
+        }
+    }
+
+    // Second hash for double hashing; odd, so the probes never collapse onto one bit
+    private static int step(int hash) {
+        return Integer.rotateLeft(hash * 0x9E3779B9, 16) | 1;
+    }
+
+    private record Watermark(long issuedBeforeEpochSecond, Instant expiresAt) {
+        Watermark max(Watermark other) {
+            return new Watermark(
+                    Math.max(issuedBeforeEpochSecond, other.issuedBeforeEpochSecond),
+                    expiresAt.isAfter(other.expiresAt) ? expiresAt : other.expiresAt);
+        }
+    }
+}
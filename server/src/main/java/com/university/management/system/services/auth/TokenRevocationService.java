@@ -0,0 +1,177 @@
+package com.university.management.system.services.auth;
+
+import com.university.management.system.models.auth.TokenRevocation;
+import com.university.management.system.repositories.auth.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revokes access tokens before they expire: one token on logout, or every token of a person when their password
+ * changes or their account is deleted. Revocations are written to the database and applied to the in-memory
+ * {@link RevokedTokens} after commit, so the JWT filter checks them without a query.
+ * <p>
+ * The memory is loaded from the database at startup and then synced every {@code sync-interval} with the rows
+ * other instances wrote, which bounds how long a token revoked elsewhere is still accepted here.
+ */
+@Slf4j
+@Service
+public class TokenRevocationService {
+
+    // Rows whose transaction committed after a later row's are still picked up by the next sync
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+    private final JwtService jwtService;
+    private final Duration accessTokenLifetime;
+    private final RevokedTokens revokedTokens;
+    private final LongAdder rejected = new LongAdder();
+    private volatile Instant syncedUntil = Instant.EPOCH;
+
+    public TokenRevocationService(
+            TokenRevocationRepository tokenRevocationRepository,
+            JwtService jwtService,
+            @Value("${security.jwt.expiration-time}") long jwtExpiration,
+            @Value("${security.token-revocation.bloom-bits:1048576}") int bloomBits) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.jwtService = jwtService;
+        this.accessTokenLifetime = Duration.ofMillis(jwtExpiration);
+        this.revokedTokens = new RevokedTokens(bloomBits);
+    }
+
+    @PostConstruct
+    public void load() {
+        sync();
+        log.info("Loaded token revocations: {}", revokedTokens.getStats());
+    }
+
+    public boolean isRevoked(Claims claims) {
+        return isRevoked(claims, jwtService.extractPersonId(claims));
+    }
+
+    /**
+     * As {@link #isRevoked(Claims)}, with the person resolved by the caller for tokens issued before they carried
+     * the person id.
+     */
+    public boolean isRevoked(Claims claims, String personId) {
+        Date issuedAt = claims.getIssuedAt();
+        boolean revoked = revokedTokens.isRevoked(
+                claims.getId(),
+                personId,
+                issuedAt != null ? issuedAt.getTime() / 1000 : 0);
+        if (revoked) {
+            rejected.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Revokes the token the claims were read from, issued to {@code personId}. Tokens issued before they carried a
+     * jti can only be revoked together with the other tokens of the person.
+     *
+     * @throws IllegalArgumentException if the token has no jti and no person is given, as nothing would be revoked
+     */
+    @Transactional
+    public void revoke(Claims claims, String personId) {
+        if (claims.getId() == null) {
+            if (personId == null) {
+                throw new IllegalArgumentException("Token names neither itself nor a person to revoke");
+            }
+            revokeAllForPerson(personId);
+            return;
+        }
+
+        save(TokenRevocation.builder()
+                .jti(claims.getId())
+                .personId(personId)
+                .expiresAt(claims.getExpiration().toInstant())
+                .build());
+    }
+
+    /**
+     * Revokes every access token issued to the person so far. Token issue times have whole-second precision, so
+     * the watermark is rounded up and a token issued within the same second is revoked as well.
+     */
+    @Transactional
+    public void revokeAllForPerson(String personId) {
+        if (personId == null) {
+            return;
+        }
+
+        Instant issuedBefore = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        save(TokenRevocation.builder()
+                .personId(personId)
+                .issuedBefore(issuedBefore)
+                .expiresAt(issuedBefore.plus(accessTokenLifetime))
+                .build());
+    }
+
+    /**
+     * Applies the rows written since the last sync, by this or any other instance, and drops the entries whose
+     * tokens have all expired.
+     */
+    @Scheduled(fixedDelayString = "${security.token-revocation.sync-interval:PT30S}")
+    public void sync() {
+        Instant now = Instant.now();
+        List<TokenRevocation> revocations =
+                tokenRevocationRepository.findLiveCreatedSince(syncedUntil.minus(SYNC_OVERLAP), now);
+        revocations.forEach(this::apply);
+        revokedTokens.removeExpired(now);
+        syncedUntil = now;
+    }
+
+    @Transactional
+    @Scheduled(cron = "${security.token-revocation.purge-cron:0 20 4 * * *}")
+    public void purgeExpired() {
+        int removed = tokenRevocationRepository.deleteAllExpiredBefore(Instant.now());
+        log.info("Purged {} expired token revocations", removed);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> view = revokedTokens.getStats();
+        view.put("rejected", rejected.sum());
+        view.put("syncedUntil", syncedUntil.toString());
+        return view;
+    }
+
+    private void save(TokenRevocation revocation) {
+        TokenRevocation saved = tokenRevocationRepository.save(revocation);
+
+        // Applied only once committed, so a rolled back logout or password change leaves the tokens valid
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(saved);
+                }
+            });
+        } else {
+            apply(saved);
+        }
+    }
+
+    private void apply(TokenRevocation revocation) {
+        if (revocation.getJti() != null) {
+            revokedTokens.revokeToken(revocation.getJti(), revocation.getExpiresAt());
+        } else {
+            revokedTokens.revokeIssuedBefore(
+                    revocation.getPersonId(),
+                    revocation.getIssuedBefore().getEpochSecond(),
+                    revocation.getExpiresAt());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.university.management.system.services.courses;
+
+import com.university.management.system.dtos.courses.BulkEnrollmentRequestDto;
+import com.university.management.system.dtos.courses.BulkEnrollmentResultDto;
+import com.university.management.system.dtos.courses.BulkEnrollmentResultDto.Outcome;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Enrolls many (student, class) pairs at once. Students and classes are checked with a few set-based id
+ * queries instead of per-item lookups, and every class is handled once: one duplicate check, one seat claim
+ * for all of its admissions ({@link SeatReservationService#reserveUpTo}), and inserts in transactions of
+ * {@code enrollment.bulk.batch-size} rows that Hibernate sends as JDBC batches. Students and classes are only
+ * referenced by id, never loaded.
+ * <p>
+ * Every item gets its own outcome in the report; a failing class does not affect the others.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkEnrollmentService {
+
+    private static final int ID_QUERY_CHUNK = 1000;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final CourseClassRepository courseClassRepository;
+    private final SeatReservationService seatReservationService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${enrollment.bulk.batch-size:500}")
+    private int batchSize;
+
+    public List<BulkEnrollmentResultDto> enroll(List<BulkEnrollmentRequestDto.Item> items) {
+        long started = System.nanoTime();
+        BulkEnrollmentResultDto[] results = new BulkEnrollmentResultDto[items.size()];
+
+        Set<String> students = existing(items.stream().map(BulkEnrollmentRequestDto.Item::getStudentId).toList(),
+                studentRepository::findExistingIds);
+        Set<String> classes = existing(items.stream().map(BulkEnrollmentRequestDto.Item::getClassId).toList(),
+                courseClassRepository::findExistingIds);
+
+        // Sorted, so concurrent bulk requests claim the class rows in the same order
+        Map<String, List<Integer>> byClass = new TreeMap<>();
+        Set<String> pairs = new HashSet<>();
+        for (int i = 0; i < items.size(); i++) {
+            BulkEnrollmentRequestDto.Item item = items.get(i);
+            if (!students.contains(item.getStudentId())) {
+                results[i] = result(i, item, Outcome.STUDENT_NOT_FOUND, null);
+            } else if (!classes.contains(item.getClassId())) {
+                results[i] = result(i, item, Outcome.CLASS_NOT_FOUND, null);
+            } else if (!pairs.add(item.getClassId() + "/" + item.getStudentId())) {
+                results[i] = result(i, item, Outcome.DUPLICATE_IN_REQUEST, null);
+            } else {
+                byClass.computeIfAbsent(item.getClassId(), key -> new ArrayList<>()).add(i);
+            }
+        }
+
+        byClass.forEach((classId, indexes) -> enrollClass(classId, indexes, items, results));
+
+        log.info("Bulk enrollment of {} items across {} classes took {} ms", items.size(), byClass.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return List.of(results);
+    }
+
+    private void enrollClass(String classId, List<Integer> indexes, List<BulkEnrollmentRequestDto.Item> items,
+                             BulkEnrollmentResultDto[] results) {
+        Set<String> enrolled = existing(indexes.stream().map(i -> items.get(i).getStudentId()).toList(),
+                studentIds -> enrollmentRepository.findEnrolledStudentIds(classId, studentIds));
+
+        List<Integer> eligible = new ArrayList<>(indexes.size());
+        for (int i : indexes) {
+            if (enrolled.contains(items.get(i).getStudentId())) {
+                results[i] = result(i, items.get(i), Outcome.ALREADY_ENROLLED, null);
+            } else {
+                eligible.add(i);
+            }
+        }
+
+        // Claimed in a short transaction of its own, so the class row is not locked while the rows are inserted
+        int seats = eligible.isEmpty() ? 0 : seatReservationService.reserveUpTo(classId, eligible.size());
+        for (int i : eligible.subList(seats, eligible.size())) {
+            results[i] = result(i, items.get(i), Outcome.CLASS_FULL, null);
+        }
+
+        List<Integer> admitted = eligible.subList(0, seats);
+        for (int from = 0; from < admitted.size(); from += batchSize) {
+            List<Integer> batch = admitted.subList(from, Math.min(from + batchSize, admitted.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(classId, batch, items, results));
+            } catch (RuntimeException exception) {
+                log.error("Bulk enrollment batch of {} rows for class {} failed", batch.size(), classId, exception);
+                seatReservationService.release(classId, batch.size());
+                for (int i : batch) {
+                    results[i] = result(i, items.get(i), Outcome.FAILED, null);
+                }
+            }
+        }
+    }
+
+    private void insert(String classId, List<Integer> batch, List<BulkEnrollmentRequestDto.Item> items,
+                        BulkEnrollmentResultDto[] results) {
+        CourseClass courseClass = courseClassRepository.getReferenceById(classId);
+
+        List<Enrollment> enrollments = new ArrayList<>(batch.size());
+        for (int i : batch) {
+            enrollments.add(Enrollment.builder()
+                    .student(studentRepository.getReferenceById(items.get(i).getStudentId()))
+                    .courseClass(courseClass)
+                    .status(EnrollmentStatus.ENROLLED)
+                    .build());
+        }
+        enrollmentRepository.saveAll(enrollments);
+
+        for (int k = 0; k < batch.size(); k++) {
+            int i = batch.get(k);
+            results[i] = result(i, items.get(i), Outcome.CREATED, enrollments.get(k).getId());
+        }
+    }
+
+    private static Set<String> existing(Collection<String> ids, Function<Collection<String>, List<String>> query) {
+        List<String> distinct = List.copyOf(new HashSet<>(ids));
+        Set<String> found = new HashSet<>();
+        for (int from = 0; from < distinct.size(); from += ID_QUERY_CHUNK) {
+            found.addAll(query.apply(distinct.subList(from, Math.min(from + ID_QUERY_CHUNK, distinct.size()))));
+        }
+        return found;
+    }
+
+    private static BulkEnrollmentResultDto result(int index, BulkEnrollmentRequestDto.Item item, Outcome outcome,
+                                                  String enrollmentId) {
+        return BulkEnrollmentResultDto.builder()
+                .index(index)
+                .studentId(item.getStudentId())
+                .classId(item.getClassId())
+                .outcome(outcome)
+                .enrollmentId(enrollmentId)
+                .build();
+    }
+}
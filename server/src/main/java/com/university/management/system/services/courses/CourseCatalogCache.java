@@ -0,0 +1,191 @@
+package com.university.management.system.services.courses;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.university.management.system.dtos.courses.CourseClassDto;
+import com.university.management.system.dtos.courses.CourseDto;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import jakarta.persistence.Tuple;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache of the course catalog: single courses and classes by id, and the pages of the
+ * course and class listings. Entries are the response DTOs, so a hit touches neither the entities nor the
+ * mappers.
+ * <p>
+ * Seat counts change with every enrollment and are not trusted from the cache: class views are always
+ * returned with {@code currentCapacity} re-read in one primary-key query per page. The course and class
+ * mutators evict after commit, and so do the person, employee and student writes for the lecturers embedded
+ * in class views; changes made on other instances are bounded by the TTL.
+ */
+@Component
+public class CourseCatalogCache {
+
+    private final boolean enabled;
+    private final CourseClassRepository courseClassRepository;
+    private final Cache<String, CourseDto> courses;
+    private final Cache<PageKey, Page<CourseDto>> coursePages;
+    private final Cache<String, CourseClassDto> classes;
+    private final Cache<PageKey, Page<CourseClassDto>> classPages;
+
+    public CourseCatalogCache(
+            CourseClassRepository courseClassRepository,
+            @Value("${catalog-cache.enabled:true}") boolean enabled,
+            @Value("${catalog-cache.maximum-size:5000}") long maximumSize,
+            @Value("${catalog-cache.ttl:PT10M}") Duration ttl) {
+        this.courseClassRepository = courseClassRepository;
+        this.enabled = enabled;
+        this.courses = newCache(maximumSize, ttl);
+        this.coursePages = newCache(maximumSize, ttl);
+        this.classes = newCache(maximumSize, ttl);
+        this.classPages = newCache(maximumSize, ttl);
+    }
+
+    public CourseDto getCourse(String id, Function<String, CourseDto> loader) {
+        return enabled ? courses.get(id, loader) : loader.apply(id);
+    }
+
+    public Page<CourseDto> getCoursePage(Pageable pageable, Supplier<Page<CourseDto>> loader) {
+        return enabled ? coursePages.get(PageKey.of(pageable), key -> immutable(loader.get())) : loader.get();
+    }
+
+    public CourseClassDto getCourseClass(String id, Function<String, CourseClassDto> loader) {
+        CourseClassDto courseClass = enabled ? classes.get(id, loader) : loader.apply(id);
+        return enabled ? withCurrentSeats(List.of(courseClass)).get(0) : courseClass;
+    }
+
+    public Page<CourseClassDto> getCourseClassPage(Pageable pageable, Supplier<Page<CourseClassDto>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Page<CourseClassDto> page = classPages.get(PageKey.of(pageable), key -> immutable(loader.get()));
+        return new PageImpl<>(withCurrentSeats(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * Drops the course, every course page and, because class views embed their course, every class entry.
+     * Inside a transaction the eviction is deferred until commit, otherwise a concurrent request could re-cache
+     * the old state between the eviction and the commit.
+     */
+    public void evictCourseAfterCommit(String courseId) {
+        afterCommit(() -> {
+            if (courseId != null) {
+                courses.invalidate(courseId);
+                classes.invalidateAll();
+                classPages.invalidateAll();
+            }
+            coursePages.invalidateAll();
+        });
+    }
+
+    public void evictCourseClassAfterCommit(String classId) {
+        afterCommit(() -> {
+            if (classId != null) {
+                classes.invalidate(classId);
+            }
+            classPages.invalidateAll();
+        });
+    }
+
+    /**
+     * Drops every class entry and page, for writes to the lecturers (and their persons) embedded in class views.
+     * Each class's ETag already covers those rows, so a cached view must not outlive them.
+     */
+    public void evictCourseClassesAfterCommit() {
+        afterCommit(() -> {
+            classes.invalidateAll();
+            classPages.invalidateAll();
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("enabled", enabled);
+        view.put("courses", statsOf(courses));
+        view.put("coursePages", statsOf(coursePages));
+        view.put("classes", statsOf(classes));
+        view.put("classPages", statsOf(classPages));
+        return view;
+    }
+
+    private List<CourseClassDto> withCurrentSeats(List<CourseClassDto> cached) {
+        if (cached.isEmpty()) {
+            return cached;
+        }
+
+        Map<String, Integer> seats = new HashMap<>();
+        for (Tuple row : courseClassRepository.findCurrentCapacitiesByIdIn(
+                cached.stream().map(CourseClassDto::getId).toList())) {
+            seats.put(row.get("id", String.class), row.get("currentCapacity", Integer.class));
+        }
+
+        // Copies, so the cached instances are never changed by the caller
+        return cached.stream()
+                .map(courseClass -> courseClass.toBuilder()
+                        .currentCapacity(seats.getOrDefault(courseClass.getId(), courseClass.getCurrentCapacity()))
+                        .build())
+                .toList();
+    }
+
+    private static <T> Page<T> immutable(Page<T> page) {
+        return new PageImpl<>(List.copyOf(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    private static Map<String, Object> statsOf(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("size", cache.estimatedSize());
+        view.put("hits", stats.hitCount());
+        view.put("misses", stats.missCount());
+        view.put("hitRate", stats.hitRate());
+        view.put("evictions", stats.evictionCount());
+        view.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+        return view;
+    }
+
+    // The listings use a fixed sort per endpoint, so page number and size identify a page
+    private record PageKey(int page, int size) {
+
+        private static PageKey of(Pageable pageable) {
+            return new PageKey(pageable.getPageNumber(), pageable.getPageSize());
+        }
+    }
+}
@@ -13,13 +13,19 @@ import com.university.management.system.repositories.courses.CourseClassReposito
 import com.university.management.system.repositories.courses.CourseRepository;
 import com.university.management.system.repositories.courses.CourseTeachingAssistantRepository;
 import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.services.users.StudentGpaService;
+import com.university.management.system.utils.ETagUtils;
 import com.university.management.system.utils.RepositoryUtils;
 import com.university.management.system.utils.ResponseEntityBuilder;
+import com.university.management.system.utils.mappers.ProjectionMapper;
 import com.university.management.system.utils.mappers.courses.CourseMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -37,13 +43,27 @@ public class CourseClassService implements ICourseClassService {
         private final CourseTeachingAssistantRepository courseTeachingAssistantRepository;
         private final CourseMapper courseMapper;
         private final RepositoryUtils repositoryUtils;
+        private final ProjectionMapper projectionMapper;
+        private final StudentGpaService studentGpaService;
+        private final CourseCatalogCache courseCatalogCache;
+
+        @Value("${read-path.projection.classes:true}")
+        private boolean projectionReads;
 
         @Override
-        public ResponseEntity<ApiResponse> getAllCourseClasses(Integer page, Integer size) {
+        public ResponseEntity<ApiResponse> getAllCourseClasses(Integer page, Integer size, String ifNoneMatch) {
                 Pageable pageable = repositoryUtils.getPageable(page, size, Sort.Direction.DESC, "createdAt");
-                Page<CourseClass> classes = courseClassRepository.findAll(pageable);
+                String etag = ETagUtils.weak(courseClassRepository.findListingVersions(),
+                                pageable.getPageNumber(), pageable.getPageSize());
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
+                Page<CourseClassDto> classes = courseCatalogCache.getCourseClassPage(pageable, () -> projectionReads
+                                ? courseClassRepository.findAllRows(pageable).map(projectionMapper::toCourseClassDto)
+                                : courseClassRepository.findAll(pageable).map(courseMapper::toCourseClassDto));
 
-                List<CourseClassDto> response = classes.map(courseMapper::toCourseClassDto).toList();
+                List<CourseClassDto> response = classes.getContent();
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
@@ -54,19 +74,43 @@ public class CourseClassService implements ICourseClassService {
                                                 "totalItems", classes.getTotalElements(),
                                                 "pageSize", classes.getSize()))
                                 .withMessage("Course classes retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
 
         @Override
-        public ResponseEntity<ApiResponse> getCourseClassById(String id) {
-                CourseClass courseClass = courseClassRepository.findById(id)
+        public ResponseEntity<ApiResponse> getAllCourseClassesByCursor(String cursor, Integer size) {
+                Sort sort = repositoryUtils.getKeysetSort(Sort.Direction.DESC, "createdAt");
+                KeysetScrollPosition position = repositoryUtils.getScrollPosition(cursor, sort);
+                Window<CourseClass> classes = courseClassRepository.findAllBy(position, sort, repositoryUtils.getLimit(size));
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.OK)
+                                .withData("Classes", classes.stream().map(courseMapper::toCourseClassDto).toList())
+                                .withData("pagination", repositoryUtils.getCursorPagination(classes, position))
+                                .withMessage("Course classes retrieved successfully")
+                                .build();
+        }
+
+        @Override
+        public ResponseEntity<ApiResponse> getCourseClassById(String id, String ifNoneMatch) {
+                String etag = ETagUtils.strong(courseClassRepository.findVersionsById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException(
-                                                "Course Class not found with id: " + id));
+                                                "Course Class not found with id: " + id)));
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
+                CourseClassDto courseClass = courseCatalogCache.getCourseClass(id, key -> courseClassRepository.findById(key)
+                                .map(courseMapper::toCourseClassDto)
+                                .orElseThrow(() -> new ResourceNotFoundException(
+                                                "Course Class not found with id: " + key)));
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
-                                .withData("Class", courseMapper.toCourseClassDto(courseClass))
+                                .withData("Class", courseClass)
                                 .withMessage("Course class retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
 
@@ -90,6 +134,7 @@ public class CourseClassService implements ICourseClassService {
                                 .build();
 
                 CourseClass savedClass = courseClassRepository.save(courseClass);
+                courseCatalogCache.evictCourseClassAfterCommit(null);
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.CREATED)
@@ -100,12 +145,14 @@ public class CourseClassService implements ICourseClassService {
 
         @Override
         @Transactional
-        public ResponseEntity<ApiResponse> updateCourseClass(String id, CourseClassRequestDto requestDto) {
+        public ResponseEntity<ApiResponse> updateCourseClass(String id, CourseClassRequestDto requestDto, String ifMatch) {
                 CourseClass courseClass = courseClassRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Course Class not found with id: " + id));
+                ETagUtils.checkIfMatch(ifMatch, () -> currentETag(id));
 
-                if (!courseClass.getCourse().getId().equals(requestDto.getCourseId())) {
+                boolean courseChanged = !courseClass.getCourse().getId().equals(requestDto.getCourseId());
+                if (courseChanged) {
                         Course course = courseRepository.findById(requestDto.getCourseId())
                                         .orElseThrow(() -> new ResourceNotFoundException("Course not found"));
                         courseClass.setCourse(course);
@@ -124,11 +171,18 @@ public class CourseClassService implements ICourseClassService {
                 courseClass.setStatus(requestDto.getStatus());
 
                 CourseClass savedClass = courseClassRepository.save(courseClass);
+                courseCatalogCache.evictCourseClassAfterCommit(id);
+
+                if (courseChanged) {
+                        // The class now counts with the new course's credits
+                        studentGpaService.recalculateAll(studentGpaService.findGradedStudentIdsByCourseClassId(id));
+                }
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
                                 .withData("Class", courseMapper.toCourseClassDto(savedClass))
                                 .withMessage("Course class updated successfully")
+                                .withETag(currentETag(id))
                                 .build();
         }
 
@@ -139,7 +193,10 @@ public class CourseClassService implements ICourseClassService {
                                 .orElseThrow(() -> new ResourceNotFoundException(
                                                 "Course Class not found with id: " + id));
 
+                List<String> gradedStudentIds = studentGpaService.findGradedStudentIdsByCourseClassId(id);
                 courseClassRepository.delete(courseClass);
+                courseCatalogCache.evictCourseClassAfterCommit(id);
+                studentGpaService.recalculateAll(gradedStudentIds);
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
@@ -191,4 +248,9 @@ public class CourseClassService implements ICourseClassService {
                                 .withMessage("Teaching Assistant removed from class successfully")
                                 .build();
         }
+
+        // Runs as a query, so pending changes are flushed first and the tag reflects them
+        private String currentETag(String id) {
+                return ETagUtils.strong(courseClassRepository.findVersionsById(id).orElseThrow());
+        }
 }
@@ -7,19 +7,25 @@ import com.university.management.system.dtos.courses.CourseDto;
 import com.university.management.system.dtos.courses.CourseRequestDto;
 import com.university.management.system.models.courses.Course;
 import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.services.users.StudentGpaService;
+import com.university.management.system.utils.ETagUtils;
 import com.university.management.system.utils.RepositoryUtils;
 import com.university.management.system.utils.ResponseEntityBuilder;
 import com.university.management.system.utils.mappers.courses.CourseMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -28,13 +34,26 @@ public class CourseService implements ICourseService {
         private final CourseRepository courseRepository;
         private final CourseMapper courseMapper;
         private final RepositoryUtils repositoryUtils;
+        private final StudentGpaService studentGpaService;
+        private final CourseCatalogCache courseCatalogCache;
+
+        @Value("${read-path.projection.courses:true}")
+        private boolean projectionReads;
 
         @Override
-        public ResponseEntity<ApiResponse> getAllCourses(Integer page, Integer size) {
+        public ResponseEntity<ApiResponse> getAllCourses(Integer page, Integer size, String ifNoneMatch) {
                 Pageable pageable = repositoryUtils.getPageable(page, size, Sort.Direction.ASC, "courseCode");
-                Page<Course> courses = courseRepository.findAll(pageable);
+                String etag = ETagUtils.weak(courseRepository.findListingVersions(),
+                                pageable.getPageNumber(), pageable.getPageSize());
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
+                Page<CourseDto> courses = courseCatalogCache.getCoursePage(pageable, () -> projectionReads
+                                ? courseRepository.findAllRows(pageable)
+                                : courseRepository.findAll(pageable).map(courseMapper::toCourseDto));
 
-                List<CourseDto> response = courses.map(courseMapper::toCourseDto).toList();
+                List<CourseDto> response = courses.getContent();
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
@@ -45,18 +64,41 @@ public class CourseService implements ICourseService {
                                                 "totalItems", courses.getTotalElements(),
                                                 "pageSize", courses.getSize()))
                                 .withMessage("Courses retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
 
         @Override
-        public ResponseEntity<ApiResponse> getCourseById(String id) {
-                Course course = courseRepository.findById(id)
-                                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+        public ResponseEntity<ApiResponse> getAllCoursesByCursor(String cursor, Integer size) {
+                Sort sort = repositoryUtils.getKeysetSort(Sort.Direction.ASC, "courseCode");
+                KeysetScrollPosition position = repositoryUtils.getScrollPosition(cursor, sort);
+                Window<Course> courses = courseRepository.findAllBy(position, sort, repositoryUtils.getLimit(size));
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.OK)
+                                .withData("Courses", courses.stream().map(courseMapper::toCourseDto).toList())
+                                .withData("pagination", repositoryUtils.getCursorPagination(courses, position))
+                                .withMessage("Courses retrieved successfully")
+                                .build();
+        }
+
+        @Override
+        public ResponseEntity<ApiResponse> getCourseById(String id, String ifNoneMatch) {
+                String etag = ETagUtils.strong(courseRepository.findVersionsById(id)
+                                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id)));
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
+                CourseDto course = courseCatalogCache.getCourse(id, key -> courseRepository.findById(key)
+                                .map(courseMapper::toCourseDto)
+                                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + key)));
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
-                                .withData("Course", courseMapper.toCourseDto(course))
+                                .withData("Course", course)
                                 .withMessage("Course retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
 
@@ -76,6 +118,7 @@ public class CourseService implements ICourseService {
                                 .build();
 
                 Course savedCourse = courseRepository.save(course);
+                courseCatalogCache.evictCourseAfterCommit(null);
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.CREATED)
@@ -86,9 +129,10 @@ public class CourseService implements ICourseService {
 
         @Override
         @Transactional
-        public ResponseEntity<ApiResponse> updateCourse(String id, CourseRequestDto courseRequestDto) {
+        public ResponseEntity<ApiResponse> updateCourse(String id, CourseRequestDto courseRequestDto, String ifMatch) {
                 Course course = courseRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+                ETagUtils.checkIfMatch(ifMatch, () -> currentETag(id));
 
                 if (!course.getCourseCode().equals(courseRequestDto.getCourseCode()) &&
                                 courseRepository.existsByCourseCode(courseRequestDto.getCourseCode())) {
@@ -96,17 +140,25 @@ public class CourseService implements ICourseService {
                                         "Course with code " + courseRequestDto.getCourseCode() + " already exists");
                 }
 
+                boolean creditsChanged = !Objects.equals(course.getCredits(), courseRequestDto.getCredits());
+
                 course.setCourseCode(courseRequestDto.getCourseCode());
                 course.setTitle(courseRequestDto.getTitle());
                 course.setDescription(courseRequestDto.getDescription());
                 course.setCredits(courseRequestDto.getCredits());
 
                 Course savedCourse = courseRepository.save(course);
+                courseCatalogCache.evictCourseAfterCommit(id);
+
+                if (creditsChanged) {
+                        studentGpaService.recalculateAll(studentGpaService.findGradedStudentIdsByCourseId(id));
+                }
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
                                 .withData("Course", courseMapper.toCourseDto(savedCourse))
                                 .withMessage("Course updated successfully")
+                                .withETag(currentETag(id))
                                 .build();
         }
 
@@ -116,11 +168,19 @@ public class CourseService implements ICourseService {
                 Course course = courseRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
 
+                List<String> gradedStudentIds = studentGpaService.findGradedStudentIdsByCourseId(id);
                 courseRepository.delete(course);
+                courseCatalogCache.evictCourseAfterCommit(id);
+                studentGpaService.recalculateAll(gradedStudentIds);
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
                                 .withMessage("Course deleted successfully")
                                 .build();
         }
+
+        // Runs as a query, so pending changes are flushed first and the tag reflects them
+        private String currentETag(String id) {
+                return ETagUtils.strong(courseRepository.findVersionsById(id).orElseThrow());
+        }
 }
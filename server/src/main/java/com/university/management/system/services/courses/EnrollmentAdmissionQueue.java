@@ -0,0 +1,345 @@
+package com.university.management.system.services.courses;
+
+import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.utils.ResponseEntityBuilder;
+import com.university.management.system.utils.mappers.courses.CourseMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Queued admission mode for student self-enrollment. Every class gets its own queue that is drained by
+ * at most one writer at a time, and each drain commits up to {@code batch-size} admissions in a single
+ * transaction with one seat claim for the whole batch. Request threads therefore never compete for the
+ * class row; they wait on a ticket instead.
+ * <p>
+ * Enabled with {@code enrollment.admission.mode=queued}; the default {@code direct} mode keeps using
+ * {@link EnrollmentService#createEnrollment}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EnrollmentAdmissionQueue {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final CourseClassRepository courseClassRepository;
+    private final SeatReservationService seatReservationService;
+    private final CourseMapper courseMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    @Value("${enrollment.admission.mode:direct}")
+    private String mode;
+
+    @Value("${enrollment.admission.batch-size:50}")
+    private int batchSize;
+
+    @Value("${enrollment.admission.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${enrollment.admission.timeout-millis:5000}")
+    private long timeoutMillis;
+
+    @Value("${enrollment.admission.ticket-retention:PT10M}")
+    private Duration ticketRetention;
+
+    private final ExecutorService writers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("enrollment-writer-", 0).factory());
+
+    public boolean isEnabled() {
+        return "queued".equalsIgnoreCase(mode);
+    }
+
+    /**
+     * Queues an admission and waits up to {@code timeout-millis} for the writer to commit it. If the
+     * writer has not reached the request by then, a {@code 202 Accepted} carrying the ticket is returned
+     * and the result can be fetched later with {@link #getTicket(String)}.
+     */
+    public ResponseEntity<ApiResponse> admit(String studentId, String classId) {
+        Ticket ticket = submit(studentId, classId);
+        try {
+            return ticket.getResult().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException exception) {
+            return ResponseEntityBuilder.create()
+                    .withStatus(HttpStatus.ACCEPTED)
+                    .withData("Ticket", ticket.toView())
+                    .withMessage("Enrollment request queued")
+                    .build();
+        } catch (ExecutionException exception) {
+            throw exception.getCause() instanceof RuntimeException cause
+                    ? cause
+                    : new IllegalStateException("Enrollment admission failed", exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for enrollment admission", exception);
+        }
+    }
+
+    public Ticket submit(String studentId, String classId) {
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), studentId, classId, Instant.now());
+        Lane lane;
+        boolean offered;
+        while (true) {
+            lane = lanes.computeIfAbsent(classId, Lane::new);
+            // A lane closed by the sweep is no longer drained; retry with the lane that replaces it
+            synchronized (lane) {
+                if (!lane.closed) {
+                    offered = lane.queue.offer(ticket);
+                    break;
+                }
+            }
+        }
+
+        if (!offered) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Enrollment queue for this class is full, please retry later");
+        }
+
+        tickets.put(ticket.getId(), ticket);
+        submitted.increment();
+        schedule(lane);
+        return ticket;
+    }
+
+    public Ticket getTicket(String ticketId) {
+        return tickets.get(ticketId);
+    }
+
+    public void removeTicket(String ticketId) {
+        tickets.remove(ticketId);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> perClass = new LinkedHashMap<>();
+        long depth = 0;
+        double drainRate = 0;
+        for (Lane lane : lanes.values()) {
+            int laneDepth = lane.queue.size();
+            depth += laneDepth;
+            drainRate += lane.drainRate();
+            if (laneDepth > 0 || lane.draining.get()) {
+                perClass.put(lane.classId, Map.of(
+                        "depth", laneDepth,
+                        "drainRatePerSecond", lane.drainRate()));
+            }
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("mode", isEnabled() ? "queued" : "direct");
+        stats.put("depth", depth);
+        stats.put("drainRatePerSecond", drainRate);
+        stats.put("submitted", submitted.sum());
+        stats.put("admitted", admitted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("batches", batches.sum());
+        stats.put("pendingTickets", tickets.size());
+        stats.put("activeClasses", perClass);
+        return stats;
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.admission.sweep-interval-millis:60000}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(ticketRetention);
+        tickets.values().removeIf(ticket -> ticket.getResult().isDone() && ticket.getSubmittedAt().isBefore(cutoff));
+        for (Lane lane : lanes.values()) {
+            // Closed under the lane lock so submit cannot queue a ticket on a lane that is being removed
+            synchronized (lane) {
+                if (lane.queue.isEmpty() && !lane.draining.get()) {
+                    lane.closed = true;
+                    lanes.remove(lane.classId, lane);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdown();
+    }
+
+    private void schedule(Lane lane) {
+        if (lane.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(lane));
+        }
+    }
+
+    private void drain(Lane lane) {
+        try {
+            List<Ticket> batch = new ArrayList<>(batchSize);
+            while (lane.queue.drainTo(batch, batchSize) > 0) {
+                process(lane, batch);
+                batch.clear();
+            }
+        } finally {
+            lane.draining.set(false);
+            // A ticket may have been queued after the last drainTo but before the flag was cleared
+            if (!lane.queue.isEmpty()) {
+                schedule(lane);
+            }
+        }
+    }
+
+    private void process(Lane lane, List<Ticket> batch) {
+        Map<Ticket, ResponseEntity<ApiResponse>> results;
+        try {
+            results = transactionTemplate.execute(status -> commitBatch(lane.classId, batch));
+        } catch (RuntimeException exception) {
+            log.error("Enrollment batch for class {} failed", lane.classId, exception);
+            batch.forEach(ticket -> ticket.getResult().completeExceptionally(exception));
+            return;
+        }
+
+        batches.increment();
+        lane.recordDrained(batch.size());
+        results.forEach((ticket, result) -> {
+            if (result.getStatusCode().is2xxSuccessful()) {
+                admitted.increment();
+            }
+            ticket.getResult().complete(result);
+        });
+    }
+
+    private Map<Ticket, ResponseEntity<ApiResponse>> commitBatch(String classId, List<Ticket> batch) {
+        Map<Ticket, ResponseEntity<ApiResponse>> results = new LinkedHashMap<>();
+
+        CourseClass courseClass = courseClassRepository.findById(classId).orElse(null);
+        if (courseClass == null) {
+            batch.forEach(ticket -> results.put(ticket, reject(HttpStatus.NOT_FOUND, "Course Class not found")));
+            return results;
+        }
+
+        Set<String> studentIds = batch.stream().map(Ticket::getStudentId).collect(Collectors.toSet());
+        Map<String, Student> students = studentRepository.findAllById(studentIds).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        Set<String> alreadyEnrolled = new HashSet<>(enrollmentRepository.findEnrolledStudentIds(classId, studentIds));
+
+        List<Ticket> eligible = new ArrayList<>();
+        for (Ticket ticket : batch) {
+            if (!students.containsKey(ticket.getStudentId())) {
+                results.put(ticket, reject(HttpStatus.NOT_FOUND, "Student not found"));
+            } else if (!alreadyEnrolled.add(ticket.getStudentId())) {
+                results.put(ticket, reject(HttpStatus.BAD_REQUEST, "Student is already enrolled in this class"));
+            } else {
+                eligible.add(ticket);
+            }
+        }
+
+        int seats = eligible.isEmpty() ? 0 : seatReservationService.reserveUpTo(classId, eligible.size());
+
+        Map<Ticket, Enrollment> admittedEnrollments = new HashMap<>();
+        for (int i = 0; i < eligible.size(); i++) {
+            Ticket ticket = eligible.get(i);
+            if (i >= seats) {
+                results.put(ticket, reject(HttpStatus.BAD_REQUEST, "Class is full"));
+                continue;
+            }
+            admittedEnrollments.put(ticket, Enrollment.builder()
+                    .student(students.get(ticket.getStudentId()))
+                    .courseClass(courseClass)
+                    .status(EnrollmentStatus.ENROLLED)
+                    .build());
+        }
+
+        enrollmentRepository.saveAll(admittedEnrollments.values());
+
+        admittedEnrollments.forEach((ticket, enrollment) -> results.put(ticket, ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.CREATED)
+                .withData("Enrollment", courseMapper.toEnrollmentDto(enrollment))
+                .withMessage("Enrollment created successfully")
+                .build()));
+        return results;
+    }
+
+    private ResponseEntity<ApiResponse> reject(HttpStatus status, String message) {
+        return ResponseEntityBuilder.create()
+                .withStatus(status)
+                .withMessage(message)
+                .build();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Ticket {
+        private final String id;
+        private final String studentId;
+        private final String classId;
+        private final Instant submittedAt;
+        private final CompletableFuture<ResponseEntity<ApiResponse>> result = new CompletableFuture<>();
+
+        public Map<String, Object> toView() {
+            return Map.of(
+                    "id", id,
+                    "classId", classId,
+                    "submittedAt", submittedAt,
+                    "status", result.isDone() ? "COMPLETED" : "QUEUED");
+        }
+    }
+
+    private final class Lane {
+        private final String classId;
+        private final BlockingQueue<Ticket> queue = new LinkedBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+        private final LongAdder windowCount = new LongAdder();
+        private volatile double lastRate;
+        private boolean closed;
+
+        private Lane(String classId) {
+            this.classId = classId;
+        }
+
+        private void recordDrained(int count) {
+            windowCount.add(count);
+            long start = windowStart.get();
+            long elapsed = System.nanoTime() - start;
+            if (elapsed >= TimeUnit.SECONDS.toNanos(1) && windowStart.compareAndSet(start, System.nanoTime())) {
+                lastRate = windowCount.sumThenReset() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            }
+        }
+
+        private double drainRate() {
+            long idle = System.nanoTime() - windowStart.get();
+            return idle > TimeUnit.SECONDS.toNanos(5) ? 0 : lastRate;
+        }
+    }
+}
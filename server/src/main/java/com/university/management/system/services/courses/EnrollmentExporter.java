@@ -0,0 +1,160 @@
+package com.university.management.system.services.courses;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import jakarta.persistence.Tuple;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes every enrollment matching the filters as NDJSON or CSV straight to the response stream. Rows come
+ * from a read-only tuple cursor ({@link EnrollmentRepository#streamForExport}) and are written one at a
+ * time, so memory stays flat however many rows the export has.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EnrollmentExporter {
+
+    public static final List<String> COLUMNS = List.of(
+            "id", "grade", "status", "createdAt",
+            "studentId", "studentNumber", "studentFirstName", "studentLastName", "studentEmail",
+            "classId", "semester", "academicYear",
+            "courseId", "courseCode", "courseTitle", "credits");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    public void write(OutputStream outputStream, Format format, String semester, Integer academicYear,
+                      String classId) {
+        // The cursor only streams inside a transaction; the response is written on an async thread, so open one here
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long started = System.nanoTime();
+        Long rows = readOnly.execute(status -> {
+            try (Stream<Tuple> stream = enrollmentRepository.streamForExport(semester, academicYear, classId)) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                        BUFFER_SIZE);
+                long count = format == Format.CSV
+                        ? writeCsv(writer, stream.iterator())
+                        : writeNdjson(writer, stream.iterator());
+                writer.flush();
+                return count;
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+
+        log.info("Exported {} enrollments as {} in {} ms", rows, format, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private long writeNdjson(Writer writer, Iterator<Tuple> rows) throws IOException {
+        long count = 0;
+        while (rows.hasNext()) {
+            writer.write(objectMapper.writeValueAsString(toMap(rows.next())));
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    private long writeCsv(Writer writer, Iterator<Tuple> rows) throws IOException {
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            Tuple row = rows.next();
+            for (int i = 0; i < COLUMNS.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, row.get(COLUMNS.get(i)));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        return count;
+    }
+
+    private void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+
+        String text = value.toString();
+        if (value instanceof CharSequence && isFormulaLike(text)) {
+            // Names and titles are user input; a leading quote keeps spreadsheets from evaluating them
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean isFormulaLike(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    private Map<String, Object> toMap(Tuple row) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String column : COLUMNS) {
+            values.put(column, row.get(column));
+        }
+        return values;
+    }
+
+    @Getter
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static Format from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException exception) {
+                throw new IllegalArgumentException("Unsupported format: " + value
+                        + ". Supported formats are: ndjson, csv");
+            }
+        }
+    }
+}
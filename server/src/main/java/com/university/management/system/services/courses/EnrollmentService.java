@@ -1,6 +1,9 @@
 package com.university.management.system.services.courses;
 
 import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.dtos.courses.BulkEnrollmentRequestDto;
+import com.university.management.system.dtos.courses.BulkEnrollmentResultDto;
+import com.university.management.system.dtos.courses.BulkEnrollmentResultDto.Outcome;
 import com.university.management.system.dtos.courses.EnrollmentDto;
 import com.university.management.system.dtos.courses.EnrollmentRequestDto;
 import com.university.management.system.exceptions.ResourceNotFoundException;
@@ -10,19 +13,35 @@ import com.university.management.system.models.users.Student;
 import com.university.management.system.repositories.courses.CourseClassRepository;
 import com.university.management.system.repositories.courses.EnrollmentRepository;
 import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.users.StudentGpaService;
+import com.university.management.system.services.users.StudentGpaService.GradeContribution;
+import com.university.management.system.utils.ETagUtils;
 import com.university.management.system.utils.RepositoryUtils;
 import com.university.management.system.utils.ResponseEntityBuilder;
+import com.university.management.system.utils.mappers.ProjectionMapper;
 import com.university.management.system.utils.mappers.courses.CourseMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -31,15 +50,33 @@ public class EnrollmentService implements IEnrollmentService {
         private final EnrollmentRepository enrollmentRepository;
         private final StudentRepository studentRepository;
         private final CourseClassRepository courseClassRepository;
+        private final SeatReservationService seatReservationService;
         private final CourseMapper courseMapper;
         private final RepositoryUtils repositoryUtils;
+        private final TransactionTemplate transactionTemplate;
+        private final ProjectionMapper projectionMapper;
+        private final StudentGpaService studentGpaService;
+        private final EnrollmentExporter enrollmentExporter;
+        private final BulkEnrollmentService bulkEnrollmentService;
+        private final GradeUploadService gradeUploadService;
+
+        @Value("${read-path.projection.enrollments:true}")
+        private boolean projectionReads;
 
         @Override
-        public ResponseEntity<ApiResponse> getAllEnrollments(Integer page, Integer size) {
+        public ResponseEntity<ApiResponse> getAllEnrollments(Integer page, Integer size, String ifNoneMatch) {
                 Pageable pageable = repositoryUtils.getPageable(page, size, Sort.Direction.DESC, "createdAt");
-                Page<Enrollment> enrollments = enrollmentRepository.findAll(pageable);
+                String etag = ETagUtils.weak(enrollmentRepository.findListingVersions(),
+                                pageable.getPageNumber(), pageable.getPageSize());
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
 
-                List<EnrollmentDto> response = enrollments.map(courseMapper::toEnrollmentDto).toList();
+                Page<EnrollmentDto> enrollments = projectionReads
+                                ? enrollmentRepository.findAllRows(pageable).map(projectionMapper::toEnrollmentDto)
+                                : enrollmentRepository.findAll(pageable).map(courseMapper::toEnrollmentDto);
+
+                List<EnrollmentDto> response = enrollments.getContent();
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
@@ -50,11 +87,32 @@ public class EnrollmentService implements IEnrollmentService {
                                                 "totalItems", enrollments.getTotalElements(),
                                                 "pageSize", enrollments.getSize()))
                                 .withMessage("Enrollments retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
 
         @Override
-        public ResponseEntity<ApiResponse> getEnrollmentById(String id) {
+        public ResponseEntity<ApiResponse> getAllEnrollmentsByCursor(String cursor, Integer size) {
+                Sort sort = repositoryUtils.getKeysetSort(Sort.Direction.DESC, "createdAt");
+                KeysetScrollPosition position = repositoryUtils.getScrollPosition(cursor, sort);
+                Window<Enrollment> enrollments = enrollmentRepository.findAllBy(position, sort, repositoryUtils.getLimit(size));
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.OK)
+                                .withData("Enrollments", enrollments.stream().map(courseMapper::toEnrollmentDto).toList())
+                                .withData("pagination", repositoryUtils.getCursorPagination(enrollments, position))
+                                .withMessage("Enrollments retrieved successfully")
+                                .build();
+        }
+
+        @Override
+        public ResponseEntity<ApiResponse> getEnrollmentById(String id, String ifNoneMatch) {
+                String etag = ETagUtils.strong(enrollmentRepository.findVersionsById(id)
+                                .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found")));
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
                 Enrollment enrollment = enrollmentRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
 
@@ -62,25 +120,64 @@ public class EnrollmentService implements IEnrollmentService {
                                 .withStatus(HttpStatus.OK)
                                 .withData("Enrollment", courseMapper.toEnrollmentDto(enrollment))
                                 .withMessage("Enrollment retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
 
         @Override
-        @Transactional
         public ResponseEntity<ApiResponse> createEnrollment(EnrollmentRequestDto enrollmentRequestDto) {
-                Student student = studentRepository.findById(enrollmentRequestDto.getStudentId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+                String classId = enrollmentRequestDto.getClassId();
 
-                CourseClass courseClass = courseClassRepository.findById(enrollmentRequestDto.getClassId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Course Class not found"));
+                if (!studentRepository.existsById(enrollmentRequestDto.getStudentId())) {
+                        throw new ResourceNotFoundException("Student not found");
+                }
 
-                if (courseClass.getCurrentCapacity() >= courseClass.getMaxCapacity()) {
+                if (!courseClassRepository.existsById(classId)) {
+                        throw new ResourceNotFoundException("Course Class not found");
+                }
+
+                if (!seatReservationService.reserve(classId)) {
                         return ResponseEntityBuilder.create()
                                         .withStatus(HttpStatus.BAD_REQUEST)
                                         .withMessage("Class is full")
                                         .build();
                 }
 
+                try {
+                        return transactionTemplate.execute(status -> saveEnrollment(enrollmentRequestDto));
+                } catch (RuntimeException exception) {
+                        // The seat was committed on its own, so give it back unless an outer transaction will roll it back
+                        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                                seatReservationService.release(classId);
+                        }
+                        throw exception;
+                }
+        }
+
+        @Override
+        public ResponseEntity<ApiResponse> createEnrollments(BulkEnrollmentRequestDto bulkEnrollmentRequestDto) {
+                List<BulkEnrollmentResultDto> results = bulkEnrollmentService.enroll(
+                                bulkEnrollmentRequestDto.getEnrollments());
+
+                Map<Outcome, Long> summary = new EnumMap<>(Outcome.class);
+                results.forEach(result -> summary.merge(result.getOutcome(), 1L, Long::sum));
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.OK)
+                                .withData("Results", results)
+                                .withData("summary", summary)
+                                .withMessage(summary.getOrDefault(Outcome.CREATED, 0L) + " of " + results.size()
+                                                + " enrollments created")
+                                .build();
+        }
+
+        private ResponseEntity<ApiResponse> saveEnrollment(EnrollmentRequestDto enrollmentRequestDto) {
+                Student student = studentRepository.findById(enrollmentRequestDto.getStudentId())
+                                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+
+                CourseClass courseClass = courseClassRepository.findById(enrollmentRequestDto.getClassId())
+                                .orElseThrow(() -> new ResourceNotFoundException("Course Class not found"));
+
                 Enrollment enrollment = Enrollment.builder()
                                 .student(student)
                                 .courseClass(courseClass)
@@ -89,9 +186,7 @@ public class EnrollmentService implements IEnrollmentService {
                                 .build();
 
                 Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
-
-                courseClass.setCurrentCapacity(courseClass.getCurrentCapacity() + 1);
-                courseClassRepository.save(courseClass);
+                studentGpaService.record(null, studentGpaService.contributionOf(savedEnrollment));
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.CREATED)
@@ -102,9 +197,12 @@ public class EnrollmentService implements IEnrollmentService {
 
         @Override
         @Transactional
-        public ResponseEntity<ApiResponse> updateEnrollment(String id, EnrollmentRequestDto enrollmentRequestDto) {
+        public ResponseEntity<ApiResponse> updateEnrollment(String id, EnrollmentRequestDto enrollmentRequestDto,
+                        String ifMatch) {
                 Enrollment enrollment = enrollmentRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
+                ETagUtils.checkIfMatch(ifMatch, () -> currentETag(id));
+                GradeContribution previous = studentGpaService.contributionOf(enrollment);
 
                 if (!enrollment.getStudent().getId().equals(enrollmentRequestDto.getStudentId())) {
                         Student student = studentRepository.findById(enrollmentRequestDto.getStudentId())
@@ -112,18 +210,20 @@ public class EnrollmentService implements IEnrollmentService {
                         enrollment.setStudent(student);
                 }
 
-                if (!enrollment.getCourseClass().getId().equals(enrollmentRequestDto.getClassId())) {
-                        CourseClass courseClass = courseClassRepository.findById(enrollmentRequestDto.getClassId())
-                                        .orElseThrow(() -> new ResourceNotFoundException("Course Class not found"));
+                String oldClassId = enrollment.getCourseClass().getId();
+                String newClassId = enrollmentRequestDto.getClassId();
+                if (!oldClassId.equals(newClassId)) {
+                        if (!courseClassRepository.existsById(newClassId)) {
+                                throw new ResourceNotFoundException("Course Class not found");
+                        }
 
-                        if (courseClass.getCurrentCapacity() >= courseClass.getMaxCapacity()) {
+                        if (!seatReservationService.reserve(newClassId)) {
                                 throw new RuntimeException("New Class is full");
                         }
-                        CourseClass oldClass = enrollment.getCourseClass();
-                        oldClass.setCurrentCapacity(oldClass.getCurrentCapacity() - 1);
-                        courseClassRepository.save(oldClass);
-                        courseClass.setCurrentCapacity(courseClass.getCurrentCapacity() + 1);
-                        courseClassRepository.save(courseClass);
+                        seatReservationService.release(oldClassId);
+
+                        CourseClass courseClass = courseClassRepository.findById(newClassId)
+                                        .orElseThrow(() -> new ResourceNotFoundException("Course Class not found"));
                         enrollment.setCourseClass(courseClass);
                 }
 
@@ -131,11 +231,13 @@ public class EnrollmentService implements IEnrollmentService {
                 enrollment.setStatus(enrollmentRequestDto.getStatus());
 
                 Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+                studentGpaService.record(previous, studentGpaService.contributionOf(savedEnrollment));
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
                                 .withData("Enrollment", courseMapper.toEnrollmentDto(savedEnrollment))
                                 .withMessage("Enrollment updated successfully")
+                                .withETag(currentETag(id))
                                 .build();
         }
 
@@ -145,9 +247,8 @@ public class EnrollmentService implements IEnrollmentService {
                 Enrollment enrollment = enrollmentRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
 
-                CourseClass courseClass = enrollment.getCourseClass();
-                courseClass.setCurrentCapacity(courseClass.getCurrentCapacity() - 1);
-                courseClassRepository.save(courseClass);
+                seatReservationService.release(enrollment.getCourseClass().getId());
+                studentGpaService.record(studentGpaService.contributionOf(enrollment), null);
 
                 enrollmentRepository.delete(enrollment);
 
@@ -163,9 +264,11 @@ public class EnrollmentService implements IEnrollmentService {
                 Enrollment enrollment = enrollmentRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
 
+                GradeContribution previous = studentGpaService.contributionOf(enrollment);
                 grade = grade.toUpperCase();
                 enrollment.setGrade(grade);
                 Enrollment savedEnrollment = enrollmentRepository.save(enrollment);
+                studentGpaService.record(previous, studentGpaService.contributionOf(savedEnrollment));
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
@@ -173,4 +276,48 @@ public class EnrollmentService implements IEnrollmentService {
                                 .withMessage("Grade updated successfully")
                                 .build();
         }
+
+        @Override
+        public ResponseEntity<ApiResponse> uploadGrades(String classId, String format, InputStream inputStream) {
+                EnrollmentExporter.Format uploadFormat = EnrollmentExporter.Format.from(format);
+                if (!courseClassRepository.existsById(classId)) {
+                        throw new ResourceNotFoundException("Course Class not found");
+                }
+
+                GradeUploadService.Report report = gradeUploadService.upload(classId, uploadFormat, inputStream);
+
+                Map<String, Long> summary = new LinkedHashMap<>();
+                summary.put("rows", report.getRows());
+                summary.put("updated", report.getUpdated());
+                summary.put("unchanged", report.getUnchanged());
+                summary.put("rejected", (long) report.getRejected().size());
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.OK)
+                                .withData("Rejected", report.getRejected())
+                                .withData("summary", summary)
+                                .withMessage(report.getUpdated() + " of " + report.getRows() + " grades updated")
+                                .build();
+        }
+
+        @Override
+        public ResponseEntity<StreamingResponseBody> exportEnrollments(String format, String semester,
+                        Integer academicYear, String classId) {
+                EnrollmentExporter.Format exportFormat = EnrollmentExporter.Format.from(format);
+                StreamingResponseBody body = outputStream -> enrollmentExporter.write(
+                                outputStream, exportFormat, semester, academicYear, classId);
+
+                return ResponseEntity.ok()
+                                .contentType(exportFormat.getMediaType())
+                                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                                .filename("enrollments." + exportFormat.getExtension())
+                                                .build()
+                                                .toString())
+                                .body(body);
+        }
+
+        // Runs as a query, so pending changes are flushed first and the tag reflects them
+        private String currentETag(String id) {
+                return ETagUtils.strong(enrollmentRepository.findVersionsById(id).orElseThrow());
+        }
 }
@@ -0,0 +1,301 @@
+package com.university.management.system.services.courses;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.management.system.dtos.courses.GradeUploadRejectionDto;
+import com.university.management.system.dtos.courses.GradeUploadRejectionDto.Reason;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.users.StudentGpaService;
+import com.university.management.system.services.users.StudentGpaService.GradeContribution;
+import com.university.management.system.utils.CsvUtils;
+import com.university.management.system.utils.GradesUtils;
+import jakarta.persistence.Tuple;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies a lecturer's grade sheet for one class, read as CSV or JSON (NDJSON or an array) straight from the
+ * request stream. Rows are validated against {@link GradesUtils} as they are read, and the valid ones are
+ * applied in transactions of {@code enrollment.grades.batch-size} rows: one lookup of the chunk's
+ * enrollments, dirty-checked updates that Hibernate sends as JDBC batches, and one GPA update per distinct
+ * change ({@link StudentGpaService#recordAll}). The updates are versioned, so a chunk that races another
+ * edit of the same enrollments fails and is reported rather than overwriting it.
+ * <p>
+ * Rows are identified by {@code studentId} or {@code studentNumber}, so an edited enrollment export can be
+ * uploaded as is. A rejected row or a failed chunk is reported and the rest of the file is still applied.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GradeUploadService {
+
+    public static final String STUDENT_ID = "studentId";
+    public static final String STUDENT_NUMBER = "studentNumber";
+    public static final String GRADE = "grade";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final StudentGpaService studentGpaService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${enrollment.grades.batch-size:500}")
+    private int batchSize;
+
+    public Report upload(String classId, EnrollmentExporter.Format format, InputStream inputStream) {
+        long started = System.nanoTime();
+        Report report = new Report();
+
+        try (RowReader rows = format == EnrollmentExporter.Format.CSV ? csvRows(inputStream) : jsonRows(inputStream)) {
+            List<GradeRow> chunk = new ArrayList<>(batchSize);
+            while (true) {
+                GradeRow row;
+                try {
+                    row = rows.next();
+                } catch (IOException | RuntimeException exception) {
+                    // The stream cannot be resynchronised after a syntax error, so the rest of the file is skipped
+                    report.reject(GradeRow.unreadable(report.rows + 1), Reason.MALFORMED);
+                    report.rows++;
+                    log.warn("Grade upload for class {} stopped at unreadable row {}: {}", classId, report.rows,
+                            exception.getMessage());
+                    break;
+                }
+                if (row == null) {
+                    break;
+                }
+
+                report.rows++;
+                if (row.studentId() == null && row.studentNumber() == null) {
+                    report.reject(row, Reason.MALFORMED);
+                } else if (row.grade() == null || !GradesUtils.isValidGrade(row.grade())) {
+                    report.reject(row, Reason.INVALID_GRADE);
+                } else {
+                    chunk.add(row);
+                    if (chunk.size() == batchSize) {
+                        apply(classId, chunk, report);
+                        chunk = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                apply(classId, chunk, report);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        report.rejected.sort(Comparator.comparingLong(GradeUploadRejectionDto::getRow));
+        log.info("Grade upload for class {}: {} rows, {} updated, {} unchanged, {} rejected in {} ms", classId,
+                report.rows, report.updated, report.unchanged, report.rejected.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return report;
+    }
+
+    private void apply(String classId, List<GradeRow> chunk, Report report) {
+        try {
+            ChunkResult result = transactionTemplate.execute(status -> applyChunk(classId, chunk));
+            report.updated += result.updated();
+            report.unchanged += result.unchanged();
+            result.notEnrolled().forEach(row -> report.reject(row, Reason.NOT_ENROLLED));
+        } catch (RuntimeException exception) {
+            log.error("Grade upload chunk of {} rows for class {} failed", chunk.size(), classId, exception);
+            chunk.forEach(row -> report.reject(row, Reason.FAILED));
+        }
+    }
+
+    private ChunkResult applyChunk(String classId, List<GradeRow> chunk) {
+        Map<String, String> idsByNumber = new HashMap<>();
+        Set<String> numbers = new HashSet<>();
+        for (GradeRow row : chunk) {
+            if (row.studentId() == null) {
+                numbers.add(row.studentNumber());
+            }
+        }
+        if (!numbers.isEmpty()) {
+            for (Tuple student : studentRepository.findIdsByStudentNumbers(numbers)) {
+                idsByNumber.put(student.get("studentNumber", String.class), student.get("id", String.class));
+            }
+        }
+
+        Set<String> studentIds = new HashSet<>();
+        for (GradeRow row : chunk) {
+            String studentId = row.studentId() != null ? row.studentId() : idsByNumber.get(row.studentNumber());
+            if (studentId != null) {
+                studentIds.add(studentId);
+            }
+        }
+
+        Map<String, Enrollment> enrollments = new HashMap<>();
+        Map<String, GradeContribution> before = new HashMap<>();
+        if (!studentIds.isEmpty()) {
+            for (Enrollment enrollment : enrollmentRepository.findAllByClassIdAndStudentIds(classId, studentIds)) {
+                enrollments.put(enrollment.getStudent().getId(), enrollment);
+                before.put(enrollment.getId(), studentGpaService.contributionOf(enrollment));
+            }
+        }
+
+        // Rows are applied in file order, so a student listed twice ends up with the later grade
+        int updated = 0;
+        int unchanged = 0;
+        List<GradeRow> notEnrolled = new ArrayList<>();
+        Set<Enrollment> changed = new LinkedHashSet<>();
+        for (GradeRow row : chunk) {
+            String studentId = row.studentId() != null ? row.studentId() : idsByNumber.get(row.studentNumber());
+            Enrollment enrollment = studentId == null ? null : enrollments.get(studentId);
+            if (enrollment == null) {
+                notEnrolled.add(row);
+                continue;
+            }
+
+            String grade = row.grade().toUpperCase(Locale.ROOT);
+            if (grade.equals(enrollment.getGrade())) {
+                unchanged++;
+            } else {
+                enrollment.setGrade(grade);
+                changed.add(enrollment);
+                updated++;
+            }
+        }
+
+        List<GradeContribution> previous = new ArrayList<>(changed.size());
+        List<GradeContribution> current = new ArrayList<>(changed.size());
+        for (Enrollment enrollment : changed) {
+            previous.add(before.get(enrollment.getId()));
+            current.add(studentGpaService.contributionOf(enrollment));
+        }
+        studentGpaService.recordAll(previous, current);
+
+        return new ChunkResult(updated, unchanged, notEnrolled);
+    }
+
+    private RowReader jsonRows(InputStream inputStream) throws IOException {
+        MappingIterator<Map<String, Object>> values = objectMapper
+                .readerFor(new TypeReference<Map<String, Object>>() { })
+                .readValues(inputStream);
+        long[] row = { 0 };
+        return new RowReader() {
+            @Override
+            public GradeRow next() throws IOException {
+                if (!values.hasNextValue()) {
+                    return null;
+                }
+                Map<String, Object> value = values.nextValue();
+                return GradeRow.of(++row[0], text(value.get(STUDENT_ID)), text(value.get(STUDENT_NUMBER)),
+                        text(value.get(GRADE)));
+            }
+
+            @Override
+            public void close() throws IOException {
+                values.close();
+            }
+        };
+    }
+
+    private RowReader csvRows(InputStream inputStream) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        List<String> header = CsvUtils.readRecord(reader);
+        int studentIdColumn = header == null ? -1 : header.indexOf(STUDENT_ID);
+        int studentNumberColumn = header == null ? -1 : header.indexOf(STUDENT_NUMBER);
+        int gradeColumn = header == null ? -1 : header.indexOf(GRADE);
+        if (gradeColumn < 0 || (studentIdColumn < 0 && studentNumberColumn < 0)) {
+            throw new IllegalArgumentException("The CSV header must have a " + GRADE + " column and a "
+                    + STUDENT_ID + " or " + STUDENT_NUMBER + " column");
+        }
+
+        long[] row = { 0 };
+        return new RowReader() {
+            @Override
+            public GradeRow next() throws IOException {
+                List<String> values = CsvUtils.readNonBlankRecord(reader);
+                if (values == null) {
+                    return null;
+                }
+                return GradeRow.of(++row[0], CsvUtils.column(values, studentIdColumn),
+                        CsvUtils.column(values, studentNumberColumn), CsvUtils.column(values, gradeColumn));
+            }
+
+            @Override
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    private static String text(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Outcome of one upload; rejected rows are listed with the reason, everything else is counted.
+     */
+    @Getter
+    public static final class Report {
+
+        private long rows;
+        private long updated;
+        private long unchanged;
+        private final List<GradeUploadRejectionDto> rejected = new ArrayList<>();
+
+        private void reject(GradeRow row, Reason reason) {
+            rejected.add(GradeUploadRejectionDto.builder()
+                    .row(row.row())
+                    .studentId(row.studentId())
+                    .studentNumber(row.studentNumber())
+                    .grade(row.grade())
+                    .reason(reason)
+                    .build());
+        }
+    }
+
+    private interface RowReader extends AutoCloseable {
+
+        GradeRow next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private record GradeRow(long row, String studentId, String studentNumber, String grade) {
+
+        private static GradeRow of(long row, String studentId, String studentNumber, String grade) {
+            return new GradeRow(row, blankToNull(studentId), blankToNull(studentNumber), blankToNull(grade));
+        }
+
+        private static GradeRow unreadable(long row) {
+            return new GradeRow(row, null, null, null);
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    private record ChunkResult(int updated, int unchanged, List<GradeRow> notEnrolled) {
+    }
+}
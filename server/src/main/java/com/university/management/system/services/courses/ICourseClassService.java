@@ -5,13 +5,16 @@ import com.university.management.system.dtos.courses.CourseClassRequestDto;
 import org.springframework.http.ResponseEntity;
 
 public interface ICourseClassService {
-    ResponseEntity<ApiResponse> getAllCourseClasses(Integer page, Integer size);
+    ResponseEntity<ApiResponse> getAllCourseClasses(Integer page, Integer size, String ifNoneMatch);
 
-    ResponseEntity<ApiResponse> getCourseClassById(String id);
+    ResponseEntity<ApiResponse> getAllCourseClassesByCursor(String cursor, Integer size);
+
+    ResponseEntity<ApiResponse> getCourseClassById(String id, String ifNoneMatch);
 
     ResponseEntity<ApiResponse> createCourseClass(CourseClassRequestDto courseClassRequestDto);
 
-    ResponseEntity<ApiResponse> updateCourseClass(String id, CourseClassRequestDto courseClassRequestDto);
+    ResponseEntity<ApiResponse> updateCourseClass(String id, CourseClassRequestDto courseClassRequestDto,
+            String ifMatch);
 
     ResponseEntity<ApiResponse> deleteCourseClass(String id);
 
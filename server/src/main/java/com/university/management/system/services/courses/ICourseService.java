@@ -5,13 +5,15 @@ import com.university.management.system.dtos.courses.CourseRequestDto;
 import org.springframework.http.ResponseEntity;
 
 public interface ICourseService {
-    ResponseEntity<ApiResponse> getAllCourses(Integer page, Integer size);
+    ResponseEntity<ApiResponse> getAllCourses(Integer page, Integer size, String ifNoneMatch);
 
-    ResponseEntity<ApiResponse> getCourseById(String id);
+    ResponseEntity<ApiResponse> getAllCoursesByCursor(String cursor, Integer size);
+
+    ResponseEntity<ApiResponse> getCourseById(String id, String ifNoneMatch);
 
     ResponseEntity<ApiResponse> createCourse(CourseRequestDto courseRequestDto);
 
-    ResponseEntity<ApiResponse> updateCourse(String id, CourseRequestDto courseRequestDto);
+    ResponseEntity<ApiResponse> updateCourse(String id, CourseRequestDto courseRequestDto, String ifMatch);
 
     ResponseEntity<ApiResponse> deleteCourse(String id);
 }
@@ -1,19 +1,32 @@
 package com.university.management.system.services.courses;
 
 import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.dtos.courses.BulkEnrollmentRequestDto;
 import com.university.management.system.dtos.courses.EnrollmentRequestDto;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 public interface IEnrollmentService {
-    ResponseEntity<ApiResponse> getAllEnrollments(Integer page, Integer size);
+    ResponseEntity<ApiResponse> getAllEnrollments(Integer page, Integer size, String ifNoneMatch);
+
+    ResponseEntity<ApiResponse> getAllEnrollmentsByCursor(String cursor, Integer size);
 
-    ResponseEntity<ApiResponse> getEnrollmentById(String id);
+    ResponseEntity<ApiResponse> getEnrollmentById(String id, String ifNoneMatch);
 
     ResponseEntity<ApiResponse> createEnrollment(EnrollmentRequestDto enrollmentRequestDto);
 
-    ResponseEntity<ApiResponse> updateEnrollment(String id, EnrollmentRequestDto enrollmentRequestDto);
+    ResponseEntity<ApiResponse> createEnrollments(BulkEnrollmentRequestDto bulkEnrollmentRequestDto);
+
+    ResponseEntity<ApiResponse> updateEnrollment(String id, EnrollmentRequestDto enrollmentRequestDto, String ifMatch);
 
     ResponseEntity<ApiResponse> deleteEnrollment(String id);
 
     ResponseEntity<ApiResponse> updateGrade(String id, String grade);
+
+    ResponseEntity<ApiResponse> uploadGrades(String classId, String format, InputStream inputStream);
+
+    ResponseEntity<StreamingResponseBody> exportEnrollments(String format, String semester, Integer academicYear,
+            String classId);
 }
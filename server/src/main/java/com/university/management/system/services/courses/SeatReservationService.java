@@ -0,0 +1,116 @@
+package com.university.management.system.services.courses;
+
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Claims and releases seats in a {@link com.university.management.system.models.courses.CourseClass}
+ * with a single conditional UPDATE, so the capacity check and the increment happen atomically in the
+ * database instead of as a read-check-write in the service layer.
+ * <p>
+ * When called outside a transaction every attempt runs in its own short transaction, which keeps the
+ * row lock on a hot class for the duration of one statement, and transient lock failures are retried
+ * a bounded number of times. Inside an existing transaction the statement joins it and is not retried.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SeatReservationService {
+
+    private final CourseClassRepository courseClassRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${enrollment.seat-reservation.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${enrollment.seat-reservation.backoff-millis:10}")
+    private long backoffMillis;
+
+    /**
+     * @return {@code true} if a seat was claimed, {@code false} if the class is full or does not exist
+     */
+    public boolean reserve(String classId) {
+        return execute(classId, () -> courseClassRepository.claimSeat(classId, Instant.now())) > 0;
+    }
+
+    /**
+     * Claims as many of the requested seats as are still free, in one conditional update.
+     *
+     * @return the number of seats claimed, between zero and {@code requested}
+     */
+    public int reserveUpTo(String classId, int requested) {
+        return execute(classId, () -> claimUpTo(classId, requested));
+    }
+
+    /**
+     * @return {@code true} if a seat was given back, {@code false} if the class was already empty
+     */
+    public boolean release(String classId) {
+        return execute(classId, () -> courseClassRepository.releaseSeat(classId, Instant.now())) > 0;
+    }
+
+    /**
+     * Gives back {@code count} seats claimed earlier with {@link #reserveUpTo}, in one conditional update.
+     */
+    public boolean release(String classId, int count) {
+        return count <= 0
+                || execute(classId, () -> courseClassRepository.releaseSeats(classId, count, Instant.now())) > 0;
+    }
+
+    private int execute(String classId, SeatUpdate update) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return update.apply();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Integer updated = transactionTemplate.execute(status -> update.apply());
+                return updated == null ? 0 : updated;
+            } catch (TransientDataAccessException exception) {
+                if (attempt >= maxAttempts) {
+                    throw exception;
+                }
+                log.debug("Seat update for class {} failed on attempt {}: {}", classId, attempt,
+                        exception.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private int claimUpTo(String classId, int requested) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            int count = Math.min(courseClassRepository.findFreeSeatsById(classId).orElse(0), requested);
+            if (count <= 0) {
+                return 0;
+            }
+            if (courseClassRepository.claimSeats(classId, count, Instant.now()) > 0) {
+                return count;
+            }
+        }
+        return 0;
+    }
+
+    private void backoff(int attempt) {
+        long delay = backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reserving a seat", exception);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SeatUpdate {
+        int apply();
+    }
+}
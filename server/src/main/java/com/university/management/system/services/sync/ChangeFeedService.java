@@ -0,0 +1,214 @@
+package com.university.management.system.services.sync;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.models.AbstractEntity;
+import com.university.management.system.models.sync.SyncResource;
+import com.university.management.system.models.sync.Tombstone;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.sync.TombstoneRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.utils.RepositoryUtils;
+import com.university.management.system.utils.ResponseEntityBuilder;
+import com.university.management.system.utils.mappers.courses.CourseMapper;
+import com.university.management.system.utils.mappers.users.UserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Change feeds of the synced resources: everything created or updated, and the ids of everything deleted,
+ * after a client's position. Changed rows are found through the {@code updated_at} indexes and deletions
+ * through the tombstones, so a call costs in proportion to the changes rather than to the table.
+ * <p>
+ * A feed starts from {@code since} (or, without it, from the beginning for an initial load) and continues
+ * with the opaque {@code nextCursor} of the previous response. Rows stamped in the last {@code sync.settle-time}
+ * are held back until the transactions that wrote them have had time to commit, so a cursor never moves past
+ * a change that is not visible yet. A position older than the tombstone retention gets 410 and the client has
+ * to reload the full listing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeFeedService implements IChangeFeedService {
+
+    private static final ObjectMapper CURSOR_MAPPER = new ObjectMapper();
+
+    private final CourseRepository courseRepository;
+    private final CourseClassRepository courseClassRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final StudentRepository studentRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final CourseMapper courseMapper;
+    private final UserMapper userMapper;
+    private final RepositoryUtils repositoryUtils;
+
+    @Value("${sync.settle-time:PT5S}")
+    private Duration settleTime;
+
+    @Value("${sync.tombstone-retention:P30D}")
+    private Duration tombstoneRetention;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseEntity<ApiResponse> getChanges(SyncResource resource, String since, String cursor, Integer size) {
+        Instant now = Instant.now();
+        Instant until = now.minus(settleTime);
+        Position position = cursor != null && !cursor.isBlank()
+                ? decode(resource, cursor)
+                : start(since, until);
+
+        if (position.deletedAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Deletions before "
+                    + now.minus(tombstoneRetention) + " are no longer kept; reload the full listing");
+        }
+
+        Limit limit = repositoryUtils.getLimit(size);
+        List<Change> changed = findChanged(resource, position, until, limit);
+        List<Tombstone> deleted = tombstoneRepository.findDeletedAfter(resource, position.deletedAt(),
+                position.deletedId(), until, limit);
+
+        Position next = position;
+        if (!changed.isEmpty()) {
+            Change last = changed.get(changed.size() - 1);
+            next = next.withChanged(last.changedAt(), last.id());
+        }
+        if (!deleted.isEmpty()) {
+            Tombstone last = deleted.get(deleted.size() - 1);
+            next = next.withDeleted(last.getCreatedAt(), last.getId());
+        }
+
+        Map<String, Object> sync = new HashMap<>();
+        sync.put("nextCursor", encode(resource, next));
+        sync.put("hasMore", changed.size() == limit.max() || deleted.size() == limit.max());
+        sync.put("until", until);
+
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData(resource.getDataKey(), changed.stream().map(Change::dto).toList())
+                .withData("Deleted", deleted.stream().map(Tombstone::getResourceId).toList())
+                .withData("sync", sync)
+                .withMessage("Changes retrieved successfully")
+                .build();
+    }
+
+    @Transactional
+    @Scheduled(cron = "${sync.tombstone-prune-cron:0 0 4 * * *}")
+    public void pruneTombstones() {
+        int removed = tombstoneRepository.deleteAllCreatedBefore(Instant.now().minus(tombstoneRetention));
+        log.info("Pruned {} tombstones older than {}", removed, tombstoneRetention);
+    }
+
+    private List<Change> findChanged(SyncResource resource, Position position, Instant until, Limit limit) {
+        Instant after = position.changedAt();
+        String afterId = position.changedId();
+
+        return switch (resource) {
+            case COURSE -> changes(courseRepository.findChangedAfter(after, afterId, until, limit),
+                    courseMapper::toCourseDto);
+            case COURSE_CLASS -> changes(courseClassRepository.findChangedAfter(after, afterId, until, limit),
+                    courseMapper::toCourseClassDto);
+            case ENROLLMENT -> changes(enrollmentRepository.findChangedAfter(after, afterId, until, limit),
+                    courseMapper::toEnrollmentDto);
+            case STUDENT -> studentRepository.findChangedAfter(after, afterId, until, limit).stream()
+                    .map(student -> new Change(student.getId(), changedAt(student), userMapper.toStudentDto(student)))
+                    .toList();
+        };
+    }
+
+    private static <T extends AbstractEntity> List<Change> changes(List<T> rows, Function<T, Object> mapper) {
+        return rows.stream()
+                .map(row -> new Change(row.getId(), row.getUpdatedAt(), mapper.apply(row)))
+                .toList();
+    }
+
+    // Same as StudentRepository.CHANGED_AT, so the cursor continues exactly where the page ended
+    private static Instant changedAt(Student student) {
+        Instant personUpdatedAt = student.getPerson().getUpdatedAt();
+        if (personUpdatedAt == null || student.getUpdatedAt().isAfter(personUpdatedAt)) {
+            return student.getUpdatedAt();
+        }
+        return personUpdatedAt;
+    }
+
+    /**
+     * An initial load reads every row but only deletions from now on; an incremental one reads both from
+     * {@code since}. The empty id sorts before every real id, so rows stamped exactly at the start are included.
+     */
+    private static Position start(String since, Instant until) {
+        if (since == null || since.isBlank()) {
+            return new Position(Instant.EPOCH, "", until, "");
+        }
+
+        try {
+            Instant from = Instant.parse(since);
+            return new Position(from, "", from, "");
+        } catch (DateTimeParseException exception) {
+            throw new IllegalArgumentException("Invalid since timestamp: " + since
+                    + ". Expected an ISO-8601 instant such as 2025-01-31T00:00:00Z");
+        }
+    }
+
+    private static String encode(SyncResource resource, Position position) {
+        List<String> values = List.of(resource.name(),
+                position.changedAt().toString(), position.changedId(),
+                position.deletedAt().toString(), position.deletedId());
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(CURSOR_MAPPER.writeValueAsBytes(values));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to encode cursor", exception);
+        }
+    }
+
+    private static Position decode(SyncResource resource, String cursor) {
+        try {
+            List<String> values = CURSOR_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor),
+                    new TypeReference<List<String>>() {
+                    });
+            if (values == null || values.size() != 5 || values.contains(null)
+                    || !resource.name().equals(values.get(0))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Position(Instant.parse(values.get(1)), values.get(2),
+                    Instant.parse(values.get(3)), values.get(4));
+        } catch (IllegalArgumentException | IOException | DateTimeParseException exception) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record Change(String id, Instant changedAt, Object dto) {
+    }
+
+    private record Position(Instant changedAt, String changedId, Instant deletedAt, String deletedId) {
+
+        private Position withChanged(Instant at, String id) {
+            return new Position(at, id, deletedAt, deletedId);
+        }
+
+        private Position withDeleted(Instant at, String id) {
+            return new Position(changedAt, changedId, at, id);
+        }
+    }
+}
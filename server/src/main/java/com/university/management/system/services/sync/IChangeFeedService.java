@@ -0,0 +1,10 @@
+package com.university.management.system.services.sync;
+
+import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.models.sync.SyncResource;
+import org.springframework.http.ResponseEntity;
+
+public interface IChangeFeedService {
+
+    ResponseEntity<ApiResponse> getChanges(SyncResource resource, String since, String cursor, Integer size);
+}
@@ -0,0 +1,67 @@
+package com.university.management.system.services.sync;
+
+import com.university.management.system.models.AbstractEntity;
+import com.university.management.system.models.sync.SyncResource;
+import com.university.management.system.models.sync.Tombstone;
+import com.university.management.system.repositories.sync.TombstoneRepository;
+import jakarta.persistence.PreRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity listener of the synced resources that leaves a tombstone for every removed row, including rows
+ * removed by cascade. The tombstones are collected while the transaction runs and saved right before it
+ * commits, so they commit or roll back together with the deletes.
+ */
+@Component
+@RequiredArgsConstructor
+public class TombstoneListener {
+
+    private static final Object PENDING = new Object();
+
+    // Looked up lazily: Hibernate creates entity listeners while the repository's EntityManagerFactory is being built
+    private final ObjectProvider<TombstoneRepository> tombstoneRepository;
+
+    @PreRemove
+    public void onRemove(Object entity) {
+        SyncResource.of(entity).ifPresent(resource -> pending().add(Tombstone.builder()
+                .resourceType(resource)
+                .resourceId(((AbstractEntity) entity).getId())
+                .build()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Tombstone> pending() {
+        List<Tombstone> pending = (List<Tombstone>) TransactionSynchronizationManager.getResource(PENDING);
+        if (pending != null) {
+            return pending;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Synced resources can only be deleted inside a transaction");
+        }
+
+        List<Tombstone> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(PENDING, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Orphan removals only happen on flush, so flush first to collect their tombstones too
+                TombstoneRepository repository = tombstoneRepository.getObject();
+                repository.flush();
+                repository.saveAll(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(PENDING);
+            }
+        });
+        return created;
+    }
+}
@@ -14,14 +14,20 @@ import com.university.management.system.models.users.Role;
 import com.university.management.system.repositories.users.EmployeeRepository;
 import com.university.management.system.repositories.users.PersonRepository;
 import com.university.management.system.repositories.users.PersonRoleRepository;
+import com.university.management.system.services.auth.PrincipalCache;
+import com.university.management.system.services.auth.TokenRevocationService;
+import com.university.management.system.services.courses.CourseCatalogCache;
 import com.university.management.system.utils.AuthUtils;
+import com.university.management.system.utils.ETagUtils;
 import com.university.management.system.utils.RepositoryUtils;
 import com.university.management.system.utils.ResponseEntityBuilder;
 import com.university.management.system.utils.mappers.users.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -44,10 +50,19 @@ public class EmployeeService implements IEmployeeService {
         private final PasswordEncoder passwordEncoder;
         private final RepositoryUtils repositoryUtils;
         private final AuthUtils authUtils;
+        private final PrincipalCache principalCache;
+        private final CourseCatalogCache courseCatalogCache;
+        private final TokenRevocationService tokenRevocationService;
 
         @Override
-        public ResponseEntity<ApiResponse> getAllEmployees(Integer page, Integer size) {
+        public ResponseEntity<ApiResponse> getAllEmployees(Integer page, Integer size, String ifNoneMatch) {
                 Pageable pageable = repositoryUtils.getPageable(page, size, Sort.Direction.ASC, "createdAt");
+                String etag = ETagUtils.weak(employeeRepository.findListingVersions(),
+                                pageable.getPageNumber(), pageable.getPageSize());
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
                 Page<Employee> employees = employeeRepository.findAll(pageable);
 
                 List<EmployeeDto> response = employees
@@ -63,11 +78,32 @@ public class EmployeeService implements IEmployeeService {
                                                 "totalItems", employees.getTotalElements(),
                                                 "pageSize", employees.getSize()))
                                 .withMessage("Employees retrieved successfully")
+                                .withETag(etag)
+                                .build();
+        }
+
+        @Override
+        public ResponseEntity<ApiResponse> getAllEmployeesByCursor(String cursor, Integer size) {
+                Sort sort = repositoryUtils.getKeysetSort(Sort.Direction.ASC, "createdAt");
+                KeysetScrollPosition position = repositoryUtils.getScrollPosition(cursor, sort);
+                Window<Employee> employees = employeeRepository.findAllBy(position, sort, repositoryUtils.getLimit(size));
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.OK)
+                                .withData("Employees", employees.stream().map(userMapper::toEmployeeDto).toList())
+                                .withData("pagination", repositoryUtils.getCursorPagination(employees, position))
+                                .withMessage("Employees retrieved successfully")
                                 .build();
         }
 
         @Override
-        public ResponseEntity<ApiResponse> getEmployeeById(String id) {
+        public ResponseEntity<ApiResponse> getEmployeeById(String id, String ifNoneMatch) {
+                String etag = ETagUtils.strong(employeeRepository.findVersionsById(id)
+                                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id)));
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
                 Employee employee = employeeRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
 
@@ -75,6 +111,7 @@ public class EmployeeService implements IEmployeeService {
                                 .withStatus(HttpStatus.OK)
                                 .withData("Employee", userMapper.toEmployeeDto(employee))
                                 .withMessage("Employee retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
 
@@ -108,6 +145,8 @@ public class EmployeeService implements IEmployeeService {
                 personRoleRepository.save(employeeRole);
                 person.setPersonRoles(new HashSet<>(Collections.singleton(employeeRole)));
                 person = personRepository.save(person);
+                principalCache.evictAfterCommit(person.getId());
+                courseCatalogCache.evictCourseClassesAfterCommit();
 
                 Employee employee = Employee.builder()
                                 .person(person)
@@ -129,9 +168,10 @@ public class EmployeeService implements IEmployeeService {
 
         @Override
         @Transactional
-        public ResponseEntity<ApiResponse> updateEmployee(String id, EmployeeUpdateDto employeeUpdateDto) {
+        public ResponseEntity<ApiResponse> updateEmployee(String id, EmployeeUpdateDto employeeUpdateDto, String ifMatch) {
                 Employee employee = employeeRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id: " + id));
+                ETagUtils.checkIfMatch(ifMatch, () -> currentETag(id));
 
                 Person person = employee.getPerson();
                 person.setFirstName(employeeUpdateDto.getFirstName());
@@ -140,6 +180,8 @@ public class EmployeeService implements IEmployeeService {
                 person.setAddress(employeeUpdateDto.getAddress());
                 person.setDateOfBirth(employeeUpdateDto.getDateOfBirth());
                 personRepository.save(person);
+                principalCache.evictAfterCommit(person.getId());
+                courseCatalogCache.evictCourseClassesAfterCommit();
 
                 employee.setHireDate(employeeUpdateDto.getHireDate());
                 employee.setSalary(employeeUpdateDto.getSalary());
@@ -152,6 +194,7 @@ public class EmployeeService implements IEmployeeService {
                                 .withStatus(HttpStatus.OK)
                                 .withData("Employee", userMapper.toEmployeeDto(savedEmployee))
                                 .withMessage("Employee updated successfully")
+                                .withETag(currentETag(id))
                                 .build();
         }
 
@@ -168,6 +211,10 @@ public class EmployeeService implements IEmployeeService {
                 }
 
                 employeeRepository.delete(employee);
+                principalCache.evictAfterCommit(person.getId());
+                courseCatalogCache.evictCourseClassesAfterCommit();
+                // Tokens carry the removed role, so sessions end even if the person remains
+                tokenRevocationService.revokeAllForPerson(person.getId());
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
@@ -176,8 +223,14 @@ public class EmployeeService implements IEmployeeService {
         }
 
         @Override
-        public ResponseEntity<ApiResponse> getProfile() {
+        public ResponseEntity<ApiResponse> getProfile(String ifNoneMatch) {
                 String personId = authUtils.getCurrentUserId();
+                String etag = ETagUtils.strong(employeeRepository.findVersionsByPersonId(personId)
+                                .orElseThrow(() -> new ResourceNotFoundException("Employee profile not found")));
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
                 Employee employee = employeeRepository.findByPersonId(personId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Employee profile not found"));
 
@@ -185,6 +238,12 @@ public class EmployeeService implements IEmployeeService {
                                 .withStatus(HttpStatus.OK)
                                 .withData("Employee", userMapper.toEmployeeDto(employee))
                                 .withMessage("Employee profile retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
+
+        // Runs as a query, so pending changes are flushed first and the tag reflects them
+        private String currentETag(String id) {
+                return ETagUtils.strong(employeeRepository.findVersionsById(id).orElseThrow());
+        }
 }
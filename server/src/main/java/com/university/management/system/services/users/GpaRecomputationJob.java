@@ -0,0 +1,262 @@
+package com.university.management.system.services.users;
+
+import com.university.management.system.utils.GradesUtils;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes the grade totals and GPA of every student in set-based chunks. Each chunk is one transaction
+ * that locks its range of student rows, aggregates all graded enrollments of the range in a single query
+ * over enrollments, course_class and courses, and writes the results back with one JDBC batch update.
+ * Chunks run in parallel on {@code gpa.recompute.parallelism} threads.
+ * <p>
+ * Started from {@code POST /students/gpa/recompute} or from the command line with {@code --recompute-gpa};
+ * only one run is active at a time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GpaRecomputationJob {
+
+    private static final String GRADE_LIST = GradesUtils.GRADES.stream()
+            .map(grade -> "'" + grade + "'")
+            .collect(Collectors.joining(", "));
+
+    // The point scale comes from GradesUtils so the SQL cannot drift from the incremental path
+    private static final String POINTS_CASE = GradesUtils.GRADES.stream()
+            .map(grade -> "WHEN '" + grade + "' THEN "
+                    + BigDecimal.valueOf(GradesUtils.convertGradeToPoint(grade)).toPlainString())
+            .collect(Collectors.joining(" ", "CASE UPPER(e.grade) ", " END"));
+
+    private static final String LOCK_SQL =
+            "SELECT id FROM students WHERE id BETWEEN ? AND ? ORDER BY id FOR UPDATE";
+
+    private static final String AGGREGATE_SQL =
+            "SELECT e.student_id, SUM(c.credits) AS credits, SUM(c.credits * " + POINTS_CASE + ") AS quality_points " +
+                    "FROM enrollments e " +
+                    "JOIN course_class cc ON cc.id = e.class_id " +
+                    "JOIN courses c ON c.id = cc.course_id " +
+                    "WHERE e.student_id BETWEEN ? AND ? AND c.credits > 0 AND UPPER(e.grade) IN (" + GRADE_LIST + ") " +
+                    "GROUP BY e.student_id";
+
+    private static final String UPDATE_SQL =
+            "UPDATE students SET attempted_credits = ?, quality_points = ?, gpa = ?, version = version + 1, " +
+                    "updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicReference<Run> active = new AtomicReference<>();
+    private volatile Run lastRun;
+
+    @Value("${gpa.recompute.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${gpa.recompute.parallelism:4}")
+    private int parallelism;
+
+    /**
+     * Starts a run in the background and returns immediately; progress is read with {@link #getLastRun()}.
+     */
+    public Run start(String trigger) {
+        Run run = claim(trigger);
+        Thread.ofVirtual().name("gpa-recompute-" + run.getId()).start(() -> execute(run));
+        return run;
+    }
+
+    public Run runAndWait(String trigger) {
+        Run run = claim(trigger);
+        execute(run);
+        return run;
+    }
+
+    public Run getLastRun() {
+        return lastRun;
+    }
+
+    private Run claim(String trigger) {
+        Run run = new Run(UUID.randomUUID().toString(), trigger, Instant.now());
+        if (!active.compareAndSet(null, run)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "GPA recomputation " + active.get().getId() + " is already running");
+        }
+        lastRun = run;
+        return run;
+    }
+
+    private void execute(Run run) {
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(parallelism, 1),
+                Thread.ofPlatform().name("gpa-recompute-worker-", 0).factory());
+        try {
+            List<String> studentIds = jdbcTemplate.queryForList("SELECT id FROM students ORDER BY id", String.class);
+            List<List<String>> chunks = new ArrayList<>();
+            for (int from = 0; from < studentIds.size(); from += chunkSize) {
+                chunks.add(studentIds.subList(from, Math.min(from + chunkSize, studentIds.size())));
+            }
+            run.begin(studentIds.size(), chunks.size());
+            log.info("GPA recomputation {} started for {} students in {} chunks", run.getId(),
+                    studentIds.size(), chunks.size());
+
+            List<Future<?>> pending = new ArrayList<>(chunks.size());
+            for (List<String> chunk : chunks) {
+                pending.add(workers.submit(() -> processChunk(run, chunk)));
+            }
+            for (Future<?> future : pending) {
+                future.get();
+            }
+
+            run.finish(Run.Status.COMPLETED, null);
+            log.info("GPA recomputation {} completed: {} students at {} students/s", run.getId(),
+                    run.getProcessedStudents(), run.throughput());
+        } catch (ExecutionException exception) {
+            run.finish(Run.Status.FAILED, exception.getCause().getMessage());
+            log.error("GPA recomputation {} failed", run.getId(), exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            run.finish(Run.Status.FAILED, "Interrupted");
+        } catch (RuntimeException exception) {
+            run.finish(Run.Status.FAILED, exception.getMessage());
+            log.error("GPA recomputation {} failed", run.getId(), exception);
+        } finally {
+            workers.shutdownNow();
+            active.set(null);
+        }
+    }
+
+    private void processChunk(Run run, List<String> chunk) {
+        String firstId = chunk.get(0);
+        String lastId = chunk.get(chunk.size() - 1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // Grade changes block on the student row, so none can commit between the aggregate and the write
+            jdbcTemplate.queryForList(LOCK_SQL, String.class, firstId, lastId);
+
+            Map<String, Totals> totals = new HashMap<>();
+            jdbcTemplate.query(AGGREGATE_SQL, row -> {
+                totals.put(row.getString("student_id"),
+                        Totals.of(row.getInt("credits"), row.getBigDecimal("quality_points")));
+            }, firstId, lastId);
+
+            Timestamp now = Timestamp.from(Instant.now());
+            jdbcTemplate.batchUpdate(UPDATE_SQL, chunk, chunk.size(), (statement, studentId) -> {
+                Totals values = totals.getOrDefault(studentId, Totals.NONE);
+                statement.setInt(1, values.credits());
+                statement.setBigDecimal(2, values.qualityPoints());
+                statement.setBigDecimal(3, values.gpa());
+                statement.setTimestamp(4, now);
+                statement.setString(5, studentId);
+            });
+        });
+
+        run.chunkCompleted(chunk.size());
+    }
+
+    private record Totals(int credits, BigDecimal qualityPoints, BigDecimal gpa) {
+
+        private static final Totals NONE = new Totals(0, BigDecimal.ZERO.setScale(2), BigDecimal.ZERO.setScale(2));
+
+        private static Totals of(int credits, BigDecimal qualityPoints) {
+            BigDecimal points = qualityPoints.setScale(2, RoundingMode.HALF_UP);
+            return new Totals(credits, points, points.divide(BigDecimal.valueOf(credits), 2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Getter
+    public static class Run {
+
+        public enum Status { RUNNING, COMPLETED, FAILED }
+
+        private final String id;
+        private final String trigger;
+        private final Instant startedAt;
+        @Getter(AccessLevel.NONE)
+        private final AtomicLong processedStudents = new AtomicLong();
+        @Getter(AccessLevel.NONE)
+        private final AtomicInteger completedChunks = new AtomicInteger();
+        private volatile Status status = Status.RUNNING;
+        private volatile long totalStudents;
+        private volatile int totalChunks;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Run(String id, String trigger, Instant startedAt) {
+            this.id = id;
+            this.trigger = trigger;
+            this.startedAt = startedAt;
+        }
+
+        public long getProcessedStudents() {
+            return processedStudents.get();
+        }
+
+        public boolean isFailed() {
+            return status == Status.FAILED;
+        }
+
+        public double throughput() {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long elapsedMillis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+            return processedStudents.get() * 1000.0 / elapsedMillis;
+        }
+
+        public Map<String, Object> toView() {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("id", id);
+            view.put("trigger", trigger);
+            view.put("status", status);
+            view.put("startedAt", startedAt);
+            view.put("finishedAt", finishedAt);
+            view.put("totalStudents", totalStudents);
+            view.put("processedStudents", processedStudents.get());
+            view.put("totalChunks", totalChunks);
+            view.put("completedChunks", completedChunks.get());
+            view.put("studentsPerSecond", throughput());
+            view.put("error", error);
+            return view;
+        }
+
+        private void begin(long totalStudents, int totalChunks) {
+            this.totalStudents = totalStudents;
+            this.totalChunks = totalChunks;
+        }
+
+        private void chunkCompleted(int students) {
+            processedStudents.addAndGet(students);
+            completedChunks.incrementAndGet();
+        }
+
+        private void finish(Status status, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+    }
+}
@@ -6,15 +6,17 @@ import com.university.management.system.dtos.users.EmployeeUpdateDto;
 import org.springframework.http.ResponseEntity;
 
 public interface IEmployeeService {
-    ResponseEntity<ApiResponse> getAllEmployees(Integer page, Integer size);
+    ResponseEntity<ApiResponse> getAllEmployees(Integer page, Integer size, String ifNoneMatch);
 
-    ResponseEntity<ApiResponse> getEmployeeById(String id);
+    ResponseEntity<ApiResponse> getAllEmployeesByCursor(String cursor, Integer size);
+
+    ResponseEntity<ApiResponse> getEmployeeById(String id, String ifNoneMatch);
 
     ResponseEntity<ApiResponse> createEmployee(EmployeeRequestDto employeeRequestDto);
 
-    ResponseEntity<ApiResponse> updateEmployee(String id, EmployeeUpdateDto employeeUpdateDto);
+    ResponseEntity<ApiResponse> updateEmployee(String id, EmployeeUpdateDto employeeUpdateDto, String ifMatch);
 
     ResponseEntity<ApiResponse> deleteEmployee(String id);
 
-    ResponseEntity<ApiResponse> getProfile();
+    ResponseEntity<ApiResponse> getProfile(String ifNoneMatch);
 }
@@ -7,6 +7,8 @@ import org.springframework.http.ResponseEntity;
 public interface IPersonService {
     ResponseEntity<ApiResponse> getAllPersons(Integer page, Integer size);
 
+    ResponseEntity<ApiResponse> getAllPersonsByCursor(String cursor, Integer size);
+
     ResponseEntity<ApiResponse> getPersonById(String id);
 
     ResponseEntity<ApiResponse> createPerson(PersonRequestDto personRequestDto);
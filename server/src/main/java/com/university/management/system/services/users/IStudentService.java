@@ -3,16 +3,21 @@ package com.university.management.system.services.users;
 import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.users.StudentRequestDto;
 import com.university.management.system.dtos.users.StudentUpdateDto;
+import com.university.management.system.models.courses.CourseClassStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.InputStream;
+
 public interface IStudentService {
-    ResponseEntity<ApiResponse> getAllStudents(Integer page, Integer size);
+    ResponseEntity<ApiResponse> getAllStudents(Integer page, Integer size, String ifNoneMatch);
+
+    ResponseEntity<ApiResponse> getAllStudentsByCursor(String cursor, Integer size);
 
-    ResponseEntity<ApiResponse> getStudentById(String id);
+    ResponseEntity<ApiResponse> getStudentById(String id, String ifNoneMatch);
 
     ResponseEntity<ApiResponse> createStudent(StudentRequestDto studentRequestDto);
 
-    ResponseEntity<ApiResponse> updateStudent(String id, StudentUpdateDto studentUpdateDto);
+    ResponseEntity<ApiResponse> updateStudent(String id, StudentUpdateDto studentUpdateDto, String ifMatch);
 
     ResponseEntity<ApiResponse> deleteStudent(String id);
 
@@ -20,11 +25,22 @@ public interface IStudentService {
 
     ResponseEntity<ApiResponse> enrollStudent(String classId);
 
+    ResponseEntity<ApiResponse> getEnrollmentTicket(String ticketId);
+
     ResponseEntity<ApiResponse> dropStudent(String enrollmentId);
 
-    ResponseEntity<ApiResponse> getStudentClasses(Integer page, Integer size);
+    ResponseEntity<ApiResponse> getStudentClasses(Integer page, Integer size, String semester, Integer academicYear,
+            CourseClassStatus status, boolean freeSeatsOnly);
 
     ResponseEntity<ApiResponse> updateGPA(String id);
 
-    ResponseEntity<ApiResponse> getProfile();
+    ResponseEntity<ApiResponse> recomputeAllGPAs();
+
+    ResponseEntity<ApiResponse> getGPARecomputation();
+
+    ResponseEntity<ApiResponse> importStudents(InputStream inputStream);
+
+    ResponseEntity<ApiResponse> getStudentImport(String id);
+
+    ResponseEntity<ApiResponse> getProfile(String ifNoneMatch);
 }
@@ -6,13 +6,18 @@ import com.university.management.system.dtos.users.PersonRequestDto;
 import com.university.management.system.models.users.Person;
 import com.university.management.system.repositories.users.PersonRepository;
 import com.university.management.system.repositories.users.PersonRoleRepository;
+import com.university.management.system.services.auth.PrincipalCache;
+import com.university.management.system.services.auth.TokenRevocationService;
+import com.university.management.system.services.courses.CourseCatalogCache;
 import com.university.management.system.utils.RepositoryUtils;
 import com.university.management.system.utils.ResponseEntityBuilder;
 import com.university.management.system.utils.mappers.users.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,6 +35,9 @@ public class PersonService implements IPersonService {
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final RepositoryUtils repositoryUtils;
+    private final PrincipalCache principalCache;
+    private final CourseCatalogCache courseCatalogCache;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     public ResponseEntity<ApiResponse> getAllPersons(Integer page, Integer size) {
@@ -52,6 +60,20 @@ public class PersonService implements IPersonService {
                 .build();
     }
 
+    @Override
+    public ResponseEntity<ApiResponse> getAllPersonsByCursor(String cursor, Integer size) {
+        Sort sort = repositoryUtils.getKeysetSort(Sort.Direction.ASC, "createdAt");
+        KeysetScrollPosition position = repositoryUtils.getScrollPosition(cursor, sort);
+        Window<Person> persons = personRepository.findAllBy(position, sort, repositoryUtils.getLimit(size));
+
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("Persons", persons.stream().map(userMapper::toPersonDto).toList())
+                .withData("pagination", repositoryUtils.getCursorPagination(persons, position))
+                .withMessage("Persons retrieved successfully")
+                .build();
+    }
+
     @Override
     public ResponseEntity<ApiResponse> getPersonById(String id) {
         Person person = personRepository.findById(id)
@@ -93,6 +115,8 @@ public class PersonService implements IPersonService {
         person.setPhone(personRequestDto.getPhone());
         person.setAddress(personRequestDto.getAddress());
         person = personRepository.save(person);
+        principalCache.evictAfterCommit(id);
+        courseCatalogCache.evictCourseClassesAfterCommit();
 
         return ResponseEntityBuilder.create()
                 .withStatus(HttpStatus.OK)
@@ -108,6 +132,9 @@ public class PersonService implements IPersonService {
             throw new RuntimeException("Person not found with id: " + id);
         }
         personRepository.deleteById(id);
+        principalCache.evictAfterCommit(id);
+        courseCatalogCache.evictCourseClassesAfterCommit();
+        tokenRevocationService.revokeAllForPerson(id);
 
         return ResponseEntityBuilder.create()
                 .withStatus(HttpStatus.NO_CONTENT)
@@ -0,0 +1,313 @@
+package com.university.management.system.services.users;
+
+import com.university.management.system.exceptions.ResourceNotFoundException;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.utils.GradesUtils;
+import jakarta.persistence.Tuple;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps each student's running grade totals (attempted credits and quality points) and the GPA derived
+ * from them current. Every grade change applies the difference between the enrollment's contribution
+ * before and after the change in one conditional UPDATE, so the GPA never has to be recomputed from all
+ * enrollments on the request path.
+ * <p>
+ * Changes that bypass the enrollment flow (a course's credits, cascading deletes) recalculate the affected
+ * students from scratch, and {@link #reconcile()} periodically verifies every stored total against a
+ * fresh aggregate and repairs the ones that drifted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentGpaService {
+
+    private final StudentRepository studentRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile Map<String, Object> lastReconciliation = Map.of();
+
+    @Value("${gpa.reconciliation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${gpa.reconciliation.repair:true}")
+    private boolean repair;
+
+    /**
+     * What the enrollment currently adds to its student's totals. Must be taken before the enrollment is
+     * changed and again afterwards; the two are then passed to {@link #record}.
+     */
+    public GradeContribution contributionOf(Enrollment enrollment) {
+        String studentId = enrollment.getStudent().getId();
+        String grade = enrollment.getGrade();
+        if (grade == null || !GradesUtils.isValidGrade(grade)) {
+            return GradeContribution.none(studentId);
+        }
+
+        Integer credits = enrollment.getCourseClass().getCourse().getCredits();
+        if (credits == null || credits <= 0) {
+            return GradeContribution.none(studentId);
+        }
+        return new GradeContribution(studentId, credits, qualityPoints(grade, credits));
+    }
+
+    /**
+     * Moves the totals from {@code before} to {@code after}; either side may be {@code null} for an enrollment
+     * that is being created or deleted. Must run in the transaction that changes the enrollment.
+     */
+    public void record(GradeContribution before, GradeContribution after) {
+        if (before != null && after != null && Objects.equals(before.studentId(), after.studentId())) {
+            add(after.studentId(), after.credits() - before.credits(),
+                    after.qualityPoints().subtract(before.qualityPoints()));
+            return;
+        }
+
+        if (before != null) {
+            add(before.studentId(), -before.credits(), before.qualityPoints().negate());
+        }
+        if (after != null) {
+            add(after.studentId(), after.credits(), after.qualityPoints());
+        }
+    }
+
+    /**
+     * {@link #record} for many enrollments at once, {@code before} and {@code after} pairwise. Students whose
+     * totals move by the same amount, as most of a class graded in one upload do, share one UPDATE.
+     */
+    public void recordAll(List<GradeContribution> before, List<GradeContribution> after) {
+        Map<String, GradeTotals> changes = new HashMap<>();
+        for (int i = 0; i < before.size(); i++) {
+            GradeContribution previous = before.get(i);
+            GradeContribution current = after.get(i);
+            changes.merge(previous.studentId(),
+                    new GradeTotals(-previous.credits(), previous.qualityPoints().negate()), GradeTotals::plus);
+            changes.merge(current.studentId(),
+                    new GradeTotals(current.credits(), current.qualityPoints()), GradeTotals::plus);
+        }
+
+        Map<GradeTotals, List<String>> studentsByChange = new HashMap<>();
+        changes.forEach((studentId, change) -> {
+            if (studentId != null && (change.credits() != 0 || change.qualityPoints().signum() != 0)) {
+                // Same scale for every key, so equal changes land in the same group
+                GradeTotals key = new GradeTotals(change.credits(),
+                        change.qualityPoints().setScale(2, RoundingMode.HALF_UP));
+                studentsByChange.computeIfAbsent(key, ignored -> new ArrayList<>()).add(studentId);
+            }
+        });
+
+        Instant now = Instant.now();
+        studentsByChange.forEach((change, studentIds) ->
+                studentRepository.addGradeTotalsByIds(studentIds, change.credits(), change.qualityPoints(), now));
+    }
+
+    public List<String> findGradedStudentIdsByCourseId(String courseId) {
+        return enrollmentRepository.findGradedStudentIdsByCourseId(courseId);
+    }
+
+    public List<String> findGradedStudentIdsByCourseClassId(String classId) {
+        return enrollmentRepository.findGradedStudentIdsByCourseClassId(classId);
+    }
+
+    /**
+     * Rebuilds the student's totals from all of its enrollments. Grade changes bump the student's version, so
+     * one that commits between reading the enrollments and writing the totals fails this write instead of
+     * being overwritten.
+     */
+    @Transactional
+    public Student recalculate(String studentId) {
+        Student student = studentRepository.findById(studentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
+
+        GradeTotals totals = computeTotals(List.of(studentId)).getOrDefault(studentId, GradeTotals.EMPTY);
+        student.setAttemptedCredits(totals.credits());
+        student.setQualityPoints(totals.qualityPoints());
+        student.setGpa(totals.gpa());
+        return student;
+    }
+
+    @Transactional
+    public void recalculateAll(Collection<String> studentIds) {
+        studentIds.forEach(this::recalculate);
+    }
+
+    /**
+     * Compares the stored totals of every student, in batches ordered by id, with a from-scratch aggregate of
+     * the enrollments, GPA included. Candidates are re-checked in their own transaction before being counted,
+     * and a grade change that commits during the re-check wins over the repair, so grade changes made while
+     * the job runs are not reported as drift.
+     */
+    @Scheduled(cron = "${gpa.reconciliation.cron:0 30 3 * * *}")
+    public void reconcile() {
+        Instant startedAt = Instant.now();
+        long checked = 0;
+        long mismatches = 0;
+        long repaired = 0;
+
+        String afterId = "";
+        List<Tuple> rows;
+        do {
+            rows = studentRepository.findGradeTotalsAfter(afterId, PageRequest.ofSize(batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+
+            Map<String, GradeTotals> expected = computeTotals(rows.stream()
+                    .map(row -> row.get("id", String.class))
+                    .toList());
+
+            for (Tuple row : rows) {
+                String studentId = row.get("id", String.class);
+                GradeTotals totals = expected.getOrDefault(studentId, GradeTotals.EMPTY);
+                checked++;
+
+                if (totals.matches(row.get("attemptedCredits", Integer.class), row.get("qualityPoints", BigDecimal.class),
+                        row.get("gpa", BigDecimal.class))) {
+                    continue;
+                }
+
+                Boolean drifted;
+                try {
+                    drifted = transactionTemplate.execute(status -> repairIfDrifted(studentId));
+                } catch (ObjectOptimisticLockingFailureException exception) {
+                    // A grade change committed meanwhile and left the totals current
+                    continue;
+                }
+                if (Boolean.TRUE.equals(drifted)) {
+                    mismatches++;
+                    if (repair) {
+                        repaired++;
+                    }
+                }
+            }
+            afterId = rows.get(rows.size() - 1).get("id", String.class);
+        } while (rows.size() == batchSize);
+
+        long durationMillis = Duration.between(startedAt, Instant.now()).toMillis();
+        if (mismatches > 0) {
+            log.warn("GPA reconciliation found {} of {} students with drifted totals, {} repaired",
+                    mismatches, checked, repaired);
+        } else {
+            log.info("GPA reconciliation checked {} students in {} ms, no drift", checked, durationMillis);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("lastRunAt", startedAt);
+        stats.put("durationMillis", durationMillis);
+        stats.put("checked", checked);
+        stats.put("mismatches", mismatches);
+        stats.put("repaired", repaired);
+        lastReconciliation = stats;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("repair", repair);
+        stats.put("batchSize", batchSize);
+        stats.put("lastReconciliation", lastReconciliation);
+        return stats;
+    }
+
+    private boolean repairIfDrifted(String studentId) {
+        Student student = studentRepository.findById(studentId).orElse(null);
+        if (student == null) {
+            return false;
+        }
+
+        GradeTotals totals = computeTotals(List.of(studentId)).getOrDefault(studentId, GradeTotals.EMPTY);
+        if (totals.matches(student.getAttemptedCredits(), student.getQualityPoints(), student.getGpa())) {
+            return false;
+        }
+
+        log.warn("Student {} has stored totals {} credits / {} points / {} GPA, expected {} / {} / {}", studentId,
+                student.getAttemptedCredits(), student.getQualityPoints(), student.getGpa(),
+                totals.credits(), totals.qualityPoints(), totals.gpa());
+        if (repair) {
+            student.setAttemptedCredits(totals.credits());
+            student.setQualityPoints(totals.qualityPoints());
+            student.setGpa(totals.gpa());
+        }
+        return true;
+    }
+
+    private void add(String studentId, int credits, BigDecimal qualityPoints) {
+        if (studentId == null || (credits == 0 && qualityPoints.signum() == 0)) {
+            return;
+        }
+        studentRepository.addGradeTotals(studentId, credits, qualityPoints, Instant.now());
+    }
+
+    private Map<String, GradeTotals> computeTotals(Collection<String> studentIds) {
+        Map<String, GradeTotals> totals = new HashMap<>();
+        for (Tuple row : enrollmentRepository.sumGradedCreditsByStudentIds(studentIds)) {
+            String grade = row.get("grade", String.class);
+            if (!GradesUtils.isValidGrade(grade)) {
+                continue;
+            }
+
+            int credits = row.get("credits", Number.class).intValue();
+            GradeTotals graded = new GradeTotals(credits, qualityPoints(grade, credits));
+            totals.merge(row.get("studentId", String.class), graded, GradeTotals::plus);
+        }
+        return totals;
+    }
+
+    public static BigDecimal qualityPoints(String grade, int credits) {
+        return BigDecimal.valueOf(GradesUtils.convertGradeToPoint(grade))
+                .multiply(BigDecimal.valueOf(credits))
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * One enrollment's share of a student's totals.
+     */
+    public record GradeContribution(String studentId, int credits, BigDecimal qualityPoints) {
+
+        public static GradeContribution none(String studentId) {
+            return new GradeContribution(studentId, 0, BigDecimal.ZERO);
+        }
+    }
+
+    private record GradeTotals(int credits, BigDecimal qualityPoints) {
+
+        private static final GradeTotals EMPTY = new GradeTotals(0, BigDecimal.ZERO.setScale(2));
+
+        private GradeTotals plus(GradeTotals other) {
+            return new GradeTotals(credits + other.credits, qualityPoints.add(other.qualityPoints));
+        }
+
+        private BigDecimal gpa() {
+            return credits > 0
+                    ? qualityPoints.divide(BigDecimal.valueOf(credits), 2, RoundingMode.HALF_UP)
+                    : BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
+        }
+
+        private boolean matches(Integer storedCredits, BigDecimal storedQualityPoints, BigDecimal storedGpa) {
+            return storedCredits != null && storedCredits == credits
+                    && storedQualityPoints != null && storedQualityPoints.compareTo(qualityPoints) == 0
+                    && storedGpa != null && storedGpa.compareTo(gpa()) == 0;
+        }
+    }
+}
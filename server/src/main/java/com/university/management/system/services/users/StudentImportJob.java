@@ -0,0 +1,402 @@
+package com.university.management.system.services.users;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.university.management.system.dtos.users.StudentImportRejectionDto;
+import com.university.management.system.dtos.users.StudentImportRejectionDto.Reason;
+import com.university.management.system.dtos.users.StudentRequestDto;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.PersonRole;
+import com.university.management.system.models.users.Role;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
+import com.university.management.system.repositories.users.PersonRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.utils.CsvUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Imports new students from a CSV file in the background. The file is read and every row validated against
+ * {@link StudentRequestDto} while the request is still open; emails already taken are then found with a few
+ * {@code IN} queries instead of one lookup per row, passwords are hashed on a pool of
+ * {@code students.import.hash-parallelism} threads, and Person, PersonRole and Student rows are written in
+ * transactions of {@code students.import.chunk-size} rows that Hibernate sends as JDBC batches. Hashing runs
+ * ahead of the inserts, so the two overlap.
+ * <p>
+ * Started from {@code POST /students/import} and polled with {@code GET /students/import/{id}}; only one
+ * import runs at a time. Rejected rows are reported with their row number and do not stop the import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StudentImportJob {
+
+    public static final List<String> COLUMNS = List.of(
+            "firstName", "lastName", "email", "password", "phone", "dateOfBirth", "address",
+            "major", "academicYear", "status");
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstName", "lastName", "email", "password");
+    private static final int EMAIL_QUERY_CHUNK = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PersonRepository personRepository;
+    private final StudentRepository studentRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+
+    private final AtomicReference<Run> active = new AtomicReference<>();
+    private final Cache<String, Run> runs = Caffeine.newBuilder()
+            .maximumSize(100)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
+
+    @Value("${students.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${students.import.hash-parallelism:4}")
+    private int hashParallelism;
+
+    @Value("${students.import.max-rows:50000}")
+    private int maxRows;
+
+    /**
+     * Reads and validates the file, then inserts the accepted rows in the background and returns immediately.
+     */
+    public Run start(InputStream inputStream) {
+        Run run = new Run(UUID.randomUUID().toString(), Instant.now());
+        if (!active.compareAndSet(null, run)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Student import " + active.get().getId() + " is already running");
+        }
+
+        List<ImportRow> rows;
+        try {
+            rows = read(inputStream, run);
+        } catch (RuntimeException exception) {
+            active.set(null);
+            throw exception;
+        }
+
+        runs.put(run.getId(), run);
+        Thread.ofVirtual().name("student-import-" + run.getId()).start(() -> execute(run, rows));
+        return run;
+    }
+
+    public Run getRun(String id) {
+        return runs.getIfPresent(id);
+    }
+
+    private void execute(Run run, List<ImportRow> rows) {
+        ExecutorService hashers = Executors.newFixedThreadPool(Math.max(hashParallelism, 1),
+                Thread.ofPlatform().name("student-import-hash-", 0).factory());
+        Run.Status status = Run.Status.FAILED;
+        String error = null;
+        try {
+            Set<String> taken = new HashSet<>();
+            List<String> emails = rows.stream().map(row -> row.student().getEmail()).toList();
+            for (int from = 0; from < emails.size(); from += EMAIL_QUERY_CHUNK) {
+                taken.addAll(personRepository.findExistingEmails(
+                        emails.subList(from, Math.min(from + EMAIL_QUERY_CHUNK, emails.size()))));
+            }
+
+            List<ImportRow> accepted = new ArrayList<>(rows.size());
+            for (ImportRow row : rows) {
+                if (taken.contains(row.student().getEmail())) {
+                    run.reject(row.row(), row.student().getEmail(), Reason.EMAIL_EXISTS, "Email already exists");
+                } else {
+                    accepted.add(row);
+                }
+            }
+
+            List<Future<String>> hashes = new ArrayList<>(accepted.size());
+            for (ImportRow row : accepted) {
+                hashes.add(hashers.submit(() -> passwordEncoder.encode(row.student().getPassword())));
+            }
+
+            int chunks = (accepted.size() + chunkSize - 1) / chunkSize;
+            run.begin(accepted.size(), chunks);
+            log.info("Student import {} started: {} rows, {} accepted in {} chunks", run.getId(), run.getTotalRows(),
+                    accepted.size(), chunks);
+
+            for (int from = 0; from < accepted.size(); from += chunkSize) {
+                int to = Math.min(from + chunkSize, accepted.size());
+                List<ImportRow> chunk = accepted.subList(from, to);
+                List<String> passwords = new ArrayList<>(chunk.size());
+                for (Future<String> hash : hashes.subList(from, to)) {
+                    passwords.add(hash.get());
+                }
+
+                try {
+                    transactionTemplate.executeWithoutResult(transaction -> insert(chunk, passwords));
+                    run.chunkCompleted(chunk.size());
+                } catch (RuntimeException exception) {
+                    log.error("Student import {} chunk of {} rows failed", run.getId(), chunk.size(), exception);
+                    chunk.forEach(row -> run.reject(row.row(), row.student().getEmail(), Reason.FAILED,
+                            exception.getMessage()));
+                    run.chunkCompleted(0);
+                }
+            }
+
+            status = Run.Status.COMPLETED;
+            log.info("Student import {} completed: {} students created at {} rows/s", run.getId(),
+                    run.getCreatedStudents(), run.throughput());
+        } catch (ExecutionException exception) {
+            error = exception.getCause().getMessage();
+            log.error("Student import {} failed", run.getId(), exception.getCause());
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            error = "Interrupted";
+        } catch (RuntimeException exception) {
+            error = exception.getMessage();
+            log.error("Student import {} failed", run.getId(), exception);
+        } finally {
+            hashers.shutdownNow();
+            // Released before the run is marked finished, so a client that saw it finish can start the next one
+            active.set(null);
+            run.finish(status, error);
+        }
+    }
+
+    private void insert(List<ImportRow> chunk, List<String> passwords) {
+        List<Person> persons = new ArrayList<>(chunk.size());
+        List<Student> students = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            StudentRequestDto row = chunk.get(i).student();
+            Person person = Person.builder()
+                    .firstName(row.getFirstName())
+                    .lastName(row.getLastName())
+                    .email(row.getEmail())
+                    .password(passwords.get(i))
+                    .phone(row.getPhone())
+                    .address(row.getAddress())
+                    .dateOfBirth(row.getDateOfBirth())
+                    .build();
+            person.setPersonRoles(new HashSet<>(Set.of(PersonRole.builder()
+                    .person(person)
+                    .role(Role.STUDENT)
+                    .build())));
+            persons.add(person);
+
+            students.add(Student.builder()
+                    .person(person)
+                    .studentNumber(UUID.randomUUID().toString())
+                    .major(row.getMajor())
+                    .academicYear(row.getAcademicYear())
+                    .status(row.getStatus())
+                    .build());
+        }
+
+        personRepository.saveAll(persons);
+        studentRepository.saveAll(students);
+    }
+
+    private List<ImportRow> read(InputStream inputStream, Run run) {
+        try (Reader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8),
+                BUFFER_SIZE)) {
+            List<String> header = CsvUtils.readRecord(reader);
+            List<String> names = header == null ? List.of() : header.stream().map(String::trim).toList();
+            if (!names.containsAll(REQUIRED_COLUMNS)) {
+                throw new IllegalArgumentException("The CSV header must have the columns " + REQUIRED_COLUMNS
+                        + "; optional columns are " + COLUMNS.subList(REQUIRED_COLUMNS.size(), COLUMNS.size()));
+            }
+            Map<String, Integer> columns = new LinkedHashMap<>();
+            COLUMNS.forEach(column -> columns.put(column, names.indexOf(column)));
+
+            List<ImportRow> rows = new ArrayList<>();
+            Set<String> emails = new HashSet<>();
+            long row = 0;
+            List<String> values;
+            while ((values = CsvUtils.readNonBlankRecord(reader)) != null) {
+                if (++row > maxRows) {
+                    throw new IllegalArgumentException("An import is limited to " + maxRows + " rows");
+                }
+
+                Map<String, String> fields = new LinkedHashMap<>();
+                for (Map.Entry<String, Integer> column : columns.entrySet()) {
+                    fields.put(column.getKey(), CsvUtils.column(values, column.getValue()));
+                }
+
+                StudentRequestDto student;
+                try {
+                    student = toStudent(fields);
+                } catch (RuntimeException exception) {
+                    run.reject(row, fields.get("email"), Reason.INVALID, exception.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<StudentRequestDto>> violations = validator.validate(student);
+                if (!violations.isEmpty()) {
+                    run.reject(row, student.getEmail(), Reason.INVALID, violations.stream()
+                            .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                } else if (!emails.add(student.getEmail())) {
+                    run.reject(row, student.getEmail(), Reason.DUPLICATE_IN_FILE,
+                            "Email appears earlier in the file");
+                } else {
+                    rows.add(new ImportRow(row, student));
+                }
+            }
+            run.read(row);
+            return rows;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private static StudentRequestDto toStudent(Map<String, String> fields) {
+        String dateOfBirth = trimmed(fields.get("dateOfBirth"));
+        String academicYear = trimmed(fields.get("academicYear"));
+        String status = trimmed(fields.get("status"));
+        return StudentRequestDto.builder()
+                .firstName(trimmed(fields.get("firstName")))
+                .lastName(trimmed(fields.get("lastName")))
+                .email(trimmed(fields.get("email")))
+                .password(fields.get("password"))
+                .phone(trimmed(fields.get("phone")))
+                .dateOfBirth(dateOfBirth == null ? null : LocalDate.parse(dateOfBirth))
+                .address(trimmed(fields.get("address")))
+                .major(trimmed(fields.get("major")))
+                .academicYear(academicYear == null ? null : Integer.valueOf(academicYear))
+                .status(status == null ? StudentStatus.ACTIVE : StudentStatus.valueOf(status.toUpperCase(Locale.ROOT)))
+                .build();
+    }
+
+    private static String trimmed(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private record ImportRow(long row, StudentRequestDto student) {
+    }
+
+    @Getter
+    public static class Run {
+
+        public enum Status { RUNNING, COMPLETED, FAILED }
+
+        private final String id;
+        private final Instant startedAt;
+        @Getter(AccessLevel.NONE)
+        private final AtomicLong createdStudents = new AtomicLong();
+        @Getter(AccessLevel.NONE)
+        private final AtomicInteger completedChunks = new AtomicInteger();
+        @Getter(AccessLevel.NONE)
+        private final List<StudentImportRejectionDto> rejected = Collections.synchronizedList(new ArrayList<>());
+        private volatile Status status = Status.RUNNING;
+        private volatile long totalRows;
+        private volatile long acceptedRows;
+        private volatile int totalChunks;
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private Run(String id, Instant startedAt) {
+            this.id = id;
+            this.startedAt = startedAt;
+        }
+
+        public long getCreatedStudents() {
+            return createdStudents.get();
+        }
+
+        public List<StudentImportRejectionDto> getRejected() {
+            synchronized (rejected) {
+                return rejected.stream()
+                        .sorted(Comparator.comparingLong(StudentImportRejectionDto::getRow))
+                        .toList();
+            }
+        }
+
+        public double throughput() {
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long elapsedMillis = Math.max(Duration.between(startedAt, end).toMillis(), 1);
+            return createdStudents.get() * 1000.0 / elapsedMillis;
+        }
+
+        public Map<String, Object> toView() {
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("id", id);
+            view.put("status", status);
+            view.put("startedAt", startedAt);
+            view.put("finishedAt", finishedAt);
+            view.put("totalRows", totalRows);
+            view.put("acceptedRows", acceptedRows);
+            view.put("createdStudents", createdStudents.get());
+            view.put("totalChunks", totalChunks);
+            view.put("completedChunks", completedChunks.get());
+            view.put("rowsPerSecond", throughput());
+            view.put("error", error);
+            view.put("rejected", getRejected());
+            return view;
+        }
+
+        private void read(long totalRows) {
+            this.totalRows = totalRows;
+        }
+
+        private void begin(long acceptedRows, int totalChunks) {
+            this.acceptedRows = acceptedRows;
+            this.totalChunks = totalChunks;
+        }
+
+        private void reject(long row, String email, Reason reason, String message) {
+            rejected.add(StudentImportRejectionDto.builder()
+                    .row(row)
+                    .email(email)
+                    .reason(reason)
+                    .message(message)
+                    .build());
+        }
+
+        private void chunkCompleted(int students) {
+            createdStudents.addAndGet(students);
+            completedChunks.incrementAndGet();
+        }
+
+        private void finish(Status status, String error) {
+            this.error = error;
+            this.finishedAt = Instant.now();
+            this.status = status;
+        }
+    }
+}
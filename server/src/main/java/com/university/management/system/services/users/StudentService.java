@@ -9,8 +9,8 @@ import com.university.management.system.dtos.users.StudentDto;
 import com.university.management.system.dtos.users.StudentRequestDto;
 import com.university.management.system.dtos.users.StudentUpdateDto;
 import com.university.management.system.exceptions.ResourceNotFoundException;
-import com.university.management.system.models.courses.Course;
 import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
 import com.university.management.system.models.courses.Enrollment;
 import com.university.management.system.models.courses.EnrollmentStatus;
 import com.university.management.system.models.users.Person;
@@ -22,35 +22,44 @@ import com.university.management.system.repositories.courses.EnrollmentRepositor
 import com.university.management.system.repositories.users.PersonRepository;
 import com.university.management.system.repositories.users.PersonRoleRepository;
 import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.auth.PrincipalCache;
+import com.university.management.system.services.auth.TokenRevocationService;
+import com.university.management.system.services.courses.CourseCatalogCache;
+import com.university.management.system.services.courses.EnrollmentAdmissionQueue;
 import com.university.management.system.services.courses.EnrollmentService;
 import com.university.management.system.utils.AuthUtils;
-import com.university.management.system.utils.GradesUtils;
+import com.university.management.system.utils.ETagUtils;
 import com.university.management.system.utils.RepositoryUtils;
 import com.university.management.system.utils.ResponseEntityBuilder;
+import com.university.management.system.utils.mappers.ProjectionMapper;
 import com.university.management.system.utils.mappers.courses.CourseMapper;
 import com.university.management.system.utils.mappers.users.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.io.InputStream;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
 public class StudentService implements IStudentService {
         private final PersonService personService;
         private final EnrollmentService enrollmentService;
+        private final EnrollmentAdmissionQueue enrollmentAdmissionQueue;
         private final CourseClassRepository courseClassRepository;
         private final EnrollmentRepository enrollmentRepository;
         private final StudentRepository studentRepository;
@@ -61,16 +70,34 @@ public class StudentService implements IStudentService {
         private final PasswordEncoder passwordEncoder;
         private final RepositoryUtils repositoryUtils;
         private final AuthUtils authUtils;
-        private final GradesUtils gradesUtils;
+        private final StudentGpaService studentGpaService;
+        private final GpaRecomputationJob gpaRecomputationJob;
+        private final StudentImportJob studentImportJob;
+        private final PrincipalCache principalCache;
+        private final CourseCatalogCache courseCatalogCache;
+        private final TokenRevocationService tokenRevocationService;
+        private final ProjectionMapper projectionMapper;
+
+        @Value("${read-path.projection.students:true}")
+        private boolean projectionStudentReads;
+
+        @Value("${read-path.projection.enrollments:true}")
+        private boolean projectionEnrollmentReads;
 
         @Override
-        public ResponseEntity<ApiResponse> getAllStudents(Integer page, Integer size) {
+        public ResponseEntity<ApiResponse> getAllStudents(Integer page, Integer size, String ifNoneMatch) {
                 Pageable pageable = repositoryUtils.getPageable(page, size, Sort.Direction.ASC, "createdAt");
-                Page<Student> students = studentRepository.findAll(pageable);
+                String etag = ETagUtils.weak(studentRepository.findListingVersions(),
+                                pageable.getPageNumber(), pageable.getPageSize());
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
 
-                List<StudentDto> response = students
-                                .map(userMapper::toStudentDto)
-                                .toList();
+                Page<StudentDto> students = projectionStudentReads
+                                ? studentRepository.findAllRows(pageable).map(projectionMapper::toStudentDto)
+                                : studentRepository.findAll(pageable).map(userMapper::toStudentDto);
+
+                List<StudentDto> response = students.getContent();
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
@@ -81,11 +108,32 @@ public class StudentService implements IStudentService {
                                                 "totalItems", students.getTotalElements(),
                                                 "pageSize", students.getSize()))
                                 .withMessage("Students retrieved successfully")
+                                .withETag(etag)
+                                .build();
+        }
+
+        @Override
+        public ResponseEntity<ApiResponse> getAllStudentsByCursor(String cursor, Integer size) {
+                Sort sort = repositoryUtils.getKeysetSort(Sort.Direction.ASC, "createdAt");
+                KeysetScrollPosition position = repositoryUtils.getScrollPosition(cursor, sort);
+                Window<Student> students = studentRepository.findAllBy(position, sort, repositoryUtils.getLimit(size));
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.OK)
+                                .withData("Students", students.stream().map(userMapper::toStudentDto).toList())
+                                .withData("pagination", repositoryUtils.getCursorPagination(students, position))
+                                .withMessage("Students retrieved successfully")
                                 .build();
         }
 
         @Override
-        public ResponseEntity<ApiResponse> getStudentById(String id) {
+        public ResponseEntity<ApiResponse> getStudentById(String id, String ifNoneMatch) {
+                String etag = ETagUtils.strong(studentRepository.findVersionsById(id)
+                                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id)));
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
                 Student student = studentRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
 
@@ -93,6 +141,7 @@ public class StudentService implements IStudentService {
                                 .withStatus(HttpStatus.OK)
                                 .withData("Student", userMapper.toStudentDto(student))
                                 .withMessage("Student retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
 
@@ -126,13 +175,13 @@ public class StudentService implements IStudentService {
                 personRoleRepository.save(studentRole);
                 person.setPersonRoles(new HashSet<>(Collections.singleton(studentRole)));
                 person = personRepository.save(person);
+                principalCache.evictAfterCommit(person.getId());
 
                 Student student = Student.builder()
                                 .person(person)
                                 .studentNumber(UUID.randomUUID().toString())
                                 .major(studentRequestDto.getMajor())
                                 .academicYear(studentRequestDto.getAcademicYear())
-                                .gpa(studentRequestDto.getGpa())
                                 .status(studentRequestDto.getStatus())
                                 .build();
 
@@ -147,9 +196,10 @@ public class StudentService implements IStudentService {
 
         @Override
         @Transactional
-        public ResponseEntity<ApiResponse> updateStudent(String id, StudentUpdateDto studentUpdateDto) {
+        public ResponseEntity<ApiResponse> updateStudent(String id, StudentUpdateDto studentUpdateDto, String ifMatch) {
                 Student student = studentRepository.findById(id)
                                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+                ETagUtils.checkIfMatch(ifMatch, () -> currentETag(id));
 
                 Person person = student.getPerson();
                 person.setFirstName(studentUpdateDto.getFirstName());
@@ -158,10 +208,11 @@ public class StudentService implements IStudentService {
                 person.setAddress(studentUpdateDto.getAddress());
                 person.setDateOfBirth(studentUpdateDto.getDateOfBirth());
                 personRepository.save(person);
+                principalCache.evictAfterCommit(person.getId());
+                evictCourseClassesIfEmployee(person.getId());
 
                 student.setMajor(studentUpdateDto.getMajor());
                 student.setAcademicYear(studentUpdateDto.getAcademicYear());
-                student.setGpa(studentUpdateDto.getGpa());
                 student.setStatus(studentUpdateDto.getStatus());
 
                 Student savedStudent = studentRepository.save(student);
@@ -170,6 +221,7 @@ public class StudentService implements IStudentService {
                                 .withStatus(HttpStatus.OK)
                                 .withData("Student", userMapper.toStudentDto(savedStudent))
                                 .withMessage("Student updated successfully")
+                                .withETag(currentETag(id))
                                 .build();
         }
 
@@ -181,11 +233,15 @@ public class StudentService implements IStudentService {
 
                 Person person = student.getPerson();
 
+                // Only a person without other roles is removed, so never a lecturer shown in class views
                 if (personRoleRepository.countPersonRoleByPersonId(person.getId()) == 1) {
                         personRepository.delete(person);
                 }
 
                 studentRepository.delete(student);
+                principalCache.evictAfterCommit(person.getId());
+                // Tokens carry the removed role, so sessions end even if the person remains
+                tokenRevocationService.revokeAllForPerson(person.getId());
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
@@ -195,16 +251,16 @@ public class StudentService implements IStudentService {
 
         @Override
         public ResponseEntity<ApiResponse> getStudentEnrollments(Integer page, Integer size) {
-                String personId = authUtils.getCurrentUserId();
-                Student student = studentRepository.findByPersonId(personId)
-                                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+                String studentId = getCurrentStudentId();
 
                 Pageable pageable = repositoryUtils.getPageable(page, size, Sort.Direction.ASC, "createdAt");
-                Page<Enrollment> enrollments = enrollmentRepository.findAllByStudentId(student.getId(), pageable);
+                Page<EnrollmentDto> enrollments = projectionEnrollmentReads
+                                ? enrollmentRepository.findAllRowsByStudentId(studentId, pageable)
+                                                .map(projectionMapper::toEnrollmentDto)
+                                : enrollmentRepository.findAllByStudentId(studentId, pageable)
+                                                .map(courseMapper::toEnrollmentDto);
 
-                List<EnrollmentDto> response = enrollments
-                                .map(courseMapper::toEnrollmentDto)
-                                .toList();
+                List<EnrollmentDto> response = enrollments.getContent();
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
@@ -218,43 +274,70 @@ public class StudentService implements IStudentService {
                                 .build();
         }
 
-        @Transactional
         @Override
         public ResponseEntity<ApiResponse> enrollStudent(String classId) {
-                String personId = authUtils.getCurrentUserId();
-                Student student = studentRepository.findByPersonId(personId)
-                                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+                String studentId = getCurrentStudentId();
 
                 if (!courseClassRepository.existsById(classId)) {
                         throw new ResourceNotFoundException("Course Class not found");
                 }
 
-                if (enrollmentRepository.existsByStudentIdAndCourseClassId(student.getId(), classId)) {
+                if (enrollmentRepository.existsByStudentIdAndCourseClassId(studentId, classId)) {
                         return ResponseEntityBuilder.create()
                                         .withStatus(HttpStatus.BAD_REQUEST)
                                         .withMessage("Student is already enrolled in this class")
                                         .build();
                 }
 
+                if (enrollmentAdmissionQueue.isEnabled()) {
+                        return enrollmentAdmissionQueue.admit(studentId, classId);
+                }
+
                 EnrollmentRequestDto enrollmentRequestDto = EnrollmentRequestDto.builder()
-                                .studentId(student.getId())
+                                .studentId(studentId)
                                 .classId(classId)
                                 .status(EnrollmentStatus.ENROLLED)
                                 .build();
                 return enrollmentService.createEnrollment(enrollmentRequestDto);
         }
 
+        @Override
+        public ResponseEntity<ApiResponse> getEnrollmentTicket(String ticketId) {
+                String studentId = getCurrentStudentId();
+
+                EnrollmentAdmissionQueue.Ticket ticket = enrollmentAdmissionQueue.getTicket(ticketId);
+                if (ticket == null || !ticket.getStudentId().equals(studentId)) {
+                        throw new ResourceNotFoundException("Enrollment ticket not found");
+                }
+
+                if (!ticket.getResult().isDone()) {
+                        return ResponseEntityBuilder.create()
+                                        .withStatus(HttpStatus.ACCEPTED)
+                                        .withData("Ticket", ticket.toView())
+                                        .withMessage("Enrollment request queued")
+                                        .build();
+                }
+
+                enrollmentAdmissionQueue.removeTicket(ticketId);
+                try {
+                        return ticket.getResult().join();
+                } catch (CompletionException exception) {
+                        // Surface the batch failure itself, as a direct enrollment would
+                        throw exception.getCause() instanceof RuntimeException cause
+                                        ? cause
+                                        : new IllegalStateException("Enrollment admission failed", exception.getCause());
+                }
+        }
+
         @Override
         @Transactional
         public ResponseEntity<ApiResponse> dropStudent(String enrollmentId) {
-                String personId = authUtils.getCurrentUserId();
-                Student student = studentRepository.findByPersonId(personId)
-                                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+                String studentId = getCurrentStudentId();
 
                 Enrollment enrollment = enrollmentRepository.findById(enrollmentId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Enrollment not found"));
 
-                if (!enrollment.getStudent().getId().equals(student.getId())) {
+                if (!enrollment.getStudent().getId().equals(studentId)) {
                         return ResponseEntityBuilder.create()
                                         .withStatus(HttpStatus.BAD_REQUEST)
                                         .withMessage("Enrollment does not belong to the specified student")
@@ -265,25 +348,13 @@ public class StudentService implements IStudentService {
         }
 
         @Override
-        public ResponseEntity<ApiResponse> getStudentClasses(Integer page, Integer size) {
-                String personId = authUtils.getCurrentUserId();
-                Student student = studentRepository.findByPersonId(personId)
-                                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
-
-                List<Enrollment> enrolledClasses = enrollmentRepository.findAllByStudentId(student.getId());
+        public ResponseEntity<ApiResponse> getStudentClasses(Integer page, Integer size, String semester,
+                        Integer academicYear, CourseClassStatus status, boolean freeSeatsOnly) {
+                String studentId = getCurrentStudentId();
 
                 Pageable pageable = repositoryUtils.getPageable(page, size, Sort.Direction.ASC, "createdAt");
-
-                Page<CourseClass> classes;
-                List<String> enrolledClassIds = enrolledClasses.stream()
-                                .map(enrollment -> enrollment.getCourseClass().getId())
-                                .toList();
-
-                if (enrolledClassIds.isEmpty()) {
-                        classes = courseClassRepository.findAll(pageable);
-                } else {
-                        classes = courseClassRepository.findAllByIdNotIn(enrolledClassIds, pageable);
-                }
+                Page<CourseClass> classes = courseClassRepository.findAvailableForStudent(
+                                studentId, semester, academicYear, status, freeSeatsOnly, pageable);
 
                 List<CourseClassDto> response = classes.map(courseMapper::toCourseClassDto).toList();
 
@@ -300,44 +371,78 @@ public class StudentService implements IStudentService {
         }
 
         @Override
+        @Transactional
         public ResponseEntity<ApiResponse> updateGPA(String id) {
-                Student student = studentRepository.findById(id)
-                                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+                // Totals are maintained on every grade change; this rebuilds them from scratch as a manual repair
+                Student student = studentGpaService.recalculate(id);
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.OK)
+                                .withData("Student", userMapper.toStudentDto(student))
+                                .withData("GPA", student.getGpa())
+                                .withMessage("GPA updated successfully")
+                                .build();
+        }
 
-                List<Enrollment> enrollments = enrollmentRepository.findAllByStudentId(student.getId());
-                double totalCredits = 0.0;
-                double totalGradePoints = 0.0;
-
-                for (Enrollment enrollment : enrollments) {
-                        if (enrollment.getGrade() != null && !enrollment.getGrade().isEmpty()) {
-                                CourseClass courseClass = enrollment.getCourseClass();
-                                Course course = courseClass.getCourse();
-                                Integer credits = course.getCredits();
-
-                                if (credits != null && credits > 0) {
-                                        Double gradePoint = gradesUtils.convertGradeToPoint(enrollment.getGrade());
-                                        totalCredits += credits;
-                                        totalGradePoints += gradePoint * credits;
-                                }
-                        }
+        @Override
+        public ResponseEntity<ApiResponse> recomputeAllGPAs() {
+                GpaRecomputationJob.Run run = gpaRecomputationJob.start("api");
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.ACCEPTED)
+                                .withData("GpaRecomputation", run.toView())
+                                .withMessage("GPA recomputation started")
+                                .build();
+        }
+
+        @Override
+        public ResponseEntity<ApiResponse> getGPARecomputation() {
+                GpaRecomputationJob.Run run = gpaRecomputationJob.getLastRun();
+                if (run == null) {
+                        throw new ResourceNotFoundException("No GPA recomputation has been run");
                 }
-                BigDecimal gpa = totalCredits > 0
-                                ? BigDecimal.valueOf(totalGradePoints / totalCredits).setScale(2, RoundingMode.HALF_UP)
-                                : BigDecimal.ZERO.setScale(2, RoundingMode.HALF_UP);
-                student.setGpa(gpa);
-                Student savedStudent = studentRepository.save(student);
 
                 return ResponseEntityBuilder.create()
                                 .withStatus(HttpStatus.OK)
-                                .withData("Student", userMapper.toStudentDto(savedStudent))
-                                .withData("GPA", gpa)
-                                .withMessage("GPA updated successfully")
+                                .withData("GpaRecomputation", run.toView())
+                                .withMessage("GPA recomputation retrieved successfully")
                                 .build();
         }
 
         @Override
-        public ResponseEntity<ApiResponse> getProfile() {
+        public ResponseEntity<ApiResponse> importStudents(InputStream inputStream) {
+                StudentImportJob.Run run = studentImportJob.start(inputStream);
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.ACCEPTED)
+                                .withData("StudentImport", run.toView())
+                                .withMessage("Student import started")
+                                .build();
+        }
+
+        @Override
+        public ResponseEntity<ApiResponse> getStudentImport(String id) {
+                StudentImportJob.Run run = studentImportJob.getRun(id);
+                if (run == null) {
+                        throw new ResourceNotFoundException("Student import not found with id: " + id);
+                }
+
+                return ResponseEntityBuilder.create()
+                                .withStatus(HttpStatus.OK)
+                                .withData("StudentImport", run.toView())
+                                .withMessage("Student import retrieved successfully")
+                                .build();
+        }
+
+        @Override
+        public ResponseEntity<ApiResponse> getProfile(String ifNoneMatch) {
                 String personId = authUtils.getCurrentUserId();
+                String etag = ETagUtils.strong(studentRepository.findVersionsByPersonId(personId)
+                                .orElseThrow(() -> new ResourceNotFoundException("Student profile not found")));
+                if (ETagUtils.matchesNoneMatch(ifNoneMatch, etag)) {
+                        return ETagUtils.notModified(etag);
+                }
+
                 Student student = studentRepository.findByPersonId(personId)
                                 .orElseThrow(() -> new ResourceNotFoundException("Student profile not found"));
 
@@ -345,6 +450,33 @@ public class StudentService implements IStudentService {
                                 .withStatus(HttpStatus.OK)
                                 .withData("Student", userMapper.toStudentDto(student))
                                 .withMessage("Student profile retrieved successfully")
+                                .withETag(etag)
                                 .build();
         }
+
+        private String getCurrentStudentId() {
+                String studentId = authUtils.getCurrentStudentId();
+                if (studentId != null) {
+                        return studentId;
+                }
+
+                // Tokens issued before the student id claim existed still need one lookup
+                return studentRepository.findByPersonId(authUtils.getCurrentUserId())
+                                .map(Student::getId)
+                                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        }
+
+        /**
+         * Class views embed their lecturer's person, so only a write to an employee's person can make them stale.
+         */
+        private void evictCourseClassesIfEmployee(String personId) {
+                if (personRoleRepository.existsByPersonIdAndRole(personId, Role.EMPLOYEE)) {
+                        courseCatalogCache.evictCourseClassesAfterCommit();
+                }
+        }
+
+        // Runs as a query, so pending changes are flushed first and the tag reflects them
+        private String currentETag(String id) {
+                return ETagUtils.strong(studentRepository.findVersionsById(id).orElseThrow());
+        }
 }
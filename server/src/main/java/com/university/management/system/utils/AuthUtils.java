@@ -1,5 +1,6 @@
 package com.university.management.system.utils;
 
+import com.university.management.system.models.users.AuthPrincipal;
 import com.university.management.system.models.users.Person;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -9,18 +10,34 @@ import org.springframework.stereotype.Component;
 public class AuthUtils {
 
     public String getCurrentUserId() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof Person) {
-            return ((Person) authentication.getPrincipal()).getId();
+        Object principal = getPrincipal();
+        if (principal instanceof AuthPrincipal authPrincipal) {
+            return authPrincipal.getId();
+        }
+        if (principal instanceof Person person) {
+            return person.getId();
         }
         return null;
     }
 
-    public Person getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.getPrincipal() instanceof Person) {
-            return (Person) authentication.getPrincipal();
+    public AuthPrincipal getCurrentUser() {
+        Object principal = getPrincipal();
+        if (principal instanceof AuthPrincipal authPrincipal) {
+            return authPrincipal;
+        }
+        if (principal instanceof Person person) {
+            return AuthPrincipal.from(person);
         }
         return null;
     }
+
+    public String getCurrentStudentId() {
+        AuthPrincipal principal = getCurrentUser();
+        return principal != null ? principal.getStudentId() : null;
+    }
+
+    private Object getPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getPrincipal() : null;
+    }
 }
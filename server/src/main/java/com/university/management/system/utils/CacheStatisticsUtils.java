@@ -0,0 +1,56 @@
+package com.university.management.system.utils;
+
+import com.university.management.system.models.CacheRegions;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads the Hibernate second-level cache statistics, overall and per {@link CacheRegions region}. Counters
+ * are only collected while {@code hibernate.generate_statistics} is on.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsUtils {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public Map<String, Object> getSecondLevelCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        view.put("hits", statistics.getSecondLevelCacheHitCount());
+        view.put("misses", statistics.getSecondLevelCacheMissCount());
+        view.put("puts", statistics.getSecondLevelCachePutCount());
+        view.put("hitRate", hitRate(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()));
+        view.put("statementsPrepared", statistics.getPrepareStatementCount());
+        view.put("entitiesLoaded", statistics.getEntityLoadCount());
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : CacheRegions.ALL) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+
+            Map<String, Object> regionView = new LinkedHashMap<>();
+            regionView.put("hits", regionStatistics.getHitCount());
+            regionView.put("misses", regionStatistics.getMissCount());
+            regionView.put("puts", regionStatistics.getPutCount());
+            regionView.put("hitRate", hitRate(regionStatistics.getHitCount(), regionStatistics.getMissCount()));
+            regionView.put("size", regionStatistics.getElementCountInMemory());
+            regions.put(region, regionView);
+        }
+        view.put("regions", regions);
+        return view;
+    }
+
+    private static double hitRate(long hits, long misses) {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+}
@@ -0,0 +1,75 @@
+package com.university.management.system.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads CSV uploads record by record (RFC 4180: comma separated, optionally double-quoted values with
+ * {@code ""} as an escaped quote, line breaks allowed inside quotes), so large files are never held in memory.
+ */
+public final class CsvUtils {
+
+    private CsvUtils() {
+    }
+
+    /**
+     * @return the next record's values, or {@code null} at the end of the stream
+     * @throws IllegalArgumentException if the stream ends inside a quoted value
+     */
+    public static List<String> readRecord(Reader reader) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IllegalArgumentException("Unterminated quoted value");
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                value.append((char) c);
+            } else if (c < 0 || c == '\n') {
+                values.add(value.toString());
+                return values;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (c == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (c != '\r') {
+                value.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    /**
+     * Skips blank lines; otherwise as {@link #readRecord}.
+     */
+    public static List<String> readNonBlankRecord(Reader reader) throws IOException {
+        List<String> values;
+        do {
+            values = readRecord(reader);
+        } while (values != null && values.size() == 1 && values.get(0).isBlank());
+        return values;
+    }
+
+    /**
+     * @return the value at {@code index}, or {@code null} for a missing column ({@code -1}) or a short record
+     */
+    public static String column(List<String> values, int index) {
+        return index < 0 || index >= values.size() ? null : values.get(index);
+    }
+}
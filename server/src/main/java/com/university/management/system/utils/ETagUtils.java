@@ -0,0 +1,90 @@
+package com.university.management.system.utils;
+
+import com.university.management.system.dtos.ApiResponse;
+import jakarta.persistence.Tuple;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Entity tags for conditional requests.
+ * <p>
+ * A single resource gets a strong tag built from its id and the {@code @Version} of every row its response
+ * is built from (the versions queries of the repositories), so any change to an embedded course, lecturer or
+ * person changes the tag too. A list page gets a weak tag built from the page parameters and the count,
+ * latest {@code updated_at} and version sum of the tables it reads. Both are checked before anything is
+ * loaded or mapped.
+ */
+public final class ETagUtils {
+
+    private ETagUtils() {
+    }
+
+    public static String strong(Tuple versions) {
+        return "\"" + join(versions.toArray()) + "\"";
+    }
+
+    public static String weak(Tuple aggregates, Object... request) {
+        return "W/\"" + join(request) + "-" + join(aggregates.toArray()) + "\"";
+    }
+
+    /**
+     * {@code If-None-Match} uses the weak comparison: the opaque parts must be equal, {@code W/} is ignored.
+     */
+    public static boolean matchesNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        return tags(ifNoneMatch).anyMatch(tag -> tag.equals("*") || opaque(tag).equals(opaque(etag)));
+    }
+
+    /**
+     * Rejects the request with 412 unless {@code If-Match} is absent, {@code *}, or strongly equal to the
+     * current tag. Weak tags never match. The current tag is only computed when the header is present.
+     */
+    public static void checkIfMatch(String ifMatch, Supplier<String> currentETag) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+
+        String etag = currentETag.get();
+        boolean matches = tags(ifMatch).anyMatch(tag -> tag.equals("*") || (!tag.startsWith("W/") && tag.equals(etag)));
+        if (!matches) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "The resource was modified since it was read; current ETag is " + etag);
+        }
+    }
+
+    public static ResponseEntity<ApiResponse> notModified(String etag) {
+        return ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.NOT_MODIFIED)
+                .withETag(etag)
+                .build();
+    }
+
+    private static Stream<String> tags(String header) {
+        return Arrays.stream(header.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty());
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String join(Object[] parts) {
+        return Arrays.stream(parts)
+                .map(part -> switch (part) {
+                    case null -> "0";
+                    case Instant instant -> Long.toString(instant.toEpochMilli());
+                    default -> part.toString();
+                })
+                .collect(Collectors.joining("-"));
+    }
+}
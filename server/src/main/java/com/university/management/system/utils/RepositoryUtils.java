@@ -1,16 +1,149 @@
 package com.university.management.system.utils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 public class RepositoryUtils {
 
+    public static final String CURSOR_PAGINATION = "cursor";
+
+    private static final ObjectMapper CURSOR_MAPPER = new ObjectMapper();
+    private static final String FORWARD = "f";
+    private static final String BACKWARD = "b";
+    private static final char INSTANT_VALUE = 'i';
+    private static final char STRING_VALUE = 's';
+
     public Pageable getPageable(Integer page, Integer size, Sort.Direction direction, String... properties) {
         size = Math.min(size, 100);
         page = Math.max(page - 1, 0);
         return PageRequest.of(page, size, Sort.by(direction, properties));
     }
+
+    /**
+     * Sort for cursor pagination: the listing's own order with the id as tie-breaker, so every row has a
+     * unique position.
+     */
+    public Sort getKeysetSort(Sort.Direction direction, String property) {
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+
+    public Limit getLimit(Integer size) {
+        return Limit.of(Math.max(Math.min(size, 100), 1));
+    }
+
+    /**
+     * Decodes an opaque cursor produced by {@link #getCursorPagination}. A missing cursor starts at the
+     * beginning of the listing; a cursor issued for a different sort (another listing's cursor, say) is
+     * rejected, as its values would not fit the sort properties.
+     */
+    public KeysetScrollPosition getScrollPosition(String cursor, Sort sort) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+
+        List<String> properties = sort.stream().map(Sort.Order::getProperty).toList();
+        Cursor decoded;
+        try {
+            decoded = CURSOR_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), Cursor.class);
+        } catch (IllegalArgumentException | IOException exception) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        if (decoded == null || decoded.direction() == null || decoded.keys() == null
+                || !decoded.keys().keySet().equals(Set.copyOf(properties))) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        // Rebuilt in sort order, whatever order the keys were written in
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String property : properties) {
+            keys.put(property, decodeValue(decoded.keys().get(property)));
+        }
+
+        return switch (decoded.direction()) {
+            case FORWARD -> ScrollPosition.forward(keys);
+            case BACKWARD -> ScrollPosition.backward(keys);
+            default -> throw new IllegalArgumentException("Invalid cursor");
+        };
+    }
+
+    /**
+     * Cursor pagination block for a response. No total count is computed; {@code nextCursor} and
+     * {@code prevCursor} are {@code null} at the ends of the listing.
+     */
+    public Map<String, Object> getCursorPagination(Window<?> window, KeysetScrollPosition position) {
+        boolean backward = position.scrollsBackward();
+        boolean hasNext = backward || window.hasNext();
+        boolean hasPrevious = backward ? window.hasNext() : !position.isInitial();
+
+        // HashMap because the cursors are null at either end of the listing
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("pageSize", window.size());
+        pagination.put("nextCursor", hasNext && !window.isEmpty()
+                ? encodeCursor(FORWARD, window.positionAt(window.size() - 1))
+                : null);
+        pagination.put("prevCursor", hasPrevious && !window.isEmpty()
+                ? encodeCursor(BACKWARD, window.positionAt(0))
+                : null);
+        return pagination;
+    }
+
+    // Values are keyed by sort property, which also ties the cursor to the sort it was issued for
+    private String encodeCursor(String direction, ScrollPosition position) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        ((KeysetScrollPosition) position).getKeys().forEach((property, value) -> keys.put(property, encodeValue(value)));
+
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(CURSOR_MAPPER.writeValueAsBytes(new Cursor(direction, keys)));
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException("Unable to encode cursor", exception);
+        }
+    }
+
+    private String encodeValue(Object value) {
+        if (value instanceof Instant instant) {
+            return INSTANT_VALUE + instant.toString();
+        }
+        return STRING_VALUE + String.valueOf(value);
+    }
+
+    private Object decodeValue(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+
+        String raw = value.substring(1);
+        try {
+            return switch (value.charAt(0)) {
+                case INSTANT_VALUE -> Instant.parse(raw);
+                case STRING_VALUE -> raw;
+                default -> throw new IllegalArgumentException("Invalid cursor");
+            };
+        } catch (DateTimeParseException exception) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record Cursor(String direction, Map<String, String> keys) {
+    }
 }
@@ -55,7 +55,17 @@ public class ResponseEntityBuilder {
         return this;
     }
 
+    public ResponseEntityBuilder withETag(String etag) {
+        this.headers.setETag(etag);
+        return this;
+    }
+
     public ResponseEntity<ApiResponse> build() {
+        if (status == HttpStatus.NOT_MODIFIED.value()) {
+            // A 304 carries the validators only, never a body
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
         ApiResponse response = ApiResponse.builder()
                 .status(status)
                 .message(message)
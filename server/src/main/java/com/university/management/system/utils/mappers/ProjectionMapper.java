@@ -0,0 +1,108 @@
+package com.university.management.system.utils.mappers;
+
+import com.university.management.system.dtos.courses.CourseClassDto;
+import com.university.management.system.dtos.courses.CourseDto;
+import com.university.management.system.dtos.courses.EnrollmentDto;
+import com.university.management.system.dtos.users.EmployeeDto;
+import com.university.management.system.dtos.users.PersonDto;
+import com.university.management.system.dtos.users.StudentDto;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Role;
+import com.university.management.system.models.users.StudentStatus;
+import jakarta.persistence.Tuple;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Builds response DTOs from the tuple projections of the read-only list queries. Nested objects are read
+ * from the same flat row using the alias prefixes the queries use ({@code course_}, {@code lecturer_person_},
+ * {@code student_}, {@code class_}, ...), so the JSON matches what {@code CourseMapper}/{@code UserMapper}
+ * produce from entities.
+ */
+@Component
+public class ProjectionMapper {
+
+    public EnrollmentDto toEnrollmentDto(Tuple row) {
+        return EnrollmentDto.builder()
+                .id(row.get("id", String.class))
+                .grade(row.get("grade", String.class))
+                .status(row.get("status", EnrollmentStatus.class))
+                .student(toStudentDto(row, "student_"))
+                .courseClass(toCourseClassDto(row, "class_"))
+                .build();
+    }
+
+    public CourseClassDto toCourseClassDto(Tuple row) {
+        return toCourseClassDto(row, "");
+    }
+
+    public StudentDto toStudentDto(Tuple row) {
+        return toStudentDto(row, "");
+    }
+
+    private CourseClassDto toCourseClassDto(Tuple row, String prefix) {
+        return CourseClassDto.builder()
+                .id(row.get(prefix + "id", String.class))
+                .semester(row.get(prefix + "semester", String.class))
+                .academicYear(row.get(prefix + "academicYear", Integer.class))
+                .currentCapacity(row.get(prefix + "currentCapacity", Integer.class))
+                .maxCapacity(row.get(prefix + "maxCapacity", Integer.class))
+                .status(row.get(prefix + "status", CourseClassStatus.class))
+                .course(toCourseDto(row, prefix + "course_"))
+                .lecturer(toEmployeeDto(row, prefix + "lecturer_"))
+                .build();
+    }
+
+    private CourseDto toCourseDto(Tuple row, String prefix) {
+        return CourseDto.builder()
+                .id(row.get(prefix + "id", String.class))
+                .courseCode(row.get(prefix + "courseCode", String.class))
+                .title(row.get(prefix + "title", String.class))
+                .description(row.get(prefix + "description", String.class))
+                .credits(row.get(prefix + "credits", Integer.class))
+                .build();
+    }
+
+    private StudentDto toStudentDto(Tuple row, String prefix) {
+        return StudentDto.builder()
+                .id(row.get(prefix + "id", String.class))
+                .studentNumber(row.get(prefix + "studentNumber", String.class))
+                .major(row.get(prefix + "major", String.class))
+                .academicYear(row.get(prefix + "academicYear", Integer.class))
+                .gpa(row.get(prefix + "gpa", BigDecimal.class))
+                .status(row.get(prefix + "status", StudentStatus.class))
+                .person(toPersonDto(row, prefix + "person_"))
+                .build();
+    }
+
+    private EmployeeDto toEmployeeDto(Tuple row, String prefix) {
+        return EmployeeDto.builder()
+                .id(row.get(prefix + "id", String.class))
+                .employeeId(row.get(prefix + "employeeNumber", String.class))
+                .hireDate(row.get(prefix + "hireDate", LocalDate.class))
+                .salary(row.get(prefix + "salary", BigDecimal.class))
+                .position(row.get(prefix + "position", Position.class))
+                .status(row.get(prefix + "status", EmployeeStatus.class))
+                .person(toPersonDto(row, prefix + "person_"))
+                .build();
+    }
+
+    private PersonDto toPersonDto(Tuple row, String prefix) {
+        String role = row.get(prefix + "role", String.class);
+        return PersonDto.builder()
+                .id(row.get(prefix + "id", String.class))
+                .firstName(row.get(prefix + "firstName", String.class))
+                .lastName(row.get(prefix + "lastName", String.class))
+                .email(row.get(prefix + "email", String.class))
+                .phone(row.get(prefix + "phone", String.class))
+                .dateOfBirth(row.get(prefix + "dateOfBirth", LocalDate.class))
+                .address(row.get(prefix + "address", String.class))
+                .role(role != null ? Role.valueOf(role) : null)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.university.management.system.utils.mappers.users;
 
 import com.university.management.system.dtos.auth.AuthResponse;
 import com.university.management.system.dtos.auth.ProfileResponse;
+import com.university.management.system.models.users.AuthCredentials;
 import com.university.management.system.models.users.Person;
 import com.university.management.system.models.users.PersonRole;
 import com.university.management.system.models.users.Role;
@@ -24,8 +25,21 @@ public interface PersonResponseMapper {
         @Mapping(target = "firstName", source = "person.firstName")
         @Mapping(target = "lastName", source = "person.lastName")
         @Mapping(target = "email", source = "person.email")
+        @Mapping(target = "refreshToken", ignore = true)
         AuthResponse toAuthResponse(Person person, String token);
 
+        default AuthResponse toAuthResponse(AuthCredentials credentials, String token, String refreshToken) {
+                return AuthResponse.builder()
+                                .id(credentials.id())
+                                .firstName(credentials.firstName())
+                                .lastName(credentials.lastName())
+                                .email(credentials.email())
+                                .roles(List.copyOf(credentials.roles()))
+                                .token(token)
+                                .refreshToken(refreshToken)
+                                .build();
+        }
+
         @Named("mapRoles")
         default List<Role> mapRoles(Set<PersonRole> personRoles) {
                 if (personRoles == null)
@@ -0,0 +1,9 @@
+-- V2__Keyset_Pagination_Indexes.sql
+-- Composite indexes backing cursor pagination; each matches the (sort key, id) order used by the listing
+
+CREATE INDEX idx_persons_created_at_id ON persons(created_at, id);
+CREATE INDEX idx_employees_created_at_id ON employees(created_at, id);
+CREATE INDEX idx_students_created_at_id ON students(created_at, id);
+CREATE INDEX idx_courses_course_code_id ON courses(course_code, id);
+CREATE INDEX idx_course_class_created_at_id ON course_class(created_at, id);
+CREATE INDEX idx_enrollments_created_at_id ON enrollments(created_at, id);
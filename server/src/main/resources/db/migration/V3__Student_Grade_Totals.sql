@@ -0,0 +1,36 @@
+-- V3__Student_Grade_Totals.sql
+-- Running GPA totals on students, maintained incrementally on every grade change and backfilled here from
+-- the existing enrollments. Only recognised grades on courses with positive credits count towards them.
+
+ALTER TABLE students ADD COLUMN attempted_credits INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE students ADD COLUMN quality_points DECIMAL(10, 2) NOT NULL DEFAULT 0;
+
+UPDATE students SET
+    attempted_credits = COALESCE((
+        SELECT SUM(c.credits)
+        FROM enrollments e
+        JOIN course_class cc ON cc.id = e.class_id
+        JOIN courses c ON c.id = cc.course_id
+        WHERE e.student_id = students.id
+          AND c.credits > 0
+          AND UPPER(e.grade) IN ('A+', 'A', 'B+', 'B', 'C+', 'C', 'D+', 'D', 'F')), 0),
+    quality_points = COALESCE((
+        SELECT SUM(c.credits * CASE UPPER(e.grade)
+            WHEN 'A+' THEN 4.0
+            WHEN 'A' THEN 3.7
+            WHEN 'B+' THEN 3.3
+            WHEN 'B' THEN 3.0
+            WHEN 'C+' THEN 2.3
+            WHEN 'C' THEN 2.0
+            WHEN 'D+' THEN 1.3
+            WHEN 'D' THEN 1.0
+            ELSE 0.0
+        END)
+        FROM enrollments e
+        JOIN course_class cc ON cc.id = e.class_id
+        JOIN courses c ON c.id = cc.course_id
+        WHERE e.student_id = students.id
+          AND c.credits > 0
+          AND UPPER(e.grade) IN ('A+', 'A', 'B+', 'B', 'C+', 'C', 'D+', 'D', 'F')), 0);
+
+UPDATE students SET gpa = ROUND(quality_points / attempted_credits, 2) WHERE attempted_credits > 0;
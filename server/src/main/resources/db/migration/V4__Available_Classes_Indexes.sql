@@ -0,0 +1,8 @@
+-- V4__Available_Classes_Indexes.sql
+-- The available-classes anti-join probes enrollments by (student_id, class_id); the composite index answers it
+-- from the index alone and also serves every lookup by student, so the single-column index is dropped
+
+CREATE INDEX idx_enrollments_student_id_class_id ON enrollments(student_id, class_id);
+DROP INDEX idx_enrollments_student_id;
+
+CREATE INDEX idx_course_class_academic_year_semester ON course_class(academic_year, semester);
@@ -0,0 +1,21 @@
+-- V5__Change_Feed.sql
+-- Delta sync: the change feeds walk each table in (updated_at, id) order, students also by their person's
+-- updated_at, and read deletions from the tombstones written when a synced row is removed
+
+CREATE INDEX idx_courses_updated_at_id ON courses(updated_at, id);
+CREATE INDEX idx_course_class_updated_at_id ON course_class(updated_at, id);
+CREATE INDEX idx_enrollments_updated_at_id ON enrollments(updated_at, id);
+CREATE INDEX idx_students_updated_at_id ON students(updated_at, id);
+CREATE INDEX idx_persons_updated_at ON persons(updated_at);
+
+CREATE TABLE tombstones (
+    id VARCHAR(36) PRIMARY KEY,
+    resource_type VARCHAR(32) NOT NULL,
+    resource_id VARCHAR(36) NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT
+);
+
+CREATE INDEX idx_tombstones_resource_type_created_at_id ON tombstones(resource_type, created_at, id);
+CREATE INDEX idx_tombstones_created_at ON tombstones(created_at);
@@ -0,0 +1,22 @@
+-- V6__Refresh_Tokens.sql
+-- Opaque refresh tokens, stored as SHA-256 digests. Every use rotates the token within its family; a rotated
+-- token presented again revokes the whole family. Rows are purged once expired.
+
+CREATE TABLE refresh_tokens (
+    id VARCHAR(36) PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL,
+    person_id VARCHAR(36) NOT NULL,
+    family_id VARCHAR(36) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    used_at TIMESTAMP,
+    revoked_at TIMESTAMP,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT,
+    CONSTRAINT uk_refresh_token_hash UNIQUE (token_hash),
+    CONSTRAINT fk_refresh_token_person FOREIGN KEY (person_id) REFERENCES persons(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_tokens_family_id ON refresh_tokens(family_id);
+CREATE INDEX idx_refresh_tokens_person_id ON refresh_tokens(person_id);
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens(expires_at);
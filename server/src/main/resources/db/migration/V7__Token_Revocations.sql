@@ -0,0 +1,18 @@
+-- V7__Token_Revocations.sql
+-- Revoked access tokens: one row per logged-out token (by jti) or per person whose every token issued before
+-- issued_before is revoked. Each instance keeps the live rows in memory and checks tokens there, so this table is
+-- only read at startup and by the periodic sync. Rows are purged once every token they cover has expired.
+
+CREATE TABLE token_revocations (
+    id VARCHAR(36) PRIMARY KEY,
+    jti VARCHAR(36),
+    person_id VARCHAR(36),
+    issued_before TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT
+);
+
+CREATE INDEX idx_token_revocations_created_at ON token_revocations(created_at);
+CREATE INDEX idx_token_revocations_expires_at ON token_revocations(expires_at);
@@ -0,0 +1,83 @@
+package com.university.management.system.benchmarks;
+
+import com.university.management.system.models.users.AuthCredentials;
+import com.university.management.system.models.users.AuthPrincipal;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.PersonRole;
+import com.university.management.system.models.users.Role;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of building the principal and its authorities once the person is read. {@code legacyAuthorities}
+ * reproduces the old {@code Person#getAuthorities} (a fresh {@link SimpleGrantedAuthority} list per call),
+ * {@code maskAuthorities} is the current one backed by the shared per-mask lists, and {@code fromCredentials}
+ * builds the principal the way login and the {@code UserDetailsService} now do.
+ * <p>
+ * The saved database round trips are covered by {@code PersonRepositoryTest}, which counts the statements of
+ * {@code findByEmail} against {@code findCredentialsByEmail}.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.university.management.system.benchmarks.AuthPrincipalBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthPrincipalBenchmark {
+
+    private Person person;
+    private AuthCredentials credentials;
+
+    @Setup
+    public void setUp() {
+        person = Person.builder()
+                .email("admin@example.com")
+                .password("hash")
+                .firstName("Admin")
+                .lastName("User")
+                .build();
+        person.setPersonRoles(Set.of(
+                PersonRole.builder().person(person).role(Role.ADMIN).build(),
+                PersonRole.builder().person(person).role(Role.EMPLOYEE).build()));
+        credentials = new AuthCredentials("person1", "admin@example.com", "hash", "Admin", "User", null,
+                "employee1", Role.mask(List.of(Role.ADMIN, Role.EMPLOYEE)));
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> legacyAuthorities() {
+        return person.getPersonRoles().stream()
+                .map(role -> new SimpleGrantedAuthority("ROLE_" + role.getRole().name()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> maskAuthorities() {
+        return person.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> fromCredentials() {
+        AuthPrincipal principal = credentials.toPrincipal();
+        return principal.getAuthorities();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthPrincipalBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.university.management.system.benchmarks;
+
+import com.university.management.system.models.users.AuthPrincipal;
+import com.university.management.system.models.users.Role;
+import com.university.management.system.services.auth.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens verified per second for one authenticated request. {@code legacy} reproduces the old
+ * JwtService flow (key decoded and parser rebuilt on every call, token verified three times),
+ * {@code parseOnce} uses the prebuilt parser without the cache and {@code cached} is the default path.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.university.management.system.benchmarks.JwtVerificationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET_KEY = "NDA0RTYzNTI2NjU1NkE1ODZFMzI3MjM1NzUzODc4MkY0MTNGNDQyODQ3MkI0QjYy";
+
+    private JwtService cachingService;
+    private JwtService uncachedService;
+    private AuthPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingService = new JwtService(SECRET_KEY, 3_600_000L, 10_000);
+        uncachedService = new JwtService(SECRET_KEY, 3_600_000L, 0);
+        principal = new AuthPrincipal("person1", "student@example.com", Set.of(Role.STUDENT), "student1", null);
+        token = cachingService.generateToken(principal);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        String username = legacyClaims().getSubject();
+        Date expiration = legacyClaims().getExpiration();
+        return username.equals(legacyClaims().getSubject()) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public boolean parseOnce() {
+        return uncachedService.isTokenValid(uncachedService.verify(token), principal);
+    }
+
+    @Benchmark
+    public boolean cached() {
+        return cachingService.isTokenValid(cachingService.verify(token), principal);
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,67 @@
+package com.university.management.system.benchmarks;
+
+import com.university.management.system.services.auth.RateLimitGroup;
+import com.university.management.system.services.auth.RateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit checks per second on 8 threads, with limits high enough that every request is allowed.
+ * {@code distinctClients} spreads the requests over {@code clients} known clients, as for real traffic;
+ * {@code sameClient} sends them all through one bucket, the worst case for its compare-and-set.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.university.management.system.benchmarks.RateLimiterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final String UNLIMITED = "1000000000/PT1S";
+
+    @Param({"10000"})
+    private int clients;
+
+    private RateLimiter rateLimiter;
+    private String[] clientIds;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiter(true, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED, UNLIMITED,
+                clients * 2, Duration.ofMinutes(1));
+        clientIds = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIds[i] = "10.0." + (i / 256) + "." + (i % 256);
+            rateLimiter.tryAcquire(RateLimitGroup.CATALOG, clientIds[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean distinctClients() {
+        String client = clientIds[ThreadLocalRandom.current().nextInt(clients)];
+        return rateLimiter.tryAcquire(RateLimitGroup.CATALOG, client).allowed();
+    }
+
+    @Benchmark
+    public boolean sameClient() {
+        return rateLimiter.tryAcquire(RateLimitGroup.CATALOG, clientIds[0]).allowed();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RateLimiterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
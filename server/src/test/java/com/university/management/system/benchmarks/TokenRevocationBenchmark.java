@@ -0,0 +1,101 @@
+package com.university.management.system.benchmarks;
+
+import com.university.management.system.services.auth.RevokedTokens;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the revocation check the JWT filter runs on every request, with {@code revoked} tokens and as many
+ * revoked persons in memory. {@code liveToken} is the usual case, answered by the Bloom filter; {@code exactSetOnly}
+ * is the same lookup against a plain concurrent map, {@code revokedToken} a hit and {@code revokedPerson} a token
+ * caught by a person watermark.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.university.management.system.benchmarks.TokenRevocationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    private static final int BLOOM_BITS = 1 << 20;
+
+    @Param({"0", "10000"})
+    private int revoked;
+
+    private RevokedTokens revokedTokens;
+    private Map<String, Instant> exactSet;
+    private String[] liveJtis;
+    private String revokedJti;
+    private long issuedAt;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+        issuedAt = Instant.now().getEpochSecond();
+        revokedTokens = new RevokedTokens(BLOOM_BITS);
+        exactSet = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < revoked; i++) {
+            String jti = UUID.randomUUID().toString();
+            revokedTokens.revokeToken(jti, expiresAt);
+            revokedTokens.revokeIssuedBefore("revoked-person-" + i, issuedAt + 1, expiresAt);
+            exactSet.put(jti, expiresAt);
+            revokedJti = jti;
+        }
+        if (revokedJti == null) {
+            revokedJti = UUID.randomUUID().toString();
+        }
+
+        // Distinct tokens with their hashes computed, as for claims served by the JwtService verification cache
+        liveJtis = new String[1024];
+        for (int i = 0; i < liveJtis.length; i++) {
+            liveJtis[i] = UUID.randomUUID().toString();
+            liveJtis[i].hashCode();
+        }
+    }
+
+    @Benchmark
+    public boolean liveToken() {
+        return revokedTokens.isRevoked(nextLiveJti(), "person1", issuedAt);
+    }
+
+    @Benchmark
+    public boolean exactSetOnly() {
+        return exactSet.containsKey(nextLiveJti());
+    }
+
+    @Benchmark
+    public boolean revokedToken() {
+        return revokedTokens.isRevoked(revokedJti, "person1", issuedAt);
+    }
+
+    @Benchmark
+    public boolean revokedPerson() {
+        return revokedTokens.isRevoked(nextLiveJti(), "revoked-person-0", issuedAt);
+    }
+
+    private String nextLiveJti() {
+        return liveJtis[next++ & (liveJtis.length - 1)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenRevocationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,82 @@
+package com.university.management.system.config;
+
+import com.university.management.system.models.users.AuthPrincipal;
+import com.university.management.system.models.users.Role;
+import com.university.management.system.services.auth.RateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitFilterTest {
+
+    private final RateLimitFilter rateLimitFilter = new RateLimitFilter(new RateLimiter(
+            true, "2/PT1M", "300/PT1M", "60/PT1M", "600/PT1M", "2/PT1M", 1000, Duration.ofMinutes(1)));
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void whenAnonymousClientOverLimit_thenTooManyRequestsWithHeaders() throws Exception {
+        // given
+        perform("POST", "/api/v1/auth/login", "10.0.0.1");
+
+        // when
+        MockHttpServletResponse last = perform("POST", "/api/v1/auth/login", "10.0.0.1");
+        MockHttpServletResponse rejected = perform("POST", "/api/v1/auth/login", "10.0.0.1");
+
+        // then
+        assertThat(last.getStatus()).isEqualTo(200);
+        assertThat(last.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo("2");
+        assertThat(last.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+        assertThat(last.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("60");
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("30");
+        assertThat(rejected.getContentAsString()).contains("\"status\":429");
+        assertThat(perform("POST", "/api/v1/auth/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    public void whenAuthenticated_thenLimitedPerPersonAcrossAddresses() throws Exception {
+        // given
+        AuthPrincipal principal = new AuthPrincipal("person1", "student@example.com", Set.of(Role.STUDENT), "s1", null);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        // when
+        perform("PUT", "/api/v1/auth/me", "10.0.0.1");
+        perform("PUT", "/api/v1/auth/me", "10.0.0.2");
+        MockHttpServletResponse rejected = perform("PUT", "/api/v1/auth/me", "10.0.0.3");
+
+        // then
+        assertThat(rejected.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    public void whenPathOutsideApi_thenNotLimited() throws Exception {
+        // when
+        MockHttpServletResponse response = perform("GET", "/swagger-ui/index.html", "10.0.0.1");
+
+        // then
+        assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+    }
+
+    private MockHttpServletResponse perform(String method, String path, String address) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(address);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
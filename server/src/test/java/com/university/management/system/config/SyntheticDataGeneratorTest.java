@@ -0,0 +1,123 @@
+package com.university.management.system.config;
+
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.sync.TombstoneRepository;
+import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.users.StudentGpaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ SyntheticDataGenerator.class, StudentGpaService.class, BCryptPasswordEncoder.class })
+@TestPropertySource(properties = {
+        "data-generator.students=50",
+        "data-generator.employees=3",
+        "data-generator.courses=4",
+        "data-generator.terms=2",
+        "data-generator.classes-per-term=3",
+        "data-generator.enrollments-per-student=4",
+        "data-generator.chunk-size=20",
+        "data-generator.parallelism=2"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SyntheticDataGeneratorTest {
+
+    @Autowired
+    private SyntheticDataGenerator syntheticDataGenerator;
+
+    @Autowired
+    private StudentGpaService studentGpaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseClassRepository courseClassRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @AfterEach
+    public void tearDown() {
+        enrollmentRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseClassRepository.deleteAll();
+        employeeRepository.deleteAll();
+        personRepository.deleteAll();
+        courseRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void whenGenerate_thenRowsAreConsistentWithSeatCountsAndGradeTotals() {
+        // when
+        Map<String, Object> summary = syntheticDataGenerator.generate();
+
+        // then
+        assertThat(summary)
+                .containsEntry("students", 50)
+                .containsEntry("classes", 6)
+                .containsEntry("enrollments", 200L);
+        assertThat(studentRepository.count()).isEqualTo(50);
+        assertThat(employeeRepository.count()).isEqualTo(3);
+        assertThat(enrollmentRepository.count()).isEqualTo(200);
+
+        Map<String, Long> enrolledPerClass = transactionTemplate.execute(status -> enrollmentRepository.findAll()
+                .stream()
+                .collect(Collectors.groupingBy(enrollment -> enrollment.getCourseClass().getId(),
+                        Collectors.counting())));
+        assertThat(courseClassRepository.findAll()).allSatisfy(courseClass ->
+                assertThat(courseClass.getCurrentCapacity().longValue())
+                        .isEqualTo(enrolledPerClass.getOrDefault(courseClass.getId(), 0L)));
+
+        studentGpaService.reconcile();
+        Map<String, Object> lastRun = (Map<String, Object>) studentGpaService.getStats().get("lastReconciliation");
+        assertThat(lastRun).containsEntry("checked", 50L).containsEntry("mismatches", 0L);
+    }
+
+    @Test
+    public void whenGeneratedDataPresent_thenNothingIsGenerated() {
+        // given
+        syntheticDataGenerator.generate();
+
+        // when
+        Map<String, Object> summary = syntheticDataGenerator.generate();
+
+        // then
+        assertThat(summary).isNull();
+        assertThat(studentRepository.count()).isEqualTo(50);
+    }
+}
@@ -3,8 +3,11 @@ package com.university.management.system.controllers.auth;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.auth.AuthResponse;
+import com.university.management.system.dtos.auth.ChangePasswordRequest;
 import com.university.management.system.dtos.auth.LoginRequest;
+import com.university.management.system.dtos.auth.RefreshTokenRequest;
 import com.university.management.system.dtos.auth.RegisterRequest;
+import com.university.management.system.exceptions.TooManyRequestsException;
 import com.university.management.system.services.auth.AuthenticationService;
 import com.university.management.system.utils.ResponseEntityBuilder;
 import org.junit.jupiter.api.Test;
@@ -12,15 +15,26 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AuthenticationController.class)
@@ -36,6 +50,12 @@ public class AuthControllerTest {
     @MockitoBean
     private com.university.management.system.services.auth.JwtService jwtService;
 
+    @MockitoBean
+    private com.university.management.system.services.auth.TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private com.university.management.system.services.auth.RateLimiter rateLimiter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,12 +77,18 @@ public class AuthControllerTest {
                 .withData("User", authResponse)
                 .build();
 
-        when(authenticationService.register(any(RegisterRequest.class))).thenReturn(responseEntity);
+        when(authenticationService.register(any(RegisterRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(responseEntity));
 
-        // when & then
-        mockMvc.perform(post("/api/v1/auth/register")
+        // when
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.data.User.email").value("test@example.com"));
     }
@@ -83,13 +109,99 @@ public class AuthControllerTest {
                 .withData("User", authResponse)
                 .build();
 
-        when(authenticationService.login(any(LoginRequest.class))).thenReturn(responseEntity);
+        when(authenticationService.login(any(LoginRequest.class), anyString()))
+                .thenReturn(CompletableFuture.completedFuture(responseEntity));
+
+        // when
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.User.token").value("jwt-token"));
+    }
+
+    @Test
+    public void whenLoginThrottled_thenReturnTooManyRequestsWithRetryAfter() throws Exception {
+        // given
+        LoginRequest request = LoginRequest.builder()
+                .email("test@example.com")
+                .password("password")
+                .build();
+
+        when(authenticationService.login(any(LoginRequest.class), anyString()))
+                .thenThrow(new TooManyRequestsException("Too many failed login attempts, please retry later",
+                        Duration.ofMillis(1500)));
 
         // when & then
         mockMvc.perform(post("/api/v1/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+    }
+
+    @Test
+    public void whenRefreshWithoutToken_thenBadRequest() throws Exception {
+        // when & then
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void whenRefresh_thenReturnRotatedTokens() throws Exception {
+        // given
+        AuthResponse authResponse = AuthResponse.builder()
+                .token("jwt-token")
+                .refreshToken("next-refresh-token")
+                .build();
+        ResponseEntity<ApiResponse> responseEntity = ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("User", authResponse)
+                .build();
+
+        when(authenticationService.refreshToken("refresh-token")).thenReturn(responseEntity);
+
+        // when & then
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-token"))))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.data.User.token").value("jwt-token"));
+                .andExpect(jsonPath("$.data.User.refreshToken").value("next-refresh-token"));
+    }
+
+    @Test
+    public void whenLogout_thenBearerTokenAndRefreshTokenPassedOn() throws Exception {
+        // given
+        ResponseEntity<ApiResponse> responseEntity = ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withMessage("User logged out successfully!")
+                .build();
+
+        when(authenticationService.logout("Bearer jwt-token", "refresh-token")).thenReturn(responseEntity);
+
+        // when & then
+        mockMvc.perform(post("/api/v1/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer jwt-token")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("User logged out successfully!"));
+    }
+
+    @Test
+    public void whenChangePasswordTooShort_thenBadRequest() throws Exception {
+        // when & then
+        mockMvc.perform(put("/api/v1/auth/me/password")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ChangePasswordRequest("old-password", "short"))))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(authenticationService);
     }
 }
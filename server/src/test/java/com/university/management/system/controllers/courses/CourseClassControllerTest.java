@@ -6,6 +6,7 @@ import com.university.management.system.dtos.courses.CourseClassDto;
 import com.university.management.system.dtos.courses.CourseClassRequestDto;
 import com.university.management.system.models.courses.CourseClassStatus;
 import com.university.management.system.services.courses.ICourseClassService;
+import com.university.management.system.services.sync.IChangeFeedService;
 import com.university.management.system.utils.ResponseEntityBuilder;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -34,9 +35,18 @@ public class CourseClassControllerTest {
     @MockitoBean
     private ICourseClassService courseClassService;
 
+    @MockitoBean
+    private IChangeFeedService changeFeedService;
+
     @MockitoBean
     private com.university.management.system.services.auth.JwtService jwtService;
 
+    @MockitoBean
+    private com.university.management.system.services.auth.TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private com.university.management.system.services.auth.RateLimiter rateLimiter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -85,7 +95,7 @@ public class CourseClassControllerTest {
                 .withData("Class", responseDto)
                 .build();
 
-        when(courseClassService.getCourseClassById(anyString())).thenReturn(responseEntity);
+        when(courseClassService.getCourseClassById(anyString(), any())).thenReturn(responseEntity);
 
         // when & then
         mockMvc.perform(get("/api/v1/classes/{id}", id))
@@ -0,0 +1,100 @@
+package com.university.management.system.controllers.courses;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.management.system.exceptions.GlobalExceptionHandler;
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.services.courses.CourseCatalogCache;
+import com.university.management.system.services.courses.CourseService;
+import com.university.management.system.services.users.StudentGpaService;
+import com.university.management.system.utils.RepositoryUtils;
+import com.university.management.system.utils.mappers.courses.CourseMapperImpl;
+import com.university.management.system.utils.mappers.users.UserMapperImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DataJpaTest
+@Import({CourseService.class, RepositoryUtils.class, CourseMapperImpl.class, UserMapperImpl.class})
+public class CourseControllerCursorTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private CourseService courseService;
+
+    @MockitoBean
+    private StudentGpaService studentGpaService;
+
+    @MockitoBean
+    private CourseCatalogCache courseCatalogCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new CourseController(courseService, null))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void whenFollowingNextCursor_thenEveryCourseListedOnce() throws Exception {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(Course.builder()
+                    .courseCode("CS30" + i)
+                    .title("Course " + i)
+                    .credits(3)
+                    .build());
+        }
+        entityManager.flush();
+
+        // when
+        List<String> codes = new ArrayList<>();
+        JsonNode body = getCourses(null);
+        body.at("/data/Courses").forEach(course -> codes.add(course.get("courseCode").asText()));
+        while (body.at("/data/pagination/nextCursor").isTextual()) {
+            body = getCourses(body.at("/data/pagination/nextCursor").asText());
+            body.at("/data/Courses").forEach(course -> codes.add(course.get("courseCode").asText()));
+        }
+
+        // then
+        assertThat(codes).containsExactly("CS301", "CS302", "CS303", "CS304", "CS305");
+    }
+
+    @Test
+    public void whenCursorMalformed_thenBadRequest() throws Exception {
+        // when & then
+        mockMvc.perform(get("/api/v1/courses").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode getCourses(String cursor) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/v1/courses").param("pagination", "cursor").param("size", "2");
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        String content = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(content);
+    }
+}
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.courses.CourseDto;
 import com.university.management.system.dtos.courses.CourseRequestDto;
+import com.university.management.system.models.sync.SyncResource;
 import com.university.management.system.services.courses.ICourseService;
+import com.university.management.system.services.sync.IChangeFeedService;
 import com.university.management.system.utils.ResponseEntityBuilder;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +18,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -33,9 +37,18 @@ public class CourseControllerTest {
     @MockitoBean
     private ICourseService courseService;
 
+    @MockitoBean
+    private IChangeFeedService changeFeedService;
+
     @MockitoBean
     private com.university.management.system.services.auth.JwtService jwtService;
 
+    @MockitoBean
+    private com.university.management.system.services.auth.TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private com.university.management.system.services.auth.RateLimiter rateLimiter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -83,11 +96,30 @@ public class CourseControllerTest {
                 .withData("Course", responseDto)
                 .build();
 
-        when(courseService.getCourseById(anyString())).thenReturn(responseEntity);
+        when(courseService.getCourseById(anyString(), any())).thenReturn(responseEntity);
 
         // when & then
         mockMvc.perform(get("/api/v1/courses/{id}", id))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.Course.id").value(id));
     }
+
+    @Test
+    public void whenGetCourseChanges_thenReturnChangesForCourses() throws Exception {
+        // given
+        ResponseEntity<ApiResponse> responseEntity = ResponseEntityBuilder.create()
+                .withStatus(HttpStatus.OK)
+                .withData("Courses", List.of(CourseDto.builder().id("1").courseCode("CS101").build()))
+                .withData("Deleted", List.of("2"))
+                .build();
+
+        when(changeFeedService.getChanges(SyncResource.COURSE, "2025-01-31T00:00:00Z", null, 100))
+                .thenReturn(responseEntity);
+
+        // when & then
+        mockMvc.perform(get("/api/v1/courses/changes").param("since", "2025-01-31T00:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.Courses[0].id").value("1"))
+                .andExpect(jsonPath("$.data.Deleted[0]").value("2"));
+    }
 }
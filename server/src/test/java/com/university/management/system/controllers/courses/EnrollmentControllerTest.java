@@ -6,7 +6,10 @@ import com.university.management.system.dtos.courses.EnrollmentDto;
 import com.university.management.system.dtos.courses.EnrollmentRequestDto;
 import com.university.management.system.models.courses.EnrollmentStatus;
 import com.university.management.system.services.auth.JwtService;
+import com.university.management.system.services.auth.RateLimiter;
+import com.university.management.system.services.auth.TokenRevocationService;
 import com.university.management.system.services.courses.IEnrollmentService;
+import com.university.management.system.services.sync.IChangeFeedService;
 import com.university.management.system.utils.ResponseEntityBuilder;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -36,9 +39,18 @@ public class EnrollmentControllerTest {
     @MockitoBean
     private IEnrollmentService enrollmentService;
 
+    @MockitoBean
+    private IChangeFeedService changeFeedService;
+
     @MockitoBean
     private JwtService jwtService;
 
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @MockitoBean
+    private RateLimiter rateLimiter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -82,7 +94,7 @@ public class EnrollmentControllerTest {
                 .withData("Enrollment", responseDto)
                 .build();
 
-        when(enrollmentService.getEnrollmentById(anyString())).thenReturn(responseEntity);
+        when(enrollmentService.getEnrollmentById(anyString(), any())).thenReturn(responseEntity);
 
         // when & then
         mockMvc.perform(get("/api/v1/enrollments/{id}", id))
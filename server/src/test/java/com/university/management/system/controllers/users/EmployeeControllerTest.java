@@ -41,6 +41,12 @@ public class EmployeeControllerTest {
         @MockitoBean
         private com.university.management.system.services.auth.JwtService jwtService;
 
+        @MockitoBean
+        private com.university.management.system.services.auth.TokenRevocationService tokenRevocationService;
+
+        @MockitoBean
+        private com.university.management.system.services.auth.RateLimiter rateLimiter;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -87,7 +93,7 @@ public class EmployeeControllerTest {
                                 .withData("Employee", responseDto)
                                 .build();
 
-                when(employeeService.getEmployeeById(anyString())).thenReturn(responseEntity);
+                when(employeeService.getEmployeeById(anyString(), any())).thenReturn(responseEntity);
 
                 // when & then
                 mockMvc.perform(get("/api/v1/employees/{id}", id))
@@ -115,7 +121,7 @@ public class EmployeeControllerTest {
                                 .withData("Employee", responseDto)
                                 .build();
 
-                when(employeeService.updateEmployee(anyString(), any(EmployeeUpdateDto.class)))
+                when(employeeService.updateEmployee(anyString(), any(EmployeeUpdateDto.class), any()))
                                 .thenReturn(responseEntity);
 
                 // when & then
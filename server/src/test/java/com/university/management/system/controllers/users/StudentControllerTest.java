@@ -7,6 +7,7 @@ import com.university.management.system.dtos.users.StudentDto;
 import com.university.management.system.dtos.users.StudentRequestDto;
 import com.university.management.system.dtos.users.StudentUpdateDto;
 import com.university.management.system.models.users.StudentStatus;
+import com.university.management.system.services.sync.IChangeFeedService;
 import com.university.management.system.services.users.StudentService;
 import com.university.management.system.utils.ResponseEntityBuilder;
 import org.junit.jupiter.api.Test;
@@ -37,12 +38,21 @@ public class StudentControllerTest {
         @MockitoBean
         private StudentService studentService;
 
+        @MockitoBean
+        private IChangeFeedService changeFeedService;
+
         @MockitoBean
         private com.university.management.system.services.courses.IEnrollmentService enrollmentService;
 
         @MockitoBean
         private com.university.management.system.services.auth.JwtService jwtService;
 
+        @MockitoBean
+        private com.university.management.system.services.auth.TokenRevocationService tokenRevocationService;
+
+        @MockitoBean
+        private com.university.management.system.services.auth.RateLimiter rateLimiter;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -88,7 +98,7 @@ public class StudentControllerTest {
                                 .withData("Student", responseDto)
                                 .build();
 
-                when(studentService.getStudentById(anyString())).thenReturn(responseEntity);
+                when(studentService.getStudentById(anyString(), any())).thenReturn(responseEntity);
 
                 // when & then
                 mockMvc.perform(get("/api/v1/students/{id}", id))
@@ -115,7 +125,7 @@ public class StudentControllerTest {
                                 .withData("Student", responseDto)
                                 .build();
 
-                when(studentService.updateStudent(anyString(), any(StudentUpdateDto.class))).thenReturn(responseEntity);
+                when(studentService.updateStudent(anyString(), any(StudentUpdateDto.class), any())).thenReturn(responseEntity);
 
                 // when & then
                 mockMvc.perform(org.springframework.test.web.servlet.request.MockMvcRequestBuilders
@@ -3,10 +3,14 @@ package com.university.management.system.repositories.courses;
 import com.university.management.system.models.courses.Course;
 import com.university.management.system.models.courses.CourseClass;
 import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.courses.EnrollmentStatus;
 import com.university.management.system.models.users.Employee;
 import com.university.management.system.models.users.EmployeeStatus;
 import com.university.management.system.models.users.Person;
 import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -166,4 +170,84 @@ public class CourseClassRepositoryTest {
         assertThat(found.get().getSemester()).isEqualTo("Fall");
         assertThat(found.get().getAcademicYear()).isEqualTo(2024);
     }
+
+    @Test
+    public void whenFindAvailableForStudent_thenEnrolledAndFilteredClassesExcluded() {
+        // given
+        Course course = Course.builder()
+                .courseCode("CS104")
+                .title("Operating Systems")
+                .credits(3)
+                .build();
+        entityManager.persist(course);
+
+        Person lecturerPerson = Person.builder()
+                .email("lecturer4@example.com")
+                .password("password")
+                .firstName("Ann")
+                .lastName("Lee")
+                .build();
+        entityManager.persist(lecturerPerson);
+
+        Employee lecturer = Employee.builder()
+                .person(lecturerPerson)
+                .employeeNumber("EMP004")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build();
+        entityManager.persist(lecturer);
+
+        CourseClass enrolled = persistClass(course, lecturer, "Fall", 30, 1);
+        CourseClass open = persistClass(course, lecturer, "Fall", 30, 0);
+        CourseClass full = persistClass(course, lecturer, "Fall", 1, 1);
+        CourseClass spring = persistClass(course, lecturer, "Spring", 30, 0);
+
+        Person studentPerson = Person.builder()
+                .email("available.student@example.com")
+                .password("password")
+                .firstName("Sam")
+                .lastName("Student")
+                .build();
+        entityManager.persist(studentPerson);
+
+        Student student = Student.builder()
+                .person(studentPerson)
+                .studentNumber("S20001")
+                .status(StudentStatus.ACTIVE)
+                .build();
+        entityManager.persist(student);
+
+        entityManager.persist(Enrollment.builder()
+                .student(student)
+                .courseClass(enrolled)
+                .status(EnrollmentStatus.ENROLLED)
+                .build());
+        entityManager.flush();
+
+        // when
+        Page<CourseClass> all = courseClassRepository.findAvailableForStudent(
+                student.getId(), null, null, null, false, PageRequest.of(0, 10));
+        Page<CourseClass> fallWithSeats = courseClassRepository.findAvailableForStudent(
+                student.getId(), "Fall", 2024, CourseClassStatus.ACTIVE, true, PageRequest.of(0, 10));
+
+        // then
+        assertThat(all.getContent()).extracting(CourseClass::getId)
+                .containsExactlyInAnyOrder(open.getId(), full.getId(), spring.getId());
+        assertThat(all.getTotalElements()).isEqualTo(3);
+        assertThat(fallWithSeats.getContent()).extracting(CourseClass::getId).containsExactly(open.getId());
+    }
+
+    private CourseClass persistClass(Course course, Employee lecturer, String semester, int maxCapacity,
+                                     int currentCapacity) {
+        CourseClass courseClass = CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester(semester)
+                .academicYear(2024)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(maxCapacity)
+                .currentCapacity(currentCapacity)
+                .build();
+        return entityManager.persist(courseClass);
+    }
 }
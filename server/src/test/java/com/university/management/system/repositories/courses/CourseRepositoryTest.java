@@ -1,14 +1,22 @@
 package com.university.management.system.repositories.courses;
 
 import com.university.management.system.models.courses.Course;
+import com.university.management.system.utils.RepositoryUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 public class CourseRepositoryTest {
@@ -57,4 +65,65 @@ public class CourseRepositoryTest {
         // then
         assertThat(exists).isTrue();
     }
+
+    @Test
+    public void whenScrollByCursor_thenWalksListingInBothDirections() {
+        // given
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(Course.builder()
+                    .courseCode("CS10" + i)
+                    .title("Course " + i)
+                    .credits(3)
+                    .build());
+        }
+        entityManager.flush();
+        RepositoryUtils repositoryUtils = new RepositoryUtils();
+        Sort sort = repositoryUtils.getKeysetSort(Sort.Direction.ASC, "courseCode");
+
+        // when
+        List<String> codes = new ArrayList<>();
+        Map<String, Object> pagination;
+        String cursor = null;
+        do {
+            KeysetScrollPosition position = repositoryUtils.getScrollPosition(cursor, sort);
+            Window<Course> window = courseRepository.findAllBy(position, sort, repositoryUtils.getLimit(2));
+            window.forEach(course -> codes.add(course.getCourseCode()));
+            pagination = repositoryUtils.getCursorPagination(window, position);
+            cursor = (String) pagination.get("nextCursor");
+        } while (cursor != null);
+
+        KeysetScrollPosition back = repositoryUtils.getScrollPosition((String) pagination.get("prevCursor"), sort);
+        List<String> previousPage = courseRepository.findAllBy(back, sort, repositoryUtils.getLimit(2)).stream()
+                .map(Course::getCourseCode)
+                .toList();
+
+        // then
+        assertThat(codes).containsExactly("CS101", "CS102", "CS103", "CS104", "CS105");
+        assertThat(previousPage).containsExactly("CS103", "CS104");
+    }
+
+    @Test
+    public void whenCursorOfAnotherListing_thenRejected() {
+        // given
+        for (int i = 1; i <= 3; i++) {
+            entityManager.persist(Course.builder()
+                    .courseCode("CS20" + i)
+                    .title("Course " + i)
+                    .credits(3)
+                    .build());
+        }
+        entityManager.flush();
+        RepositoryUtils repositoryUtils = new RepositoryUtils();
+        Sort courseSort = repositoryUtils.getKeysetSort(Sort.Direction.ASC, "courseCode");
+        KeysetScrollPosition start = repositoryUtils.getScrollPosition(null, courseSort);
+        Window<Course> window = courseRepository.findAllBy(start, courseSort, repositoryUtils.getLimit(2));
+        String courseCursor = (String) repositoryUtils.getCursorPagination(window, start).get("nextCursor");
+
+        // when & then
+        assertThat(repositoryUtils.getScrollPosition(courseCursor, courseSort).getKeys()).containsKey("courseCode");
+        assertThatThrownBy(() -> repositoryUtils.getScrollPosition(courseCursor,
+                repositoryUtils.getKeysetSort(Sort.Direction.DESC, "createdAt")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
 }
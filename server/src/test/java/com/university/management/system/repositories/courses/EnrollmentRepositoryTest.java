@@ -1,23 +1,40 @@
 package com.university.management.system.repositories.courses;
 
+import com.university.management.system.dtos.courses.EnrollmentDto;
 import com.university.management.system.models.courses.Course;
 import com.university.management.system.models.courses.CourseClass;
 import com.university.management.system.models.courses.CourseClassStatus;
 import com.university.management.system.models.courses.Enrollment;
 import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
 import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.PersonRole;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Role;
 import com.university.management.system.models.users.Student;
 import com.university.management.system.models.users.StudentStatus;
+import com.university.management.system.utils.mappers.ProjectionMapper;
+import com.university.management.system.utils.mappers.courses.CourseMapper;
+import com.university.management.system.utils.mappers.courses.CourseMapperImpl;
+import com.university.management.system.utils.mappers.users.UserMapperImpl;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ CourseMapperImpl.class, UserMapperImpl.class, ProjectionMapper.class })
 public class EnrollmentRepositoryTest {
 
     @Autowired
@@ -26,6 +43,12 @@ public class EnrollmentRepositoryTest {
     @Autowired
     private EnrollmentRepository enrollmentRepository;
 
+    @Autowired
+    private CourseMapper courseMapper;
+
+    @Autowired
+    private ProjectionMapper projectionMapper;
+
     @Test
     public void whenFindAllByStudentId_thenReturnEnrollments() {
         // given
@@ -94,4 +117,124 @@ public class EnrollmentRepositoryTest {
         assertThat(found.getContent()).hasSize(1);
         assertThat(found.getContent().get(0).getStudent().getId()).isEqualTo(student.getId());
     }
+
+    @Test
+    public void whenListEnrollmentPage_thenQueryCountDoesNotGrowWithPageSize() {
+        // given
+        CourseClass courseClass = persistCourseClass();
+        enrollStudents(courseClass, 0, 2);
+        long smallPageQueries = countListingQueries(PageRequest.of(0, 20));
+
+        enrollStudents(courseClass, 2, 10);
+
+        // when
+        long largePageQueries = countListingQueries(PageRequest.of(0, 20));
+
+        // then
+        assertThat(largePageQueries).isEqualTo(smallPageQueries);
+        assertThat(largePageQueries).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    public void whenFindAllRows_thenMatchesEntityMapping() {
+        // given
+        CourseClass courseClass = persistCourseClass();
+        enrollStudents(courseClass, 0, 3);
+        entityManager.flush();
+        entityManager.clear();
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        // when
+        List<EnrollmentDto> projected = enrollmentRepository.findAllRows(pageRequest)
+                .map(projectionMapper::toEnrollmentDto)
+                .toList();
+
+        // then
+        List<EnrollmentDto> mapped = enrollmentRepository.findAll(pageRequest)
+                .map(courseMapper::toEnrollmentDto)
+                .toList();
+        assertThat(projected).hasSize(3).containsExactlyInAnyOrderElementsOf(mapped);
+    }
+
+    private long countListingQueries(PageRequest pageRequest) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<EnrollmentDto> page = enrollmentRepository.findAll(pageRequest)
+                .map(courseMapper::toEnrollmentDto)
+                .toList();
+
+        assertThat(page).allSatisfy(dto -> {
+            assertThat(dto.getStudent().getPerson().getRole()).isEqualTo(Role.STUDENT);
+            assertThat(dto.getCourseClass().getLecturer().getPerson().getEmail()).isEqualTo("lecturer@test.com");
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private CourseClass persistCourseClass() {
+        Course course = Course.builder()
+                .courseCode("CS101")
+                .title("Intro to CS")
+                .credits(3)
+                .build();
+        entityManager.persist(course);
+
+        Person lecturerPerson = Person.builder()
+                .email("lecturer@test.com")
+                .password("password")
+                .firstName("John")
+                .lastName("Doe")
+                .build();
+        entityManager.persist(lecturerPerson);
+        entityManager.persist(PersonRole.builder().person(lecturerPerson).role(Role.EMPLOYEE).build());
+
+        Employee lecturer = Employee.builder()
+                .person(lecturerPerson)
+                .employeeNumber("EMP001")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build();
+        entityManager.persist(lecturer);
+
+        CourseClass courseClass = CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester("Fall")
+                .academicYear(2023)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(30)
+                .currentCapacity(0)
+                .build();
+        return entityManager.persist(courseClass);
+    }
+
+    private void enrollStudents(CourseClass courseClass, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Person person = Person.builder()
+                    .email("student" + i + "@test.com")
+                    .password("password")
+                    .firstName("Student")
+                    .lastName(String.valueOf(i))
+                    .build();
+            entityManager.persist(person);
+            entityManager.persist(PersonRole.builder().person(person).role(Role.STUDENT).build());
+
+            Student student = Student.builder()
+                    .person(person)
+                    .studentNumber("STU" + i)
+                    .status(StudentStatus.ACTIVE)
+                    .build();
+            entityManager.persist(student);
+
+            entityManager.persist(Enrollment.builder()
+                    .student(student)
+                    .courseClass(entityManager.find(CourseClass.class, courseClass.getId()))
+                    .status(EnrollmentStatus.ENROLLED)
+                    .build());
+        }
+    }
 }
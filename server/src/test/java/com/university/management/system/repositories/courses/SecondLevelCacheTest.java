@@ -0,0 +1,179 @@
+package com.university.management.system.repositories.courses;
+
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CourseClassRepository courseClassRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    private Course course;
+    private Employee lecturer;
+    private CourseClass courseClass;
+
+    @BeforeEach
+    public void setUp() {
+        Person lecturerPerson = personRepository.save(Person.builder()
+                .email("cache.lecturer@test.com")
+                .password("password")
+                .firstName("Cache")
+                .lastName("Lecturer")
+                .build());
+        lecturer = employeeRepository.save(Employee.builder()
+                .person(lecturerPerson)
+                .employeeNumber("EMP900")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build());
+        course = courseRepository.save(Course.builder()
+                .courseCode("CS900")
+                .title("Caching")
+                .credits(3)
+                .build());
+        courseClass = saveCourseClass("Fall");
+
+        entityManagerFactory.getCache().evictAll();
+        statistics().clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        courseClassRepository.deleteAll();
+        employeeRepository.deleteAll();
+        personRepository.deleteAll();
+        courseRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    public void whenClassReadRepeatedly_thenCourseAndLecturerServedFromCache() {
+        // given
+        readClass();
+        long statementsAfterFirstRead = statistics().getPrepareStatementCount();
+
+        // when
+        readClass();
+        readClass();
+
+        // then
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(statementsAfterFirstRead + 2);
+        assertThat(statistics().getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    public void whenClassChangedThroughRepository_thenNextReadSeesChange() {
+        // given
+        readClass();
+
+        // when
+        transactionTemplate.executeWithoutResult(status -> {
+            CourseClass managed = courseClassRepository.findById(courseClass.getId()).orElseThrow();
+            managed.setMaxCapacity(45);
+        });
+        transactionTemplate.executeWithoutResult(status ->
+                courseClassRepository.claimSeat(courseClass.getId(), Instant.now()));
+
+        // then
+        CourseClass reloaded = readClass();
+        assertThat(reloaded.getMaxCapacity()).isEqualTo(45);
+        assertThat(reloaded.getCurrentCapacity()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenSeatClaimed_thenCachedCourseAndLecturerKept() {
+        // given
+        readClass();
+
+        // when
+        transactionTemplate.executeWithoutResult(status ->
+                courseClassRepository.claimSeat(courseClass.getId(), Instant.now()));
+
+        // then
+        Cache cache = entityManagerFactory.getCache();
+        assertThat(cache.contains(Course.class, course.getId())).isTrue();
+        assertThat(cache.contains(Employee.class, lecturer.getId())).isTrue();
+    }
+
+    @Test
+    public void whenClassAddedToCourse_thenCourseSeesIt() {
+        // given
+        assertThat(countClassesOfCourse()).isEqualTo(1);
+
+        // when
+        saveCourseClass("Spring");
+
+        // then
+        assertThat(countClassesOfCourse()).isEqualTo(2);
+    }
+
+    private CourseClass readClass() {
+        return transactionTemplate.execute(status -> {
+            CourseClass loaded = courseClassRepository.findById(courseClass.getId()).orElseThrow();
+            loaded.getCourse().getTitle();
+            loaded.getLecturer().getEmployeeNumber();
+            return loaded;
+        });
+    }
+
+    private Integer countClassesOfCourse() {
+        return transactionTemplate.execute(status ->
+                courseRepository.findById(course.getId()).orElseThrow().getCourseClasses().size());
+    }
+
+    private CourseClass saveCourseClass(String semester) {
+        return courseClassRepository.save(CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester(semester)
+                .academicYear(2025)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(30)
+                .currentCapacity(0)
+                .build());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -1,17 +1,26 @@
 package com.university.management.system.repositories.users;
 
+import com.university.management.system.models.users.AuthCredentials;
 import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.PersonRole;
+import com.university.management.system.models.users.Role;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.core.GrantedAuthority;
 
 import java.time.LocalDate;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class PersonRepositoryTest {
 
     @Autowired
@@ -58,4 +67,104 @@ public class PersonRepositoryTest {
         assertThat(found).isPresent();
         assertThat(found.get().getEmail()).isEqualTo(person.getEmail());
     }
+
+    @Test
+    public void whenFindCredentialsByEmail_thenRolesFoldedIntoMaskInOneStatement() {
+        // given
+        Person person = Person.builder()
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .email("ada@example.com")
+                .password("hash")
+                .build();
+        entityManager.persist(person);
+        entityManager.persist(PersonRole.builder().person(person).role(Role.STUDENT).build());
+        entityManager.persist(PersonRole.builder().person(person).role(Role.ADMIN).build());
+        Student student = Student.builder()
+                .person(person)
+                .studentNumber("S-1")
+                .status(StudentStatus.ACTIVE)
+                .build();
+        entityManager.persist(student);
+        Statistics statistics = clearAndResetStatistics();
+
+        // when
+        Optional<AuthCredentials> found = personRepository.findCredentialsByEmail("ada@example.com");
+
+        // then
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(found).isPresent();
+        assertThat(found.get().id()).isEqualTo(person.getId());
+        assertThat(found.get().passwordHash()).isEqualTo("hash");
+        assertThat(found.get().firstName()).isEqualTo("Ada");
+        assertThat(found.get().studentId()).isEqualTo(student.getId());
+        assertThat(found.get().employeeId()).isNull();
+        assertThat(found.get().roles()).containsExactly(Role.ADMIN, Role.STUDENT);
+        assertThat(found.get().toPrincipal().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN", "ROLE_STUDENT");
+    }
+
+    @Test
+    public void whenFindCredentialsByEmailOfPersonWithoutRoles_thenEmptyMask() {
+        // given
+        Person person = Person.builder()
+                .firstName("Grace")
+                .lastName("Hopper")
+                .email("grace@example.com")
+                .password("hash")
+                .build();
+        entityManager.persist(person);
+        clearAndResetStatistics();
+
+        // when
+        Optional<AuthCredentials> found = personRepository.findCredentialsByEmail("grace@example.com");
+        Optional<AuthCredentials> missing = personRepository.findCredentialsByEmail("nobody@example.com");
+
+        // then
+        assertThat(found).isPresent();
+        assertThat(found.get().roleMask()).isZero();
+        assertThat(found.get().toPrincipal().getAuthorities()).isEmpty();
+        assertThat(missing).isEmpty();
+    }
+
+    @Test
+    public void whenFindCredentialsByEmail_thenFewerStatementsThanLoadingPerson() {
+        // given
+        Person person = Person.builder()
+                .firstName("Alan")
+                .lastName("Turing")
+                .email("alan@example.com")
+                .password("hash")
+                .build();
+        entityManager.persist(person);
+        entityManager.persist(PersonRole.builder().person(person).role(Role.STUDENT).build());
+        entityManager.persist(Student.builder()
+                .person(person)
+                .studentNumber("S-2")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        Statistics statistics = clearAndResetStatistics();
+
+        // when
+        personRepository.findByEmail("alan@example.com").orElseThrow();
+        long entityStatements = statistics.getPrepareStatementCount();
+        clearAndResetStatistics();
+        personRepository.findCredentialsByEmail("alan@example.com").orElseThrow();
+        long credentialStatements = statistics.getPrepareStatementCount();
+
+        // then
+        assertThat(credentialStatements).isEqualTo(1);
+        assertThat(entityStatements).isGreaterThan(credentialStatements);
+    }
+
+    private Statistics clearAndResetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        EntityManagerFactory entityManagerFactory = entityManager.getEntityManager().getEntityManagerFactory();
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
 }
@@ -105,4 +105,31 @@ public class PersonRoleRepositoryTest {
         // then
         assertThat(count).isEqualTo(2);
     }
+
+    @Test
+    public void whenExistsByPersonIdAndRole_thenOnlyHeldRoleFound() {
+        // given
+        Person person = Person.builder()
+                .email("exists@example.com")
+                .password("password")
+                .firstName("Exists")
+                .lastName("User")
+                .build();
+        entityManager.persist(person);
+
+        PersonRole personRole = PersonRole.builder()
+                .person(person)
+                .role(Role.STUDENT)
+                .build();
+        entityManager.persist(personRole);
+        entityManager.flush();
+
+        // when
+        boolean student = personRoleRepository.existsByPersonIdAndRole(person.getId(), Role.STUDENT);
+        boolean employee = personRoleRepository.existsByPersonIdAndRole(person.getId(), Role.EMPLOYEE);
+
+        // then
+        assertThat(student).isTrue();
+        assertThat(employee).isFalse();
+    }
 }
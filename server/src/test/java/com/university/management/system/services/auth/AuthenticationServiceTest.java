@@ -2,16 +2,23 @@ package com.university.management.system.services.auth;
 
 import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.auth.AuthResponse;
+import com.university.management.system.dtos.auth.ChangePasswordRequest;
 import com.university.management.system.dtos.auth.LoginRequest;
 import com.university.management.system.dtos.auth.RegisterRequest;
+import com.university.management.system.exceptions.TooManyRequestsException;
+import com.university.management.system.models.users.AuthCredentials;
+import com.university.management.system.models.users.AuthPrincipal;
 import com.university.management.system.models.users.Person;
 import com.university.management.system.models.users.PersonRole;
+import com.university.management.system.models.users.Role;
 import com.university.management.system.models.users.Student;
 import com.university.management.system.repositories.users.PersonRepository;
 import com.university.management.system.repositories.users.PersonRoleRepository;
 import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.courses.CourseCatalogCache;
 import com.university.management.system.utils.AuthUtils;
 import com.university.management.system.utils.mappers.users.PersonResponseMapper;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -19,11 +26,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -36,9 +50,6 @@ public class AuthenticationServiceTest {
     @Mock
     private PersonResponseMapper personResponseMapper;
 
-    @Mock
-    private PasswordEncoder passwordEncoder;
-
     @Mock
     private AuthUtils authUtils;
 
@@ -51,6 +62,27 @@ public class AuthenticationServiceTest {
     @Mock
     private PersonRoleRepository personRoleRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private CourseCatalogCache courseCatalogCache;
+
+    @Mock
+    private PasswordVerifier passwordVerifier;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -73,7 +105,9 @@ public class AuthenticationServiceTest {
                 .build();
 
         when(personRepository.existsByEmail(anyString())).thenReturn(false);
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(passwordVerifier.encode("password")).thenReturn(CompletableFuture.completedFuture("encodedPassword"));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         when(personRepository.save(any(Person.class))).thenReturn(person);
         when(personRoleRepository.save(any(PersonRole.class))).thenReturn(new PersonRole());
         when(studentRepository.save(any(Student.class))).thenReturn(new Student());
@@ -81,12 +115,12 @@ public class AuthenticationServiceTest {
         when(personResponseMapper.toAuthResponse(any(Person.class), anyString())).thenReturn(authResponse);
 
         // when
-        ResponseEntity<ApiResponse> response = authenticationService.register(request);
+        ResponseEntity<ApiResponse> response = authenticationService.register(request).join();
 
         // then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
         assertThat(response.getBody().getData()).containsEntry("User", authResponse);
-        verify(personRepository).save(any(Person.class));
+        verify(personRepository).save(argThat(saved -> "encodedPassword".equals(saved.getPassword())));
         verify(studentRepository).save(any(Student.class));
     }
 
@@ -97,25 +131,232 @@ public class AuthenticationServiceTest {
                 .email("test@example.com")
                 .password("password")
                 .build();
-        Person person = Person.builder()
+        AuthCredentials credentials = new AuthCredentials("person1", "test@example.com", "encodedPassword",
+                "Test", "User", "student1", null, Role.STUDENT.bit());
+        AuthResponse authResponse = AuthResponse.builder()
                 .email("test@example.com")
-                .password("encodedPassword")
+                .token("jwt-token")
                 .build();
+
+        when(personRepository.findCredentialsByEmail(anyString())).thenReturn(Optional.of(credentials));
+        when(passwordVerifier.matches("password", "encodedPassword"))
+                .thenReturn(CompletableFuture.completedFuture(true));
+        AtomicReference<String> signingThread = new AtomicReference<>();
+        when(jwtService.generateToken(any(AuthPrincipal.class))).thenAnswer(invocation -> {
+            signingThread.set(Thread.currentThread().getName());
+            return "jwt-token";
+        });
+        when(refreshTokenService.issue("person1")).thenReturn("refresh-token");
+        when(personResponseMapper.toAuthResponse(credentials, "jwt-token", "refresh-token")).thenReturn(authResponse);
+
+        // when
+        ResponseEntity<ApiResponse> response = authenticationService.login(request, "10.0.0.1").join();
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getData()).containsEntry("User", authResponse);
+        assertThat(signingThread.get()).startsWith("login-completion-");
+        verify(loginThrottle).checkAllowed("test@example.com", "10.0.0.1");
+        verify(loginThrottle).recordSuccess("test@example.com");
+        verify(personRepository, never()).findByEmail(anyString());
+        verify(passwordVerifier, never()).encode(anyString());
+    }
+
+    @Test
+    public void whenLoginWithWrongPassword_thenBadRequest() {
+        // given
+        LoginRequest request = LoginRequest.builder()
+                .email("test@example.com")
+                .password("wrong")
+                .build();
+        AuthCredentials credentials = new AuthCredentials("person1", "test@example.com", "encodedPassword",
+                "Test", "User", "student1", null, Role.STUDENT.bit());
+
+        when(personRepository.findCredentialsByEmail(anyString())).thenReturn(Optional.of(credentials));
+        when(passwordVerifier.matches("wrong", "encodedPassword"))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        // when
+        ResponseEntity<ApiResponse> response = authenticationService.login(request, "10.0.0.1").join();
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(loginThrottle).recordFailure("test@example.com", "10.0.0.1");
+        verify(jwtService, never()).generateToken(any(AuthPrincipal.class));
+    }
+
+    @Test
+    public void whenLoginThrottled_thenPasswordNotVerified() {
+        // given
+        LoginRequest request = LoginRequest.builder()
+                .email("test@example.com")
+                .password("password")
+                .build();
+
+        doThrow(new TooManyRequestsException("Too many failed login attempts", Duration.ofMinutes(5)))
+                .when(loginThrottle).checkAllowed("test@example.com", "10.0.0.1");
+
+        // when & then
+        assertThatThrownBy(() -> authenticationService.login(request, "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        verifyNoInteractions(personRepository, passwordVerifier);
+    }
+
+    @Test
+    public void whenRefreshToken_thenAccessTokenAndRotatedRefreshTokenIssued() {
+        // given
+        AuthCredentials credentials = new AuthCredentials("person1", "test@example.com", "encodedPassword",
+                "Test", "User", "student1", null, Role.STUDENT.bit());
         AuthResponse authResponse = AuthResponse.builder()
                 .email("test@example.com")
-                .token("jwt-token")
+                .token("new-token")
+                .refreshToken("next-refresh-token")
                 .build();
 
-        when(personRepository.findByEmail(anyString())).thenReturn(Optional.of(person));
-        when(passwordEncoder.matches(anyString(), anyString())).thenReturn(true);
-        when(jwtService.generateToken(any(Person.class))).thenReturn("jwt-token");
-        when(personResponseMapper.toAuthResponse(any(Person.class), anyString())).thenReturn(authResponse);
+        when(refreshTokenService.rotate("refresh-token"))
+                .thenReturn(Optional.of(new RefreshTokenService.Rotation("person1", "next-refresh-token")));
+        when(personRepository.findCredentialsById("person1")).thenReturn(Optional.of(credentials));
+        when(jwtService.generateToken(any(AuthPrincipal.class))).thenReturn("new-token");
+        when(personResponseMapper.toAuthResponse(credentials, "new-token", "next-refresh-token"))
+                .thenReturn(authResponse);
 
         // when
-        ResponseEntity<ApiResponse> response = authenticationService.login(request);
+        ResponseEntity<ApiResponse> response = authenticationService.refreshToken("refresh-token");
 
         // then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody().getData()).containsEntry("User", authResponse);
     }
+
+    @Test
+    public void whenRefreshTokenRejected_thenUnauthorized() {
+        // given
+        when(refreshTokenService.rotate("used-token")).thenReturn(Optional.empty());
+
+        // when
+        ResponseEntity<ApiResponse> response = authenticationService.refreshToken("used-token");
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(personRepository, jwtService);
+    }
+
+    @Test
+    public void whenLogout_thenAccessTokenAndRefreshTokenFamilyRevoked() {
+        // given
+        Claims claims = mock(Claims.class);
+        when(jwtService.verify("access-token")).thenReturn(claims);
+        when(jwtService.extractPersonId(claims)).thenReturn("person1");
+
+        // when
+        ResponseEntity<ApiResponse> response = authenticationService.logout("Bearer access-token", "refresh-token");
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(tokenRevocationService).revoke(claims, "person1");
+        verify(refreshTokenService).revoke("refresh-token");
+        verifyNoInteractions(personRepository);
+    }
+
+    @Test
+    public void whenLogoutWithTokenWithoutPersonId_thenPersonResolvedFromSubject() {
+        // given
+        Claims claims = mock(Claims.class);
+        AuthCredentials credentials = new AuthCredentials("person1", "test@example.com", "encodedPassword",
+                "Test", "User", "student1", null, Role.STUDENT.bit());
+        when(jwtService.verify("legacy-token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("test@example.com");
+        when(personRepository.findCredentialsByEmail("test@example.com")).thenReturn(Optional.of(credentials));
+
+        // when
+        ResponseEntity<ApiResponse> response = authenticationService.logout("Bearer legacy-token", null);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(tokenRevocationService).revoke(claims, "person1");
+    }
+
+    @Test
+    public void whenLogoutWithTokenOfUnknownPerson_thenUnauthorizedAndNothingRevoked() {
+        // given
+        Claims claims = mock(Claims.class);
+        when(jwtService.verify("legacy-token")).thenReturn(claims);
+        when(claims.getSubject()).thenReturn("gone@example.com");
+        when(personRepository.findCredentialsByEmail("gone@example.com")).thenReturn(Optional.empty());
+
+        // when
+        ResponseEntity<ApiResponse> response = authenticationService.logout("Bearer legacy-token", "refresh-token");
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verifyNoInteractions(tokenRevocationService, refreshTokenService);
+    }
+
+    @Test
+    public void whenChangePassword_thenEverySessionOfPersonRevoked() {
+        // given
+        Person person = Person.builder().id("person1").password("old-hash").build();
+        ChangePasswordRequest request = new ChangePasswordRequest("old-password", "new-password");
+        givenCurrentUser();
+        when(passwordVerifier.matches("old-password", "old-hash")).thenReturn(CompletableFuture.completedFuture(true));
+        when(passwordVerifier.encode("new-password")).thenReturn(CompletableFuture.completedFuture("new-hash"));
+        when(personRepository.findById("person1")).thenReturn(Optional.of(person));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // when
+        ResponseEntity<ApiResponse> response = authenticationService.changePassword(request, "10.0.0.1").join();
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(person.getPassword()).isEqualTo("new-hash");
+        verify(loginThrottle).checkAllowed("test@example.com", "10.0.0.1");
+        verify(loginThrottle).recordSuccess("test@example.com");
+        verify(personRepository).save(person);
+        verify(tokenRevocationService).revokeAllForPerson("person1");
+        verify(refreshTokenService).revokeAllForPerson("person1");
+        verify(principalCache).evictAfterCommit("person1");
+    }
+
+    @Test
+    public void whenChangePasswordWithWrongCurrentPassword_thenBadRequestAndFailureCounted() {
+        // given
+        givenCurrentUser();
+        when(passwordVerifier.matches("wrong-password", "old-hash"))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        // when
+        ResponseEntity<ApiResponse> response = authenticationService.changePassword(
+                new ChangePasswordRequest("wrong-password", "new-password"), "10.0.0.1").join();
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(loginThrottle).recordFailure("test@example.com", "10.0.0.1");
+        verify(passwordVerifier, never()).encode(anyString());
+        verifyNoInteractions(tokenRevocationService, refreshTokenService, transactionTemplate);
+    }
+
+    @Test
+    public void whenChangePasswordThrottled_thenPasswordNotVerified() {
+        // given
+        when(authUtils.getCurrentUser()).thenReturn(
+                new AuthPrincipal("person1", "test@example.com", Role.STUDENT.bit(), "student1", null));
+        doThrow(new TooManyRequestsException("Too many failed login attempts", Duration.ofMinutes(5)))
+                .when(loginThrottle).checkAllowed("test@example.com", "10.0.0.1");
+
+        // when & then
+        assertThatThrownBy(() -> authenticationService.changePassword(
+                new ChangePasswordRequest("guess", "new-password"), "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        verifyNoInteractions(personRepository, passwordVerifier);
+    }
+
+    private void givenCurrentUser() {
+        when(authUtils.getCurrentUser()).thenReturn(
+                new AuthPrincipal("person1", "test@example.com", Role.STUDENT.bit(), "student1", null));
+        when(personRepository.findCredentialsById("person1")).thenReturn(Optional.of(new AuthCredentials("person1",
+                "test@example.com", "old-hash", "Test", "User", "student1", null, Role.STUDENT.bit())));
+    }
 }
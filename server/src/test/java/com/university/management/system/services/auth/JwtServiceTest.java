@@ -0,0 +1,140 @@
+package com.university.management.system.services.auth;
+
+import com.university.management.system.models.users.AuthPrincipal;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.PersonRole;
+import com.university.management.system.models.users.Role;
+import com.university.management.system.models.users.Student;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JwtServiceTest {
+
+    private static final String SECRET_KEY = "NDA0RTYzNTI2NjU1NkE1ODZFMzI3MjM1NzUzODc4MkY0MTNGNDQyODQ3MkI0QjYy";
+
+    private JwtService jwtService;
+
+    @BeforeEach
+    public void setUp() {
+        jwtService = new JwtService(SECRET_KEY, 3_600_000L, 1000);
+    }
+
+    @Test
+    public void whenExtractPrincipal_thenIdentityRebuiltFromClaims() {
+        // given
+        Person person = Person.builder()
+                .id("person1")
+                .email("student@example.com")
+                .build();
+        person.setPersonRoles(Set.of(PersonRole.builder().person(person).role(Role.STUDENT).build()));
+        person.setStudent(Student.builder().id("student1").person(person).build());
+        String token = jwtService.generateToken(person);
+
+        // when
+        AuthPrincipal principal = jwtService.extractPrincipal(token);
+
+        // then
+        assertThat(principal).isNotNull();
+        assertThat(principal.getId()).isEqualTo("person1");
+        assertThat(principal.getUsername()).isEqualTo("student@example.com");
+        assertThat(principal.getRoles()).containsExactly(Role.STUDENT);
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_STUDENT");
+        assertThat(principal.getStudentId()).isEqualTo("student1");
+        assertThat(principal.getEmployeeId()).isNull();
+    }
+
+    @Test
+    public void whenExtractPrincipalFromLegacyToken_thenReturnsNull() {
+        // given
+        String token = Jwts.builder()
+                .subject("student@example.com")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .compact();
+
+        // when
+        AuthPrincipal principal = jwtService.extractPrincipal(token);
+
+        // then
+        assertThat(principal).isNull();
+        assertThat(jwtService.extractUsername(token)).isEqualTo("student@example.com");
+    }
+
+    @Test
+    public void whenVerifySameTokenTwice_thenSecondServedFromCache() {
+        // given
+        String token = jwtService.generateToken(person());
+
+        // when
+        Claims first = jwtService.verify(token);
+        Claims second = jwtService.verify(token);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(jwtService.getVerificationCacheStats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    public void whenTokensGenerated_thenEachCarriesOwnJti() {
+        // when
+        Claims first = jwtService.verify(jwtService.generateToken(person()));
+        Claims second = jwtService.verify(jwtService.generateToken(person()));
+
+        // then
+        assertThat(first.getId()).isNotBlank().isNotEqualTo(second.getId());
+        assertThat(jwtService.extractPersonId(first)).isEqualTo("person1");
+    }
+
+    @Test
+    public void whenVerifyTamperedToken_thenRejected() {
+        // given
+        String token = jwtService.generateToken(person());
+        jwtService.verify(token);
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1) + new StringBuilder(signature).reverse();
+
+        // when / then
+        assertThatThrownBy(() -> jwtService.verify(tampered)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    public void whenTokenCarriesUnknownRole_thenRejectedAsInvalidToken() {
+        // given
+        String token = Jwts.builder()
+                .subject("student@example.com")
+                .claim("id", "person1")
+                .claim("role", List.of("ROLE_SUPERUSER"))
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
+                .compact();
+
+        // when / then
+        assertThatThrownBy(() -> jwtService.extractPrincipal(token)).isInstanceOf(MalformedJwtException.class);
+    }
+
+    private Person person() {
+        Person person = Person.builder()
+                .id("person1")
+                .email("student@example.com")
+                .build();
+        person.setPersonRoles(Set.of(PersonRole.builder().person(person).role(Role.STUDENT).build()));
+        return person;
+    }
+}
@@ -0,0 +1,98 @@
+package com.university.management.system.services.auth;
+
+import com.university.management.system.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoginThrottleTest {
+
+    private final LoginThrottle loginThrottle = new LoginThrottle(3, 5, Duration.ofMinutes(15), 4, 16);
+
+    @Test
+    public void whenAccountReachesFailureLimit_thenThrottledWithRetryAfter() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure("Test@Example.com", "10.0.0." + i);
+        }
+
+        // when & then
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("test@example.com", "10.0.0.9"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class, exception ->
+                        assertThat(exception.getRetryAfterSeconds()).isBetween(1L, 15 * 60L));
+        assertThatCode(() -> loginThrottle.checkAllowed("other@example.com", "10.0.0.9"))
+                .doesNotThrowAnyException();
+        assertThat(loginThrottle.getStats()).containsEntry("throttled", 1L);
+    }
+
+    @Test
+    public void whenAddressReachesFailureLimit_thenEveryAccountThrottledFromIt() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        // when & then
+        assertThatThrownBy(() -> loginThrottle.checkAllowed("fresh@example.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> loginThrottle.checkAllowed("fresh@example.com", "10.0.0.2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void whenLoginSucceeds_thenAccountFailuresCleared() {
+        // given
+        loginThrottle.recordFailure("test@example.com", "10.0.0.1");
+        loginThrottle.recordFailure("test@example.com", "10.0.0.2");
+
+        // when
+        loginThrottle.recordSuccess("test@example.com");
+        loginThrottle.recordFailure("test@example.com", "10.0.0.3");
+        loginThrottle.recordFailure("test@example.com", "10.0.0.4");
+
+        // then
+        assertThatCode(() -> loginThrottle.checkAllowed("test@example.com", "10.0.0.5"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void whenWindowEnds_thenFailuresForgotten() {
+        // given
+        LoginThrottle shortWindow = new LoginThrottle(1, 5, Duration.ofMillis(50), 4, 16);
+        shortWindow.recordFailure("test@example.com", "10.0.0.1");
+        assertThatThrownBy(() -> shortWindow.checkAllowed("test@example.com", "10.0.0.2"))
+                .isInstanceOf(TooManyRequestsException.class);
+
+        // when
+        sleep(100);
+
+        // then
+        assertThatCode(() -> shortWindow.checkAllowed("test@example.com", "10.0.0.2"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    public void whenManyDistinctKeys_thenTrackedKeysBounded() {
+        // when
+        for (int i = 0; i < 1000; i++) {
+            loginThrottle.recordFailure("user" + i + "@example.com", "10.0." + (i / 250) + "." + (i % 250));
+        }
+
+        // then
+        assertThat((Integer) loginThrottle.getStats().get("trackedAccounts")).isLessThanOrEqualTo(4 * 16);
+        assertThat((Integer) loginThrottle.getStats().get("trackedAddresses")).isLessThanOrEqualTo(4 * 16);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(exception);
+        }
+    }
+}
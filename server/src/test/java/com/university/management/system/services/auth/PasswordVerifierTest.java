@@ -0,0 +1,99 @@
+package com.university.management.system.services.auth;
+
+import com.university.management.system.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PasswordVerifierTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    // Blocks every check until released, so the pool can be filled deterministically
+    private final PasswordEncoder encoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    };
+
+    private final PasswordVerifier passwordVerifier = new PasswordVerifier(encoder, 1, 2);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        passwordVerifier.shutdown();
+    }
+
+    @Test
+    public void whenVerified_thenMatchResultReturned() {
+        // given
+        release.countDown();
+
+        // when
+        boolean matches = passwordVerifier.matches("secret", "secret").join();
+        boolean mismatches = passwordVerifier.matches("secret", "other").join();
+
+        // then
+        assertThat(matches).isTrue();
+        assertThat(mismatches).isFalse();
+        assertThat(passwordVerifier.getStats()).containsEntry("verified", 2L).containsEntry("rejected", 0L);
+    }
+
+    @Test
+    public void whenEncodedWhilePoolBusy_thenHashQueuedBehindChecks() throws InterruptedException {
+        // given
+        CompletableFuture<Boolean> running = passwordVerifier.matches("a", "a");
+        started.await(5, TimeUnit.SECONDS);
+
+        // when
+        CompletableFuture<String> hash = passwordVerifier.encode("secret");
+
+        // then
+        assertThat(hash).isNotDone();
+        assertThat(passwordVerifier.getStats()).containsEntry("queueDepth", 1);
+        release.countDown();
+        assertThat(hash).succeedsWithin(5, TimeUnit.SECONDS).isEqualTo("secret");
+        assertThat(running).succeedsWithin(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void whenPoolAndQueueFull_thenRejectedImmediately() throws InterruptedException {
+        // given
+        CompletableFuture<Boolean> running = passwordVerifier.matches("a", "a");
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Boolean> queued1 = passwordVerifier.matches("b", "b");
+        CompletableFuture<Boolean> queued2 = passwordVerifier.matches("c", "c");
+
+        // when & then
+        assertThatThrownBy(() -> passwordVerifier.matches("d", "d"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class, exception ->
+                        assertThat(exception.getRetryAfterSeconds()).isPositive());
+        assertThat(passwordVerifier.getStats())
+                .containsEntry("queueDepth", 2)
+                .containsEntry("rejected", 1L);
+
+        release.countDown();
+        assertThat(CompletableFuture.allOf(running, queued1, queued2))
+                .succeedsWithin(5, TimeUnit.SECONDS);
+    }
+}
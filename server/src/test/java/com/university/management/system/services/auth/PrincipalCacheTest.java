@@ -0,0 +1,107 @@
+package com.university.management.system.services.auth;
+
+import com.university.management.system.models.users.AuthPrincipal;
+import com.university.management.system.models.users.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrincipalCacheTest {
+
+    private final PrincipalCache principalCache = new PrincipalCache(true, 100, Duration.ofMinutes(5));
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void whenGetTwice_thenLoadedOnce() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, AuthPrincipal> loader = email -> {
+            loads.incrementAndGet();
+            return principal("person1", email);
+        };
+
+        // when
+        principalCache.get("test@example.com", loader);
+        AuthPrincipal principal = principalCache.get("test@example.com", loader);
+
+        // then
+        assertThat(principal.getId()).isEqualTo("person1");
+        assertThat(loads).hasValue(1);
+        assertThat(principalCache.getStats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    public void whenEvictInsideTransaction_thenEvictedOnlyAfterCommit() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, AuthPrincipal> loader = email -> {
+            loads.incrementAndGet();
+            return principal("person1", email);
+        };
+        principalCache.get("test@example.com", loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        principalCache.evictAfterCommit("person1");
+        principalCache.get("test@example.com", loader);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        principalCache.get("test@example.com", loader);
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    public void whenEvictByPersonId_thenEntryUnderAnyEmailRemoved() {
+        // given
+        principalCache.get("old@example.com", email -> principal("person1", email));
+        principalCache.get("new@example.com", email -> principal("person1", email));
+        principalCache.get("other@example.com", email -> principal("person2", email));
+
+        // when
+        principalCache.evict("person1");
+
+        // then
+        assertThat(principalCache.getStats()).containsEntry("size", 1L).containsEntry("indexedPersons", 1);
+    }
+
+    @Test
+    public void whenEntriesLeaveCache_thenDroppedFromPersonIndex() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, AuthPrincipal> loader = email -> {
+            loads.incrementAndGet();
+            return principal("person1", email);
+        };
+        principalCache.get("test@example.com", loader);
+        principalCache.get("other@example.com", email -> principal("person2", email));
+
+        // when
+        principalCache.evictAll();
+        principalCache.get("test@example.com", loader);
+        principalCache.evict("person1");
+        principalCache.get("test@example.com", loader);
+
+        // then
+        assertThat(loads).hasValue(3);
+        assertThat(principalCache.getStats()).containsEntry("indexedPersons", 1);
+    }
+
+    private AuthPrincipal principal(String id, String email) {
+        return new AuthPrincipal(id, email, Set.of(Role.STUDENT), null, null);
+    }
+}
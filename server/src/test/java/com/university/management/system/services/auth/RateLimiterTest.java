@@ -0,0 +1,98 @@
+package com.university.management.system.services.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final RateLimiter rateLimiter = new RateLimiter(
+            true, "3/PT1M", "300/PT1M", "60/PT1M", "600/PT1M", "300/PT1M", 4, Duration.ofMinutes(1));
+    private final long now = System.nanoTime();
+
+    @Test
+    public void whenBurstUsedUp_thenRejectedUntilNextToken() {
+        // when
+        RateLimiter.Decision first = rateLimiter.tryAcquire(RateLimitGroup.AUTH, "10.0.0.1", now);
+        rateLimiter.tryAcquire(RateLimitGroup.AUTH, "10.0.0.1", now);
+        RateLimiter.Decision last = rateLimiter.tryAcquire(RateLimitGroup.AUTH, "10.0.0.1", now);
+        RateLimiter.Decision rejected = rateLimiter.tryAcquire(RateLimitGroup.AUTH, "10.0.0.1", now);
+
+        // then
+        assertThat(first.allowed()).isTrue();
+        assertThat(first.limit()).isEqualTo(3);
+        assertThat(first.remaining()).isEqualTo(2);
+        assertThat(last.remaining()).isZero();
+        assertThat(last.resetSeconds()).isEqualTo(60);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(20);
+        assertThat(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "10.0.0.1", now + 20 * SECOND).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "10.0.0.1", now + 20 * SECOND).allowed()).isFalse();
+    }
+
+    @Test
+    public void whenClientOrGroupDiffers_thenBucketsIndependent() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire(RateLimitGroup.AUTH, "person1", now);
+        }
+
+        // when & then
+        assertThat(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "person1", now).allowed()).isFalse();
+        assertThat(rateLimiter.tryAcquire(RateLimitGroup.AUTH, "person2", now).allowed()).isTrue();
+        assertThat(rateLimiter.tryAcquire(RateLimitGroup.CATALOG, "person1", now).allowed()).isTrue();
+    }
+
+    @Test
+    public void whenGroupFull_thenNewClientsShareOverflowUntilBucketsRefill() {
+        // given
+        for (int i = 0; i < 4; i++) {
+            rateLimiter.tryAcquire(RateLimitGroup.AUTH, "10.0.0." + i, now);
+        }
+
+        // when
+        rateLimiter.tryAcquire(RateLimitGroup.AUTH, "10.0.1.1", now);
+        rateLimiter.tryAcquire(RateLimitGroup.AUTH, "10.0.1.2", now + 60 * SECOND);
+
+        // then
+        assertThat(rateLimiter.getStats().get("auth"))
+                .asInstanceOf(MAP)
+                .containsEntry("overflowed", 1L)
+                .containsEntry("buckets", 1);
+    }
+
+    @Test
+    public void whenLimitMalformed_thenRejectedAtStartup() {
+        // when & then
+        assertThatThrownBy(() -> new RateLimiter(
+                true, "20", "300/PT1M", "60/PT1M", "600/PT1M", "300/PT1M", 4, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimiter(
+                true, "0/PT1M", "300/PT1M", "60/PT1M", "600/PT1M", "300/PT1M", 4, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void whenRequestsClassified_thenRoutesMappedToGroups() {
+        // when & then
+        assertThat(RateLimitGroup.of("POST", "/api/v1/auth/login")).isEqualTo(RateLimitGroup.AUTH);
+        assertThat(RateLimitGroup.of("POST", "/api/v1/auth/refresh")).isEqualTo(RateLimitGroup.AUTH);
+        assertThat(RateLimitGroup.of("GET", "/api/v1/auth/me")).isEqualTo(RateLimitGroup.DEFAULT);
+        assertThat(RateLimitGroup.of("POST", "/api/v1/auth/logout")).isEqualTo(RateLimitGroup.DEFAULT);
+        assertThat(RateLimitGroup.of("PUT", "/api/v1/auth/me/password")).isEqualTo(RateLimitGroup.DEFAULT);
+        assertThat(RateLimitGroup.of("GET", "/api/v1/classes")).isEqualTo(RateLimitGroup.CATALOG);
+        assertThat(RateLimitGroup.of("GET", "/api/v1/students/classes")).isEqualTo(RateLimitGroup.CATALOG);
+        assertThat(RateLimitGroup.of("POST", "/api/v1/classes")).isEqualTo(RateLimitGroup.ADMIN);
+        assertThat(RateLimitGroup.of("POST", "/api/v1/students/enroll")).isEqualTo(RateLimitGroup.ENROLLMENT);
+        assertThat(RateLimitGroup.of("GET", "/api/v1/enrollments")).isEqualTo(RateLimitGroup.ENROLLMENT);
+        assertThat(RateLimitGroup.of("GET", "/api/v1/metrics/login")).isEqualTo(RateLimitGroup.ADMIN);
+        assertThat(RateLimitGroup.of("GET", "/api/v1/students/me")).isEqualTo(RateLimitGroup.DEFAULT);
+        assertThat(RateLimitGroup.of("DELETE", "/api/v1/employees/1")).isEqualTo(RateLimitGroup.ADMIN);
+    }
+}
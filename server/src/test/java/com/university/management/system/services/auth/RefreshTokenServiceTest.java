@@ -0,0 +1,145 @@
+package com.university.management.system.services.auth;
+
+import com.university.management.system.models.auth.RefreshToken;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.repositories.auth.RefreshTokenRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(RefreshTokenService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    private String personId;
+    private String otherPersonId;
+
+    @BeforeEach
+    public void setUp() {
+        personId = persistPerson("refresh.one@test.com").getId();
+        otherPersonId = persistPerson("refresh.two@test.com").getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        refreshTokenRepository.deleteAll();
+        personRepository.deleteAll();
+    }
+
+    @Test
+    public void whenIssued_thenOnlyDigestStored() {
+        // when
+        String token = refreshTokenService.issue(personId);
+
+        // then
+        List<RefreshToken> stored = refreshTokenRepository.findAll();
+        assertThat(stored).hasSize(1);
+        assertThat(stored.get(0).getPersonId()).isEqualTo(personId);
+        assertThat(stored.get(0).getTokenHash()).isNotEqualTo(token).hasSizeLessThanOrEqualTo(64);
+        assertThat(stored.get(0).getExpiresAt()).isAfter(Instant.now().plus(Duration.ofDays(13)));
+    }
+
+    @Test
+    public void whenRotated_thenSuccessorIssuedInSameFamilyAndOldTokenUsed() {
+        // given
+        String token = refreshTokenService.issue(personId);
+
+        // when
+        Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(token);
+
+        // then
+        assertThat(rotation).isPresent();
+        assertThat(rotation.get().personId()).isEqualTo(personId);
+        assertThat(rotation.get().token()).isNotEqualTo(token);
+
+        List<RefreshToken> stored = refreshTokenRepository.findAll();
+        assertThat(stored).hasSize(2);
+        assertThat(stored).extracting(RefreshToken::getFamilyId).containsOnly(stored.get(0).getFamilyId());
+        assertThat(stored).filteredOn(refreshToken -> refreshToken.getUsedAt() != null).hasSize(1);
+        assertThat(refreshTokenService.rotate(rotation.get().token())).isPresent();
+    }
+
+    @Test
+    public void whenUsedTokenPresentedAgain_thenWholeFamilyRevoked() {
+        // given
+        String token = refreshTokenService.issue(personId);
+        String successor = refreshTokenService.rotate(token).orElseThrow().token();
+        String otherFamily = refreshTokenService.issue(personId);
+        long reusesBefore = (Long) refreshTokenService.getStats().get("reuseDetected");
+
+        // when
+        Optional<RefreshTokenService.Rotation> replayed = refreshTokenService.rotate(token);
+
+        // then
+        assertThat(replayed).isEmpty();
+        assertThat(refreshTokenService.rotate(successor)).isEmpty();
+        assertThat(refreshTokenService.rotate(otherFamily)).isPresent();
+        assertThat(refreshTokenService.getStats()).containsEntry("reuseDetected", reusesBefore + 1);
+    }
+
+    @Test
+    public void whenTokenUnknownOrExpired_thenRejected() {
+        // given
+        String token = refreshTokenService.issue(personId);
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        stored.setExpiresAt(Instant.now().minusSeconds(1));
+        refreshTokenRepository.save(stored);
+
+        // when & then
+        assertThat(refreshTokenService.rotate(token)).isEmpty();
+        assertThat(refreshTokenService.rotate("not-a-token")).isEmpty();
+        assertThat(refreshTokenRepository.findAll()).extracting(RefreshToken::getRevokedAt).containsOnlyNulls();
+    }
+
+    @Test
+    public void whenPurged_thenOnlyExpiredTokensRemoved() {
+        // given
+        refreshTokenService.issue(personId);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash("expired")
+                .personId(otherPersonId)
+                .familyId("family2")
+                .expiresAt(Instant.now().minus(Duration.ofDays(1)))
+                .build());
+
+        // when
+        refreshTokenService.purgeExpired();
+
+        // then
+        assertThat(refreshTokenRepository.findAll())
+                .extracting(RefreshToken::getPersonId)
+                .containsExactly(personId);
+    }
+
+    private Person persistPerson(String email) {
+        return personRepository.save(Person.builder()
+                .email(email)
+                .password("password")
+                .firstName("Refresh")
+                .lastName("Token")
+                .build());
+    }
+}
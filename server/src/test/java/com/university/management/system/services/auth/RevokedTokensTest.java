@@ -0,0 +1,64 @@
+package com.university.management.system.services.auth;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RevokedTokensTest {
+
+    private final Instant now = Instant.now();
+
+    @Test
+    public void whenManyTokensRevoked_thenOnlyThoseRejected() {
+        // given
+        RevokedTokens revokedTokens = new RevokedTokens(1024);
+        for (int i = 0; i < 500; i++) {
+            revokedTokens.revokeToken("revoked-" + i, now.plus(Duration.ofMinutes(15)));
+        }
+
+        // when & then
+        for (int i = 0; i < 500; i++) {
+            assertThat(revokedTokens.isRevoked("revoked-" + i, "person1", now.getEpochSecond())).isTrue();
+            // The filter is saturated at this size; the exact set still decides
+            assertThat(revokedTokens.isRevoked("live-" + i, "person1", now.getEpochSecond())).isFalse();
+        }
+    }
+
+    @Test
+    public void whenPersonRevoked_thenOnlyTokensIssuedBeforeWatermarkRejected() {
+        // given
+        RevokedTokens revokedTokens = new RevokedTokens(1024);
+        long watermark = now.getEpochSecond();
+        revokedTokens.revokeIssuedBefore("person1", watermark, now.plus(Duration.ofMinutes(15)));
+        revokedTokens.revokeIssuedBefore("person1", watermark - 60, now.plus(Duration.ofMinutes(14)));
+
+        // when & then
+        assertThat(revokedTokens.isRevoked("jti", "person1", watermark - 1)).isTrue();
+        assertThat(revokedTokens.isRevoked("jti", "person1", watermark)).isFalse();
+        assertThat(revokedTokens.isRevoked("jti", "person2", watermark - 1)).isFalse();
+        assertThat(revokedTokens.isRevoked("jti", null, watermark - 1)).isFalse();
+    }
+
+    @Test
+    public void whenExpiredEntriesRemoved_thenLiveEntriesKept() {
+        // given
+        RevokedTokens revokedTokens = new RevokedTokens(1024);
+        revokedTokens.revokeToken("expired", now.minusSeconds(1));
+        revokedTokens.revokeToken("live", now.plus(Duration.ofMinutes(15)));
+        revokedTokens.revokeIssuedBefore("person1", now.getEpochSecond(), now.minusSeconds(1));
+
+        // when
+        revokedTokens.removeExpired(now);
+
+        // then
+        assertThat(revokedTokens.isRevoked("expired", null, 0)).isFalse();
+        assertThat(revokedTokens.isRevoked("live", null, 0)).isTrue();
+        assertThat(revokedTokens.isRevoked(null, "person1", 0)).isFalse();
+        assertThat(revokedTokens.getStats())
+                .containsEntry("revokedTokens", 1)
+                .containsEntry("revokedPersons", 0);
+    }
+}
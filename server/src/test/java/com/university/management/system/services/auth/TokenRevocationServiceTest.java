@@ -0,0 +1,172 @@
+package com.university.management.system.services.auth;
+
+import com.university.management.system.models.auth.TokenRevocation;
+import com.university.management.system.repositories.auth.TokenRevocationRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({TokenRevocationService.class, TokenRevocationServiceTest.JwtConfig.class})
+@TestPropertySource(properties = "security.jwt.expiration-time=900000")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class TokenRevocationServiceTest {
+
+    private static final String SECRET_KEY = "NDA0RTYzNTI2NjU1NkE1ODZFMzI3MjM1NzUzODc4MkY0MTNGNDQyODQ3MkI0QjYy";
+    private static final long EXPIRATION = Duration.ofMinutes(15).toMillis();
+
+    // Shared by the tests along with its memory, so each test uses its own persons
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @AfterEach
+    public void tearDown() {
+        tokenRevocationRepository.deleteAll();
+    }
+
+    @Test
+    public void whenTokenRevoked_thenOnlyThatTokenRejected() {
+        // given
+        Claims revoked = claims("person1", Instant.now());
+        Claims other = claims("person1", Instant.now());
+
+        // when
+        tokenRevocationService.revoke(revoked, "person1");
+
+        // then
+        assertThat(tokenRevocationService.isRevoked(revoked)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(other)).isFalse();
+        assertThat(tokenRevocationRepository.findAll())
+                .extracting(TokenRevocation::getJti)
+                .containsExactly(revoked.getId());
+    }
+
+    @Test
+    public void whenTokenWithoutJtiOrPersonRevoked_thenRejected() {
+        // given
+        Claims anonymous = Jwts.claims()
+                .subject("nobody@example.com")
+                .issuedAt(Date.from(Instant.now()))
+                .build();
+
+        // when & then
+        assertThatThrownBy(() -> tokenRevocationService.revoke(anonymous, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(tokenRevocationRepository.count()).isZero();
+    }
+
+    @Test
+    public void whenTokenWithoutJtiRevoked_thenEveryTokenOfPersonRejected() {
+        // given
+        Claims legacy = Jwts.claims()
+                .subject("person7@example.com")
+                .issuedAt(Date.from(Instant.now()))
+                .build();
+
+        // when
+        tokenRevocationService.revoke(legacy, "person7");
+
+        // then
+        assertThat(tokenRevocationService.isRevoked(legacy)).isFalse();
+        assertThat(tokenRevocationService.isRevoked(legacy, "person7")).isTrue();
+    }
+
+    @Test
+    public void whenAllRevokedForPerson_thenTokensIssuedBeforeRejected() {
+        // given
+        Claims issuedBefore = claims("person2", Instant.now());
+        Claims otherPerson = claims("person3", Instant.now());
+
+        // when
+        tokenRevocationService.revokeAllForPerson("person2");
+
+        // then
+        assertThat(tokenRevocationService.isRevoked(issuedBefore)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(otherPerson)).isFalse();
+        assertThat(tokenRevocationService.isRevoked(claims("person2", Instant.now().plusSeconds(2)))).isFalse();
+    }
+
+    @Test
+    public void whenRevokedByAnotherInstance_thenAppliedOnSync() {
+        // given
+        TokenRevocationService otherInstance = newInstance();
+        Claims claims = claims("person4", Instant.now());
+        otherInstance.revoke(claims, "person4");
+        assertThat(tokenRevocationService.isRevoked(claims)).isFalse();
+
+        // when
+        tokenRevocationService.sync();
+
+        // then
+        assertThat(tokenRevocationService.isRevoked(claims)).isTrue();
+        assertThat(newInstance().isRevoked(claims)).isTrue();
+    }
+
+    @Test
+    public void whenPurged_thenOnlyExpiredRevocationsRemoved() {
+        // given
+        tokenRevocationService.revokeAllForPerson("person5");
+        tokenRevocationRepository.save(TokenRevocation.builder()
+                .jti(UUID.randomUUID().toString())
+                .personId("person6")
+                .expiresAt(Instant.now().minus(Duration.ofMinutes(1)))
+                .build());
+
+        // when
+        tokenRevocationService.purgeExpired();
+
+        // then
+        assertThat(tokenRevocationRepository.findAll())
+                .extracting(TokenRevocation::getPersonId)
+                .containsExactly("person5");
+    }
+
+    // A fresh instance loads the revocations stored so far, as it would at startup
+    private TokenRevocationService newInstance() {
+        TokenRevocationService service =
+                new TokenRevocationService(tokenRevocationRepository, jwtService, EXPIRATION, 1 << 16);
+        service.load();
+        return service;
+    }
+
+    private Claims claims(String personId, Instant issuedAt) {
+        return Jwts.claims()
+                .id(UUID.randomUUID().toString())
+                .subject(personId + "@example.com")
+                .add("id", personId)
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(issuedAt.plusMillis(EXPIRATION)))
+                .build();
+    }
+
+    @TestConfiguration
+    static class JwtConfig {
+        @Bean
+        JwtService jwtService() {
+            return new JwtService(SECRET_KEY, EXPIRATION, 0);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.university.management.system.services.courses;
+
+import com.university.management.system.dtos.courses.BulkEnrollmentRequestDto;
+import com.university.management.system.dtos.courses.BulkEnrollmentResultDto;
+import com.university.management.system.dtos.courses.BulkEnrollmentResultDto.Outcome;
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.sync.TombstoneRepository;
+import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({ BulkEnrollmentService.class, SeatReservationService.class })
+@TestPropertySource(properties = "enrollment.bulk.batch-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BulkEnrollmentServiceTest {
+
+    @Autowired
+    private BulkEnrollmentService bulkEnrollmentService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseClassRepository courseClassRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<String> studentIds = new ArrayList<>();
+    private CourseClass smallClass;
+    private CourseClass largeClass;
+
+    @BeforeEach
+    public void setUp() {
+        Person lecturerPerson = personRepository.save(person("bulk.lecturer@example.com"));
+        Employee lecturer = employeeRepository.save(Employee.builder()
+                .person(lecturerPerson)
+                .employeeNumber("EMP600")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build());
+        Course course = courseRepository.save(Course.builder()
+                .courseCode("CS600")
+                .title("Cohort Course")
+                .credits(3)
+                .build());
+        smallClass = saveCourseClass(course, lecturer, "Fall", 3);
+        largeClass = saveCourseClass(course, lecturer, "Spring", 30);
+
+        for (int i = 0; i < 5; i++) {
+            Student student = studentRepository.save(Student.builder()
+                    .person(personRepository.save(person("bulk.student" + i + "@example.com")))
+                    .studentNumber("STU60" + i)
+                    .status(StudentStatus.ACTIVE)
+                    .build());
+            studentIds.add(student.getId());
+        }
+
+        enrollmentRepository.save(Enrollment.builder()
+                .student(studentRepository.getReferenceById(studentIds.get(0)))
+                .courseClass(smallClass)
+                .status(EnrollmentStatus.ENROLLED)
+                .build());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                courseClassRepository.claimSeats(smallClass.getId(), 1, Instant.now()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enrollmentRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseClassRepository.deleteAll();
+        employeeRepository.deleteAll();
+        personRepository.deleteAll();
+        courseRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+    }
+
+    @Test
+    public void whenBulkEnroll_thenEveryItemGetsItsOutcome() {
+        // given
+        List<BulkEnrollmentRequestDto.Item> items = new ArrayList<>();
+        for (String studentId : studentIds) {
+            items.add(item(studentId, smallClass.getId()));
+        }
+        items.add(item(studentIds.get(1), smallClass.getId()));
+        items.add(item("missing-student", smallClass.getId()));
+        items.add(item(studentIds.get(0), "missing-class"));
+        for (String studentId : studentIds) {
+            items.add(item(studentId, largeClass.getId()));
+        }
+
+        // when
+        List<BulkEnrollmentResultDto> results = bulkEnrollmentService.enroll(items);
+
+        // then
+        assertThat(results).extracting(BulkEnrollmentResultDto::getOutcome).containsExactly(
+                Outcome.ALREADY_ENROLLED, Outcome.CREATED, Outcome.CREATED, Outcome.CLASS_FULL, Outcome.CLASS_FULL,
+                Outcome.DUPLICATE_IN_REQUEST, Outcome.STUDENT_NOT_FOUND, Outcome.CLASS_NOT_FOUND,
+                Outcome.CREATED, Outcome.CREATED, Outcome.CREATED, Outcome.CREATED, Outcome.CREATED);
+        assertThat(results).extracting(BulkEnrollmentResultDto::getIndex)
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12);
+        assertThat(results.get(1).getEnrollmentId()).isNotNull();
+
+        assertThat(courseClassRepository.findById(smallClass.getId()).orElseThrow().getCurrentCapacity()).isEqualTo(3);
+        assertThat(courseClassRepository.findById(largeClass.getId()).orElseThrow().getCurrentCapacity()).isEqualTo(5);
+        assertThat(enrollmentRepository.count()).isEqualTo(8);
+    }
+
+    private BulkEnrollmentRequestDto.Item item(String studentId, String classId) {
+        return BulkEnrollmentRequestDto.Item.builder()
+                .studentId(studentId)
+                .classId(classId)
+                .build();
+    }
+
+    private Person person(String email) {
+        return Person.builder()
+                .email(email)
+                .password("password")
+                .firstName("Bulk")
+                .lastName("Person")
+                .build();
+    }
+
+    private CourseClass saveCourseClass(Course course, Employee lecturer, String semester, int maxCapacity) {
+        return courseClassRepository.save(CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester(semester)
+                .academicYear(2025)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(maxCapacity)
+                .currentCapacity(0)
+                .build());
+    }
+}
@@ -0,0 +1,121 @@
+package com.university.management.system.services.courses;
+
+import com.university.management.system.dtos.courses.CourseClassDto;
+import com.university.management.system.dtos.courses.CourseDto;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import jakarta.persistence.Tuple;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CourseCatalogCacheTest {
+
+    private final CourseClassRepository courseClassRepository = mock(CourseClassRepository.class);
+
+    private final CourseCatalogCache courseCatalogCache =
+            new CourseCatalogCache(courseClassRepository, true, 100, Duration.ofMinutes(5));
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void whenGetCourseTwice_thenLoadedOnce() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+
+        // when
+        courseCatalogCache.getCourse("1", id -> {
+            loads.incrementAndGet();
+            return course(id);
+        });
+        CourseDto course = courseCatalogCache.getCourse("1", id -> {
+            loads.incrementAndGet();
+            return course(id);
+        });
+
+        // then
+        assertThat(course.getCourseCode()).isEqualTo("CS1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    public void whenClassServedFromCache_thenSeatCountIsCurrent() {
+        // given
+        Tuple seats = mock(Tuple.class);
+        when(seats.get("id", String.class)).thenReturn("class1");
+        when(seats.get("currentCapacity", Integer.class)).thenReturn(7);
+        when(courseClassRepository.findCurrentCapacitiesByIdIn(anyCollection())).thenReturn(List.of(seats));
+        courseCatalogCache.getCourseClass("class1", this::courseClass);
+
+        // when
+        CourseClassDto cached = courseCatalogCache.getCourseClass("class1", this::courseClass);
+        Page<CourseClassDto> page = courseCatalogCache.getCourseClassPage(PageRequest.of(0, 10),
+                () -> new PageImpl<>(List.of(courseClass("class1")), PageRequest.of(0, 10), 1));
+
+        // then
+        assertThat(cached.getCurrentCapacity()).isEqualTo(7);
+        assertThat(page.getContent()).singleElement()
+                .extracting(CourseClassDto::getCurrentCapacity).isEqualTo(7);
+        assertThat(page.getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    public void whenCourseEvictedInsideTransaction_thenPagesReloadedOnlyAfterCommit() {
+        // given
+        AtomicInteger loads = new AtomicInteger();
+        PageRequest pageable = PageRequest.of(0, 10);
+        courseCatalogCache.getCoursePage(pageable, () -> coursePage(loads));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // when
+        courseCatalogCache.evictCourseAfterCommit("1");
+        courseCatalogCache.getCoursePage(pageable, () -> coursePage(loads));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        courseCatalogCache.getCoursePage(pageable, () -> coursePage(loads));
+
+        // then
+        assertThat(loads).hasValue(2);
+    }
+
+    private Page<CourseDto> coursePage(AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new PageImpl<>(List.of(course("1")), PageRequest.of(0, 10), 1);
+    }
+
+    private CourseDto course(String id) {
+        return CourseDto.builder()
+                .id(id)
+                .courseCode("CS" + id)
+                .title("Course " + id)
+                .credits(3)
+                .build();
+    }
+
+    private CourseClassDto courseClass(String id) {
+        return CourseClassDto.builder()
+                .id(id)
+                .course(course("1"))
+                .semester("Fall")
+                .academicYear(2025)
+                .currentCapacity(0)
+                .maxCapacity(30)
+                .build();
+    }
+}
@@ -3,6 +3,8 @@ package com.university.management.system.services.courses;
 import com.university.management.system.dtos.ApiResponse;
 import com.university.management.system.dtos.courses.CourseClassDto;
 import com.university.management.system.dtos.courses.CourseClassRequestDto;
+import com.university.management.system.dtos.users.EmployeeDto;
+import com.university.management.system.dtos.users.PersonDto;
 import com.university.management.system.models.courses.Course;
 import com.university.management.system.models.courses.CourseClass;
 import com.university.management.system.models.courses.CourseClassStatus;
@@ -10,7 +12,9 @@ import com.university.management.system.models.users.Employee;
 import com.university.management.system.repositories.courses.CourseClassRepository;
 import com.university.management.system.repositories.courses.CourseRepository;
 import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.services.users.StudentGpaService;
 import com.university.management.system.utils.mappers.courses.CourseMapper;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -19,6 +23,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,6 +45,12 @@ public class CourseClassServiceTest {
     @Mock
     private CourseMapper courseMapper;
 
+    @Mock
+    private StudentGpaService studentGpaService;
+
+    @Mock
+    private CourseCatalogCache courseCatalogCache;
+
     @InjectMocks
     private CourseClassService courseClassService;
 
@@ -102,9 +113,11 @@ public class CourseClassServiceTest {
         when(courseClassRepository.findById(id)).thenReturn(Optional.of(courseClass));
         when(courseClassRepository.save(any(CourseClass.class))).thenReturn(courseClass);
         when(courseMapper.toCourseClassDto(courseClass)).thenReturn(responseDto);
+        Tuple versions = versions(id, 1L);
+        when(courseClassRepository.findVersionsById(id)).thenReturn(Optional.of(versions));
 
         // when
-        ResponseEntity<ApiResponse> response = courseClassService.updateCourseClass(id, requestDto);
+        ResponseEntity<ApiResponse> response = courseClassService.updateCourseClass(id, requestDto, null);
 
         // then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -126,4 +139,44 @@ public class CourseClassServiceTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         verify(courseClassRepository, times(1)).delete(courseClass);
     }
+
+    @Test
+    public void whenLecturerUpdated_thenOldETagGetsFreshClass() {
+        // given
+        String id = "class1";
+        CourseCatalogCache catalogCache = new CourseCatalogCache(courseClassRepository, true, 100, Duration.ofMinutes(10));
+        CourseClassService service = new CourseClassService(courseClassRepository, courseRepository,
+                employeeRepository, null, courseMapper, null, null, studentGpaService, catalogCache);
+        CourseClass courseClass = CourseClass.builder().id(id).build();
+
+        Tuple before = versions(id, 1L, 1L, 1L, 1L, 1L);
+        Tuple after = versions(id, 1L, 1L, 1L, 2L, 1L);
+        when(courseClassRepository.findVersionsById(id)).thenReturn(Optional.of(before), Optional.of(after));
+        when(courseClassRepository.findById(id)).thenReturn(Optional.of(courseClass));
+        when(courseMapper.toCourseClassDto(courseClass)).thenReturn(classTaughtBy(id, "Old"), classTaughtBy(id, "New"));
+        String oldETag = service.getCourseClassById(id, null).getHeaders().getETag();
+
+        // when
+        catalogCache.evictCourseClassesAfterCommit(); // as the lecturer's update does
+        ResponseEntity<ApiResponse> response = service.getCourseClassById(id, oldETag);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isNotEqualTo(oldETag);
+        assertThat(((CourseClassDto) response.getBody().getData().get("Class")).getLecturer().getPerson().getLastName())
+                .isEqualTo("New");
+    }
+
+    private static CourseClassDto classTaughtBy(String id, String lastName) {
+        return CourseClassDto.builder()
+                .id(id)
+                .lecturer(EmployeeDto.builder().person(PersonDto.builder().lastName(lastName).build()).build())
+                .build();
+    }
+
+    private static Tuple versions(Object... values) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.toArray()).thenReturn(values);
+        return tuple;
+    }
 }
@@ -5,7 +5,9 @@ import com.university.management.system.dtos.courses.CourseDto;
 import com.university.management.system.dtos.courses.CourseRequestDto;
 import com.university.management.system.models.courses.Course;
 import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.services.users.StudentGpaService;
 import com.university.management.system.utils.mappers.courses.CourseMapper;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -13,10 +15,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -29,6 +33,12 @@ public class CourseServiceTest {
     @Mock
     private CourseMapper courseMapper;
 
+    @Mock
+    private StudentGpaService studentGpaService;
+
+    @Mock
+    private CourseCatalogCache courseCatalogCache;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -93,9 +103,11 @@ public class CourseServiceTest {
         when(courseRepository.findById(id)).thenReturn(Optional.of(course));
         when(courseRepository.save(any(Course.class))).thenReturn(course);
         when(courseMapper.toCourseDto(course)).thenReturn(responseDto);
+        Tuple versions = versions(id, 1L);
+        when(courseRepository.findVersionsById(id)).thenReturn(Optional.of(versions));
 
         // when
-        ResponseEntity<ApiResponse> response = courseService.updateCourse(id, requestDto);
+        ResponseEntity<ApiResponse> response = courseService.updateCourse(id, requestDto, null);
 
         // then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -120,4 +132,53 @@ public class CourseServiceTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         verify(courseRepository, times(1)).delete(course);
     }
+
+    @Test
+    public void whenGetCourseByIdWithMatchingETag_thenReturnNotModifiedWithoutLoading() {
+        // given
+        String id = "1";
+        Tuple versions = versions(id, 3L);
+        when(courseRepository.findVersionsById(id)).thenReturn(Optional.of(versions));
+
+        // when
+        ResponseEntity<ApiResponse> response = courseService.getCourseById(id, "W/\"1-3\"");
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1-3\"");
+        assertThat(response.getBody()).isNull();
+        verifyNoInteractions(courseCatalogCache, courseMapper);
+    }
+
+    @Test
+    public void whenUpdateCourseWithStaleETag_thenPreconditionFailed() {
+        // given
+        String id = "1";
+        CourseRequestDto requestDto = CourseRequestDto.builder()
+                .courseCode("CS101")
+                .title("Intro to CS Updated")
+                .credits(3)
+                .build();
+        Course course = Course.builder()
+                .id(id)
+                .courseCode("CS101")
+                .credits(3)
+                .build();
+        Tuple versions = versions(id, 4L);
+
+        when(courseRepository.findById(id)).thenReturn(Optional.of(course));
+        when(courseRepository.findVersionsById(id)).thenReturn(Optional.of(versions));
+
+        // when & then
+        assertThatThrownBy(() -> courseService.updateCourse(id, requestDto, "\"1-3\""))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        exception -> assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+        verify(courseRepository, never()).save(any(Course.class));
+    }
+
+    private static Tuple versions(Object... values) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.toArray()).thenReturn(values);
+        return tuple;
+    }
 }
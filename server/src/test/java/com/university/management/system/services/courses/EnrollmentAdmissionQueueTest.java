@@ -0,0 +1,158 @@
+package com.university.management.system.services.courses;
+
+import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.dtos.courses.EnrollmentDto;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.utils.mappers.courses.CourseMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EnrollmentAdmissionQueueTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseClassRepository courseClassRepository;
+
+    @Mock
+    private SeatReservationService seatReservationService;
+
+    @Mock
+    private CourseMapper courseMapper;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private EnrollmentAdmissionQueue enrollmentAdmissionQueue;
+
+    @BeforeEach
+    public void setUp() {
+        ReflectionTestUtils.setField(enrollmentAdmissionQueue, "mode", "queued");
+        ReflectionTestUtils.setField(enrollmentAdmissionQueue, "batchSize", 10);
+        ReflectionTestUtils.setField(enrollmentAdmissionQueue, "queueCapacity", 100);
+        ReflectionTestUtils.setField(enrollmentAdmissionQueue, "timeoutMillis", 5000L);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enrollmentAdmissionQueue.shutdown();
+    }
+
+    @Test
+    public void whenQueuedAdmissionsExceedSeats_thenExtraTicketsRejected() throws Exception {
+        // given
+        String classId = "class1";
+        AtomicInteger freeSeats = new AtomicInteger(2);
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(courseClassRepository.findById(classId)).thenReturn(Optional.of(CourseClass.builder().id(classId).build()));
+        when(studentRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            List<Student> students = new ArrayList<>();
+            invocation.<Collection<String>>getArgument(0).forEach(id -> students.add(Student.builder().id(id).build()));
+            return students;
+        });
+        when(enrollmentRepository.findEnrolledStudentIds(eq(classId), anyCollection())).thenReturn(List.of());
+        when(seatReservationService.reserveUpTo(eq(classId), anyInt())).thenAnswer(invocation -> {
+            int requested = invocation.getArgument(1);
+            int granted = Math.min(requested, freeSeats.get());
+            freeSeats.addAndGet(-granted);
+            return granted;
+        });
+        when(courseMapper.toEnrollmentDto(any(Enrollment.class))).thenReturn(EnrollmentDto.builder().build());
+
+        // when
+        List<EnrollmentAdmissionQueue.Ticket> tickets = List.of(
+                enrollmentAdmissionQueue.submit("student1", classId),
+                enrollmentAdmissionQueue.submit("student2", classId),
+                enrollmentAdmissionQueue.submit("student3", classId));
+
+        List<HttpStatus> statuses = new ArrayList<>();
+        for (EnrollmentAdmissionQueue.Ticket ticket : tickets) {
+            ResponseEntity<ApiResponse> response = ticket.getResult().get(5, TimeUnit.SECONDS);
+            statuses.add(HttpStatus.valueOf(response.getStatusCode().value()));
+        }
+
+        // then
+        assertThat(statuses).containsExactlyInAnyOrder(HttpStatus.CREATED, HttpStatus.CREATED, HttpStatus.BAD_REQUEST);
+        assertThat(enrollmentAdmissionQueue.getStats()).containsEntry("submitted", 3L);
+    }
+
+    @Test
+    public void whenStudentQueuedTwice_thenSecondTicketRejected() throws Exception {
+        // given
+        String classId = "class1";
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(courseClassRepository.findById(classId)).thenReturn(Optional.of(CourseClass.builder().id(classId).build()));
+        when(studentRepository.findAllById(anyCollection()))
+                .thenReturn(List.of(Student.builder().id("student1").build()));
+        when(enrollmentRepository.findEnrolledStudentIds(eq(classId), anyCollection()))
+                .thenReturn(List.of("student1"));
+
+        // when
+        ResponseEntity<ApiResponse> response = enrollmentAdmissionQueue.admit("student1", classId);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().getMessage()).isEqualTo("Student is already enrolled in this class");
+    }
+
+    @Test
+    public void whenLaneSweptWhileIdle_thenLaterAdmissionStillDrained() {
+        // given
+        String classId = "class1";
+        ReflectionTestUtils.setField(enrollmentAdmissionQueue, "ticketRetention", Duration.ofMinutes(10));
+
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(courseClassRepository.findById(classId)).thenReturn(Optional.empty());
+
+        // when
+        ResponseEntity<ApiResponse> first = enrollmentAdmissionQueue.admit("student1", classId);
+        enrollmentAdmissionQueue.sweep();
+        ResponseEntity<ApiResponse> second = enrollmentAdmissionQueue.admit("student2", classId);
+
+        // then
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(enrollmentAdmissionQueue.getStats()).containsEntry("submitted", 2L);
+    }
+}
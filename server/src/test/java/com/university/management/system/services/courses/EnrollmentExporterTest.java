@@ -0,0 +1,175 @@
+package com.university.management.system.services.courses;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(EnrollmentExporter.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+public class EnrollmentExporterTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EnrollmentExporter enrollmentExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private CourseClass fallClass;
+
+    @BeforeEach
+    public void setUp() {
+        Person lecturerPerson = entityManager.persist(Person.builder()
+                .email("export.lecturer@test.com")
+                .password("password")
+                .firstName("Export")
+                .lastName("Lecturer")
+                .build());
+        Employee lecturer = entityManager.persist(Employee.builder()
+                .person(lecturerPerson)
+                .employeeNumber("EMP600")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build());
+        Course course = entityManager.persist(Course.builder()
+                .courseCode("CS600")
+                .title("Databases, Part 1")
+                .credits(3)
+                .build());
+        fallClass = persistCourseClass(course, lecturer, "Fall");
+        CourseClass springClass = persistCourseClass(course, lecturer, "Spring");
+
+        Student first = persistStudent(1, "Ada");
+        Student second = persistStudent(2, "Quote \"Q\"");
+        enroll(first, fallClass, "A");
+        enroll(second, fallClass, null);
+        enroll(first, springClass, "B");
+        entityManager.flush();
+    }
+
+    @Test
+    public void whenExportNdjsonForSemester_thenOneFlattenedObjectPerMatchingEnrollment() throws Exception {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        enrollmentExporter.write(output, EnrollmentExporter.Format.NDJSON, "Fall", 2025, null);
+
+        // then
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(2);
+        JsonNode row = objectMapper.readTree(lines.stream().filter(line -> line.contains("\"A\"")).findFirst().orElseThrow());
+        assertThat(row.get("studentNumber").asText()).isEqualTo("STU601");
+        assertThat(row.get("classId").asText()).isEqualTo(fallClass.getId());
+        assertThat(row.get("courseCode").asText()).isEqualTo("CS600");
+        assertThat(row.get("status").asText()).isEqualTo("ENROLLED");
+        assertThat(row.fieldNames()).toIterable().containsExactlyElementsOf(EnrollmentExporter.COLUMNS);
+    }
+
+    @Test
+    public void whenExportCsvForClass_thenHeaderAndEscapedRows() {
+        // given
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        enrollmentExporter.write(output, EnrollmentExporter.Format.CSV, null, null, fallClass.getId());
+
+        // then
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).isEqualTo(String.join(",", EnrollmentExporter.COLUMNS));
+        assertThat(lines).anySatisfy(line -> assertThat(line)
+                .contains(",\"Quote \"\"Q\"\"\",")
+                .contains(",\"Databases, Part 1\","));
+    }
+
+    @Test
+    public void whenCsvValueLooksLikeFormula_thenPrefixedWithQuote() {
+        // given
+        enroll(persistStudent(3, "=1+2"), fallClass, null);
+        enroll(persistStudent(4, "@SUM(A1:A9),x"), fallClass, null);
+        enroll(persistStudent(5, "-2+3"), fallClass, null);
+        entityManager.flush();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // when
+        enrollmentExporter.write(output, EnrollmentExporter.Format.CSV, null, null, fallClass.getId());
+
+        // then
+        List<String> lines = output.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(6);
+        assertThat(lines).anySatisfy(line -> assertThat(line).contains(",'=1+2,Student,"));
+        assertThat(lines).anySatisfy(line -> assertThat(line).contains(",\"'@SUM(A1:A9),x\",Student,"));
+        assertThat(lines).anySatisfy(line -> assertThat(line).contains(",'-2+3,Student,"));
+        assertThat(lines).allSatisfy(line -> assertThat(line).doesNotContain(",=", ",@", ",-2"));
+    }
+
+    @Test
+    public void whenUnknownFormat_thenRejected() {
+        assertThatThrownBy(() -> EnrollmentExporter.Format.from("xml"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private CourseClass persistCourseClass(Course course, Employee lecturer, String semester) {
+        return entityManager.persist(CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester(semester)
+                .academicYear(2025)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(30)
+                .currentCapacity(0)
+                .build());
+    }
+
+    private Student persistStudent(int index, String firstName) {
+        Person person = entityManager.persist(Person.builder()
+                .email("export.student" + index + "@test.com")
+                .password("password")
+                .firstName(firstName)
+                .lastName("Student")
+                .build());
+        return entityManager.persist(Student.builder()
+                .person(person)
+                .studentNumber("STU60" + index)
+                .status(StudentStatus.ACTIVE)
+                .build());
+    }
+
+    private void enroll(Student student, CourseClass courseClass, String grade) {
+        entityManager.persist(Enrollment.builder()
+                .student(student)
+                .courseClass(courseClass)
+                .grade(grade)
+                .status(EnrollmentStatus.ENROLLED)
+                .build());
+    }
+}
@@ -10,6 +10,8 @@ import com.university.management.system.models.users.Student;
 import com.university.management.system.repositories.courses.CourseClassRepository;
 import com.university.management.system.repositories.courses.EnrollmentRepository;
 import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.users.StudentGpaService;
+import com.university.management.system.services.users.StudentGpaService.GradeContribution;
 import com.university.management.system.utils.mappers.courses.CourseMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,10 +20,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -37,9 +43,27 @@ public class EnrollmentServiceTest {
     @Mock
     private CourseClassRepository courseClassRepository;
 
+    @Mock
+    private SeatReservationService seatReservationService;
+
     @Mock
     private CourseMapper courseMapper;
 
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private StudentGpaService studentGpaService;
+
+    @Mock
+    private EnrollmentExporter enrollmentExporter;
+
+    @Mock
+    private BulkEnrollmentService bulkEnrollmentService;
+
+    @Mock
+    private GradeUploadService gradeUploadService;
+
     @InjectMocks
     private EnrollmentService enrollmentService;
 
@@ -65,6 +89,11 @@ public class EnrollmentServiceTest {
                 .build();
         EnrollmentDto responseDto = EnrollmentDto.builder().id("enrollment1").build();
 
+        when(studentRepository.existsById("student1")).thenReturn(true);
+        when(courseClassRepository.existsById("class1")).thenReturn(true);
+        when(seatReservationService.reserve("class1")).thenReturn(true);
+        when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         when(studentRepository.findById("student1")).thenReturn(Optional.of(student));
         when(courseClassRepository.findById("class1")).thenReturn(Optional.of(courseClass));
         when(enrollmentRepository.save(any(Enrollment.class))).thenReturn(enrollment);
@@ -78,6 +107,47 @@ public class EnrollmentServiceTest {
         assertThat(response.getBody().getData().get("Enrollment")).isEqualTo(responseDto);
     }
 
+    @Test
+    public void whenCreateEnrollmentInFullClass_thenReturnBadRequest() {
+        // given
+        EnrollmentRequestDto requestDto = EnrollmentRequestDto.builder()
+                .studentId("student1")
+                .classId("class1")
+                .status(EnrollmentStatus.ENROLLED)
+                .build();
+
+        when(studentRepository.existsById("student1")).thenReturn(true);
+        when(courseClassRepository.existsById("class1")).thenReturn(true);
+        when(seatReservationService.reserve("class1")).thenReturn(false);
+
+        // when
+        ResponseEntity<ApiResponse> response = enrollmentService.createEnrollment(requestDto);
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        verify(enrollmentRepository, never()).save(any(Enrollment.class));
+    }
+
+    @Test
+    public void whenCreateEnrollmentFails_thenReleaseSeat() {
+        // given
+        EnrollmentRequestDto requestDto = EnrollmentRequestDto.builder()
+                .studentId("student1")
+                .classId("class1")
+                .status(EnrollmentStatus.ENROLLED)
+                .build();
+
+        when(studentRepository.existsById("student1")).thenReturn(true);
+        when(courseClassRepository.existsById("class1")).thenReturn(true);
+        when(seatReservationService.reserve("class1")).thenReturn(true);
+        when(transactionTemplate.execute(any())).thenThrow(new IllegalStateException("insert failed"));
+
+        // when & then
+        assertThatThrownBy(() -> enrollmentService.createEnrollment(requestDto))
+                .isInstanceOf(IllegalStateException.class);
+        verify(seatReservationService, times(1)).release("class1");
+    }
+
     @Test
     public void whenDeleteEnrollment_thenReturnOk() {
         // given
@@ -99,6 +169,30 @@ public class EnrollmentServiceTest {
         // then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         verify(enrollmentRepository, times(1)).delete(enrollment);
-        verify(courseClassRepository, times(1)).save(courseClass);
+        verify(seatReservationService, times(1)).release("class1");
+    }
+
+    @Test
+    public void whenUpdateGrade_thenGradeTotalsMovedFromPreviousGrade() {
+        // given
+        String id = "enrollment1";
+        Enrollment enrollment = Enrollment.builder()
+                .id(id)
+                .grade("B")
+                .build();
+        GradeContribution previous = new GradeContribution("student1", 3, new BigDecimal("9.00"));
+        GradeContribution current = new GradeContribution("student1", 3, new BigDecimal("11.10"));
+
+        when(enrollmentRepository.findById(id)).thenReturn(Optional.of(enrollment));
+        when(enrollmentRepository.save(enrollment)).thenReturn(enrollment);
+        when(studentGpaService.contributionOf(enrollment)).thenReturn(previous, current);
+
+        // when
+        ResponseEntity<ApiResponse> response = enrollmentService.updateGrade(id, "a");
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(enrollment.getGrade()).isEqualTo("A");
+        verify(studentGpaService, times(1)).record(previous, current);
     }
 }
@@ -0,0 +1,209 @@
+package com.university.management.system.services.courses;
+
+import com.university.management.system.dtos.courses.GradeUploadRejectionDto;
+import com.university.management.system.dtos.courses.GradeUploadRejectionDto.Reason;
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.sync.TombstoneRepository;
+import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.users.StudentGpaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({ GradeUploadService.class, StudentGpaService.class })
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = "enrollment.grades.batch-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class GradeUploadServiceTest {
+
+    @Autowired
+    private GradeUploadService gradeUploadService;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseClassRepository courseClassRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    private final List<Student> students = new ArrayList<>();
+    private CourseClass courseClass;
+
+    @BeforeEach
+    public void setUp() {
+        Person lecturerPerson = personRepository.save(person("grades.lecturer@example.com"));
+        Employee lecturer = employeeRepository.save(Employee.builder()
+                .person(lecturerPerson)
+                .employeeNumber("EMP800")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build());
+        Course course = courseRepository.save(Course.builder()
+                .courseCode("CS800")
+                .title("Graded Course")
+                .credits(3)
+                .build());
+        courseClass = courseClassRepository.save(CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester("Fall")
+                .academicYear(2025)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(30)
+                .currentCapacity(3)
+                .build());
+
+        for (int i = 0; i < 4; i++) {
+            students.add(studentRepository.save(Student.builder()
+                    .person(personRepository.save(person("grades.student" + i + "@example.com")))
+                    .studentNumber("STU80" + i)
+                    .status(StudentStatus.ACTIVE)
+                    .build()));
+        }
+        for (int i = 0; i < 3; i++) {
+            enrollmentRepository.save(Enrollment.builder()
+                    .student(students.get(i))
+                    .courseClass(courseClass)
+                    .grade(i == 0 ? "B" : null)
+                    .status(EnrollmentStatus.ENROLLED)
+                    .build());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enrollmentRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseClassRepository.deleteAll();
+        employeeRepository.deleteAll();
+        personRepository.deleteAll();
+        courseRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+    }
+
+    @Test
+    public void whenUploadCsv_thenValidRowsAppliedAndInvalidRowsReported() {
+        // given
+        String csv = "studentNumber,studentId,grade\r\n"
+                + "STU801,,B+\r\n"
+                + "STU800,,b\r\n"
+                + ",\"" + students.get(2).getId() + "\",A\r\n"
+                + "STU801,,Z\r\n"
+                + "STU803,,A\r\n"
+                + "\r\n"
+                + "STU801,,a\r\n";
+
+        // when
+        GradeUploadService.Report report = gradeUploadService.upload(courseClass.getId(),
+                EnrollmentExporter.Format.CSV, stream(csv));
+
+        // then
+        assertThat(report.getRows()).isEqualTo(6);
+        assertThat(report.getUpdated()).isEqualTo(3);
+        assertThat(report.getUnchanged()).isEqualTo(1);
+        assertThat(report.getRejected())
+                .extracting(GradeUploadRejectionDto::getRow, GradeUploadRejectionDto::getReason)
+                .containsExactly(tuple(4L, Reason.INVALID_GRADE), tuple(5L, Reason.NOT_ENROLLED));
+
+        assertThat(enrollmentRepository.findAll())
+                .extracting(enrollment -> enrollment.getStudent().getId(), Enrollment::getGrade)
+                .containsExactlyInAnyOrder(
+                        tuple(students.get(0).getId(), "B"),
+                        tuple(students.get(1).getId(), "A"),
+                        tuple(students.get(2).getId(), "A"));
+
+        Student graded = studentRepository.findById(students.get(1).getId()).orElseThrow();
+        assertThat(graded.getAttemptedCredits()).isEqualTo(3);
+        assertThat(graded.getQualityPoints()).isEqualByComparingTo(new BigDecimal("11.10"));
+        assertThat(graded.getGpa()).isEqualByComparingTo(new BigDecimal("3.70"));
+    }
+
+    @Test
+    public void whenUploadJsonWithBrokenRow_thenRowsBeforeItAreApplied() {
+        // given
+        String ndjson = "{\"studentNumber\":\"STU801\",\"grade\":\"C\"}\n"
+                + "{\"studentNumber\":\"STU802\",\"grade\":\n";
+
+        // when
+        GradeUploadService.Report report = gradeUploadService.upload(courseClass.getId(),
+                EnrollmentExporter.Format.NDJSON, stream(ndjson));
+
+        // then
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getRejected())
+                .extracting(GradeUploadRejectionDto::getRow, GradeUploadRejectionDto::getReason)
+                .containsExactly(tuple(2L, Reason.MALFORMED));
+        assertThat(studentRepository.findById(students.get(1).getId()).orElseThrow().getAttemptedCredits())
+                .isEqualTo(3);
+    }
+
+    @Test
+    public void whenCsvHeaderHasNoStudentColumn_thenRejected() {
+        // when & then
+        assertThatThrownBy(() -> gradeUploadService.upload(courseClass.getId(), EnrollmentExporter.Format.CSV,
+                stream("name,grade\r\nAda,A\r\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Person person(String email) {
+        return Person.builder()
+                .email(email)
+                .password("password")
+                .firstName("Grades")
+                .lastName("Person")
+                .build();
+    }
+}
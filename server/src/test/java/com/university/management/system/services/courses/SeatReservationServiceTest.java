@@ -0,0 +1,153 @@
+package com.university.management.system.services.courses;
+
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(SeatReservationService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SeatReservationServiceTest {
+
+    private static final int CAPACITY = 50;
+    private static final int REQUESTS = 600;
+    private static final int THREADS = 128;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private CourseClassRepository courseClassRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    private String classId;
+
+    @BeforeEach
+    public void setUp() {
+        Course course = courseRepository.save(Course.builder()
+                .courseCode("CS900")
+                .title("Registration Rush")
+                .credits(3)
+                .build());
+
+        Person person = personRepository.save(Person.builder()
+                .email("rush.lecturer@example.com")
+                .password("password")
+                .firstName("Rush")
+                .lastName("Lecturer")
+                .build());
+
+        Employee lecturer = employeeRepository.save(Employee.builder()
+                .person(person)
+                .employeeNumber("EMP900")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build());
+
+        CourseClass courseClass = courseClassRepository.save(CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester("Fall")
+                .academicYear(2025)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(CAPACITY)
+                .currentCapacity(0)
+                .build());
+        classId = courseClass.getId();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        courseClassRepository.deleteAll();
+        employeeRepository.deleteAll();
+        personRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    public void whenConcurrentReservationsExceedCapacity_thenNoOverbooking() throws Exception {
+        // when
+        List<Boolean> results = runConcurrently(REQUESTS, () -> seatReservationService.reserve(classId));
+
+        // then
+        assertThat(results.stream().filter(Boolean::booleanValue).count()).isEqualTo(CAPACITY);
+        assertThat(currentCapacity()).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    public void whenConcurrentReleasesExceedReservations_thenCapacityNeverNegative() throws Exception {
+        // given
+        for (int i = 0; i < 10; i++) {
+            seatReservationService.reserve(classId);
+        }
+
+        // when
+        List<Boolean> results = runConcurrently(REQUESTS, () -> seatReservationService.release(classId));
+
+        // then
+        assertThat(results.stream().filter(Boolean::booleanValue).count()).isEqualTo(10);
+        assertThat(currentCapacity()).isZero();
+    }
+
+    private int currentCapacity() {
+        return courseClassRepository.findById(classId).orElseThrow().getCurrentCapacity();
+    }
+
+    private List<Boolean> runConcurrently(int requests, Callable<Boolean> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < requests; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.university.management.system.services.sync;
+
+import com.university.management.system.dtos.ApiResponse;
+import com.university.management.system.dtos.courses.CourseDto;
+import com.university.management.system.dtos.users.StudentDto;
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.sync.SyncResource;
+import com.university.management.system.models.sync.Tombstone;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.repositories.sync.TombstoneRepository;
+import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.utils.RepositoryUtils;
+import com.university.management.system.utils.mappers.courses.CourseMapperImpl;
+import com.university.management.system.utils.mappers.users.UserMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({ ChangeFeedService.class, RepositoryUtils.class, CourseMapperImpl.class, UserMapperImpl.class })
+@TestPropertySource(properties = "sync.settle-time=PT0S")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ChangeFeedServiceTest {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseClassRepository courseClassRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @AfterEach
+    public void tearDown() {
+        studentRepository.deleteAll();
+        courseClassRepository.deleteAll();
+        employeeRepository.deleteAll();
+        personRepository.deleteAll();
+        courseRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+    }
+
+    @Test
+    public void whenCoursesChangeAfterCursor_thenOnlyChangesAndDeletionsAreReturned() {
+        // given
+        Course kept = saveCourse("CS701");
+        Course removed = saveCourse("CS702");
+        ResponseEntity<ApiResponse> initial = changeFeedService.getChanges(SyncResource.COURSE, null, null, 10);
+        assertThat(ids(initial)).containsExactlyInAnyOrder(kept.getId(), removed.getId());
+
+        transactionTemplate.executeWithoutResult(status ->
+                courseRepository.findById(kept.getId()).orElseThrow().setTitle("Renamed"));
+        courseRepository.deleteById(removed.getId());
+
+        // when
+        ResponseEntity<ApiResponse> delta = changeFeedService.getChanges(SyncResource.COURSE, null,
+                nextCursor(initial), 10);
+
+        // then
+        assertThat(delta.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(ids(delta)).containsExactly(kept.getId());
+        assertThat(delta.getBody().getData().get("Deleted")).isEqualTo(List.of(removed.getId()));
+        assertThat(sync(delta)).containsEntry("hasMore", false);
+
+        ResponseEntity<ApiResponse> caughtUp = changeFeedService.getChanges(SyncResource.COURSE, null,
+                nextCursor(delta), 10);
+        assertThat(ids(caughtUp)).isEmpty();
+        assertThat(caughtUp.getBody().getData().get("Deleted")).isEqualTo(List.of());
+    }
+
+    @Test
+    public void whenPageIsFull_thenCursorContinuesWithoutGapsOrRepeats() {
+        // given
+        for (int i = 0; i < 5; i++) {
+            saveCourse("CS71" + i);
+        }
+
+        // when
+        ResponseEntity<ApiResponse> first = changeFeedService.getChanges(SyncResource.COURSE, null, null, 3);
+        ResponseEntity<ApiResponse> second = changeFeedService.getChanges(SyncResource.COURSE, null,
+                nextCursor(first), 3);
+
+        // then
+        assertThat(sync(first)).containsEntry("hasMore", true);
+        assertThat(sync(second)).containsEntry("hasMore", false);
+        assertThat(ids(first)).hasSize(3).doesNotContainAnyElementsOf(ids(second));
+        assertThat(ids(second)).hasSize(2);
+    }
+
+    @Test
+    public void whenCourseDeleted_thenCascadedClassesLeaveTombstones() {
+        // given
+        Course course = saveCourse("CS720");
+        Person lecturerPerson = personRepository.save(person("feed.lecturer@example.com"));
+        Employee lecturer = employeeRepository.save(Employee.builder()
+                .person(lecturerPerson)
+                .employeeNumber("EMP720")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build());
+        CourseClass courseClass = courseClassRepository.save(CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester("Fall")
+                .academicYear(2025)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(30)
+                .currentCapacity(0)
+                .build());
+
+        // when
+        courseRepository.deleteById(course.getId());
+
+        // then
+        assertThat(tombstoneRepository.findAll())
+                .extracting(Tombstone::getResourceType, Tombstone::getResourceId)
+                .containsExactlyInAnyOrder(
+                        tuple(SyncResource.COURSE, course.getId()),
+                        tuple(SyncResource.COURSE_CLASS, courseClass.getId()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void whenOnlyPersonOfStudentChanged_thenStudentIsInFeed() {
+        // given
+        Person person = personRepository.save(person("feed.student@example.com"));
+        Student student = studentRepository.save(Student.builder()
+                .person(person)
+                .studentNumber("STU720")
+                .status(StudentStatus.ACTIVE)
+                .build());
+        ResponseEntity<ApiResponse> initial = changeFeedService.getChanges(SyncResource.STUDENT, null, null, 10);
+
+        transactionTemplate.executeWithoutResult(status ->
+                personRepository.findById(person.getId()).orElseThrow().setLastName("Renamed"));
+
+        // when
+        ResponseEntity<ApiResponse> delta = changeFeedService.getChanges(SyncResource.STUDENT, null,
+                nextCursor(initial), 10);
+
+        // then
+        assertThat((List<StudentDto>) delta.getBody().getData().get("Students"))
+                .extracting(StudentDto::getId)
+                .containsExactly(student.getId());
+    }
+
+    @Test
+    public void whenCursorIsForAnotherResourceOrMalformed_thenRejected() {
+        // given
+        String courseCursor = nextCursor(changeFeedService.getChanges(SyncResource.COURSE, null, null, 10));
+
+        // when & then
+        assertThatThrownBy(() -> changeFeedService.getChanges(SyncResource.STUDENT, null, courseCursor, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> changeFeedService.getChanges(SyncResource.COURSE, null, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> changeFeedService.getChanges(SyncResource.COURSE, "yesterday", null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void whenSinceIsOlderThanTombstoneRetention_thenGone() {
+        // when & then
+        assertThatThrownBy(() -> changeFeedService.getChanges(SyncResource.COURSE, "2000-01-01T00:00:00Z", null, 10))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        exception -> assertThat(exception.getStatusCode()).isEqualTo(HttpStatus.GONE));
+    }
+
+    private Course saveCourse(String courseCode) {
+        return courseRepository.save(Course.builder()
+                .courseCode(courseCode)
+                .title("Course " + courseCode)
+                .credits(3)
+                .build());
+    }
+
+    private Person person(String email) {
+        return Person.builder()
+                .email(email)
+                .password("password")
+                .firstName("Feed")
+                .lastName("Person")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> ids(ResponseEntity<ApiResponse> response) {
+        return ((List<CourseDto>) response.getBody().getData().get("Courses")).stream()
+                .map(CourseDto::getId)
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> sync(ResponseEntity<ApiResponse> response) {
+        return (Map<String, Object>) response.getBody().getData().get("sync");
+    }
+
+    private String nextCursor(ResponseEntity<ApiResponse> response) {
+        return (String) sync(response).get("nextCursor");
+    }
+}
@@ -14,8 +14,12 @@ import com.university.management.system.models.users.Position;
 import com.university.management.system.repositories.users.EmployeeRepository;
 import com.university.management.system.repositories.users.PersonRepository;
 import com.university.management.system.repositories.users.PersonRoleRepository;
+import com.university.management.system.services.auth.PrincipalCache;
+import com.university.management.system.services.auth.TokenRevocationService;
+import com.university.management.system.services.courses.CourseCatalogCache;
 import com.university.management.system.utils.RepositoryUtils;
 import com.university.management.system.utils.mappers.users.UserMapper;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -55,6 +59,15 @@ public class EmployeeServiceTest {
         @Mock
         private RepositoryUtils repositoryUtils;
 
+        @Mock
+        private PrincipalCache principalCache;
+
+        @Mock
+        private CourseCatalogCache courseCatalogCache;
+
+        @Mock
+        private TokenRevocationService tokenRevocationService;
+
         @InjectMocks
         private EmployeeService employeeService;
 
@@ -125,14 +138,23 @@ public class EmployeeServiceTest {
                 when(personRepository.save(any(Person.class))).thenReturn(person);
                 when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
                 when(userMapper.toEmployeeDto(any(Employee.class))).thenReturn(responseDto);
+                Tuple versions = versions(id, 1L);
+                when(employeeRepository.findVersionsById(id)).thenReturn(Optional.of(versions));
 
                 // when
-                ResponseEntity<ApiResponse> response = employeeService.updateEmployee(id, updateDto);
+                ResponseEntity<ApiResponse> response = employeeService.updateEmployee(id, updateDto, null);
 
                 // then
                 assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
                 assertThat(response.getBody().getData()).containsEntry("Employee", responseDto);
                 verify(personRepository).save(any(Person.class));
                 verify(employeeRepository).save(any(Employee.class));
+                verify(courseCatalogCache).evictCourseClassesAfterCommit();
+        }
+
+        private static Tuple versions(Object... values) {
+                Tuple tuple = mock(Tuple.class);
+                when(tuple.toArray()).thenReturn(values);
+                return tuple;
         }
 }
@@ -0,0 +1,168 @@
+package com.university.management.system.services.users;
+
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
+import com.university.management.system.repositories.courses.CourseClassRepository;
+import com.university.management.system.repositories.courses.CourseRepository;
+import com.university.management.system.repositories.courses.EnrollmentRepository;
+import com.university.management.system.repositories.users.EmployeeRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(GpaRecomputationJob.class)
+@TestPropertySource(properties = { "gpa.recompute.chunk-size=3", "gpa.recompute.parallelism=2" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class GpaRecomputationJobTest {
+
+    private static final String[] GRADES = { "A", "b+", "C", "F", null, "X" };
+
+    @Autowired
+    private GpaRecomputationJob gpaRecomputationJob;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private CourseClassRepository courseClassRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    private final List<String> studentIds = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        Person lecturerPerson = personRepository.save(Person.builder()
+                .email("recompute.lecturer@example.com")
+                .password("password")
+                .firstName("Recompute")
+                .lastName("Lecturer")
+                .build());
+        Employee lecturer = employeeRepository.save(Employee.builder()
+                .person(lecturerPerson)
+                .employeeNumber("EMP800")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build());
+        CourseClass threeCredits = saveCourseClass("CS801", 3, lecturer);
+        CourseClass fourCredits = saveCourseClass("CS802", 4, lecturer);
+
+        // Grades cycle per student, so chunks of three see every combination across the seven students
+        for (int i = 0; i < 7; i++) {
+            Person person = personRepository.save(Person.builder()
+                    .email("recompute.student" + i + "@example.com")
+                    .password("password")
+                    .firstName("Recompute")
+                    .lastName("Student" + i)
+                    .build());
+            Student student = studentRepository.save(Student.builder()
+                    .person(person)
+                    .studentNumber("STU80" + i)
+                    .status(StudentStatus.ACTIVE)
+                    .build());
+            studentIds.add(student.getId());
+
+            enrollmentRepository.save(enrollment(student, threeCredits, GRADES[i % GRADES.length]));
+            enrollmentRepository.save(enrollment(student, fourCredits, GRADES[(i + 1) % GRADES.length]));
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        enrollmentRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseClassRepository.deleteAll();
+        employeeRepository.deleteAll();
+        personRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    @Test
+    public void whenRunAndWait_thenEveryStudentMatchesFromScratchComputation() {
+        // when
+        GpaRecomputationJob.Run run = gpaRecomputationJob.runAndWait("test");
+
+        // then
+        assertThat(run.getStatus()).isEqualTo(GpaRecomputationJob.Run.Status.COMPLETED);
+        assertThat(run.toView())
+                .containsEntry("totalStudents", 7L)
+                .containsEntry("processedStudents", 7L)
+                .containsEntry("totalChunks", 3)
+                .containsEntry("completedChunks", 3);
+
+        // A (3 cr) + B+ (4 cr): 11.1 + 13.2 over 7 credits
+        Student first = studentRepository.findById(studentIds.get(0)).orElseThrow();
+        assertThat(first.getAttemptedCredits()).isEqualTo(7);
+        assertThat(first.getQualityPoints()).isEqualByComparingTo("24.30");
+        assertThat(first.getGpa()).isEqualByComparingTo("3.47");
+
+        // Ungraded (3 cr) + unknown grade X (4 cr): nothing counts
+        Student fifth = studentRepository.findById(studentIds.get(4)).orElseThrow();
+        assertThat(fifth.getAttemptedCredits()).isZero();
+        assertThat(fifth.getGpa()).isEqualByComparingTo("0.00");
+
+        // F (3 cr) + ungraded (4 cr): credits attempted, no points
+        Student fourth = studentRepository.findById(studentIds.get(3)).orElseThrow();
+        assertThat(fourth.getAttemptedCredits()).isEqualTo(3);
+        assertThat(fourth.getGpa()).isEqualByComparingTo("0.00");
+    }
+
+    private CourseClass saveCourseClass(String courseCode, int credits, Employee lecturer) {
+        Course course = courseRepository.save(Course.builder()
+                .courseCode(courseCode)
+                .title("Course " + courseCode)
+                .credits(credits)
+                .build());
+        return courseClassRepository.save(CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester("Fall")
+                .academicYear(2025)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(30)
+                .currentCapacity(0)
+                .build());
+    }
+
+    private Enrollment enrollment(Student student, CourseClass courseClass, String grade) {
+        return Enrollment.builder()
+                .student(student)
+                .courseClass(courseClass)
+                .grade(grade)
+                .status(EnrollmentStatus.ENROLLED)
+                .build();
+    }
+}
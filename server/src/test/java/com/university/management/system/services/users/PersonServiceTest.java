@@ -6,6 +6,9 @@ import com.university.management.system.dtos.users.PersonRequestDto;
 import com.university.management.system.models.users.Person;
 import com.university.management.system.repositories.users.PersonRepository;
 import com.university.management.system.repositories.users.PersonRoleRepository;
+import com.university.management.system.services.auth.PrincipalCache;
+import com.university.management.system.services.auth.TokenRevocationService;
+import com.university.management.system.services.courses.CourseCatalogCache;
 import com.university.management.system.utils.RepositoryUtils;
 import com.university.management.system.utils.mappers.users.UserMapper;
 import org.junit.jupiter.api.Test;
@@ -41,6 +44,15 @@ public class PersonServiceTest {
     @Mock
     private RepositoryUtils repositoryUtils;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private CourseCatalogCache courseCatalogCache;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
     @InjectMocks
     private PersonService personService;
 
@@ -146,6 +158,8 @@ public class PersonServiceTest {
         // then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody().getData().get("Person")).isEqualTo(responseDto);
+        verify(principalCache).evictAfterCommit(id);
+        verify(courseCatalogCache).evictCourseClassesAfterCommit();
     }
 
     @Test
@@ -160,5 +174,7 @@ public class PersonServiceTest {
         // then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         verify(personRepository, times(1)).deleteById(id);
+        verify(principalCache).evictAfterCommit(id);
+        verify(tokenRevocationService).revokeAllForPerson(id);
     }
 }
@@ -0,0 +1,188 @@
+package com.university.management.system.services.users;
+
+import com.university.management.system.models.courses.Course;
+import com.university.management.system.models.courses.CourseClass;
+import com.university.management.system.models.courses.CourseClassStatus;
+import com.university.management.system.models.courses.Enrollment;
+import com.university.management.system.models.courses.EnrollmentStatus;
+import com.university.management.system.models.users.Employee;
+import com.university.management.system.models.users.EmployeeStatus;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Position;
+import com.university.management.system.models.users.Student;
+import com.university.management.system.models.users.StudentStatus;
+import com.university.management.system.services.users.StudentGpaService.GradeContribution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(StudentGpaService.class)
+public class StudentGpaServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private StudentGpaService studentGpaService;
+
+    private Student student;
+    private CourseClass threeCreditClass;
+    private CourseClass fourCreditClass;
+
+    @BeforeEach
+    public void setUp() {
+        Person lecturerPerson = entityManager.persist(Person.builder()
+                .email("gpa.lecturer@test.com")
+                .password("password")
+                .firstName("Gpa")
+                .lastName("Lecturer")
+                .build());
+        Employee lecturer = entityManager.persist(Employee.builder()
+                .person(lecturerPerson)
+                .employeeNumber("EMP700")
+                .position(Position.LECTURER)
+                .status(EmployeeStatus.ACTIVE)
+                .build());
+        threeCreditClass = persistCourseClass("CS701", 3, lecturer);
+        fourCreditClass = persistCourseClass("CS702", 4, lecturer);
+
+        Person studentPerson = entityManager.persist(Person.builder()
+                .email("gpa.student@test.com")
+                .password("password")
+                .firstName("Gpa")
+                .lastName("Student")
+                .build());
+        student = entityManager.persist(Student.builder()
+                .person(studentPerson)
+                .studentNumber("STU700")
+                .status(StudentStatus.ACTIVE)
+                .build());
+    }
+
+    @Test
+    public void whenGradesChange_thenTotalsAndGpaFollowIncrementally() {
+        // given
+        Enrollment first = enroll(threeCreditClass, null);
+        Enrollment second = enroll(fourCreditClass, null);
+
+        // when
+        gradeAs(first, "A");
+        gradeAs(second, "B");
+        gradeAs(first, "C");
+
+        // then
+        Student reloaded = reload();
+        assertThat(reloaded.getAttemptedCredits()).isEqualTo(7);
+        assertThat(reloaded.getQualityPoints()).isEqualByComparingTo("18.00");
+        assertThat(reloaded.getGpa()).isEqualByComparingTo("2.57");
+    }
+
+    @Test
+    public void whenGradedEnrollmentRemoved_thenItsContributionIsSubtracted() {
+        // given
+        Enrollment first = enroll(threeCreditClass, null);
+        Enrollment second = enroll(fourCreditClass, null);
+        gradeAs(first, "A+");
+        gradeAs(second, "F");
+
+        // when
+        GradeContribution removed = studentGpaService.contributionOf(entityManager.find(Enrollment.class, second.getId()));
+        studentGpaService.record(removed, null);
+
+        // then
+        Student reloaded = reload();
+        assertThat(reloaded.getAttemptedCredits()).isEqualTo(3);
+        assertThat(reloaded.getGpa()).isEqualByComparingTo("4.00");
+    }
+
+    @Test
+    public void whenStoredTotalsDrift_thenReconcileRepairsThem() {
+        // given
+        enroll(threeCreditClass, "B+");
+        enroll(fourCreditClass, "A");
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        studentGpaService.reconcile();
+
+        // then
+        Student reloaded = reload();
+        assertThat(reloaded.getAttemptedCredits()).isEqualTo(7);
+        assertThat(reloaded.getQualityPoints()).isEqualByComparingTo("24.70");
+        assertThat(reloaded.getGpa()).isEqualByComparingTo("3.53");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> lastRun = (Map<String, Object>) studentGpaService.getStats().get("lastReconciliation");
+        assertThat(lastRun).containsEntry("mismatches", 1L).containsEntry("repaired", 1L);
+    }
+
+    @Test
+    public void whenOnlyStoredGpaDrifts_thenReconcileRepairsIt() {
+        // given
+        gradeAs(enroll(threeCreditClass, null), "B+");
+        gradeAs(enroll(fourCreditClass, null), "A");
+        Student stored = reload();
+        stored.setGpa(new BigDecimal("4.00"));
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        studentGpaService.reconcile();
+
+        // then
+        Student reloaded = reload();
+        assertThat(reloaded.getQualityPoints()).isEqualByComparingTo("24.70");
+        assertThat(reloaded.getGpa()).isEqualByComparingTo("3.53");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> lastRun = (Map<String, Object>) studentGpaService.getStats().get("lastReconciliation");
+        assertThat(lastRun).containsEntry("mismatches", 1L).containsEntry("repaired", 1L);
+    }
+
+    private CourseClass persistCourseClass(String courseCode, int credits, Employee lecturer) {
+        Course course = entityManager.persist(Course.builder()
+                .courseCode(courseCode)
+                .title("Course " + courseCode)
+                .credits(credits)
+                .build());
+        return entityManager.persist(CourseClass.builder()
+                .course(course)
+                .lecturer(lecturer)
+                .semester("Fall")
+                .academicYear(2025)
+                .status(CourseClassStatus.ACTIVE)
+                .maxCapacity(30)
+                .currentCapacity(0)
+                .build());
+    }
+
+    private Enrollment enroll(CourseClass courseClass, String grade) {
+        return entityManager.persist(Enrollment.builder()
+                .student(student)
+                .courseClass(courseClass)
+                .grade(grade)
+                .status(EnrollmentStatus.ENROLLED)
+                .build());
+    }
+
+    private void gradeAs(Enrollment enrollment, String grade) {
+        Enrollment managed = entityManager.find(Enrollment.class, enrollment.getId());
+        GradeContribution previous = studentGpaService.contributionOf(managed);
+        managed.setGrade(grade);
+        studentGpaService.record(previous, studentGpaService.contributionOf(managed));
+    }
+
+    private Student reload() {
+        entityManager.flush();
+        entityManager.clear();
+        return entityManager.find(Student.class, student.getId());
+    }
+}
@@ -0,0 +1,131 @@
+package com.university.management.system.services.users;
+
+import com.university.management.system.dtos.users.StudentImportRejectionDto;
+import com.university.management.system.dtos.users.StudentImportRejectionDto.Reason;
+import com.university.management.system.models.users.Person;
+import com.university.management.system.models.users.Role;
+import com.university.management.system.repositories.sync.TombstoneRepository;
+import com.university.management.system.repositories.users.PersonRepository;
+import com.university.management.system.repositories.users.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@Import({ StudentImportJob.class, BCryptPasswordEncoder.class })
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@TestPropertySource(properties = { "students.import.chunk-size=2", "students.import.hash-parallelism=2" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class StudentImportJobTest {
+
+    @Autowired
+    private StudentImportJob studentImportJob;
+
+    @Autowired
+    private BCryptPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private TombstoneRepository tombstoneRepository;
+
+    @AfterEach
+    public void tearDown() {
+        studentRepository.deleteAll();
+        personRepository.deleteAll();
+        tombstoneRepository.deleteAll();
+    }
+
+    @Test
+    public void whenImportCsv_thenValidRowsCreatedAndOthersReported() throws Exception {
+        // given
+        personRepository.save(Person.builder()
+                .firstName("Existing")
+                .lastName("Person")
+                .email("taken@example.com")
+                .password("password")
+                .build());
+        String csv = "firstName,lastName,email,password,major,academicYear,dateOfBirth\r\n"
+                + "Ada,Lovelace,ada@example.com,password123,Mathematics,1,2004-12-10\r\n"
+                + "Alan,Turing,taken@example.com,password123,,,\r\n"
+                + "Grace,Hopper,not-an-email,password123,,,\r\n"
+                + "Edsger,Dijkstra,edsger@example.com,password123,,2,\r\n"
+                + "Ada,Again,ada@example.com,password123,,,\r\n"
+                + "Barbara,Liskov,barbara@example.com,password123,,,yesterday\r\n"
+                + "\r\n"
+                + "\"Hopper, Jr.\",Grace,grace@example.com,password123,,,\r\n";
+
+        // when
+        StudentImportJob.Run run = awaitCompletion(studentImportJob.start(stream(csv)));
+
+        // then
+        assertThat(run.getStatus()).isEqualTo(StudentImportJob.Run.Status.COMPLETED);
+        assertThat(run.getTotalRows()).isEqualTo(7);
+        assertThat(run.getCreatedStudents()).isEqualTo(3);
+        assertThat(run.getRejected())
+                .extracting(StudentImportRejectionDto::getRow, StudentImportRejectionDto::getReason)
+                .containsExactly(
+                        tuple(2L, Reason.EMAIL_EXISTS),
+                        tuple(3L, Reason.INVALID),
+                        tuple(5L, Reason.DUPLICATE_IN_FILE),
+                        tuple(6L, Reason.INVALID));
+
+        assertThat(studentRepository.count()).isEqualTo(3);
+        transactionTemplate.executeWithoutResult(status -> {
+            Person ada = personRepository.findByEmail("ada@example.com").orElseThrow();
+            assertThat(passwordEncoder.matches("password123", ada.getPassword())).isTrue();
+            assertThat(ada.getPersonRoles()).extracting(role -> role.getRole()).containsExactly(Role.STUDENT);
+            assertThat(ada.getStudent().getMajor()).isEqualTo("Mathematics");
+            assertThat(personRepository.findByEmail("grace@example.com").orElseThrow().getFirstName())
+                    .isEqualTo("Hopper, Jr.");
+        });
+        assertThat(studentImportJob.getRun(run.getId())).isSameAs(run);
+    }
+
+    @Test
+    public void whenHeaderMissesRequiredColumn_thenRejectedAndNextImportCanStart() throws Exception {
+        // when & then
+        assertThatThrownBy(() -> studentImportJob.start(stream("firstName,lastName,email\r\nAda,L,a@b.com\r\n")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        StudentImportJob.Run run = awaitCompletion(studentImportJob.start(
+                stream("firstName,lastName,email,password\r\n")));
+        assertThat(run.getStatus()).isEqualTo(StudentImportJob.Run.Status.COMPLETED);
+        assertThat(run.getCreatedStudents()).isZero();
+    }
+
+    private StudentImportJob.Run awaitCompletion(StudentImportJob.Run run) throws InterruptedException {
+        for (int attempt = 0; attempt < 200 && run.getStatus() == StudentImportJob.Run.Status.RUNNING; attempt++) {
+            Thread.sleep(50);
+        }
+        return run;
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
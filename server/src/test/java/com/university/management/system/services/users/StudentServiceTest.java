@@ -8,13 +8,18 @@ import com.university.management.system.dtos.users.StudentRequestDto;
 import com.university.management.system.dtos.users.StudentUpdateDto;
 import com.university.management.system.models.users.Person;
 import com.university.management.system.models.users.PersonRole;
+import com.university.management.system.models.users.Role;
 import com.university.management.system.models.users.Student;
 import com.university.management.system.models.users.StudentStatus;
 import com.university.management.system.repositories.users.PersonRepository;
 import com.university.management.system.repositories.users.PersonRoleRepository;
 import com.university.management.system.repositories.users.StudentRepository;
+import com.university.management.system.services.auth.PrincipalCache;
+import com.university.management.system.services.auth.TokenRevocationService;
+import com.university.management.system.services.courses.CourseCatalogCache;
 import com.university.management.system.utils.RepositoryUtils;
 import com.university.management.system.utils.mappers.users.UserMapper;
+import jakarta.persistence.Tuple;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -54,6 +59,24 @@ public class StudentServiceTest {
         @Mock
         private RepositoryUtils repositoryUtils;
 
+        @Mock
+        private PrincipalCache principalCache;
+
+        @Mock
+        private CourseCatalogCache courseCatalogCache;
+
+        @Mock
+        private TokenRevocationService tokenRevocationService;
+
+        @Mock
+        private StudentGpaService studentGpaService;
+
+        @Mock
+        private GpaRecomputationJob gpaRecomputationJob;
+
+        @Mock
+        private StudentImportJob studentImportJob;
+
         @InjectMocks
         private StudentService studentService;
 
@@ -94,6 +117,7 @@ public class StudentServiceTest {
                 assertThat(response.getBody().getData()).containsEntry("Student", responseDto);
                 verify(personService).createPerson(any(PersonRequestDto.class));
                 verify(studentRepository).save(any(Student.class));
+                verifyNoInteractions(courseCatalogCache);
         }
 
         @Test
@@ -123,14 +147,55 @@ public class StudentServiceTest {
                 when(personRepository.save(any(Person.class))).thenReturn(person);
                 when(studentRepository.save(any(Student.class))).thenReturn(student);
                 when(userMapper.toStudentDto(any(Student.class))).thenReturn(responseDto);
+                Tuple versions = versions(id, 1L);
+                when(studentRepository.findVersionsById(id)).thenReturn(Optional.of(versions));
 
                 // when
-                ResponseEntity<ApiResponse> response = studentService.updateStudent(id, updateDto);
+                ResponseEntity<ApiResponse> response = studentService.updateStudent(id, updateDto, null);
 
                 // then
                 assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
                 assertThat(response.getBody().getData()).containsEntry("Student", responseDto);
                 verify(personRepository).save(any(Person.class));
                 verify(studentRepository).save(any(Student.class));
+                verify(courseCatalogCache, never()).evictCourseClassesAfterCommit();
+        }
+
+        @Test
+        public void whenUpdateStudentWhoIsAlsoEmployee_thenCachedClassViewsEvicted() {
+                // given
+                String id = "1";
+                StudentUpdateDto updateDto = StudentUpdateDto.builder()
+                                .email("lecturer@example.com")
+                                .firstName("Renamed")
+                                .lastName("Lecturer")
+                                .status(StudentStatus.ACTIVE)
+                                .build();
+                Person person = Person.builder()
+                                .id("1")
+                                .email("lecturer@example.com")
+                                .build();
+                Student student = Student.builder()
+                                .id(id)
+                                .person(person)
+                                .build();
+
+                when(studentRepository.findById(id)).thenReturn(Optional.of(student));
+                when(personRoleRepository.existsByPersonIdAndRole("1", Role.EMPLOYEE)).thenReturn(true);
+                when(studentRepository.save(any(Student.class))).thenReturn(student);
+                Tuple versions = versions(id, 1L);
+                when(studentRepository.findVersionsById(id)).thenReturn(Optional.of(versions));
+
+                // when
+                studentService.updateStudent(id, updateDto, null);
+
+                // then
+                verify(courseCatalogCache).evictCourseClassesAfterCommit();
+        }
+
+        private static Tuple versions(Object... values) {
+                Tuple tuple = mock(Tuple.class);
+                when(tuple.toArray()).thenReturn(values);
+                return tuple;
         }
 }